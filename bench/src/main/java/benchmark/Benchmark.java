@@ -0,0 +1,219 @@
+// documented
+
+package benchmark;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal timing harness for the control-layer benchmarks.
+ *
+ * <p>Each benchmark is an operation invoked repeatedly. The harness runs a number of warm-up
+ * iterations to let the JIT compile the hot paths, then a number of measured iterations.
+ * Every iteration invokes the operation in a loop for a fixed time budget and records the
+ * mean time per operation. The reported score is the mean of the measured iterations with
+ * its standard deviation. Values returned by operations are folded into a sink so that the
+ * JIT cannot eliminate the work as dead code.</p>
+ */
+
+public final class Benchmark {
+
+    /**
+     * One benchmarked operation.
+     */
+    @FunctionalInterface
+    public interface Operation {
+
+        /**
+         * Runs the operation once.
+         *
+         * @return any value derived from the work, consumed by the harness
+         */
+        Object run();
+    }
+
+    /** Accumulates returned values so the work cannot be optimised away. */
+    private static volatile int sink;
+
+    /** Warm-up iterations per benchmark. */
+    private final int warmupIterations;
+
+    /** Measured iterations per benchmark. */
+    private final int measuredIterations;
+
+    /** Time budget of one iteration in nanoseconds. */
+    private final long iterationNanos;
+
+    /** Stream results are printed to, captured before any benchmark can redirect standard output. */
+    private final PrintStream out = System.out;
+
+    /** Results collected so far. */
+    private final List<Result> results = new ArrayList<>();
+
+    /**
+     * Creates a harness.
+     *
+     * @param warmupIterations   warm-up iterations per benchmark
+     * @param measuredIterations measured iterations per benchmark
+     * @param iterationMillis    time budget of one iteration in milliseconds
+     */
+    public Benchmark(int warmupIterations, int measuredIterations, long iterationMillis) {
+        this.warmupIterations = Math.max(0, warmupIterations);
+        this.measuredIterations = Math.max(1, measuredIterations);
+        this.iterationNanos = Math.max(1, iterationMillis) * 1_000_000L;
+    }
+
+    /**
+     * Measures an operation and prints its result line.
+     *
+     * @param name      benchmark name
+     * @param scale     dataset size the operation runs against
+     * @param operation the operation
+     * @return the result
+     */
+    public Result run(String name, int scale, Operation operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(operation);
+        }
+        double[] samples = new double[measuredIterations];
+        for (int i = 0; i < measuredIterations; i++) {
+            samples[i] = iteration(operation);
+        }
+        double mean = 0;
+        for (double sample : samples) {
+            mean += sample;
+        }
+        mean /= samples.length;
+        double variance = 0;
+        for (double sample : samples) {
+            variance += (sample - mean) * (sample - mean);
+        }
+        double deviation = samples.length > 1 ? Math.sqrt(variance / (samples.length - 1)) : 0;
+        Result result = new Result(name, scale, mean, deviation);
+        results.add(result);
+        out.println(result.format());
+        return result;
+    }
+
+    /**
+     * Records a benchmark that was not run, with the reason.
+     *
+     * @param name   benchmark name
+     * @param scale  dataset size
+     * @param reason why it was skipped
+     */
+    public void skip(String name, int scale, String reason) {
+        out.println(String.format(Locale.ROOT, "%-44s %9d  skipped: %s", name, scale, reason));
+    }
+
+    /**
+     * Returns the results collected so far.
+     *
+     * @return results in run order
+     */
+    public List<Result> getResults() {
+        return results;
+    }
+
+    /**
+     * Prints the column header for result lines.
+     */
+    public void printHeader() {
+        out.println(String.format(Locale.ROOT, "%-44s %9s %14s %12s %14s",
+                "Benchmark", "Scale", "ns/op", "error", "ops/s"));
+    }
+
+    /**
+     * Runs one iteration.
+     *
+     * @param operation the operation
+     * @return mean nanoseconds per operation
+     */
+    private double iteration(Operation operation) {
+        int local = 0;
+        long operations = 0;
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long now;
+        do {
+            Object value = operation.run();
+            local += value == null ? 0 : value.hashCode();
+            operations++;
+            now = System.nanoTime();
+        } while (now < deadline);
+        sink += local;
+        return (double) (now - start) / operations;
+    }
+
+    /**
+     * Score of one benchmark at one scale.
+     */
+    public static final class Result {
+
+        /** Benchmark name. */
+        private final String name;
+
+        /** Dataset size. */
+        private final int scale;
+
+        /** Mean nanoseconds per operation. */
+        private final double nanosPerOp;
+
+        /** Standard deviation across measured iterations. */
+        private final double error;
+
+        /**
+         * Creates a result.
+         *
+         * @param name       benchmark name
+         * @param scale      dataset size
+         * @param nanosPerOp mean nanoseconds per operation
+         * @param error      standard deviation across iterations
+         */
+        private Result(String name, int scale, double nanosPerOp, double error) {
+            this.name = name;
+            this.scale = scale;
+            this.nanosPerOp = nanosPerOp;
+            this.error = error;
+        }
+
+        /**
+         * Returns the benchmark name.
+         *
+         * @return name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the dataset size.
+         *
+         * @return scale
+         */
+        public int getScale() {
+            return scale;
+        }
+
+        /**
+         * Returns the mean time per operation.
+         *
+         * @return nanoseconds per operation
+         */
+        public double getNanosPerOp() {
+            return nanosPerOp;
+        }
+
+        /**
+         * Formats the result as one table row.
+         *
+         * @return formatted row
+         */
+        public String format() {
+            return String.format(Locale.ROOT, "%-44s %9d %14.1f %12.1f %14.0f",
+                    name, scale, nanosPerOp, error, 1e9 / nanosPerOp);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+// documented
+
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Writes a synthetic cohort of students, career center staff and company representatives as
+ * CSV files in the same layout as the sample files in {@code data/}.
+ *
+ * <p>Majors are drawn from {@code data/schools_and_majors.csv} through {@link Datasets}, and
+ * every generated ID passes the same validation as a hand-registered account. The same seed
+ * and sizes always produce byte-identical files, so a cohort can be regenerated instead of
+ * checked in.</p>
+ *
+ * <p>Options:</p>
+ * <ul>
+ *     <li>{@code --students N} number of students (default 5000)</li>
+ *     <li>{@code --staff N} number of staff (default 1% of students, at least 1)</li>
+ *     <li>{@code --reps N} number of representatives (default 10% of students, at least 1)</li>
+ *     <li>{@code --companies N} number of companies the representatives work for
+ *         (default a third of the representatives, at least 1)</li>
+ *     <li>{@code --approved P} share of representatives already approved (default 0.85)</li>
+ *     <li>{@code --out DIR} output directory (default {@code bench-data})</li>
+ *     <li>{@code --seed N} random seed (default 42)</li>
+ * </ul>
+ */
+
+public final class CohortGenerator {
+
+    /** File name of the student list, as used by the application. */
+    public static final String STUDENT_FILE = "sample_student_list.csv";
+
+    /** File name of the staff list, as used by the application. */
+    public static final String STAFF_FILE = "sample_staff_list.csv";
+
+    /** File name of the representative list, as used by the application. */
+    public static final String REP_FILE = "sample_company_representative_list.csv";
+
+    /** Given names drawn from. */
+    private static final String[] GIVEN_NAMES = {
+            "Wei Ling", "Jia Hao", "Hui Min", "Kai Xiang", "Siti", "Arjun", "Priya", "Daniel",
+            "Rachel", "Marcus", "Nur Aisyah", "Ethan", "Chloe", "Ryan", "Shu Fen", "Aditya",
+            "Farah", "Jun Jie", "Xin Yi", "Hafiz", "Megan", "Zhi Wei", "Kavya", "Bryan"
+    };
+
+    /** Family names drawn from. */
+    private static final String[] FAMILY_NAMES = {
+            "Tan", "Lim", "Lee", "Ng", "Ong", "Wong", "Goh", "Chua", "Koh", "Teo", "Chan", "Yeo",
+            "Kumar", "Rahman", "Singh", "Ismail", "Nair", "Low", "Sim", "Foo", "Ho", "Quek"
+    };
+
+    /** Words company names are built from. */
+    private static final String[] COMPANY_WORDS = {
+            "Tech", "Nova", "Arcadia", "Quantum", "Harbour", "Lion", "Merlion", "Orchid", "Summit",
+            "Vertex", "Blue", "Pixel", "Atlas", "Helix", "Straits", "Cobalt", "Iris", "Zenith"
+    };
+
+    /** Company name suffixes. */
+    private static final String[] COMPANY_SUFFIXES = {
+            "Solutions", "Innovations", "Labs", "Systems", "Analytics", "Capital", "Logistics", "Health"
+    };
+
+    /** Representative departments. */
+    private static final String[] DEPARTMENTS = {
+            "Human Resources", "Engineering", "Product", "Business Development", "Finance", "Operations"
+    };
+
+    /** Representative positions. */
+    private static final String[] POSITIONS = {
+            "Talent Acquisition Lead", "Engineering Manager", "Senior Product Manager",
+            "Partnership Manager", "HR Executive", "Team Lead"
+    };
+
+    /** Source of majors and account IDs. */
+    private final Datasets datasets;
+
+    /** Seed all generated rows derive from. */
+    private final long seed;
+
+    /**
+     * Creates a generator.
+     *
+     * @param datasets source of majors and account IDs
+     * @param seed     random seed
+     */
+    public CohortGenerator(Datasets datasets, long seed) {
+        this.datasets = datasets;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a cohort from the command line.
+     *
+     * @param args command-line options, see the class description
+     */
+    public static void main(String[] args) {
+        int students = 5000;
+        int staff = -1;
+        int reps = -1;
+        int companies = -1;
+        double approved = 0.85;
+        String out = "bench-data";
+        long seed = 42;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--students" -> students = Integer.parseInt(value);
+                case "--staff" -> staff = Integer.parseInt(value);
+                case "--reps" -> reps = Integer.parseInt(value);
+                case "--companies" -> companies = Integer.parseInt(value);
+                case "--approved" -> approved = Double.parseDouble(value);
+                case "--out" -> out = value;
+                case "--seed" -> seed = Long.parseLong(value);
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+                }
+            }
+        }
+        staff = staff < 0 ? Math.max(1, students / 100) : staff;
+        reps = reps < 0 ? Math.max(1, students / 10) : reps;
+        companies = companies < 0 ? Math.max(1, reps / 3) : companies;
+        CohortGenerator generator = new CohortGenerator(
+                new Datasets(new File("data/schools_and_majors.csv"), seed), seed);
+        File dir = new File(out);
+        try {
+            generator.generate(dir, students, staff, reps, companies, approved);
+        } catch (IOException e) {
+            System.err.println("Failed to write cohort: " + e.getMessage());
+            return;
+        }
+        System.out.println("Wrote " + students + " students, " + staff + " staff and " + reps
+                + " representatives to " + dir.getPath());
+    }
+
+    /**
+     * Writes the three cohort files into a directory, creating it if needed.
+     *
+     * @param dir       output directory
+     * @param students  number of students
+     * @param staff     number of staff
+     * @param reps      number of representatives
+     * @param companies number of companies the representatives are spread over
+     * @param approved  share of representatives already approved, between 0 and 1
+     *
+     * @throws IllegalArgumentException if a count is negative or there are no companies for the representatives
+     * @throws IOException              if a file cannot be written
+     */
+    public void generate(File dir, int students, int staff, int reps, int companies, double approved)
+            throws IOException {
+        if (students < 0 || staff < 0 || reps < 0) {
+            throw new IllegalArgumentException("Cohort sizes cannot be negative.");
+        }
+        if (reps > 0 && companies < 1) {
+            throw new IllegalArgumentException("Representatives need at least one company.");
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir.getPath());
+        }
+        writeStudents(new File(dir, STUDENT_FILE), students);
+        writeStaff(new File(dir, STAFF_FILE), staff);
+        writeReps(new File(dir, REP_FILE), reps, companies, approved);
+    }
+
+    /**
+     * Writes the student list.
+     */
+    private void writeStudents(File file, int count) throws IOException {
+        Random random = new Random(seed + 10);
+        List<String> majors = datasets.getMajors();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("StudentID,Name,Major,Year,Email");
+            writer.newLine();
+            for (int i = 0; i < count; i++) {
+                String family = pick(random, FAMILY_NAMES);
+                String name = pick(random, GIVEN_NAMES) + " " + family;
+                String major = majors.get(random.nextInt(majors.size()));
+                int year = 1 + random.nextInt(4);
+                writer.write(String.join(",", Datasets.studentId(i), name, major, Integer.toString(year),
+                        slug(family) + i + "@e.ntu.edu.sg"));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Writes the staff list.
+     */
+    private void writeStaff(File file, int count) throws IOException {
+        Random random = new Random(seed + 11);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("StaffID,Name,Role,Department,Email");
+            writer.newLine();
+            for (int i = 0; i < count; i++) {
+                String id = Datasets.staffId(i);
+                String name = pick(random, GIVEN_NAMES) + " " + pick(random, FAMILY_NAMES);
+                writer.write(String.join(",", id, name, "Career Center Staff", "CCDS", id + "@ntu.edu.sg"));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Writes the representative list. Representatives are assigned to companies round-robin
+     * so every company has a similar number of representatives.
+     */
+    private void writeReps(File file, int count, int companies, double approved) throws IOException {
+        Random random = new Random(seed + 12);
+        String[] companyNames = new String[Math.max(1, companies)];
+        for (int c = 0; c < companyNames.length; c++) {
+            companyNames[c] = pick(random, COMPANY_WORDS) + pick(random, COMPANY_WORDS).toLowerCase(Locale.ROOT)
+                    + " " + pick(random, COMPANY_SUFFIXES) + " " + (c + 1);
+        }
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("CompanyRepID,Name,CompanyName,Department,Position,Email,Approved");
+            writer.newLine();
+            for (int i = 0; i < count; i++) {
+                String id = Datasets.repId(i);
+                String name = pick(random, GIVEN_NAMES) + " " + pick(random, FAMILY_NAMES);
+                boolean isApproved = random.nextDouble() < approved;
+                writer.write(String.join(",", id, name, companyNames[i % companyNames.length],
+                        pick(random, DEPARTMENTS), pick(random, POSITIONS), id, Boolean.toString(isApproved)));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Picks a random element.
+     */
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Lower-cases a name and strips everything but letters.
+     */
+    private static String slug(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+    }
+}
@@ -0,0 +1,346 @@
+// documented
+
+package benchmark;
+
+import control.ApplicationManager;
+import control.InternshipManager;
+import control.NotificationManager;
+import control.ReportGenerator;
+import control.UserManager;
+import entity.FilterCriteria;
+import entity.Internship;
+import entity.InternshipLevel;
+import entity.InternshipStatus;
+import entity.Student;
+import entity.User;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks of the control layer on synthetic datasets of increasing size.
+ *
+ * <p>Covered operations:</p>
+ * <ul>
+ *     <li>{@link UserManager#login} and {@link UserManager#findUserById}</li>
+ *     <li>{@link InternshipManager#filter} with several {@link FilterCriteria} shapes, both
+ *         repeated (served by the filter cache) and rotating past the cache</li>
+ *     <li>{@link ApplicationManager#enforceRules} and {@link ApplicationManager#submitApplication}</li>
+ *     <li>{@link NotificationManager#notifyUsers} and {@link NotificationManager#consumeNotifications}</li>
+ *     <li>every {@link ReportGenerator} report</li>
+ * </ul>
+ *
+ * <p>Console output produced by the measured code is discarded; results go to the original
+ * standard output and dataset build times to standard error.</p>
+ *
+ * <p>This harness needs nothing beyond the JDK and is kept alongside the JMH benchmarks in
+ * {@code benchmark.jmh} as a quick way to sweep every scale in one run; see
+ * {@code docs/benchmarks.md} for how to build and run both.</p>
+ *
+ * <p>Options:</p>
+ * <ul>
+ *     <li>{@code --scales 1000,10000,100000,1000000} dataset sizes</li>
+ *     <li>{@code --include REGEX} run only benchmarks whose name matches</li>
+ *     <li>{@code --warmup N} warm-up iterations (default 3)</li>
+ *     <li>{@code --iterations N} measured iterations (default 5)</li>
+ *     <li>{@code --time MS} time per iteration (default 500)</li>
+ *     <li>{@code --max-users N} largest account dataset to build (default 20000); every
+ *         registration checks for duplicate IDs with a linear scan, so building the
+ *         account dataset is quadratic in its size</li>
+ *     <li>{@code --max-internships N} largest internship dataset to build (default 100000);
+ *         every submission counts the representative's postings with a linear scan, so
+ *         building the internship dataset is quadratic too and takes about half a minute at
+ *         the default</li>
+ *     <li>{@code --csv FILE} also write the results as CSV, for comparing runs</li>
+ *     <li>{@code --seed N} dataset seed (default 42)</li>
+ * </ul>
+ */
+
+public final class ControlBenchmarks {
+
+    /** Recipients of each bulk notification. */
+    private static final int NOTIFY_GROUP = 100;
+
+    /** Distinct criteria cycled through by the uncached filter benchmark; exceeds the cache size. */
+    private static final int UNCACHED_CRITERIA = 512;
+
+    /** Harness measuring the operations. */
+    private final Benchmark benchmark;
+
+    /** Benchmarks to run, by name. */
+    private final Pattern include;
+
+    /** Largest account dataset to build. */
+    private final int maxUsers;
+
+    /** Largest internship dataset to build. */
+    private final int maxInternships;
+
+    /** Builder of the synthetic datasets. */
+    private final Datasets datasets;
+
+    /**
+     * Creates the suite.
+     */
+    private ControlBenchmarks(Benchmark benchmark, Pattern include, int maxUsers, int maxInternships,
+                              Datasets datasets) {
+        this.benchmark = benchmark;
+        this.include = include;
+        this.maxUsers = maxUsers;
+        this.maxInternships = maxInternships;
+        this.datasets = datasets;
+    }
+
+    /**
+     * Runs the suite.
+     *
+     * @param args command-line options, see the class description
+     */
+    public static void main(String[] args) {
+        int[] scales = {1_000, 10_000, 100_000, 1_000_000};
+        String include = ".*";
+        int warmup = 3;
+        int iterations = 5;
+        long time = 500;
+        int maxUsers = 20_000;
+        int maxInternships = 100_000;
+        String csv = null;
+        long seed = 42;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--scales" -> {
+                    String[] tokens = value.split(",");
+                    scales = new int[tokens.length];
+                    for (int t = 0; t < tokens.length; t++) {
+                        scales[t] = Integer.parseInt(tokens[t].trim());
+                    }
+                }
+                case "--include" -> include = value;
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--iterations" -> iterations = Integer.parseInt(value);
+                case "--time" -> time = Long.parseLong(value);
+                case "--max-users" -> maxUsers = Integer.parseInt(value);
+                case "--max-internships" -> maxInternships = Integer.parseInt(value);
+                case "--csv" -> csv = value;
+                case "--seed" -> seed = Long.parseLong(value);
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+                }
+            }
+        }
+        Benchmark benchmark = new Benchmark(warmup, iterations, time);
+        ControlBenchmarks suite = new ControlBenchmarks(benchmark, Pattern.compile(include), maxUsers, maxInternships,
+                new Datasets(new File("data/schools_and_majors.csv"), seed));
+        benchmark.printHeader();
+        // Reports and login print to the console; discard that output while measuring.
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        for (int scale : scales) {
+            suite.runUsers(scale);
+            suite.runInternships(scale);
+            suite.runNotifications(scale);
+        }
+        if (csv != null) {
+            writeCsv(new File(csv), benchmark.getResults());
+        }
+    }
+
+    /**
+     * Runs the user manager benchmarks.
+     */
+    private void runUsers(int scale) {
+        if (!wanted("UserManager.findUserById", "UserManager.login")) {
+            return;
+        }
+        if (scale > maxUsers) {
+            benchmark.skip("UserManager.*", scale, "account dataset larger than --max-users " + maxUsers);
+            return;
+        }
+        long start = System.nanoTime();
+        UserManager users = datasets.users(scale);
+        setup("users", scale, start);
+        List<String> ids = new ArrayList<>();
+        int students = Math.max(0, scale - Math.max(1, scale / 100) - Math.max(1, scale / 10));
+        for (int i = 0; i < students; i++) {
+            ids.add(Datasets.studentId(i));
+        }
+        for (int i = 0; i < Math.max(1, scale / 10); i++) {
+            ids.add(Datasets.repId(i));
+        }
+        String[] lookups = ids.toArray(new String[0]);
+        Random random = new Random(7);
+        run("UserManager.findUserById", scale, () -> users.findUserById(lookups[random.nextInt(lookups.length)]));
+        run("UserManager.login", scale,
+                () -> users.login(lookups[random.nextInt(lookups.length)], Datasets.PASSWORD));
+    }
+
+    /**
+     * Runs the internship, application and report benchmarks.
+     */
+    private void runInternships(int scale) {
+        if (!wanted("InternshipManager.filter[none]", "InternshipManager.filter[status]",
+                "InternshipManager.filter[major]", "InternshipManager.filter[level]",
+                "InternshipManager.filter[closingDate]", "InternshipManager.filter[combined]",
+                "InternshipManager.filter[uncached]", "ApplicationManager.enforceRules",
+                "ApplicationManager.submitApplication", "ReportGenerator.generateByStatus",
+                "ReportGenerator.generateByMajor", "ReportGenerator.generateByLevel",
+                "ReportGenerator.generateCompanySummary")) {
+            return;
+        }
+        if (scale > maxInternships) {
+            benchmark.skip("InternshipManager/ApplicationManager/Report", scale,
+                    "internship dataset larger than --max-internships " + maxInternships);
+            return;
+        }
+        long start = System.nanoTime();
+        InternshipManager internships = datasets.internships(scale);
+        List<Student> students = datasets.students(scale);
+        setup("internships+students", scale, start);
+        List<String> majors = datasets.getMajors();
+        LocalDate today = LocalDate.now();
+
+        run("InternshipManager.filter[none]", scale, () -> internships.filter(new FilterCriteria()));
+        run("InternshipManager.filter[status]", scale,
+                () -> internships.filter(new FilterCriteria(InternshipStatus.APPROVED, null, null, null)));
+        run("InternshipManager.filter[major]", scale,
+                () -> internships.filter(new FilterCriteria(null, majors.get(0), null, null)));
+        run("InternshipManager.filter[level]", scale,
+                () -> internships.filter(new FilterCriteria(null, null, InternshipLevel.BASIC, null)));
+        run("InternshipManager.filter[closingDate]", scale,
+                () -> internships.filter(new FilterCriteria(null, null, null, today.plusDays(30))));
+        run("InternshipManager.filter[combined]", scale,
+                () -> internships.filter(new FilterCriteria(InternshipStatus.APPROVED, majors.get(0),
+                        InternshipLevel.INTERMEDIATE, today.plusDays(60))));
+        int[] cursor = {0};
+        run("InternshipManager.filter[uncached]", scale, () -> {
+            int offset = cursor[0]++ % UNCACHED_CRITERIA;
+            return internships.filter(new FilterCriteria(InternshipStatus.APPROVED, null, null,
+                    today.plusDays(offset)));
+        });
+
+        ApplicationManager applications = new ApplicationManager();
+        applications.setEligibilityView(internships.getEligibilityView());
+        List<Internship> all = internships.getInternships();
+        List<Internship> open = new ArrayList<>();
+        for (Internship internship : all) {
+            if (internship.getStatus() == InternshipStatus.APPROVED && internship.isOpenToAllMajors()) {
+                open.add(internship);
+            }
+        }
+        Random random = new Random(11);
+        run("ApplicationManager.enforceRules", scale, () -> applications.enforceRules(
+                students.get(random.nextInt(students.size())), all.get(random.nextInt(all.size()))));
+        int[] next = {0};
+        run("ApplicationManager.submitApplication", scale, () -> {
+            int index = next[0]++;
+            Student student = new Student(Datasets.studentId(index % 10_000_000), "Applicant", Datasets.PASSWORD,
+                    4, majors.get(index % majors.size()));
+            return applications.submitApplication(student, open.get(random.nextInt(open.size())));
+        });
+
+        ReportGenerator reports = new ReportGenerator();
+        reports.setSchoolMajorCatalog(datasets.getCatalog());
+        run("ReportGenerator.generateByStatus", scale, () -> {
+            reports.generateByStatus(all, InternshipStatus.APPROVED);
+            return null;
+        });
+        run("ReportGenerator.generateByMajor", scale, () -> {
+            reports.generateByMajor(all, majors.get(0));
+            return null;
+        });
+        run("ReportGenerator.generateByLevel", scale, () -> {
+            reports.generateByLevel(all, InternshipLevel.ADVANCED);
+            return null;
+        });
+        run("ReportGenerator.generateCompanySummary", scale, () -> {
+            reports.generateCompanySummary(internships.getInternshipsForCompany("Company 0"), "Company 0");
+            return null;
+        });
+    }
+
+    /**
+     * Runs the notification benchmarks.
+     */
+    private void runNotifications(int scale) {
+        if (!wanted("NotificationManager.notifyUser+consume", "NotificationManager.notifyUsers[")) {
+            return;
+        }
+        List<Student> students = datasets.students(scale);
+        NotificationManager notifications = new NotificationManager();
+        Random random = new Random(13);
+        run("NotificationManager.notifyUser+consume", scale, () -> {
+            User user = students.get(random.nextInt(students.size()));
+            notifications.notifyUser(user, "Benchmark notification");
+            return notifications.consumeNotifications(user);
+        });
+        int group = Math.min(NOTIFY_GROUP, students.size());
+        run("NotificationManager.notifyUsers[" + group + "]+consume", scale, () -> {
+            int from = random.nextInt(students.size() - group + 1);
+            List<Student> recipients = students.subList(from, from + group);
+            notifications.notifyUsers(recipients, "Benchmark broadcast");
+            int consumed = 0;
+            for (Student recipient : recipients) {
+                consumed += notifications.consumeNotifications(recipient).size();
+            }
+            return consumed;
+        });
+    }
+
+    /**
+     * Runs one benchmark if its name is included.
+     */
+    private void run(String name, int scale, Benchmark.Operation operation) {
+        if (include.matcher(name).find()) {
+            benchmark.run(name, scale, operation);
+        }
+    }
+
+    /**
+     * Checks whether any of the named benchmarks is included, so that datasets are only
+     * built when needed.
+     */
+    private boolean wanted(String... names) {
+        for (String name : names) {
+            if (include.matcher(name).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Prints how long a dataset took to build.
+     */
+    private static void setup(String dataset, int scale, long start) {
+        System.err.println(String.format(Locale.ROOT, "# built %s x %d in %.1f s",
+                dataset, scale, (System.nanoTime() - start) / 1e9));
+    }
+
+    /**
+     * Writes the results as CSV.
+     */
+    private static void writeCsv(File file, List<Benchmark.Result> results) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, false))) {
+            writer.write("benchmark,scale,ns_per_op");
+            writer.newLine();
+            for (Benchmark.Result result : results) {
+                writer.write(String.format(Locale.ROOT, "\"%s\",%d,%.1f",
+                        result.getName(), result.getScale(), result.getNanosPerOp()));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write results: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,238 @@
+// documented
+
+package benchmark;
+
+import control.InternshipManager;
+import control.SchoolMajorCatalog;
+import control.UserManager;
+import entity.CompanyRep;
+import entity.Internship;
+import entity.InternshipLevel;
+import entity.Student;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds synthetic, seeded datasets for the benchmarks.
+ *
+ * <p>Majors are taken from {@code data/schools_and_majors.csv} when it is present, so the
+ * datasets use the same catalog as the application. The same seed and size always produce
+ * the same dataset.</p>
+ */
+
+public final class Datasets {
+
+    /** Password given to every generated account. */
+    public static final String PASSWORD = "password1";
+
+    /** Internships a representative may create. */
+    private static final int INTERNSHIPS_PER_REP = 5;
+
+    /** Internships per company, so company reports have several postings. */
+    private static final int INTERNSHIPS_PER_COMPANY = 50;
+
+    /** Words titles and descriptions are drawn from. */
+    private static final String[] WORDS = {
+            "software", "data", "analyst", "engineer", "research", "marketing", "finance",
+            "design", "product", "operations", "security", "cloud", "mobile", "web", "hardware",
+            "consulting", "audit", "logistics", "robotics", "biotech", "policy", "media"
+    };
+
+    /** Catalog majors are resolved against. */
+    private final SchoolMajorCatalog catalog;
+
+    /** Every major in the catalog. */
+    private final List<String> majors = new ArrayList<>();
+
+    /** Seed all generated data derives from. */
+    private final long seed;
+
+    /**
+     * Creates a dataset builder.
+     *
+     * @param catalogFile school-major CSV, used if it exists
+     * @param seed        random seed
+     */
+    public Datasets(File catalogFile, long seed) {
+        this.catalog = catalogFile != null && catalogFile.exists()
+                ? new SchoolMajorCatalog(catalogFile)
+                : new SchoolMajorCatalog();
+        for (String school : catalog.getSchools()) {
+            majors.addAll(catalog.getMajorsForSchool(school));
+        }
+        if (majors.isEmpty()) {
+            majors.add("Computer Science");
+            majors.add("Business");
+        }
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the catalog majors are resolved against.
+     *
+     * @return school-major catalog
+     */
+    public SchoolMajorCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Returns every major used by generated data.
+     *
+     * @return major names
+     */
+    public List<String> getMajors() {
+        return majors;
+    }
+
+    /**
+     * Builds the ID of the i-th generated student.
+     *
+     * @param index student index, below 10 million
+     * @return a valid student ID
+     */
+    public static String studentId(int index) {
+        return String.format("U%07d%c", index, (char) ('A' + index % 26));
+    }
+
+    /**
+     * Builds the ID of the i-th generated representative.
+     *
+     * @param index representative index
+     * @return a valid representative email
+     */
+    public static String repId(int index) {
+        return "rep" + index + "@bench.example";
+    }
+
+    /**
+     * Creates students directly, without a user manager, with majors resolved.
+     *
+     * @param count number of students
+     * @return the students
+     */
+    public List<Student> students(int count) {
+        Random random = new Random(seed);
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String major = majors.get(random.nextInt(majors.size()));
+            Student student = new Student(studentId(i), "Student " + i, PASSWORD, 1 + random.nextInt(4), major);
+            short majorId = catalog.resolveMajorId(major);
+            student.resolveMajor(majorId, catalog.getMajorName(majorId));
+            students.add(student);
+        }
+        return students;
+    }
+
+    /**
+     * Creates an internship manager holding the given number of internships. About 70% are
+     * approved, 10% rejected and the rest left pending; levels, majors, closing dates and
+     * slot counts vary.
+     *
+     * @param count number of internships
+     * @return the populated manager
+     */
+    public InternshipManager internships(int count) {
+        Random random = new Random(seed + 1);
+        InternshipManager manager = new InternshipManager();
+        manager.setSchoolMajorCatalog(catalog);
+        InternshipLevel[] levels = InternshipLevel.values();
+        LocalDate today = LocalDate.now();
+        int companies = Math.max(1, count / INTERNSHIPS_PER_COMPANY);
+        CompanyRep rep = null;
+        for (int i = 0; i < count; i++) {
+            if (i % INTERNSHIPS_PER_REP == 0) {
+                int repIndex = i / INTERNSHIPS_PER_REP;
+                rep = new CompanyRep(repId(repIndex), "Rep " + repIndex, PASSWORD,
+                        "Company " + (repIndex % companies), "", "", true);
+            }
+            List<String> preferred = new ArrayList<>();
+            int majorCount = random.nextInt(3);
+            for (int m = 0; m < majorCount; m++) {
+                preferred.add(majors.get(random.nextInt(majors.size())));
+            }
+            Internship internship = rep.createInternship(manager, title(random, i), description(random),
+                    levels[random.nextInt(levels.length)], preferred,
+                    today.minusDays(random.nextInt(30)), today.plusDays(1 + random.nextInt(90)),
+                    1 + random.nextInt(10));
+            int roll = random.nextInt(10);
+            if (roll < 7) {
+                manager.approveInternship(internship);
+            } else if (roll == 7) {
+                manager.rejectInternship(internship);
+            }
+        }
+        return manager;
+    }
+
+    /**
+     * Registers students, staff and approved representatives through a user manager.
+     *
+     * @param count total number of accounts
+     * @return the populated manager
+     */
+    public UserManager users(int count) {
+        Random random = new Random(seed + 2);
+        UserManager manager = new UserManager();
+        manager.setSchoolMajorCatalog(catalog);
+        int staff = Math.max(1, count / 100);
+        int reps = Math.max(1, count / 10);
+        int students = Math.max(0, count - staff - reps);
+        for (int i = 0; i < students; i++) {
+            manager.registerStudent(studentId(i), "Student " + i, PASSWORD, 1 + random.nextInt(4),
+                    majors.get(random.nextInt(majors.size())));
+        }
+        for (int i = 0; i < staff; i++) {
+            manager.registerCareerCenterStaff(staffId(i), "Staff " + i, PASSWORD, "CCDS");
+        }
+        for (int i = 0; i < reps; i++) {
+            manager.registerCompanyRep(repId(i), "Rep " + i, PASSWORD, "Company " + i, "", "", true);
+        }
+        return manager;
+    }
+
+    /**
+     * Builds the ID of the i-th generated staff member.
+     *
+     * @param index staff index, below 17,576,000
+     * @return a valid staff ID
+     */
+    public static String staffId(int index) {
+        int letters = index / 1000;
+        return "" + (char) ('a' + letters / 676) + (char) ('a' + letters / 26 % 26) + (char) ('a' + letters % 26)
+                + String.format("%03d", index % 1000);
+    }
+
+    /**
+     * Builds a title from the word list.
+     */
+    private static String title(Random random, int index) {
+        return capitalise(WORDS[random.nextInt(WORDS.length)]) + " "
+                + capitalise(WORDS[random.nextInt(WORDS.length)]) + " Intern " + index;
+    }
+
+    /**
+     * Builds a short description from the word list.
+     */
+    private static String description(Random random) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Upper-cases the first letter of a word.
+     */
+    private static String capitalise(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,780 @@
+// documented
+
+package benchmark;
+
+import control.ApplicationManager;
+import control.CompanyRegistry;
+import control.InternshipManager;
+import control.NotificationManager;
+import control.UserManager;
+import control.WaitlistManager;
+import control.WithdrawalManager;
+import entity.Application;
+import entity.ApplicationStatus;
+import entity.CareerCenterStaff;
+import entity.CompanyRep;
+import entity.FilterCriteria;
+import entity.Internship;
+import entity.InternshipLevel;
+import entity.Student;
+import entity.User;
+import entity.WithdrawalRequest;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Drives the control layer with a seeded mix of user actions and reports throughput and
+ * latency percentiles.
+ *
+ * <p>The managers are wired as in the application and loaded from a cohort written by
+ * {@link CohortGenerator}. Every approved representative posts internships, which a staff
+ * member approves, and the simulation then runs a sequence of phases. Each phase performs a
+ * fixed number of operations drawn from a weighted mix of:</p>
+ * <ul>
+ *     <li>{@code login}: a random account logs in and reads its notifications</li>
+ *     <li>{@code browse}: a random student filters the internships open to them</li>
+ *     <li>{@code apply}: a student applies to one of the internships open to them</li>
+ *     <li>{@code offer}: a representative marks a pending application successful</li>
+ *     <li>{@code accept}: a student accepts an outstanding offer</li>
+ *     <li>{@code withdraw}: a student withdraws from an accepted placement and staff approve it</li>
+ * </ul>
+ *
+ * <p>Only the control-layer calls are timed; picking the actor and target is not. An
+ * operation that has nothing to act on, such as an offer with no pending applications, is
+ * counted as idle and not timed, and one the control layer refuses is counted as rejected.
+ * The default phases follow a registration week: logins and browsing at opening, then
+ * applications, then offers, then acceptances and withdrawals.</p>
+ *
+ * <p>Options:</p>
+ * <ul>
+ *     <li>{@code --data DIR} cohort to load; without it a cohort is generated into a
+ *         temporary directory</li>
+ *     <li>{@code --students N} students in the generated cohort (default 5000); loading is
+ *         quadratic in the cohort size because registration checks for duplicate IDs with a
+ *         linear scan</li>
+ *     <li>{@code --internships N} internships each approved representative posts (default 3)</li>
+ *     <li>{@code --operations N} total operations of the default phases (default 100000)</li>
+ *     <li>{@code --phases SPEC} custom phases as {@code name:operations:op=weight,...}
+ *         separated by {@code ;}</li>
+ *     <li>{@code --csv FILE} also write the per-phase results as CSV</li>
+ *     <li>{@code --seed N} random seed (default 42)</li>
+ * </ul>
+ */
+
+public final class LoadSimulator {
+
+    /**
+     * Operations the simulator performs.
+     */
+    enum Op {
+        LOGIN, BROWSE, APPLY, OFFER, ACCEPT, WITHDRAW;
+
+        /**
+         * Returns the name used in phase specifications and reports.
+         *
+         * @return lower-case name
+         */
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** Registration-week phases as share of operations and operation mix. */
+    private static final String[][] REGISTRATION_WEEK = {
+            {"opening", "20", "login=50,browse=45,apply=5"},
+            {"applications", "40", "login=15,browse=45,apply=40"},
+            {"offers", "25", "login=10,browse=20,apply=15,offer=40,accept=15"},
+            {"decisions", "15", "login=10,browse=10,offer=20,accept=40,withdraw=20"}
+    };
+
+    /** Attempts at finding a target before an operation is counted as idle. */
+    private static final int PICK_ATTEMPTS = 8;
+
+    /** Stream reports are printed to, captured before standard output is redirected. */
+    private final PrintStream out = System.out;
+
+    /** Random source for actors, targets and the operation mix. */
+    private final Random random;
+
+    /** Account management. */
+    private final UserManager userManager = new UserManager();
+
+    /** Internship postings. */
+    private final InternshipManager internshipManager = new InternshipManager();
+
+    /** Applications and offers. */
+    private final ApplicationManager applicationManager = new ApplicationManager();
+
+    /** Notifications. */
+    private final NotificationManager notificationManager = new NotificationManager();
+
+    /** Withdrawal requests. */
+    private final WithdrawalManager withdrawalManager = new WithdrawalManager();
+
+    /** Waitlists refilling released slots. */
+    private final WaitlistManager waitlistManager = new WaitlistManager();
+
+    /** IDs of every loaded account. */
+    private final List<String> accountIds = new ArrayList<>();
+
+    /** Loaded students. */
+    private final List<Student> students = new ArrayList<>();
+
+    /** Loaded staff. */
+    private final List<CareerCenterStaff> staff = new ArrayList<>();
+
+    /** Pending applications a representative may make an offer on. */
+    private final List<Application> pending = new ArrayList<>();
+
+    /** Offers a student may accept. */
+    private final List<Application> offers = new ArrayList<>();
+
+    /** Accepted placements a student may withdraw from. */
+    private final List<Application> placements = new ArrayList<>();
+
+    /**
+     * Creates a simulator with managers wired as in the application.
+     *
+     * @param seed random seed
+     */
+    private LoadSimulator(Datasets datasets, long seed) {
+        this.random = new Random(seed);
+        CompanyRegistry companyRegistry = new CompanyRegistry();
+        userManager.setCompanyRegistry(companyRegistry);
+        internshipManager.setCompanyRegistry(companyRegistry);
+        userManager.setSchoolMajorCatalog(datasets.getCatalog());
+        internshipManager.setSchoolMajorCatalog(datasets.getCatalog());
+        applicationManager.setNotificationManager(notificationManager);
+        applicationManager.setEligibilityView(internshipManager.getEligibilityView());
+        waitlistManager.setNotificationManager(notificationManager);
+        applicationManager.setWaitlistManager(waitlistManager);
+        withdrawalManager.setWaitlistManager(waitlistManager);
+    }
+
+    /**
+     * Runs the simulation.
+     *
+     * @param args command-line options, see the class description
+     */
+    public static void main(String[] args) {
+        String data = null;
+        int studentCount = 5000;
+        int internshipsPerRep = 3;
+        int operations = 100_000;
+        String phaseSpec = null;
+        String csv = null;
+        long seed = 42;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--data" -> data = value;
+                case "--students" -> studentCount = Integer.parseInt(value);
+                case "--internships" -> internshipsPerRep = Integer.parseInt(value);
+                case "--operations" -> operations = Integer.parseInt(value);
+                case "--phases" -> phaseSpec = value;
+                case "--csv" -> csv = value;
+                case "--seed" -> seed = Long.parseLong(value);
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+                }
+            }
+        }
+        List<Phase> phases;
+        try {
+            phases = phaseSpec == null ? registrationWeek(operations) : parsePhases(phaseSpec);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid phases: " + e.getMessage());
+            return;
+        }
+        Datasets datasets = new Datasets(new File("data/schools_and_majors.csv"), seed);
+        File dir;
+        try {
+            if (data != null) {
+                dir = new File(data);
+            } else {
+                dir = Files.createTempDirectory("cohort").toFile();
+                new CohortGenerator(datasets, seed).generate(dir, studentCount, Math.max(1, studentCount / 100),
+                        Math.max(1, studentCount / 10), Math.max(1, studentCount / 30), 0.85);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to prepare cohort: " + e.getMessage());
+            return;
+        }
+
+        LoadSimulator simulator = new LoadSimulator(datasets, seed);
+        // The entities and managers print to the console; discard that output while simulating.
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long start = System.nanoTime();
+        try {
+            simulator.load(dir, internshipsPerRep);
+        } catch (IOException e) {
+            System.err.println("Failed to load cohort: " + e.getMessage());
+            return;
+        }
+        System.err.printf(Locale.ROOT, "# loaded %d accounts and %d internships in %.1f s%n",
+                simulator.accountIds.size(), simulator.internshipManager.getInternships().size(),
+                (System.nanoTime() - start) / 1e9);
+
+        List<String> rows = new ArrayList<>();
+        Stats total = new Stats();
+        for (Phase phase : phases) {
+            Stats stats = simulator.run(phase);
+            simulator.report(phase.name, stats, rows);
+            total.add(stats);
+        }
+        simulator.report("total", total, rows);
+        if (csv != null) {
+            writeCsv(new File(csv), rows);
+        }
+    }
+
+    /**
+     * Loads the cohort and posts and approves the internships.
+     */
+    private void load(File dir, int internshipsPerRep) throws IOException {
+        File studentFile = new File(dir, CohortGenerator.STUDENT_FILE);
+        File staffFile = new File(dir, CohortGenerator.STAFF_FILE);
+        File repFile = new File(dir, CohortGenerator.REP_FILE);
+        userManager.loadAllUsers(studentFile, staffFile, repFile);
+        List<CompanyRep> reps = new ArrayList<>();
+        for (File file : new File[] {studentFile, staffFile, repFile}) {
+            for (String id : readIds(file)) {
+                User user = userManager.findUserById(id);
+                if (user == null) {
+                    continue;
+                }
+                accountIds.add(id);
+                if (user instanceof Student student) {
+                    students.add(student);
+                } else if (user instanceof CareerCenterStaff member) {
+                    staff.add(member);
+                } else if (user instanceof CompanyRep rep && rep.isApproved()) {
+                    reps.add(rep);
+                }
+            }
+        }
+        if (students.isEmpty() || staff.isEmpty() || reps.isEmpty()) {
+            throw new IOException("Cohort needs at least one student, staff member and approved representative.");
+        }
+        List<String> majors = new ArrayList<>();
+        for (Student student : students) {
+            if (majors.size() < 64 && !majors.contains(student.getMajor())) {
+                majors.add(student.getMajor());
+            }
+        }
+        InternshipLevel[] levels = InternshipLevel.values();
+        LocalDate today = LocalDate.now();
+        for (CompanyRep rep : reps) {
+            for (int i = 0; i < internshipsPerRep; i++) {
+                List<String> preferred = random.nextInt(4) == 0
+                        ? List.of()
+                        : List.of(majors.get(random.nextInt(majors.size())));
+                Internship internship = rep.createInternship(internshipManager,
+                        rep.getCompanyName() + " Intern " + i, "Synthetic posting",
+                        levels[random.nextInt(levels.length)], preferred,
+                        today.minusDays(1), today.plusDays(30 + random.nextInt(30)), 1 + random.nextInt(5));
+                internshipManager.approveInternship(internship);
+            }
+        }
+    }
+
+    /**
+     * Runs one phase.
+     */
+    private Stats run(Phase phase) {
+        Stats stats = new Stats();
+        long start = System.nanoTime();
+        for (int i = 0; i < phase.operations; i++) {
+            Op op = phase.next(random);
+            stats.record(op, perform(op));
+        }
+        stats.elapsedNanos = System.nanoTime() - start;
+        return stats;
+    }
+
+    /**
+     * Performs one operation.
+     *
+     * @return elapsed nanoseconds, {@link Stats#IDLE} if there was nothing to act on, or
+     *         {@link Stats#REJECTED} minus the elapsed time if the control layer refused it
+     */
+    private long perform(Op op) {
+        return switch (op) {
+            case LOGIN -> login();
+            case BROWSE -> browse();
+            case APPLY -> apply();
+            case OFFER -> offer();
+            case ACCEPT -> accept();
+            case WITHDRAW -> withdraw();
+        };
+    }
+
+    /**
+     * A random account logs in and reads its notifications.
+     */
+    private long login() {
+        String id = accountIds.get(random.nextInt(accountIds.size()));
+        long start = System.nanoTime();
+        User user = userManager.login(id, User.DEFAULT_PASSWORD);
+        if (user == null) {
+            return Stats.rejected(System.nanoTime() - start);
+        }
+        notificationManager.consumeNotifications(user);
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * A random student filters the internships open to them, sometimes by level.
+     */
+    private long browse() {
+        Student student = students.get(random.nextInt(students.size()));
+        InternshipLevel[] levels = InternshipLevel.values();
+        FilterCriteria criteria = random.nextBoolean()
+                ? new FilterCriteria()
+                : new FilterCriteria(null, null, levels[random.nextInt(levels.length)], null);
+        long start = System.nanoTime();
+        internshipManager.filterForStudent(criteria, student);
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * A student without a placement applies to one of the internships open to them.
+     */
+    private long apply() {
+        for (int attempt = 0; attempt < PICK_ATTEMPTS; attempt++) {
+            Student student = students.get(random.nextInt(students.size()));
+            if (student.hasAcceptedPlacement()) {
+                continue;
+            }
+            List<Internship> eligible = internshipManager.getEligibleInternships(student);
+            if (eligible.isEmpty()) {
+                continue;
+            }
+            Internship internship = eligible.get(random.nextInt(eligible.size()));
+            long start = System.nanoTime();
+            try {
+                pending.add(applicationManager.submitApplication(student, internship));
+                return System.nanoTime() - start;
+            } catch (IllegalStateException e) {
+                return Stats.rejected(System.nanoTime() - start);
+            }
+        }
+        return Stats.IDLE;
+    }
+
+    /**
+     * A representative marks a random pending application successful.
+     */
+    private long offer() {
+        Application application = take(pending, ApplicationStatus.PENDING);
+        if (application == null) {
+            return Stats.IDLE;
+        }
+        long start = System.nanoTime();
+        applicationManager.updateStatus(application, ApplicationStatus.SUCCESSFUL);
+        long elapsed = System.nanoTime() - start;
+        offers.add(application);
+        return elapsed;
+    }
+
+    /**
+     * A student accepts a random outstanding offer.
+     */
+    private long accept() {
+        for (int attempt = 0; attempt < PICK_ATTEMPTS; attempt++) {
+            Application application = take(offers, ApplicationStatus.SUCCESSFUL);
+            if (application == null) {
+                return Stats.IDLE;
+            }
+            Student student = application.getStudent();
+            if (student.hasAcceptedPlacement()) {
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                student.acceptPlacement(application, applicationManager);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return Stats.rejected(System.nanoTime() - start);
+            }
+            long elapsed = System.nanoTime() - start;
+            placements.add(application);
+            return elapsed;
+        }
+        return Stats.IDLE;
+    }
+
+    /**
+     * A student withdraws from a random accepted placement and a staff member approves it.
+     */
+    private long withdraw() {
+        for (int attempt = 0; attempt < PICK_ATTEMPTS; attempt++) {
+            Application application = take(placements, ApplicationStatus.SUCCESSFUL);
+            if (application == null) {
+                return Stats.IDLE;
+            }
+            if (application.isWithdrawalRequested()) {
+                continue;
+            }
+            CareerCenterStaff member = staff.get(random.nextInt(staff.size()));
+            long start = System.nanoTime();
+            try {
+                WithdrawalRequest request = application.getStudent().withdraw(application, withdrawalManager,
+                        "Simulated withdrawal");
+                withdrawalManager.processRequest(request, member, true);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return Stats.rejected(System.nanoTime() - start);
+            }
+            return System.nanoTime() - start;
+        }
+        return Stats.IDLE;
+    }
+
+    /**
+     * Removes and returns a random application still in the given status, discarding any
+     * picked along the way that have moved on.
+     */
+    private Application take(List<Application> pool, ApplicationStatus status) {
+        while (!pool.isEmpty()) {
+            int index = random.nextInt(pool.size());
+            Application application = pool.get(index);
+            pool.set(index, pool.get(pool.size() - 1));
+            pool.remove(pool.size() - 1);
+            if (application.getStatus() == status) {
+                return application;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Prints a phase report and appends its CSV rows.
+     */
+    private void report(String phase, Stats stats, List<String> rows) {
+        double seconds = stats.elapsedNanos / 1e9;
+        out.printf(Locale.ROOT, "== %s: %d operations in %.2f s, %.0f ops/s%n",
+                phase, stats.operations(), seconds, stats.operations() / Math.max(seconds, 1e-9));
+        out.printf(Locale.ROOT, "%-9s %8s %8s %6s %10s %10s %10s %10s %10s%n",
+                "op", "ok", "rejected", "idle", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us");
+        for (Op op : Op.values()) {
+            Latencies latencies = stats.latencies.get(op);
+            if (latencies.size == 0 && stats.idle(op) == 0) {
+                continue;
+            }
+            long[] sorted = latencies.sorted();
+            out.printf(Locale.ROOT, "%-9s %8d %8d %6d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    op.label(), latencies.size - stats.rejected(op), stats.rejected(op), stats.idle(op),
+                    micros(sorted, 0.50), micros(sorted, 0.90), micros(sorted, 0.99), micros(sorted, 0.999),
+                    micros(sorted, 1.0));
+            rows.add(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f",
+                    phase, op.label(), latencies.size - stats.rejected(op), stats.rejected(op), stats.idle(op),
+                    latencies.size / Math.max(seconds, 1e-9),
+                    micros(sorted, 0.50), micros(sorted, 0.90), micros(sorted, 0.99), micros(sorted, 0.999),
+                    micros(sorted, 1.0)));
+        }
+        out.println();
+    }
+
+    /**
+     * Returns a percentile of sorted nanosecond samples in microseconds, using the nearest rank.
+     */
+    private static double micros(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)] / 1e3;
+    }
+
+    /**
+     * Builds the registration-week phases for a total number of operations.
+     */
+    private static List<Phase> registrationWeek(int operations) {
+        List<Phase> phases = new ArrayList<>();
+        for (String[] phase : REGISTRATION_WEEK) {
+            phases.add(Phase.parse(phase[0], operations * Integer.parseInt(phase[1]) / 100, phase[2]));
+        }
+        return phases;
+    }
+
+    /**
+     * Parses {@code name:operations:op=weight,...} phases separated by {@code ;}.
+     *
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    private static List<Phase> parsePhases(String spec) {
+        List<Phase> phases = new ArrayList<>();
+        for (String part : spec.split(";")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] fields = part.trim().split(":");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("expected name:operations:mix but got '" + part + "'");
+            }
+            try {
+                phases.add(Phase.parse(fields[0], Integer.parseInt(fields[1].trim()), fields[2]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("bad operation count in '" + part + "'");
+            }
+        }
+        if (phases.isEmpty()) {
+            throw new IllegalArgumentException("no phases given");
+        }
+        return phases;
+    }
+
+    /**
+     * Writes the result rows as CSV.
+     */
+    private static void writeCsv(File file, List<String> rows) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("Phase,Operation,Ok,Rejected,Idle,OpsPerSecond,P50Micros,P90Micros,P99Micros,P999Micros,MaxMicros");
+            writer.newLine();
+            for (String row : rows) {
+                writer.write(row);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write " + file.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the first column of a CSV file, skipping the header.
+     */
+    private static List<String> readIds(File file) throws IOException {
+        List<String> ids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comma = line.indexOf(',');
+                if (comma > 0) {
+                    ids.add(line.substring(0, comma).trim());
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * A number of operations drawn from a weighted mix.
+     */
+    private static final class Phase {
+
+        /** Phase name. */
+        private final String name;
+
+        /** Operations to perform. */
+        private final int operations;
+
+        /** Operations in the mix. */
+        private final Op[] ops;
+
+        /** Cumulative weights matching {@link #ops}. */
+        private final int[] cumulative;
+
+        /**
+         * Creates a phase.
+         */
+        private Phase(String name, int operations, Op[] ops, int[] cumulative) {
+            this.name = name;
+            this.operations = operations;
+            this.ops = ops;
+            this.cumulative = cumulative;
+        }
+
+        /**
+         * Parses a mix such as {@code login=30,browse=70}.
+         *
+         * @throws IllegalArgumentException if an operation is unknown or no weight is positive
+         */
+        static Phase parse(String name, int operations, String mix) {
+            List<Op> ops = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int sum = 0;
+            for (String entry : mix.split(",")) {
+                String[] pair = entry.trim().split("=");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("expected op=weight but got '" + entry + "'");
+                }
+                Op op;
+                int weight;
+                try {
+                    op = Op.valueOf(pair[0].trim().toUpperCase(Locale.ROOT));
+                    weight = Integer.parseInt(pair[1].trim());
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("bad mix entry '" + entry + "'");
+                }
+                if (weight > 0) {
+                    sum += weight;
+                    ops.add(op);
+                    cumulative.add(sum);
+                }
+            }
+            if (sum == 0) {
+                throw new IllegalArgumentException("phase " + name + " has no operations with positive weight");
+            }
+            return new Phase(name.trim(), Math.max(0, operations), ops.toArray(new Op[0]),
+                    cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        /**
+         * Draws the next operation.
+         */
+        Op next(Random random) {
+            int roll = random.nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (roll < cumulative[i]) {
+                    return ops[i];
+                }
+            }
+            return ops[ops.length - 1];
+        }
+    }
+
+    /**
+     * Outcomes and latencies of the operations of one phase.
+     */
+    private static final class Stats {
+
+        /** Marks an operation that had nothing to act on. */
+        static final long IDLE = Long.MIN_VALUE;
+
+        /** Latencies of performed operations, including rejected ones. */
+        final Map<Op, Latencies> latencies = new EnumMap<>(Op.class);
+
+        /** Rejected operations by type. */
+        private final int[] rejected = new int[Op.values().length];
+
+        /** Idle operations by type. */
+        private final int[] idle = new int[Op.values().length];
+
+        /** Wall-clock time of the phase. */
+        long elapsedNanos;
+
+        /**
+         * Creates empty statistics.
+         */
+        Stats() {
+            for (Op op : Op.values()) {
+                latencies.put(op, new Latencies());
+            }
+        }
+
+        /**
+         * Encodes the latency of a rejected operation.
+         */
+        static long rejected(long elapsedNanos) {
+            return -1 - elapsedNanos;
+        }
+
+        /**
+         * Records the outcome of one operation as returned by {@link LoadSimulator#perform(Op)}.
+         */
+        void record(Op op, long outcome) {
+            if (outcome == IDLE) {
+                idle[op.ordinal()]++;
+            } else if (outcome < 0) {
+                rejected[op.ordinal()]++;
+                latencies.get(op).add(-1 - outcome);
+            } else {
+                latencies.get(op).add(outcome);
+            }
+        }
+
+        /**
+         * Adds another phase's statistics to these.
+         */
+        void add(Stats other) {
+            for (Op op : Op.values()) {
+                latencies.get(op).addAll(other.latencies.get(op));
+                rejected[op.ordinal()] += other.rejected[op.ordinal()];
+                idle[op.ordinal()] += other.idle[op.ordinal()];
+            }
+            elapsedNanos += other.elapsedNanos;
+        }
+
+        /**
+         * Returns the number of rejected operations of a type.
+         */
+        int rejected(Op op) {
+            return rejected[op.ordinal()];
+        }
+
+        /**
+         * Returns the number of idle operations of a type.
+         */
+        int idle(Op op) {
+            return idle[op.ordinal()];
+        }
+
+        /**
+         * Returns the number of operations performed or found idle.
+         */
+        long operations() {
+            long count = 0;
+            for (Op op : Op.values()) {
+                count += latencies.get(op).size + idle[op.ordinal()];
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Growable array of nanosecond samples.
+     */
+    private static final class Latencies {
+
+        /** Samples; only the first {@link #size} are valid. */
+        private long[] samples = new long[1024];
+
+        /** Number of samples. */
+        int size;
+
+        /**
+         * Adds a sample.
+         */
+        void add(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        /**
+         * Adds every sample of another set.
+         */
+        void addAll(Latencies other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.samples[i]);
+            }
+        }
+
+        /**
+         * Returns a sorted copy of the samples.
+         */
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+// documented
+
+package benchmark.jmh;
+
+import benchmark.Datasets;
+import control.ApplicationManager;
+import control.InternshipManager;
+import entity.Application;
+import entity.Internship;
+import entity.InternshipStatus;
+import entity.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ApplicationManager#enforceRules} for random student and internship pairs, and
+ * {@link ApplicationManager#submitApplication} by a fresh student to a random approved
+ * internship open to all majors.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationManagerBenchmark {
+
+    /** Internships submitted, and students generated. */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    /** Manager the rules and submissions go through. */
+    private ApplicationManager applications;
+
+    /** Generated students. */
+    private List<Student> students;
+
+    /** Every internship. */
+    private List<Internship> all;
+
+    /** Approved internships open to all majors. */
+    private List<Internship> open;
+
+    /** Majors given to fresh applicants. */
+    private List<String> majors;
+
+    /** Picks students and internships. */
+    private Random random;
+
+    /** Index of the next fresh applicant. */
+    private int next;
+
+    /**
+     * Submits the internships and generates the students.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Datasets datasets = BenchmarkData.datasets();
+        InternshipManager internships = datasets.internships(size);
+        students = datasets.students(size);
+        majors = datasets.getMajors();
+        applications = new ApplicationManager();
+        applications.setEligibilityView(internships.getEligibilityView());
+        all = internships.getInternships();
+        open = new ArrayList<>();
+        for (Internship internship : all) {
+            if (internship.getStatus() == InternshipStatus.APPROVED && internship.isOpenToAllMajors()) {
+                open.add(internship);
+            }
+        }
+        random = new Random(BenchmarkData.SEED);
+    }
+
+    /**
+     * Checks whether a random student may apply to a random internship.
+     *
+     * @return true if allowed
+     */
+    @Benchmark
+    public boolean enforceRules() {
+        return applications.enforceRules(students.get(random.nextInt(students.size())),
+                all.get(random.nextInt(all.size())));
+    }
+
+    /**
+     * Submits one application from a student who has not applied before.
+     *
+     * @return the application
+     */
+    @Benchmark
+    public Application submitApplication() {
+        int index = next++;
+        Student student = new Student(Datasets.studentId(index % 10_000_000), "Applicant", Datasets.PASSWORD,
+                4, majors.get(index % majors.size()));
+        return applications.submitApplication(student, open.get(random.nextInt(open.size())));
+    }
+}
@@ -0,0 +1,48 @@
+// documented
+
+package benchmark.jmh;
+
+import benchmark.Datasets;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Settings shared by the JMH benchmarks.
+ */
+
+final class BenchmarkData {
+
+    /** Seed every dataset derives from, matching the JDK-only harness. */
+    static final long SEED = 42;
+
+    /** Catalog majors are drawn from, relative to the repository root. */
+    private static final File CATALOG = new File("data/schools_and_majors.csv");
+
+    /**
+     * Not instantiable.
+     */
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates the dataset builder used by every benchmark.
+     *
+     * @return dataset builder
+     */
+    static Datasets datasets() {
+        return new Datasets(CATALOG, SEED);
+    }
+
+    /**
+     * Discards console output produced by the measured code, such as printed reports.
+     *
+     * @return the standard output to restore once the trial ends
+     */
+    static PrintStream silenceStandardOutput() {
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return original;
+    }
+}
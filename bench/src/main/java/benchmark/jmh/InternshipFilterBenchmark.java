@@ -0,0 +1,102 @@
+// documented
+
+package benchmark.jmh;
+
+import benchmark.Datasets;
+import control.InternshipManager;
+import entity.FilterCriteria;
+import entity.Internship;
+import entity.InternshipLevel;
+import entity.InternshipStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InternshipManager#filter} with several {@link FilterCriteria} shapes. Every shape but
+ * {@code uncached} repeats the same criteria and so is served by the filter cache after the
+ * first call; {@code uncached} cycles through more distinct criteria than the cache holds.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InternshipFilterBenchmark {
+
+    /** Distinct criteria cycled through by the uncached shape; exceeds the cache size. */
+    private static final int UNCACHED_CRITERIA = 512;
+
+    /** Internships submitted. */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    /** Criteria shape. */
+    @Param({"none", "status", "major", "level", "closingDate", "combined", "uncached"})
+    public String criteria;
+
+    /** Manager holding the internships. */
+    private InternshipManager internships;
+
+    /** A major used by the generated internships. */
+    private String major;
+
+    /** Date closing-date criteria are relative to. */
+    private LocalDate today;
+
+    /** Position in the uncached criteria cycle. */
+    private int next;
+
+    /**
+     * Submits the internships.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Datasets datasets = BenchmarkData.datasets();
+        internships = datasets.internships(size);
+        major = datasets.getMajors().get(0);
+        today = LocalDate.now();
+    }
+
+    /**
+     * Filters the internships once.
+     *
+     * @return the matching internships
+     */
+    @Benchmark
+    public List<Internship> filter() {
+        return internships.filter(nextCriteria());
+    }
+
+    /**
+     * Builds the criteria for the next call.
+     */
+    private FilterCriteria nextCriteria() {
+        return switch (criteria) {
+            case "status" -> new FilterCriteria(InternshipStatus.APPROVED, null, null, null);
+            case "major" -> new FilterCriteria(null, major, null, null);
+            case "level" -> new FilterCriteria(null, null, InternshipLevel.BASIC, null);
+            case "closingDate" -> new FilterCriteria(null, null, null, today.plusDays(30));
+            case "combined" -> new FilterCriteria(InternshipStatus.APPROVED, major, InternshipLevel.INTERMEDIATE,
+                    today.plusDays(60));
+            case "uncached" -> new FilterCriteria(InternshipStatus.APPROVED, null, null,
+                    today.plusDays(next++ % UNCACHED_CRITERIA));
+            default -> new FilterCriteria();
+        };
+    }
+}
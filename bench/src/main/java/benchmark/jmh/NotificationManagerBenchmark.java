@@ -0,0 +1,94 @@
+// documented
+
+package benchmark.jmh;
+
+import control.NotificationManager;
+import entity.Notification;
+import entity.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NotificationManager#notifyUser} and {@link NotificationManager#notifyUsers}, each
+ * followed by {@link NotificationManager#consumeNotifications} for the recipients so that
+ * inboxes stay small and every call measures the same amount of work.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationManagerBenchmark {
+
+    /** Recipients of each bulk notification. */
+    private static final int NOTIFY_GROUP = 100;
+
+    /** Students that can be notified. */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    /** Manager under test. */
+    private NotificationManager notifications;
+
+    /** Generated students. */
+    private List<Student> students;
+
+    /** Picks recipients. */
+    private Random random;
+
+    /**
+     * Generates the students.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        students = BenchmarkData.datasets().students(size);
+        notifications = new NotificationManager();
+        random = new Random(BenchmarkData.SEED);
+    }
+
+    /**
+     * Notifies one random student and consumes their inbox.
+     *
+     * @return the consumed notifications
+     */
+    @Benchmark
+    public List<Notification> notifyUserAndConsume() {
+        Student student = students.get(random.nextInt(students.size()));
+        notifications.notifyUser(student, "Benchmark notification");
+        return notifications.consumeNotifications(student);
+    }
+
+    /**
+     * Notifies a run of consecutive students at once and consumes each inbox.
+     *
+     * @return notifications consumed
+     */
+    @Benchmark
+    public int notifyUsersAndConsume() {
+        int group = Math.min(NOTIFY_GROUP, students.size());
+        int from = random.nextInt(students.size() - group + 1);
+        List<Student> recipients = students.subList(from, from + group);
+        notifications.notifyUsers(recipients, "Benchmark broadcast");
+        int consumed = 0;
+        for (Student recipient : recipients) {
+            consumed += notifications.consumeNotifications(recipient).size();
+        }
+        return consumed;
+    }
+}
@@ -0,0 +1,137 @@
+// documented
+
+package benchmark.jmh;
+
+import benchmark.Datasets;
+import control.DomainEventType;
+import control.EventLog;
+import control.InternshipManager;
+import control.ReportCounters;
+import control.ReportGenerator;
+import entity.Internship;
+import entity.InternshipLevel;
+import entity.InternshipStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link ReportGenerator} report over the generated internships. The reports are
+ * printed to a discarded standard output, so the scores include formatting but not the
+ * terminal.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportGeneratorBenchmark {
+
+    /** Company whose summary is reported. */
+    private static final String COMPANY = "Company 0";
+
+    /** Internships submitted. */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    /** Generator under test. */
+    private ReportGenerator reports;
+
+    /** Manager holding the internships. */
+    private InternshipManager internships;
+
+    /** Every internship. */
+    private List<Internship> all;
+
+    /** A major used by the generated internships. */
+    private String major;
+
+    /** Standard output to restore after the trial. */
+    private PrintStream stdout;
+
+    /**
+     * Submits the internships and counts them for the activity summary.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        stdout = BenchmarkData.silenceStandardOutput();
+        Datasets datasets = BenchmarkData.datasets();
+        internships = datasets.internships(size);
+        all = internships.getInternships();
+        major = datasets.getMajors().get(0);
+        reports = new ReportGenerator();
+        reports.setSchoolMajorCatalog(datasets.getCatalog());
+        ReportCounters counters = new ReportCounters();
+        EventLog log = new EventLog();
+        log.register(counters);
+        for (Internship internship : all) {
+            log.append(DomainEventType.INTERNSHIP_SUBMITTED, internship.getCompanyName(), internship.getTitle(),
+                    null, null, internship.getStatus().name());
+        }
+        reports.setReportCounters(counters);
+    }
+
+    /**
+     * Restores standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * Reports the approved internships.
+     */
+    @Benchmark
+    public void generateByStatus() {
+        reports.generateByStatus(all, InternshipStatus.APPROVED);
+    }
+
+    /**
+     * Reports the internships open to one major.
+     */
+    @Benchmark
+    public void generateByMajor() {
+        reports.generateByMajor(all, major);
+    }
+
+    /**
+     * Reports the advanced internships.
+     */
+    @Benchmark
+    public void generateByLevel() {
+        reports.generateByLevel(all, InternshipLevel.ADVANCED);
+    }
+
+    /**
+     * Reports one company's internships.
+     */
+    @Benchmark
+    public void generateCompanySummary() {
+        reports.generateCompanySummary(internships.getInternshipsForCompany(COMPANY), COMPANY);
+    }
+
+    /**
+     * Reports the activity counters.
+     */
+    @Benchmark
+    public void generateActivitySummary() {
+        reports.generateActivitySummary();
+    }
+}
@@ -0,0 +1,114 @@
+// documented
+
+package benchmark.jmh;
+
+import benchmark.Datasets;
+import control.UserManager;
+import entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserManager#findUserById} and {@link UserManager#login} against a populated user
+ * manager, looking up students and representatives in a fixed pseudo-random order.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserManagerBenchmark {
+
+    /** Accounts registered. */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    /** Manager holding the accounts. */
+    private UserManager users;
+
+    /** IDs looked up, in lookup order. */
+    private String[] ids;
+
+    /** Index of the next ID to look up. */
+    private int next;
+
+    /** Standard output to restore after the trial. */
+    private PrintStream stdout;
+
+    /**
+     * Registers the accounts.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        stdout = BenchmarkData.silenceStandardOutput();
+        users = BenchmarkData.datasets().users(size);
+        int reps = Math.max(1, size / 10);
+        int students = Math.max(0, size - Math.max(1, size / 100) - reps);
+        List<String> known = new ArrayList<>(students + reps);
+        for (int i = 0; i < students; i++) {
+            known.add(Datasets.studentId(i));
+        }
+        for (int i = 0; i < reps; i++) {
+            known.add(Datasets.repId(i));
+        }
+        Collections.shuffle(known, new Random(BenchmarkData.SEED));
+        ids = known.toArray(new String[0]);
+    }
+
+    /**
+     * Restores standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * Looks up one account by ID.
+     *
+     * @return the account
+     */
+    @Benchmark
+    public User findUserById() {
+        return users.findUserById(nextId());
+    }
+
+    /**
+     * Logs one account in with the correct password.
+     *
+     * @return the account
+     */
+    @Benchmark
+    public User login() {
+        return users.login(nextId(), Datasets.PASSWORD);
+    }
+
+    /**
+     * Returns the next ID to look up, cycling through all of them.
+     */
+    private String nextId() {
+        String id = ids[next];
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return id;
+    }
+}
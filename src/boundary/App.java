@@ -1,11 +1,22 @@
 package boundary;
 
 import control.ApplicationManager;
+import control.AsyncLogger;
+import control.CommandLoop;
+import control.CompanyRegistry;
+import control.EventLog;
+import control.FlightEvents;
 import control.InternshipManager;
+import control.LogLevel;
+import control.MetricsRegistry;
 import control.NotificationManager;
+import control.OfferExpiryManager;
+import control.PlacementRound;
+import control.ReportCounters;
 import control.ReportGenerator;
 import control.SchoolMajorCatalog;
 import control.UserManager;
+import control.WaitlistManager;
 import control.WithdrawalManager;
 import entity.CareerCenterStaff;
 import entity.CompanyRep;
@@ -17,9 +28,16 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.regex.Pattern;
 import menu.CompanyRepMenu;
@@ -61,6 +79,9 @@ public class App {
     /** CSV header for company representative records. */
     private static final String COMPANY_HEADER = "CompanyRepID,Name,CompanyName,Department,Position,Email,Approved";
 
+    /** Longest time batch mode waits for the command loop to drain on exit. */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
     /** Manages all user accounts and login/registration logic. */
     private final UserManager userManager = new UserManager();
 
@@ -76,9 +97,30 @@ public class App {
     /** Manages withdrawal requests from students. */
     private final WithdrawalManager withdrawalManager = new WithdrawalManager();
 
+    /** Waitlists refilling slots released by rejections and withdrawals. */
+    private final WaitlistManager waitlistManager = new WaitlistManager();
+
+    /** Expires offers that are not accepted before their deadline. */
+    private final OfferExpiryManager offerExpiryManager;
+
+    /** Canonical company entries shared by user and internship management. */
+    private final CompanyRegistry companyRegistry = new CompanyRegistry();
+
+    /** Collects rankings and allocates offers in batch placement rounds. */
+    private final PlacementRound placementRound = new PlacementRound(applicationManager, internshipManager);
+
+    /** Counters and latency histograms recorded by the managers. */
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
     /** Generates reports for Career Center Staff. */
     private final ReportGenerator reportGenerator = new ReportGenerator();
 
+    /** Append-only record of state changes made after startup. */
+    private final EventLog eventLog = new EventLog();
+
+    /** Running totals projected from the event log for the activity summary. */
+    private final ReportCounters reportCounters = new ReportCounters();
+
     /** Shared scanner for console input. */
     private final Scanner scanner = new Scanner(System.in);
 
@@ -120,31 +162,140 @@ public class App {
         this.studentDataPath = "data/sample_student_list.csv";
         this.staffDataPath = "data/sample_staff_list.csv";
         this.companyDataPath = "data/sample_company_representative_list.csv";
+        configureLogging(new File("data/app.log"));
+        long loadStart = System.nanoTime();
         this.schoolMajorCatalog = new SchoolMajorCatalog(new File("data/schools_and_majors.csv"));
+        metricsRegistry.histogram("csv.load.schools_and_majors").recordSince(loadStart);
+        this.offerExpiryManager = new OfferExpiryManager(applicationManager);
         this.console = new ConsoleHelper(scanner, schoolMajorCatalog);
         this.internshipBrowser = new InternshipBrowser(internshipManager, console);
         this.studentMenu = new StudentMenu(console, internshipBrowser, applicationManager,
-                internshipManager, notificationManager, withdrawalManager, userManager,
+                internshipManager, notificationManager, withdrawalManager, userManager, placementRound,
                 this::displayNotifications, this::handlePasswordChange);
         this.companyRepMenu = new CompanyRepMenu(console, internshipBrowser, internshipManager,
-                applicationManager, notificationManager, userManager,
+                applicationManager, notificationManager, userManager, placementRound,
                 this::displayNotifications, this::handlePasswordChange);
         this.staffMenu = new StaffMenu(console, internshipManager, userManager, withdrawalManager,
-                notificationManager, reportGenerator, this::displayNotifications,
-                this::handlePasswordChange, this::updateCompanyRepApproval);
+                notificationManager, reportGenerator, placementRound, metricsRegistry, this::displayNotifications,
+                this::handlePasswordChange, this::updateCompanyRepApprovals);
+        userManager.setCompanyRegistry(companyRegistry);
+        internshipManager.setCompanyRegistry(companyRegistry);
+        userManager.setSchoolMajorCatalog(schoolMajorCatalog);
+        internshipManager.setSchoolMajorCatalog(schoolMajorCatalog);
+        reportGenerator.setSchoolMajorCatalog(schoolMajorCatalog);
+        reportGenerator.setScreen(console.getScreen());
+        userManager.setMetricsRegistry(metricsRegistry);
+        internshipManager.setMetricsRegistry(metricsRegistry);
+        applicationManager.setMetricsRegistry(metricsRegistry);
+        notificationManager.setMetricsRegistry(metricsRegistry);
         loadInitialUsers();
+        configureEventLog(new File("data/events.log"));
         applicationManager.setNotificationManager(notificationManager);
+        applicationManager.setEligibilityView(internshipManager.getEligibilityView());
+        waitlistManager.setNotificationManager(notificationManager);
+        applicationManager.setWaitlistManager(waitlistManager);
+        withdrawalManager.setWaitlistManager(waitlistManager);
+        offerExpiryManager.setNotificationManager(notificationManager);
+        offerExpiryManager.setWaitlistManager(waitlistManager);
+        applicationManager.setOfferExpiryManager(offerExpiryManager);
+        waitlistManager.setOfferExpiryManager(offerExpiryManager);
+        withdrawalManager.setOfferExpiryManager(offerExpiryManager);
+        offerExpiryManager.start();
     }
 
     /**
      * Application entry point.
      *
-     * @param args command-line arguments (ignored)
+     * <p>With {@code --batch [file]} the commands in the file, or on standard input when the
+     * file is omitted or is {@code -}, are run without prompts and the process exits with
+     * status 1 if any of them failed; see {@link BatchRunner}. Otherwise the interactive menus
+     * are started.</p>
+     *
+     * @param args command-line arguments
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            int failures = new App().runBatch(args.length > 1 ? args[1] : "-");
+            System.exit(failures == 0 ? 0 : 1);
+        }
         new App().start();
     }
 
+    /**
+     * Runs a command script against the loaded data. Script commands, expired offers and
+     * journal writes all go through one {@link CommandLoop}, so the writer thread is the only
+     * one changing state, and each batch of its events is flushed to the journal together.
+     *
+     * @param source path of the script, or "-" for standard input
+     * @return number of failed commands
+     */
+    private int runBatch(String source) {
+        offerExpiryManager.applyExpired();
+        BatchRunner runner = new BatchRunner(userManager, internshipManager, applicationManager,
+                withdrawalManager, notificationManager, reportGenerator, console.getScreen(),
+                this::updateCompanyRepApprovals);
+        CommandLoop commandLoop = new CommandLoop("domain-writer");
+        commandLoop.addBatchListener(offerExpiryManager::applyExpired);
+        commandLoop.addBatchListener(eventLog::flush);
+        runner.setCommandLoop(commandLoop);
+        eventLog.setAutoFlush(false);
+        commandLoop.start();
+        try (Reader reader = source.equals("-") ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : new FileReader(source, StandardCharsets.UTF_8)) {
+            return runner.run(reader);
+        } catch (IOException e) {
+            console.println("Could not read batch file " + source + ": " + e.getMessage());
+            console.flush();
+            return 1;
+        } finally {
+            commandLoop.shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+            eventLog.setAutoFlush(true);
+        }
+    }
+
+    /**
+     * Sends domain and loader log records at INFO and above to a log file, so that they do not
+     * interleave with the console menus. Falls back to the default standard error output, at
+     * its default level, if the file cannot be opened.
+     *
+     * @param logFile file records are appended to
+     */
+    private void configureLogging(File logFile) {
+        File parent = logFile.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            return;
+        }
+        try {
+            AsyncLogger logger = AsyncLogger.getDefault();
+            logger.setOutput(new PrintStream(new FileOutputStream(logFile, true), false, "UTF-8"));
+            logger.setLevel(LogLevel.INFO);
+        } catch (IOException e) {
+            System.err.println("Could not open log file " + logFile.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records state changes in the event log from here on, journaling them to a file and
+     * projecting them into the report counters. Attached after the CSV files are loaded, so
+     * loading existing users is not recorded again on every start. If the journal cannot be
+     * opened the counters are still kept up to date.
+     *
+     * @param journalFile file events are appended to
+     */
+    private void configureEventLog(File journalFile) {
+        eventLog.register(reportCounters);
+        reportGenerator.setReportCounters(reportCounters);
+        userManager.setEventLog(eventLog);
+        internshipManager.setEventLog(eventLog);
+        applicationManager.setEventLog(eventLog);
+        withdrawalManager.setEventLog(eventLog);
+        try {
+            eventLog.openJournal(journalFile);
+        } catch (IOException e) {
+            console.println("Could not open event journal " + journalFile.getPath() + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Starts the top-level main menu loop.
      *
@@ -158,10 +309,11 @@ public class App {
     public void start() {
         boolean running = true;
         while (running) {
-            System.out.println("=== Internship Hub ===");
-            System.out.println("1. Login");
-            System.out.println("2. Register");
-            System.out.println("3. Quit");
+            offerExpiryManager.applyExpired();
+            console.println("=== Internship Hub ===");
+            console.println("1. Login");
+            console.println("2. Register");
+            console.println("3. Quit");
             String choice = console.readLine("Select an option: ");
             switch (choice) {
                 case "1" -> {
@@ -176,11 +328,12 @@ public class App {
                         running = false;
                     }
                 }
-                default -> System.out.println("Invalid choice. Please try again.");
+                default -> console.println("Invalid choice. Please try again.");
             }
-            System.out.println();
+            console.println();
         }
-        System.out.println("Goodbye.");
+        console.println("Goodbye.");
+        console.flush();
     }
 
     /**
@@ -208,12 +361,12 @@ public class App {
         while (true) {
             String id = console.readLine("User ID (or 'cancel' to return): ");
             if (id.equalsIgnoreCase("cancel")) {
-                System.out.println("Login cancelled.");
+                console.println("Login cancelled.");
                 return null;
             }
             String password = console.readLine("Password (type 'reset' to reset, 'cancel' to exit): ");
             if ("cancel".equalsIgnoreCase(password)) {
-                System.out.println("Login cancelled.");
+                console.println("Login cancelled.");
                 return null;
             }
             if ("reset".equalsIgnoreCase(password)) {
@@ -222,16 +375,16 @@ public class App {
             }
             User user = userManager.login(id, password);
             if (user != null) {
-                System.out.println("Welcome back, " + user.getName() + ".");
+                console.println("Welcome back, " + user.getName() + ".");
                 return user;
             }
-            System.out.println(userManager.getLastLoginMessage());
+            console.println(userManager.getLastLoginMessage());
             attempts++;
             if (!console.promptYesNo("Try again? (y/n): ", true)) {
                 return null;
             }
             if (attempts >= 3) {
-                System.out.println("Tip: consider using the reset option if you continue to face issues.");
+                console.println("Tip: consider using the reset option if you continue to face issues.");
             }
         }
     }
@@ -243,28 +396,28 @@ public class App {
      */
     private void handlePasswordReset(String id) {
         if (id == null || id.isBlank()) {
-            System.out.println("Provide your user ID before requesting a reset.");
+            console.println("Provide your user ID before requesting a reset.");
             return;
         }
         String newPass = console.readLine("Enter new temporary password (min 8 chars) or 'cancel': ");
         if ("cancel".equalsIgnoreCase(newPass)) {
-            System.out.println("Reset cancelled.");
+            console.println("Reset cancelled.");
             return;
         }
         String confirm = console.readLine("Confirm new temporary password: ");
         if (!newPass.equals(confirm)) {
-            System.out.println("Passwords do not match. Reset cancelled.");
+            console.println("Passwords do not match. Reset cancelled.");
             return;
         }
         User target = userManager.findUserById(id);
         if (target != null && newPass.equals(target.getPassword())) {
-            System.out.println("New password matches the old password. Please choose a different password.");
+            console.println("New password matches the old password. Please choose a different password.");
             return;
         }
         if (!userManager.resetPassword(id, newPass)) {
-            System.out.println("Unable to reset password. Ensure the account exists and password meets requirements.");
+            console.println("Unable to reset password. Ensure the account exists and password meets requirements.");
         } else {
-            System.out.println("Password updated. Use it to log in.");
+            console.println("Password updated. Use it to log in.");
         }
     }
 
@@ -286,18 +439,18 @@ public class App {
      * Handles the top-level registration flow for different user types.
      */
     private void handleRegistration() {
-        System.out.println("Select user type to register:");
-        System.out.println("1. Student");
-        System.out.println("2. Company Representative");
-        System.out.println("3. Career Center Staff");
-        System.out.println("4. Cancel");
+        console.println("Select user type to register:");
+        console.println("1. Student");
+        console.println("2. Company Representative");
+        console.println("3. Career Center Staff");
+        console.println("4. Cancel");
         String choice = console.readLine("Choice: ");
         switch (choice) {
             case "1" -> registerStudent();
             case "2" -> registerCompanyRep();
             case "3" -> registerCareerCenterStaff();
-            case "4" -> System.out.println("Registration cancelled.");
-            default -> System.out.println("Unknown user type.");
+            case "4" -> console.println("Registration cancelled.");
+            default -> console.println("Unknown user type.");
         }
     }
 
@@ -307,17 +460,17 @@ public class App {
     private void registerStudent() {
         String id = console.readLine("Student ID (e.g., U1234567A): ").toUpperCase();
         if (!STUDENT_ID_PATTERN.matcher(id).matches()) {
-            System.out.println("Invalid ID format.");
+            console.println("Invalid ID format.");
             return;
         }
         String name = console.readLine("Name: ");
         if (name.isEmpty()) {
-            System.out.println("Name cannot be empty.");
+            console.println("Name cannot be empty.");
             return;
         }
         String password = console.promptPasswordInput("Password (min 8 chars): ");
         if (password == null) {
-            System.out.println("Registration cancelled.");
+            console.println("Registration cancelled.");
             return;
         }
         String email = console.readLine("Email (must end with @e.ntu.edu.sg): ");
@@ -325,29 +478,29 @@ public class App {
         if (email.isEmpty()
                 || !EMAIL_PATTERN.matcher(email).matches()
                 || !normalizedEmail.endsWith("@e.ntu.edu.sg")) {
-            System.out.println("A valid NTU email is required.");
+            console.println("A valid NTU email is required.");
             return;
         }
         if (emailExistsInCsv(studentDataPath, 4, email)) {
-            System.out.println("This email is already registered.");
+            console.println("This email is already registered.");
             return;
         }
         Integer year = console.readInt("Year of Study (1-4, or type 'cancel'): ", 1, 4, null, true);
         if (year == null) {
-            System.out.println("Registration cancelled.");
+            console.println("Registration cancelled.");
             return;
         }
         String major = console.promptStudentMajorSelection();
         if (!console.promptYesNo("Confirm registration? (y/n): ", true)) {
-            System.out.println("Registration cancelled.");
+            console.println("Registration cancelled.");
             return;
         }
         boolean registered = userManager.registerStudent(id, name, password, year, major);
         if (registered) {
             persistStudentRecord(id, name, major, year, email);
-            System.out.println("Student registered successfully.");
+            console.println("Student registered successfully.");
         } else {
-            System.out.println("Registration failed. Ensure ID is unique and password meets requirements.");
+            console.println("Registration failed. Ensure ID is unique and password meets requirements.");
         }
     }
 
@@ -357,26 +510,26 @@ public class App {
     private void registerCompanyRep() {
         String id = console.readLine("Company Rep ID (email): ");
         if (!EMAIL_PATTERN.matcher(id).matches()) {
-            System.out.println("Invalid email format.");
+            console.println("Invalid email format.");
             return;
         }
         String name = console.readLine("Name: ");
         if (name.isEmpty()) {
-            System.out.println("Name cannot be empty.");
+            console.println("Name cannot be empty.");
             return;
         }
         String password = console.promptPasswordInput("Password (min 8 chars): ");
         if (password == null) {
-            System.out.println("Registration cancelled.");
+            console.println("Registration cancelled.");
             return;
         }
         if (emailExistsInCsv(companyDataPath, 5, id)) {
-            System.out.println("This email is already registered.");
+            console.println("This email is already registered.");
             return;
         }
         String companyName = console.readLine("Company Name: ");
         if (companyName.isEmpty()) {
-            System.out.println("Company name is required.");
+            console.println("Company name is required.");
             return;
         }
         String department = console.readLine("Department: ");
@@ -388,17 +541,17 @@ public class App {
             position = "NA";
         }
         if (!console.promptYesNo("Submit registration for approval? (y/n): ", true)) {
-            System.out.println("Registration cancelled.");
+            console.println("Registration cancelled.");
             return;
         }
         boolean registered = userManager.registerCompanyRep(id, name, password, companyName, department, position, false);
         if (registered) {
             persistCompanyRepRecord(id, name, companyName, department, position);
-            System.out.println("Registration submitted. A Career Center Staff member must approve your account before you can log in.");
+            console.println("Registration submitted. A Career Center Staff member must approve your account before you can log in.");
             notificationManager.notifyStaffNewRepRegistration(
                     userManager.getCareerCenterStaffMembers(), name, id, companyName);
         } else {
-            System.out.println("Registration failed. Ensure all fields are valid and the ID has not been used.");
+            console.println("Registration failed. Ensure all fields are valid and the ID has not been used.");
         }
     }
 
@@ -408,17 +561,17 @@ public class App {
     private void registerCareerCenterStaff() {
         String id = console.readLine("Staff ID (e.g., abc123): ");
         if (!STAFF_ID_PATTERN.matcher(id).matches()) {
-            System.out.println("Invalid staff ID format.");
+            console.println("Invalid staff ID format.");
             return;
         }
         String name = console.readLine("Name: ");
         if (name.isEmpty()) {
-            System.out.println("Name cannot be empty.");
+            console.println("Name cannot be empty.");
             return;
         }
         String password = console.promptPasswordInput("Password (min 8 chars): ");
         if (password == null) {
-            System.out.println("Registration cancelled.");
+            console.println("Registration cancelled.");
             return;
         }
         String department = console.readLine("Department: ");
@@ -427,23 +580,23 @@ public class App {
         if (email.isEmpty()
                 || !EMAIL_PATTERN.matcher(email).matches()
                 || !normalizedEmail.endsWith("@ntu.edu.sg")) {
-            System.out.println("A valid NTU email is required.");
+            console.println("A valid NTU email is required.");
             return;
         }
         if (emailExistsInCsv(staffDataPath, 4, email)) {
-            System.out.println("This email is already registered.");
+            console.println("This email is already registered.");
             return;
         }
         if (!console.promptYesNo("Confirm staff registration? (y/n): ", true)) {
-            System.out.println("Registration cancelled.");
+            console.println("Registration cancelled.");
             return;
         }
         boolean registered = userManager.registerCareerCenterStaff(id, name, password, department);
         if (registered) {
             persistStaffRecord(id, name, department, email);
-            System.out.println("Career Center Staff registered successfully.");
+            console.println("Career Center Staff registered successfully.");
         } else {
-            System.out.println("Registration failed. Ensure the ID is unique and password meets requirements.");
+            console.println("Registration failed. Ensure the ID is unique and password meets requirements.");
         }
     }
 
@@ -479,8 +632,11 @@ public class App {
      * @param line   data line to append
      */
     private void appendCsvLine(String path, String header, String line) {
+        FlightEvents.CsvPersist event = new FlightEvents.CsvPersist();
+        event.begin();
         File file = new File(path);
         boolean exists = file.exists();
+        boolean written = false;
         try (FileWriter writer = new FileWriter(file, true)) {
             if (!exists) {
                 writer.write(header);
@@ -488,9 +644,11 @@ public class App {
             }
             writer.write(line);
             writer.write(System.lineSeparator());
+            written = true;
         } catch (IOException e) {
             System.err.println("Failed to persist record to " + path + ": " + e.getMessage());
         }
+        event.complete(file, 1, true, written);
     }
 
     /**
@@ -541,26 +699,27 @@ public class App {
         while (true) {
             String newPassword = console.readLine("New password (min 8 chars, type 'cancel' to exit): ");
             if ("cancel".equalsIgnoreCase(newPassword)) {
-                System.out.println("Password change cancelled.");
+                console.println("Password change cancelled.");
                 return;
             }
             String confirm = console.readLine("Confirm new password: ");
             if (!newPassword.equals(confirm)) {
-                System.out.println("Passwords do not match. Try again.");
+                console.println("Passwords do not match. Try again.");
                 continue;
             }
             try {
                 user.changePassword(newPassword);
-                System.out.println("Password updated successfully.");
+                console.println("Password updated successfully.");
                 return;
             } catch (IllegalArgumentException e) {
-                System.out.println("Unable to change password: " + e.getMessage());
+                console.println("Unable to change password: " + e.getMessage());
             }
         }
     }
 
     /**
-     * Retrieves and displays notifications for the given user.
+     * Applies any offers that have expired, then retrieves and displays notifications
+     * for the given user.
      *
      * @param user user whose notifications should be displayed
      */
@@ -568,28 +727,35 @@ public class App {
         if (user == null) {
             return;
         }
+        offerExpiryManager.applyExpired();
         List<Notification> notifications = notificationManager.consumeNotifications(user);
         if (notifications.isEmpty()) {
             return;
         }
-        System.out.println("\n--- Notifications ---");
+        console.println("\n--- Notifications ---");
         for (Notification notification : notifications) {
-            System.out.println("* " + notification);
+            console.println("* " + notification);
         }
-        System.out.println("---------------------");
+        console.println("---------------------");
     }
 
     /**
-     * Updates the approval status of a company representative in the backing CSV file.
+     * Updates the approval status of company representatives in the backing CSV file,
+     * reading and rewriting the file once for the whole set of changes.
      *
-     * @param repId    representative ID (email)
-     * @param approved new approval status
+     * @param approvals new approval status keyed by representative ID (email)
      */
-    private void updateCompanyRepApproval(String repId, boolean approved) {
+    private void updateCompanyRepApprovals(Map<String, Boolean> approvals) {
         File file = new File(companyDataPath);
-        if (!file.exists() || repId == null || repId.isBlank()) {
+        if (!file.exists() || approvals == null || approvals.isEmpty()) {
             return;
         }
+        Map<String, Boolean> pending = new HashMap<>();
+        for (Map.Entry<String, Boolean> approval : approvals.entrySet()) {
+            if (approval.getKey() != null && !approval.getKey().isBlank()) {
+                pending.put(approval.getKey().trim().toLowerCase(), approval.getValue());
+            }
+        }
         List<String> lines = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
@@ -605,28 +771,33 @@ public class App {
             return;
         }
         boolean updated = false;
-        for (int i = 1; i < lines.size(); i++) {
+        for (int i = 1; i < lines.size() && !pending.isEmpty(); i++) {
             String[] tokens = lines.get(i).split(",", -1);
             if (tokens.length < 7) {
                 continue;
             }
-            if (tokens[0].trim().equalsIgnoreCase(repId.trim())) {
+            Boolean approved = pending.remove(tokens[0].trim().toLowerCase());
+            if (approved != null) {
                 tokens[6] = String.valueOf(approved);
                 lines.set(i, String.join(",", tokens));
                 updated = true;
-                break;
             }
         }
         if (!updated) {
             return;
         }
+        FlightEvents.CsvPersist event = new FlightEvents.CsvPersist();
+        event.begin();
+        boolean written = false;
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, false))) {
             for (String entry : lines) {
                 writer.write(entry);
                 writer.newLine();
             }
+            written = true;
         } catch (IOException e) {
             System.err.println("Failed to update representative file: " + e.getMessage());
         }
+        event.complete(file, lines.size(), false, written);
     }
 }
@@ -0,0 +1,757 @@
+// documented
+
+package boundary;
+
+import control.ApplicationManager;
+import control.ApprovalBatch;
+import control.CommandLoop;
+import control.InternshipManager;
+import control.NotificationManager;
+import control.ReportGenerator;
+import control.ScreenBuffer;
+import control.UserManager;
+import control.WithdrawalManager;
+import entity.AccountRequest;
+import entity.Application;
+import entity.ApplicationStatus;
+import entity.CareerCenterStaff;
+import entity.CompanyRep;
+import entity.Internship;
+import entity.InternshipLevel;
+import entity.InternshipStatus;
+import entity.Student;
+import entity.User;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Runs a script of commands straight against the control layer, without prompts.
+ *
+ * <p>Each line holds one command followed by its arguments, separated by spaces; arguments
+ * containing spaces are wrapped in double quotes. Blank lines and lines starting with
+ * {@code #} are ignored. Users are named by ID and internships by company and title. Commands
+ * act on behalf of the named user without a password, so batch mode is for operators with
+ * access to the data files.</p>
+ * <ul>
+ *     <li>{@code approve-rep <staffId> <repId>}</li>
+ *     <li>{@code reject-rep <staffId> <repId> [notes]}</li>
+ *     <li>{@code approve-internship <staffId> <company> <title>}</li>
+ *     <li>{@code reject-internship <staffId> <company> <title>}</li>
+ *     <li>{@code create-internship <repId> <title> <description> <level> <majors|-> <open|-> <close|-> <slots>},
+ *         with majors separated by semicolons and dates as yyyy-MM-dd</li>
+ *     <li>{@code apply <studentId> <company> <title>}</li>
+ *     <li>{@code decide <repId> <title> <studentId> successful|unsuccessful}</li>
+ *     <li>{@code accept <studentId> <company> <title>}</li>
+ *     <li>{@code report status|major|level|company <value>} or {@code report activity}</li>
+ * </ul>
+ *
+ * <p>Execution is pipelined: a reader thread parses lines into a bounded queue while commands
+ * run, so a script can be streamed from standard input. Consecutive staff decisions are
+ * queued in one {@link ApprovalBatch} and committed together when a different command or
+ * staff member comes up, and representative approvals are handed to the persistence callback
+ * once at the end. With a {@link CommandLoop} set, every command and the final summary run on
+ * its writer thread, in batches, while this thread only forwards parsed lines. Failures are
+ * reported with their line number as they occur and do not stop the run; a summary of each
+ * command's outcomes follows the last line.</p>
+ */
+
+public class BatchRunner {
+
+    /** Parsed lines the reader thread may run ahead of execution. */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /** Queued decisions after which the approval batch is committed regardless. */
+    private static final int MAX_QUEUED_DECISIONS = 1000;
+
+    /** Commands queued on the command loop before the oldest is waited for. */
+    private static final int MAX_IN_FLIGHT = 4 * CommandLoop.MAX_BATCH;
+
+    /** Marks the end of the input on the command queue. */
+    private static final Command END = new Command(-1, Collections.emptyList());
+
+    /** Manager for users and account requests. */
+    private final UserManager userManager;
+
+    /** Manager for internships. */
+    private final InternshipManager internshipManager;
+
+    /** Manager for applications. */
+    private final ApplicationManager applicationManager;
+
+    /** Manager for withdrawal requests, used by approval batches. */
+    private final WithdrawalManager withdrawalManager;
+
+    /** Manager for notifications. */
+    private final NotificationManager notificationManager;
+
+    /** Generator for report commands. */
+    private final ReportGenerator reportGenerator;
+
+    /** Buffer receiving failures and the summary. */
+    private final ScreenBuffer screen;
+
+    /** Persists changed representative approvals. */
+    private final Consumer<Map<String, Boolean>> approvalsUpdater;
+
+    /** Outcome counts per command name: succeeded, failed. */
+    private final Map<String, int[]> outcomes = new TreeMap<>();
+
+    /** Representative approvals decided during the run, persisted at the end. */
+    private final Map<String, Boolean> approvals = new LinkedHashMap<>();
+
+    /** Decisions queued but not yet committed. */
+    private ApprovalBatch batch;
+
+    /** Staff member deciding the queued batch. */
+    private CareerCenterStaff batchStaff;
+
+    /** Lines whose decisions are in the queued batch. */
+    private final List<Command> batchCommands = new ArrayList<>();
+
+    /** Items already in the queued batch, to reject duplicates. */
+    private final Set<Object> batchItems = new HashSet<>();
+
+    /** Staff members notified of internship submissions, looked up once. */
+    private List<CareerCenterStaff> staffMembers;
+
+    /** Loop commands are run on, or null to run them on the calling thread. */
+    private CommandLoop commandLoop;
+
+    /**
+     * Creates a batch runner.
+     *
+     * @param userManager         manager for users and account requests
+     * @param internshipManager   manager for internships
+     * @param applicationManager  manager for applications
+     * @param withdrawalManager   manager for withdrawal requests
+     * @param notificationManager manager for notifications
+     * @param reportGenerator     generator for report commands
+     * @param screen              buffer receiving failures and the summary
+     * @param approvalsUpdater    persists changed representative approvals
+     */
+    public BatchRunner(UserManager userManager, InternshipManager internshipManager,
+                       ApplicationManager applicationManager, WithdrawalManager withdrawalManager,
+                       NotificationManager notificationManager, ReportGenerator reportGenerator,
+                       ScreenBuffer screen, Consumer<Map<String, Boolean>> approvalsUpdater) {
+        this.userManager = userManager;
+        this.internshipManager = internshipManager;
+        this.applicationManager = applicationManager;
+        this.withdrawalManager = withdrawalManager;
+        this.notificationManager = notificationManager;
+        this.reportGenerator = reportGenerator;
+        this.screen = screen;
+        this.approvalsUpdater = approvalsUpdater;
+    }
+
+    /**
+     * Assigns the loop that commands are run on. Without one, commands run on the thread
+     * calling {@link #run(Reader)}.
+     *
+     * @param commandLoop single-writer loop, or null to run commands directly
+     */
+    public void setCommandLoop(CommandLoop commandLoop) {
+        this.commandLoop = commandLoop;
+    }
+
+    /**
+     * Runs every command in the input and prints a summary.
+     *
+     * @param input the script; read to the end but not closed
+     * @return number of commands that failed, counting unreadable input as one failure
+     */
+    public int run(Reader input) {
+        long start = System.nanoTime();
+        BlockingQueue<Command> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        IOException[] readFailure = new IOException[1];
+        Thread reader = new Thread(() -> readCommands(input, queue, readFailure), "batch-reader");
+        reader.setDaemon(true);
+        reader.start();
+        Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+        boolean interrupted = false;
+        try {
+            for (Command command = queue.take(); command != END; command = queue.take()) {
+                if (commandLoop == null) {
+                    execute(command);
+                    continue;
+                }
+                Command next = command;
+                inFlight.add(commandLoop.submit(() -> {
+                    execute(next);
+                    return null;
+                }));
+                if (inFlight.size() > MAX_IN_FLIGHT) {
+                    await(inFlight.poll());
+                }
+            }
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupted = true;
+        }
+        while (!inFlight.isEmpty()) {
+            await(inFlight.poll());
+        }
+        boolean stopped = interrupted;
+        if (commandLoop == null) {
+            return finish(start, readFailure[0], stopped);
+        }
+        return await(commandLoop.submit(() -> finish(start, readFailure[0], stopped)));
+    }
+
+    /**
+     * Commits outstanding decisions, persists approvals and prints the summary.
+     *
+     * @param start       run start, from {@link System#nanoTime()}
+     * @param readFailure error reading the script, or null
+     * @param interrupted whether the run was interrupted
+     * @return number of failed commands, counting a read error as one
+     */
+    private int finish(long start, IOException readFailure, boolean interrupted) {
+        if (interrupted) {
+            screen.println("Batch interrupted.");
+        }
+        commitBatch();
+        if (!approvals.isEmpty() && approvalsUpdater != null) {
+            approvalsUpdater.accept(approvals);
+        }
+        int failed = 0;
+        if (readFailure != null) {
+            screen.println("Failed to read batch input: " + readFailure.getMessage());
+            failed++;
+        }
+        failed += printSummary(System.nanoTime() - start);
+        screen.flush();
+        return failed;
+    }
+
+    /**
+     * Waits for a command run on the loop, rethrowing anything unexpected it threw.
+     *
+     * @param result the command's future
+     * @param <T>    result type
+     * @return the command's result
+     */
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reader thread body: parses lines onto the queue, then the end marker.
+     *
+     * @param input   the script
+     * @param queue   queue of parsed commands
+     * @param failure receives a read error, if any
+     */
+    private static void readCommands(Reader input, BlockingQueue<Command> queue, IOException[] failure) {
+        BufferedReader reader = new BufferedReader(input);
+        try {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                queue.put(new Command(lineNo, tokenize(trimmed)));
+            }
+        } catch (IOException e) {
+            failure[0] = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs one command, recording its outcome.
+     *
+     * @param command the command
+     */
+    private void execute(Command command) {
+        String name = command.name();
+        boolean decision = name.equals("approve-rep") || name.equals("reject-rep")
+                || name.equals("approve-internship") || name.equals("reject-internship");
+        if (!decision) {
+            commitBatch();
+        }
+        try {
+            switch (name) {
+                case "approve-rep", "reject-rep" -> queueAccountDecision(command, name.equals("approve-rep"));
+                case "approve-internship", "reject-internship" ->
+                        queueInternshipDecision(command, name.equals("approve-internship"));
+                case "create-internship" -> createInternship(command);
+                case "apply" -> apply(command);
+                case "decide" -> decide(command);
+                case "accept" -> accept(command);
+                case "report" -> report(command);
+                default -> throw new IllegalArgumentException("Unknown command.");
+            }
+            if (!decision) {
+                record(name, true);
+            }
+        } catch (IllegalArgumentException | IllegalStateException | DateTimeParseException e) {
+            fail(command, e.getMessage());
+        }
+    }
+
+    /**
+     * Queues a representative account decision.
+     *
+     * @param command the command
+     * @param approve true to approve, false to reject
+     */
+    private void queueAccountDecision(Command command, boolean approve) {
+        command.require(2, "<staffId> <repId>" + (approve ? "" : " [notes]"));
+        CareerCenterStaff staff = user(command.arg(0), CareerCenterStaff.class, "staff member");
+        AccountRequest request = userManager.findPendingRequest(command.arg(1));
+        if (request == null) {
+            throw new IllegalStateException("No pending account request for " + command.arg(1) + ".");
+        }
+        ApprovalBatch target = batchFor(staff, request);
+        if (approve) {
+            target.approveAccount(request);
+        } else {
+            target.rejectAccount(request, command.size() > 2 ? command.rest(2) : null);
+        }
+        batchCommands.add(command);
+    }
+
+    /**
+     * Queues an internship submission decision.
+     *
+     * @param command the command
+     * @param approve true to approve, false to reject
+     */
+    private void queueInternshipDecision(Command command, boolean approve) {
+        command.require(3, "<staffId> <company> <title>");
+        CareerCenterStaff staff = user(command.arg(0), CareerCenterStaff.class, "staff member");
+        Internship internship = internship(command.arg(1), command.arg(2));
+        if (internship.getStatus() != InternshipStatus.PENDING) {
+            throw new IllegalStateException("Internship is not pending review.");
+        }
+        batchFor(staff, internship).decideInternship(internship, approve);
+        batchCommands.add(command);
+    }
+
+    /**
+     * Returns the batch to queue a staff member's decision on, committing the current one first
+     * if it belongs to someone else or is full.
+     *
+     * @param staff the deciding staff member
+     * @param item  the item being decided
+     * @return the batch
+     *
+     * @throws IllegalStateException if the item already has a queued decision
+     */
+    private ApprovalBatch batchFor(CareerCenterStaff staff, Object item) {
+        if (batch != null && (batchStaff != staff || batch.size() >= MAX_QUEUED_DECISIONS)) {
+            commitBatch();
+        }
+        if (!batchItems.add(item)) {
+            throw new IllegalStateException("Item already decided earlier in this batch.");
+        }
+        if (batch == null) {
+            batch = new ApprovalBatch(userManager, internshipManager, withdrawalManager, notificationManager);
+            batchStaff = staff;
+        }
+        return batch;
+    }
+
+    /**
+     * Commits the queued decisions, recording each queued line as succeeded or, if the commit
+     * is refused, failed.
+     */
+    private void commitBatch() {
+        if (batch == null) {
+            return;
+        }
+        try {
+            approvals.putAll(batch.commit(batchStaff));
+            for (Command command : batchCommands) {
+                record(command.name(), true);
+            }
+        } catch (IllegalStateException e) {
+            for (Command command : batchCommands) {
+                fail(command, e.getMessage());
+            }
+        }
+        batch = null;
+        batchStaff = null;
+        batchCommands.clear();
+        batchItems.clear();
+    }
+
+    /**
+     * Creates and submits an internship for a representative.
+     *
+     * @param command the command
+     */
+    private void createInternship(Command command) {
+        command.require(8, "<repId> <title> <description> <level> <majors|-> <open|-> <close|-> <slots>");
+        CompanyRep rep = user(command.arg(0), CompanyRep.class, "company representative");
+        InternshipLevel level = InternshipLevel.valueOf(command.arg(3).toUpperCase(Locale.ROOT));
+        List<String> majors = command.arg(4).equals("-") ? Collections.emptyList()
+                : Arrays.stream(command.arg(4).split(";")).map(String::trim).filter(m -> !m.isEmpty()).toList();
+        Internship internship = rep.createInternship(internshipManager, command.arg(1), command.arg(2), level,
+                majors, date(command.arg(5)), date(command.arg(6)), Integer.parseInt(command.arg(7)));
+        if (staffMembers == null) {
+            staffMembers = userManager.getCareerCenterStaffMembers();
+        }
+        notificationManager.notifyStaffInternshipSubmission(staffMembers, internship);
+    }
+
+    /**
+     * Submits a student's application.
+     *
+     * @param command the command
+     */
+    private void apply(Command command) {
+        command.require(3, "<studentId> <company> <title>");
+        Student student = user(command.arg(0), Student.class, "student");
+        if (!student.apply(internship(command.arg(1), command.arg(2)), applicationManager)) {
+            String reason = applicationManager.getLastFailureReason();
+            throw new IllegalStateException(reason == null || reason.isBlank() ? "Application refused." : reason);
+        }
+    }
+
+    /**
+     * Records a representative's decision on an application.
+     *
+     * @param command the command
+     */
+    private void decide(Command command) {
+        command.require(4, "<repId> <title> <studentId> successful|unsuccessful");
+        CompanyRep rep = user(command.arg(0), CompanyRep.class, "company representative");
+        Internship internship = null;
+        for (Internship candidate : internshipManager.getInternshipsForRep(rep)) {
+            if (candidate.getTitle().equalsIgnoreCase(command.arg(1))) {
+                internship = candidate;
+                break;
+            }
+        }
+        if (internship == null) {
+            throw new IllegalArgumentException("No internship titled " + command.arg(1) + " for " + rep.getUserID() + ".");
+        }
+        ApplicationStatus status = ApplicationStatus.valueOf(command.arg(3).toUpperCase(Locale.ROOT));
+        if (status != ApplicationStatus.SUCCESSFUL && status != ApplicationStatus.UNSUCCESSFUL) {
+            throw new IllegalArgumentException("Decision must be successful or unsuccessful.");
+        }
+        Application application = applicationOf(internship.getApplications(), command.arg(2));
+        if (applicationManager.applyDecisions(rep, Map.of(application, status)) == 0) {
+            throw new IllegalStateException("Application status unchanged.");
+        }
+    }
+
+    /**
+     * Accepts a student's offer.
+     *
+     * @param command the command
+     */
+    private void accept(Command command) {
+        command.require(3, "<studentId> <company> <title>");
+        Student student = user(command.arg(0), Student.class, "student");
+        Internship internship = internship(command.arg(1), command.arg(2));
+        Application offer = null;
+        for (Application application : student.getApplications()) {
+            if (application.getInternship() == internship && application.getStatus() == ApplicationStatus.SUCCESSFUL) {
+                offer = application;
+            }
+        }
+        if (offer == null) {
+            throw new IllegalStateException("No offer to accept for this internship.");
+        }
+        if (student.hasAcceptedPlacement()) {
+            throw new IllegalStateException("Student has already accepted a placement.");
+        }
+        student.acceptPlacement(offer, applicationManager);
+    }
+
+    /**
+     * Prints a staff report.
+     *
+     * @param command the command
+     */
+    private void report(Command command) {
+        command.require(1, "status|major|level|company <value> | activity");
+        if (command.arg(0).equalsIgnoreCase("activity")) {
+            reportGenerator.generateActivitySummary();
+            return;
+        }
+        command.require(2, "status|major|level|company <value> | activity");
+        String value = command.rest(1);
+        switch (command.arg(0).toLowerCase(Locale.ROOT)) {
+            case "status" -> reportGenerator.generateByStatus(internshipManager.getInternships(),
+                    InternshipStatus.valueOf(value.toUpperCase(Locale.ROOT)));
+            case "major" -> reportGenerator.generateByMajor(internshipManager.getInternships(), value);
+            case "level" -> reportGenerator.generateByLevel(internshipManager.getInternships(),
+                    InternshipLevel.valueOf(value.toUpperCase(Locale.ROOT)));
+            case "company" -> reportGenerator.generateCompanySummary(
+                    internshipManager.getInternshipsForCompany(value), value);
+            default -> throw new IllegalArgumentException("Unknown report type " + command.arg(0) + ".");
+        }
+    }
+
+    /**
+     * Looks up a user of a given type.
+     *
+     * @param id   user ID
+     * @param type expected user class
+     * @param role role name for the error message
+     * @param <T>  user type
+     * @return the user
+     *
+     * @throws IllegalArgumentException if no user of that type has the ID
+     */
+    private <T extends User> T user(String id, Class<T> type, String role) {
+        User user = userManager.findUserById(id);
+        if (!type.isInstance(user)) {
+            throw new IllegalArgumentException("No " + role + " with ID " + id + ".");
+        }
+        return type.cast(user);
+    }
+
+    /**
+     * Looks up an internship by company and title.
+     *
+     * @param company company name
+     * @param title   internship title (case-insensitive)
+     * @return the first matching internship
+     *
+     * @throws IllegalArgumentException if none matches
+     */
+    private Internship internship(String company, String title) {
+        for (Internship internship : internshipManager.getInternshipsForCompany(company)) {
+            if (internship.getTitle().equalsIgnoreCase(title)) {
+                return internship;
+            }
+        }
+        throw new IllegalArgumentException("No internship titled " + title + " at " + company + ".");
+    }
+
+    /**
+     * Finds a student's application among an internship's applications.
+     *
+     * @param applications the internship's applications
+     * @param studentId    the student's ID
+     * @return the application
+     *
+     * @throws IllegalArgumentException if the student has not applied
+     */
+    private static Application applicationOf(List<Application> applications, String studentId) {
+        for (Application application : applications) {
+            if (application.getStudent().getUserID().equalsIgnoreCase(studentId)) {
+                return application;
+            }
+        }
+        throw new IllegalArgumentException("No application from " + studentId + ".");
+    }
+
+    /**
+     * Parses an optional date argument.
+     *
+     * @param value yyyy-MM-dd, or "-" for none
+     * @return the date, or null
+     */
+    private static LocalDate date(String value) {
+        return value.equals("-") ? null : LocalDate.parse(value);
+    }
+
+    /**
+     * Records a failed command and reports it.
+     *
+     * @param command the command
+     * @param message failure reason
+     */
+    private void fail(Command command, String message) {
+        record(command.name(), false);
+        screen.println("Line " + command.line + " (" + command.name() + "): " + message);
+    }
+
+    /**
+     * Counts a command outcome.
+     *
+     * @param name      command name
+     * @param succeeded whether it succeeded
+     */
+    private void record(String name, boolean succeeded) {
+        outcomes.computeIfAbsent(name, key -> new int[2])[succeeded ? 0 : 1]++;
+    }
+
+    /**
+     * Prints the outcome counts and throughput.
+     *
+     * @param elapsedNanos run time
+     * @return total failed commands
+     */
+    private int printSummary(long elapsedNanos) {
+        int succeeded = 0;
+        int failed = 0;
+        for (int[] counts : outcomes.values()) {
+            succeeded += counts[0];
+            failed += counts[1];
+        }
+        double seconds = elapsedNanos / 1e9;
+        screen.println();
+        screen.println(String.format(Locale.ROOT, "Batch complete: %d command(s) in %.2f s (%.0f/s), %d succeeded, %d failed",
+                succeeded + failed, seconds, (succeeded + failed) / Math.max(seconds, 1e-9), succeeded, failed));
+        for (Map.Entry<String, int[]> entry : outcomes.entrySet()) {
+            screen.println(String.format(Locale.ROOT, "  %-20s %8d ok %8d failed",
+                    entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+        }
+        return failed;
+    }
+
+    /**
+     * Splits a line into arguments on whitespace, keeping double-quoted text together.
+     * Inside quotes, a backslash escapes the next character.
+     *
+     * @param line the line
+     * @return the arguments
+     */
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean inToken = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '\\' && i + 1 < line.length()) {
+                    current.append(line.charAt(++i));
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                inToken = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inToken) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                current.append(c);
+                inToken = true;
+            }
+        }
+        if (inToken) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * One parsed script line.
+     */
+    private static final class Command {
+
+        /** Line number in the script. */
+        private final int line;
+
+        /** Command name followed by its arguments. */
+        private final List<String> tokens;
+
+        /**
+         * Creates a command.
+         *
+         * @param line   line number in the script
+         * @param tokens command name followed by its arguments
+         */
+        private Command(int line, List<String> tokens) {
+            this.line = line;
+            this.tokens = tokens;
+        }
+
+        /**
+         * Returns the lower-case command name.
+         *
+         * @return command name
+         */
+        private String name() {
+            return tokens.isEmpty() ? "" : tokens.get(0).toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Returns the number of arguments.
+         *
+         * @return argument count
+         */
+        private int size() {
+            return tokens.size() - 1;
+        }
+
+        /**
+         * Returns an argument.
+         *
+         * @param index zero-based argument index
+         * @return the argument
+         */
+        private String arg(int index) {
+            return tokens.get(index + 1);
+        }
+
+        /**
+         * Joins the arguments from an index onward with spaces.
+         *
+         * @param from zero-based index of the first argument
+         * @return the joined arguments
+         */
+        private String rest(int from) {
+            return String.join(" ", tokens.subList(from + 1, tokens.size()));
+        }
+
+        /**
+         * Checks that enough arguments were given.
+         *
+         * @param count minimum number of arguments
+         * @param usage argument synopsis for the error message
+         *
+         * @throws IllegalArgumentException if fewer were given
+         */
+        private void require(int count, String usage) {
+            if (size() < count) {
+                throw new IllegalArgumentException("Usage: " + name() + " " + usage);
+            }
+        }
+    }
+}
@@ -2,15 +2,20 @@
 
 package boundary;
 
+import control.Page;
 import control.SchoolMajorCatalog;
+import control.ScreenBuffer;
 import entity.Application;
 import entity.Internship;
 import entity.InternshipLevel;
 import entity.InternshipStatus;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Utility class for all console input/output interactions.
@@ -23,18 +28,30 @@ import java.util.Scanner;
  *     <li>Selecting majors (from catalog or manual entry)</li>
  *     <li>Printing internship rows</li>
  *     <li>Selecting internships and applications from lists</li>
+ *     <li>Showing paged listings one page at a time</li>
  * </ul>
  *
- * <p>Acts as a reusable boundary/helper component across menus.</p>
+ * <p>Acts as a reusable boundary/helper component across menus. Output goes through a
+ * {@link ScreenBuffer}, so everything shown between two prompts reaches the terminal as one
+ * write when the next prompt waits for input.</p>
  */
 public class ConsoleHelper {
 
+    /** Rows shown per page in paged listings. */
+    public static final int PAGE_SIZE = 10;
+
+    /** Maximum number of majors suggested for a typed prefix. */
+    private static final int MAX_MAJOR_SUGGESTIONS = 10;
+
     /** Scanner for reading console input. */
     private final Scanner scanner;
 
     /** School-major catalog used when selecting majors. */
     private final SchoolMajorCatalog schoolMajorCatalog;
 
+    /** Buffer collecting the current screen until the next prompt. */
+    private final ScreenBuffer screen = new ScreenBuffer();
+
     /**
      * Constructs a console helper.
      *
@@ -47,15 +64,58 @@ public class ConsoleHelper {
     }
 
     /**
-     * Reads a line of input from the user.
+     * Returns the buffer console output is collected in, for components that render into the
+     * same screen.
+     *
+     * @return the screen buffer
+     */
+    public ScreenBuffer getScreen() {
+        return screen;
+    }
+
+    /**
+     * Adds text to the current screen.
+     *
+     * @param text text to show
+     */
+    public void print(String text) {
+        screen.print(text);
+    }
+
+    /**
+     * Adds a line to the current screen.
+     *
+     * @param text line to show
+     */
+    public void println(String text) {
+        screen.println(text);
+    }
+
+    /**
+     * Adds an empty line to the current screen.
+     */
+    public void println() {
+        screen.println();
+    }
+
+    /**
+     * Writes the current screen to the terminal. Called automatically before reading input.
+     */
+    public void flush() {
+        screen.flush();
+    }
+
+    /**
+     * Reads a line of input from the user, first writing the current screen and the prompt.
      *
      * @param prompt message displayed before input
      * @return trimmed user input
      */
     public String readLine(String prompt) {
         if (prompt != null && !prompt.isBlank()) {
-            System.out.print(prompt);
+            screen.print(prompt);
         }
+        screen.flush();
         return scanner.nextLine().trim();
     }
 
@@ -69,11 +129,11 @@ public class ConsoleHelper {
     public String promptPasswordInput(String prompt) {
         String password = readLine(prompt);
         if ("cancel".equalsIgnoreCase(password)) {
-            System.out.println("Action cancelled.");
+            screen.println("Action cancelled.");
             return null;
         }
         if (password.length() < 8) {
-            System.out.println("Password must be at least 8 characters long.");
+            screen.println("Password must be at least 8 characters long.");
             return null;
         }
         return password;
@@ -95,7 +155,7 @@ public class ConsoleHelper {
             if ("n".equalsIgnoreCase(input) || "no".equalsIgnoreCase(input)) {
                 return false;
             }
-            System.out.println("Please enter y or n.");
+            screen.println("Please enter y or n.");
         }
     }
 
@@ -125,7 +185,7 @@ public class ConsoleHelper {
                 }
                 return value;
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a number between " + min + " and " + max + ".");
+                screen.println("Please enter a number between " + min + " and " + max + ".");
             }
         }
     }
@@ -153,7 +213,7 @@ public class ConsoleHelper {
             try {
                 return LocalDate.parse(input);
             } catch (DateTimeParseException e) {
-                System.out.println("Invalid date format. Use yyyy-MM-dd.");
+                screen.println("Invalid date format. Use yyyy-MM-dd.");
             }
         }
     }
@@ -166,7 +226,7 @@ public class ConsoleHelper {
     public InternshipLevel promptInternshipLevel() {
         InternshipLevel[] levels = InternshipLevel.values();
         for (int i = 0; i < levels.length; i++) {
-            System.out.println((i + 1) + ". " + levels[i]);
+            screen.println((i + 1) + ". " + levels[i]);
         }
         int choice = readInt("Select internship level: ", 1, levels.length);
         return levels[choice - 1];
@@ -180,7 +240,7 @@ public class ConsoleHelper {
     public InternshipStatus promptStatusSelection() {
         InternshipStatus[] statuses = InternshipStatus.values();
         for (int i = 0; i < statuses.length; i++) {
-            System.out.println((i + 1) + ". " + statuses[i]);
+            screen.println((i + 1) + ". " + statuses[i]);
         }
         int choice = readInt("Select a status: ", 1, statuses.length);
         return statuses[choice - 1];
@@ -194,24 +254,83 @@ public class ConsoleHelper {
     public String promptStudentMajorSelection() {
         String major = promptMajorSelectionFromCatalog(true, "Major: ");
         while (major == null || major.isBlank()) {
-            System.out.println("Major cannot be empty.");
+            screen.println("Major cannot be empty.");
             major = promptManualMajorInput("Major: ");
         }
         return major;
     }
 
     /**
-     * Prompts selection of preferred major.
+     * Prompts selection of one or more preferred majors. Majors may be added one at a time
+     * or a whole school at once.
      *
-     * @return selected major
+     * @return selected majors (never empty)
      */
-    public String promptPreferredMajorSelection() {
+    public List<String> promptPreferredMajorsSelection() {
+        List<String> selected = new ArrayList<>();
         while (true) {
-            String major = promptMajorSelectionFromCatalog(true, "Preferred major: ");
-            if (major != null && !major.isBlank()) {
-                return major;
+            screen.println("\nSelected majors: " + (selected.isEmpty() ? "(none)" : String.join(", ", selected)));
+            screen.println("1. Add a major");
+            screen.println("2. Add every major in a school");
+            screen.println("3. Remove a major");
+            screen.println("0. Done");
+            int choice = readInt("Choice: ", 0, 3);
+            switch (choice) {
+                case 1 -> addMajors(selected, List.of(promptMajorSelectionFromCatalog(true, "Preferred major: ")));
+                case 2 -> addMajors(selected, promptSchoolMajors());
+                case 3 -> {
+                    if (selected.isEmpty()) {
+                        screen.println("No majors selected.");
+                        break;
+                    }
+                    for (int i = 0; i < selected.size(); i++) {
+                        screen.println((i + 1) + ". " + selected.get(i));
+                    }
+                    int index = readInt("Major to remove (0 to cancel): ", 0, selected.size());
+                    if (index > 0) {
+                        selected.remove(index - 1);
+                    }
+                }
+                default -> {
+                    if (!selected.isEmpty()) {
+                        return selected;
+                    }
+                    screen.println("Preferred major is required.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Internal helper to pick a school and return all of its majors.
+     *
+     * @return the school's majors, or an empty list if cancelled or no catalog is loaded
+     */
+    private List<String> promptSchoolMajors() {
+        if (schoolMajorCatalog == null || schoolMajorCatalog.isEmpty()) {
+            screen.println("No school catalog available.");
+            return List.of();
+        }
+        List<String> schools = schoolMajorCatalog.getSchools();
+        for (int i = 0; i < schools.size(); i++) {
+            screen.println((i + 1) + ". " + schools.get(i));
+        }
+        int choice = readInt("Select a school (0 to cancel): ", 0, schools.size());
+        return choice == 0 ? List.of() : schoolMajorCatalog.getMajorsForSchool(schools.get(choice - 1));
+    }
+
+    /**
+     * Adds majors to a selection, skipping blanks and case-insensitive duplicates.
+     *
+     * @param selected the current selection
+     * @param majors   majors to add
+     */
+    private void addMajors(List<String> selected, List<String> majors) {
+        for (String major : majors) {
+            if (major != null && !major.isBlank()
+                    && selected.stream().noneMatch(existing -> existing.equalsIgnoreCase(major))) {
+                selected.add(major);
             }
-            System.out.println("Preferred major is required.");
         }
     }
 
@@ -222,18 +341,72 @@ public class ConsoleHelper {
      * @return chosen internship or null if cancelled
      */
     public Internship selectInternshipFromList(List<Internship> internships) {
-        if (internships == null || internships.isEmpty()) {
-            System.out.println("No internships to select.");
+        if (internships == null) {
+            screen.println("No internships to select.");
             return null;
         }
-        for (int i = 0; i < internships.size(); i++) {
-            printInternshipRow(i + 1, internships.get(i));
-        }
-        int choice = readInt("Select an internship (0 to cancel): ", 0, internships.size());
-        if (choice == 0) {
+        return selectInternshipFromPages(cursor -> Page.ofAppendOnly(internships, cursor, PAGE_SIZE));
+    }
+
+    /**
+     * Prompts user to select an internship from a paged listing. The next page is fetched
+     * only when the user asks for it; any internship shown so far may be selected.
+     *
+     * @param source returns the page following a cursor, or the first page for null
+     * @return chosen internship or null if cancelled
+     */
+    public Internship selectInternshipFromPages(Function<String, Page<Internship>> source) {
+        Page<Internship> page = source.apply(null);
+        if (page.isEmpty()) {
+            screen.println("No internships to select.");
             return null;
         }
-        return internships.get(choice - 1);
+        List<Internship> shown = new ArrayList<>();
+        while (true) {
+            for (Internship internship : page.getItems()) {
+                shown.add(internship);
+                printInternshipRow(shown.size(), internship);
+            }
+            if (!page.hasMore()) {
+                int choice = readInt("Select an internship (0 to cancel): ", 0, shown.size());
+                return choice == 0 ? null : shown.get(choice - 1);
+            }
+            int choice = readInt("Select an internship (0 to cancel, blank for more): ", 0, shown.size(), -1, false);
+            if (choice >= 0) {
+                return choice == 0 ? null : shown.get(choice - 1);
+            }
+            page = source.apply(page.getNextCursor());
+        }
+    }
+
+    /**
+     * Prints a paged listing one page at a time, fetching the next page only when the user
+     * asks for more.
+     *
+     * @param heading      line printed above the first page
+     * @param emptyMessage message printed if the listing is empty
+     * @param source       returns the page following a cursor, or the first page for null
+     * @param printer      prints one row given its 1-based number and item
+     * @param <T>          item type
+     */
+    public <T> void showPages(String heading, String emptyMessage,
+                              Function<String, Page<T>> source, BiConsumer<Integer, T> printer) {
+        Page<T> page = source.apply(null);
+        if (page.isEmpty()) {
+            screen.println(emptyMessage);
+            return;
+        }
+        screen.println(heading);
+        int index = 0;
+        while (true) {
+            for (T item : page.getItems()) {
+                printer.accept(++index, item);
+            }
+            if (!page.hasMore() || !promptYesNo("Show more? (y/n): ", true)) {
+                return;
+            }
+            page = source.apply(page.getNextCursor());
+        }
     }
 
     /**
@@ -245,12 +418,12 @@ public class ConsoleHelper {
      */
     public Application selectApplicationFromList(List<Application> applications, String prompt) {
         if (applications == null || applications.isEmpty()) {
-            System.out.println("No applications available.");
+            screen.println("No applications available.");
             return null;
         }
         for (int i = 0; i < applications.size(); i++) {
             Application app = applications.get(i);
-            System.out.println((i + 1) + ". " + app.getInternship().getTitle()
+            screen.println((i + 1) + ". " + app.getInternship().getTitle()
                     + " - " + app.getStatus());
         }
         int choice = readInt(prompt, 0, applications.size());
@@ -260,24 +433,85 @@ public class ConsoleHelper {
         return applications.get(choice - 1);
     }
 
+    /**
+     * Reads a ranking of numbered items, entered as the item numbers in order of preference
+     * separated by spaces or commas (for example {@code 3 1 2}). Items left out are not ranked.
+     *
+     * @param prompt prompt text
+     * @param count  number of items on offer, numbered from 1
+     * @return zero-based item indices in ranked order, or an empty list if cancelled with blank input
+     */
+    public List<Integer> readRanking(String prompt, int count) {
+        return readIndices(prompt, count);
+    }
+
+    /**
+     * Reads a selection of numbered items, entered as item numbers separated by spaces or
+     * commas (for example {@code 1 4 5}).
+     *
+     * @param prompt prompt text
+     * @param count  number of items on offer, numbered from 1
+     * @return zero-based indices of the selected items in the order entered, or an empty list
+     *         if nothing was entered
+     */
+    public List<Integer> readSelection(String prompt, int count) {
+        return readIndices(prompt, count);
+    }
+
+    /**
+     * Reads distinct item numbers separated by spaces or commas, re-prompting until the input
+     * is valid or blank.
+     *
+     * @param prompt prompt text
+     * @param count  number of items on offer, numbered from 1
+     * @return zero-based item indices in the order entered, or an empty list for blank input
+     */
+    private List<Integer> readIndices(String prompt, int count) {
+        while (true) {
+            String input = readLine(prompt);
+            List<Integer> indices = new ArrayList<>();
+            if (input.isEmpty()) {
+                return indices;
+            }
+            boolean valid = true;
+            for (String token : input.split("[,\\s]+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                Integer choice = parseChoice(token, count);
+                if (choice == null || choice == 0 || indices.contains(choice - 1)) {
+                    valid = false;
+                    break;
+                }
+                indices.add(choice - 1);
+            }
+            if (valid) {
+                return indices;
+            }
+            screen.println("Enter distinct numbers between 1 and " + count + ".");
+        }
+    }
+
     /**
      * Prints a single internship summary row.
      */
     public void printInternshipRow(int index, Internship internship) {
-        int totalSlots = internship.getSlots().size();
-        long filledSlots = internship.getSlots().stream()
-                .filter(slot -> slot.getAssignedStudent() != null)
-                .count();
-        System.out.println(index + ". " + internship.getTitle() + " (" + internship.getCompanyName() + ")"
-                + " | Status: " + internship.getStatus()
-                + " | Level: " + internship.getLevel()
-                + " | Major: " + formatPreferredMajors(internship)
-                + " | Visibility: " + (internship.isVisible() ? "On" : "Off")
-                + " | Slots: " + filledSlots + "/" + totalSlots);
+        screen.builder().append(index).append(". ").append(internship.getTitle())
+                .append(" (").append(internship.getCompanyName()).append(")")
+                .append(" | Status: ").append(internship.getStatus())
+                .append(" | Level: ").append(internship.getLevel())
+                .append(" | Major: ").append(formatPreferredMajors(internship))
+                .append(" | Visibility: ").append(internship.isVisible() ? "On" : "Off")
+                .append(" | Slots: ").append(internship.getFilledSlotCount()).append('/')
+                .append(internship.getSlots().size());
+        screen.println();
     }
 
     /**
      * Internal helper for selecting a major (from catalog or manual entry).
+     *
+     * <p>The user may pick a school by number, or type the start of a major's name to
+     * search the whole catalog.</p>
      */
     private String promptMajorSelectionFromCatalog(boolean allowManualEntry, String manualPrompt) {
         if (schoolMajorCatalog == null || schoolMajorCatalog.isEmpty()) {
@@ -288,16 +522,27 @@ public class ConsoleHelper {
             return allowManualEntry ? promptManualMajorInput(manualPrompt) : null;
         }
         while (true) {
-            System.out.println("\nSelect a school:");
+            screen.println("\nSelect a school:");
             for (int i = 0; i < schools.size(); i++) {
-                System.out.println((i + 1) + ". " + schools.get(i));
+                screen.println((i + 1) + ". " + schools.get(i));
             }
             if (allowManualEntry) {
-                System.out.println("0. Enter major manually");
+                screen.println("0. Enter major manually");
             } else {
-                System.out.println("0. Cancel selection");
+                screen.println("0. Cancel selection");
+            }
+            String input = readLine("Choice (or type part of a major to search): ");
+            if (input.isEmpty()) {
+                continue;
+            }
+            Integer choice = parseChoice(input, schools.size());
+            if (choice == null) {
+                String major = promptMajorSearch(input);
+                if (major != null) {
+                    return major;
+                }
+                continue;
             }
-            int choice = readInt("Choice: ", 0, schools.size());
             if (choice == 0) {
                 return allowManualEntry ? promptManualMajorInput(manualPrompt) : null;
             }
@@ -309,21 +554,63 @@ public class ConsoleHelper {
         }
     }
 
+    /**
+     * Internal helper to pick a major by prefix from the whole catalog.
+     * An exact match is returned immediately in its canonical spelling.
+     *
+     * @param prefix the typed prefix
+     * @return selected major, or null to return to the school list
+     */
+    private String promptMajorSearch(String prefix) {
+        String exact = schoolMajorCatalog.canonicalMajor(prefix);
+        if (exact != null) {
+            return exact;
+        }
+        List<String> matches = schoolMajorCatalog.completeMajors(prefix, MAX_MAJOR_SUGGESTIONS);
+        if (matches.isEmpty()) {
+            screen.println("No majors start with \"" + prefix + "\".");
+            return null;
+        }
+        screen.println("\nMatching majors:");
+        for (int i = 0; i < matches.size(); i++) {
+            screen.println((i + 1) + ". " + matches.get(i));
+        }
+        screen.println("0. Back to school list");
+        int choice = readInt("Choice: ", 0, matches.size());
+        return choice == 0 ? null : matches.get(choice - 1);
+    }
+
+    /**
+     * Parses a menu choice.
+     *
+     * @param input the user's input
+     * @param max   highest valid choice
+     * @return the choice between 0 and max, or null if the input is not such a number
+     */
+    private Integer parseChoice(String input, int max) {
+        try {
+            int value = Integer.parseInt(input);
+            return value >= 0 && value <= max ? value : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * Internal helper to select a major within a chosen school.
      */
     private String promptMajorSelectionForSchool(String school) {
         List<String> majors = schoolMajorCatalog.getMajorsForSchool(school);
         if (majors.isEmpty()) {
-            System.out.println("No majors found for " + school + ". Please choose another school.");
+            screen.println("No majors found for " + school + ". Please choose another school.");
             return null;
         }
         while (true) {
-            System.out.println("\nSelect a major from " + school + ":");
+            screen.println("\nSelect a major from " + school + ":");
             for (int i = 0; i < majors.size(); i++) {
-                System.out.println((i + 1) + ". " + majors.get(i));
+                screen.println((i + 1) + ". " + majors.get(i));
             }
-            System.out.println("0. Back to school list");
+            screen.println("0. Back to school list");
             int choice = readInt("Choice: ", 0, majors.size());
             if (choice == 0) {
                 return null;
@@ -341,27 +628,28 @@ public class ConsoleHelper {
     private String promptManualMajorInput(String prompt) {
         while (true) {
             if (prompt != null && !prompt.isBlank()) {
-                System.out.print(prompt);
+                screen.print(prompt);
             }
+            screen.flush();
             String input = scanner.nextLine().trim();
             if (!input.isBlank()) {
-                return input;
+                String canonical = schoolMajorCatalog == null ? null : schoolMajorCatalog.canonicalMajor(input);
+                return canonical != null ? canonical : input;
             }
-            System.out.println("Input cannot be empty.");
+            screen.println("Input cannot be empty.");
         }
     }
 
     /**
-     * Formats preferred major for display.
+     * Formats preferred majors for display.
      *
      * @param internship internship object
-     * @return formatted preferred major ("Any" if none)
+     * @return comma-separated preferred majors ("Any" if none)
      */
     public String formatPreferredMajors(Internship internship) {
-        if (internship == null) {
+        if (internship == null || internship.isOpenToAllMajors()) {
             return "Any";
         }
-        String preferred = internship.getPreferredMajor();
-        return preferred == null || preferred.isBlank() ? "Any" : preferred;
+        return String.join(", ", internship.getPreferredMajors());
     }
 }
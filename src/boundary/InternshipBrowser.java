@@ -3,13 +3,16 @@
 package boundary;
 
 import control.InternshipManager;
+import control.Page;
 import entity.FilterCriteria;
 import entity.Internship;
+import entity.Student;
 import entity.User;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 
@@ -23,6 +26,7 @@ import java.util.function.Predicate;
  *     <li>Applying saved filter preferences</li>
  *     <li>Applying dynamic filters (status, major, level, closing date)</li>
  *     <li>Applying additional functional filters (Predicates)</li>
+ *     <li>Keyword search over titles and descriptions, ranked by relevance</li>
  * </ul>
  *
  * <p>This class does not handle filtering logic itself—filtering is delegated to
@@ -52,13 +56,18 @@ public class InternshipBrowser {
      * Retrieves internships filtered by the user's chosen filter criteria, and
      * optionally an additional functional filter.
      *
+     * <p>If the user enters keywords, results are ranked by relevance instead of sorted by title.</p>
+     *
      * @param user              the user performing the search
      * @param additionalFilter  extra predicate-based filter (may be null)
      * @return filtered list of internships
      */
     public List<Internship> fetchFilteredInternships(User user, Predicate<Internship> additionalFilter) {
+        String keywords = promptKeywords();
         FilterCriteria criteria = promptFilterCriteria(user);
-        List<Internship> internships = internshipManager.filter(criteria);
+        List<Internship> internships = keywords.isEmpty()
+                ? internshipManager.filter(criteria)
+                : internshipManager.search(keywords, criteria);
         if (additionalFilter == null) {
             return internships;
         }
@@ -71,6 +80,51 @@ public class InternshipBrowser {
         return filtered;
     }
 
+    /**
+     * Retrieves the internships a student may apply for, narrowed by the student's chosen
+     * filter criteria. Filtering and eligibility are evaluated together by
+     * {@link InternshipManager#filterForStudent(FilterCriteria, Student)}.
+     *
+     * @param student the student browsing
+     * @return eligible internships matching the filters, sorted by title, or by relevance
+     *         if keywords were entered
+     */
+    public List<Internship> fetchEligibleInternships(Student student) {
+        String keywords = promptKeywords();
+        FilterCriteria criteria = promptFilterCriteria(student);
+        return keywords.isEmpty()
+                ? internshipManager.filterForStudent(criteria, student)
+                : internshipManager.searchForStudent(keywords, criteria, student);
+    }
+
+    /**
+     * Prompts for the student's filters and returns a source of result pages, so the caller
+     * fetches each page only when it is displayed. Filtered results are paged by title
+     * through {@link InternshipManager#filterForStudentPage}; keyword results are ranked once
+     * and then paged.
+     *
+     * @param student the student browsing
+     * @return function returning the page that follows a cursor, or the first page for null
+     */
+    public Function<String, Page<Internship>> eligibleInternshipPages(Student student) {
+        String keywords = promptKeywords();
+        FilterCriteria criteria = promptFilterCriteria(student);
+        if (keywords.isEmpty()) {
+            return cursor -> internshipManager.filterForStudentPage(criteria, student, cursor, ConsoleHelper.PAGE_SIZE);
+        }
+        List<Internship> ranked = internshipManager.searchForStudent(keywords, criteria, student);
+        return cursor -> Page.ofAppendOnly(ranked, cursor, ConsoleHelper.PAGE_SIZE);
+    }
+
+    /**
+     * Prompts for optional search keywords.
+     *
+     * @return the keywords entered, or an empty string to skip keyword search
+     */
+    private String promptKeywords() {
+        return console.readLine("Search keywords in title/description (leave blank to skip): ");
+    }
+
     /**
      * Interactively prompts the user to set or load filtering options.
      *
@@ -90,7 +144,7 @@ public class InternshipBrowser {
         }
         FilterCriteria saved = user.getFilterPreferences();
         if (saved != null && hasFilterValues(saved)) {
-            System.out.println("Saved filters: " + describeFilterCriteria(saved));
+            console.println("Saved filters: " + describeFilterCriteria(saved));
             if (console.promptYesNo("Use saved filters? (y/n): ", true)) {
                 return saved;
             }
@@ -116,7 +170,7 @@ public class InternshipBrowser {
             }
         }
         if (!hasFilterValues(criteria)) {
-            System.out.println("No filters applied. Showing all internships.");
+            console.println("No filters applied. Showing all internships.");
             return null;
         }
         if (console.promptYesNo("Save these filters for future sessions? (y/n): ", true)) {
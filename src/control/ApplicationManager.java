@@ -15,7 +15,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Manages all operations related to student internship applications.
@@ -24,9 +28,12 @@ import java.util.List;
  * <ul>
  *     <li>Submitting applications</li>
  *     <li>Applying all eligibility and system rules</li>
- *     <li>Updating application statuses</li>
+ *     <li>Updating application statuses, singly or in bulk</li>
  *     <li>Assigning and releasing internship slots</li>
  *     <li>Sending notifications through {@link NotificationManager}</li>
+ *     <li>Waitlisting applicants of filled internships through {@link WaitlistManager}</li>
+ *     <li>Starting and cancelling offer deadlines through {@link OfferExpiryManager}</li>
+ *     <li>Recording submissions, status changes and slot changes in the {@link EventLog}</li>
  * </ul>
  *
  * <p>The manager enforces a maximum of 3 active applications per student.</p>
@@ -35,7 +42,7 @@ import java.util.List;
 public class ApplicationManager {
 
     /** Maximum number of applications a student may have that are pending or successful. */
-    private static final int MAX_ACTIVE_APPLICATIONS = 3;
+    static final int MAX_ACTIVE_APPLICATIONS = 3;
 
     /** Stores submission log messages (informational only). */
     private final List<String> submissionNotifications = new ArrayList<>();
@@ -46,6 +53,38 @@ public class ApplicationManager {
     /** Handles delivery of notifications to students and company representatives. */
     private NotificationManager notificationManager;
 
+    /** Materialised eligibility view used to skip per-internship rule checks when available. */
+    private EligibilityView eligibilityView;
+
+    /** Waitlist refilling released slots, if configured. */
+    private WaitlistManager waitlistManager;
+
+    /** Tracks acceptance deadlines of offers, if configured. */
+    private OfferExpiryManager offerExpiryManager;
+
+    /** Log that application and slot changes are appended to, if configured. */
+    private EventLog eventLog;
+
+    /** Latency of {@link #submitApplication(Student, Internship)}, including refused submissions. */
+    private LatencyHistogram submitLatency;
+
+    /** Submissions that created an application. */
+    private Counter submissionsAccepted;
+
+    /** Submissions refused by a rule. */
+    private Counter submissionsRejected;
+
+    /** Latency of status updates, including slot changes and notifications they trigger. */
+    private LatencyHistogram updateStatusLatency;
+
+    /**
+     * Creates an application manager recording into a private metrics registry until
+     * {@link #setMetricsRegistry(MetricsRegistry)} is called.
+     */
+    public ApplicationManager() {
+        bindMetrics(new MetricsRegistry());
+    }
+
     /**
      * Submits an application for a student to an internship.
      *
@@ -63,16 +102,28 @@ public class ApplicationManager {
         if (student == null || internship == null) {
             throw new IllegalArgumentException("Student and internship are required.");
         }
+        FlightEvents.ApplicationSubmission event = new FlightEvents.ApplicationSubmission();
+        event.begin();
+        long start = System.nanoTime();
         if (!enforceRules(student, internship)) {
+            submitLatency.recordSince(start);
+            submissionsRejected.increment();
+            event.complete(internship, student, false, Reason);
             throw new IllegalStateException(Reason);
         }
         Application application = new Application(student, internship);
+        application.setStatusListener(this::onApplicationStatusChanged);
         internship.addApplication(application);
         student.getApplications().add(application);
+        record(DomainEventType.APPLICATION_SUBMITTED, internship, student.getUserID(), null,
+                application.getStatus().name());
         notifyRepOfNewApplication(student, internship);
         submissionNotifications.add(LocalDateTime.now() + " :: "
                 + student.getName() + " applied for " + internship.getTitle());
         Reason = "";
+        submitLatency.recordSince(start);
+        submissionsAccepted.increment();
+        event.complete(internship, student, true, null);
         return application;
     }
 
@@ -97,16 +148,112 @@ public class ApplicationManager {
         if (application == null || status == null) {
             return;
         }
+        long start = System.nanoTime();
         application.setStatus(status);
+        if (offerExpiryManager != null) {
+            if (status == ApplicationStatus.SUCCESSFUL && !confirmOffer) {
+                offerExpiryManager.track(application);
+            } else {
+                offerExpiryManager.cancel(application);
+            }
+        }
         if (status == ApplicationStatus.SUCCESSFUL) {
             if (!confirmOffer) {
                 notifyStudentOfSuccessfulApplication(application);
             } else {
                 assignSlot(application);
+                if (waitlistManager != null) {
+                    waitlistManager.recordAcceptance(application);
+                }
             }
         } else if (status == ApplicationStatus.UNSUCCESSFUL) {
             releaseSlot(application);
         }
+        updateStatusLatency.recordSince(start);
+    }
+
+    /**
+     * Applies a representative's decisions on many applications at once.
+     *
+     * <p>Every decision is validated before any is applied, so a batch with any invalid
+     * decision changes nothing. Valid decisions are then applied one internship at a time:
+     * slots held by students marked unsuccessful are released in a single pass over the
+     * internship's slots, each freed slot is offered to the waitlist, and students marked
+     * successful are notified together once all internships are processed. Decisions that
+     * would not change an application's status are skipped.</p>
+     *
+     * @param rep       the representative making the decisions
+     * @param decisions new status for each application; only SUCCESSFUL and UNSUCCESSFUL are allowed
+     * @return number of applications whose status changed
+     *
+     * @throws IllegalArgumentException if any decision is invalid; the message lists every problem
+     */
+    public int applyDecisions(CompanyRep rep, Map<Application, ApplicationStatus> decisions) {
+        if (rep == null || decisions == null) {
+            throw new IllegalArgumentException("Representative and decisions are required.");
+        }
+        List<String> problems = new ArrayList<>();
+        Map<Internship, List<Application>> byInternship = new LinkedHashMap<>();
+        for (Map.Entry<Application, ApplicationStatus> decision : decisions.entrySet()) {
+            Application application = decision.getKey();
+            ApplicationStatus status = decision.getValue();
+            if (application == null) {
+                problems.add("Missing application.");
+                continue;
+            }
+            String applicant = application.getStudent().getName();
+            if (status != ApplicationStatus.SUCCESSFUL && status != ApplicationStatus.UNSUCCESSFUL) {
+                problems.add(applicant + ": status must be SUCCESSFUL or UNSUCCESSFUL.");
+            } else if (application.getInternship().getRepInCharge() != rep) {
+                problems.add(applicant + ": application is not for one of your internships.");
+            } else if (application.getStatus() == ApplicationStatus.UNSUCCESSFUL) {
+                problems.add(applicant + ": application is already unsuccessful.");
+            } else if (application.getStatus() != status) {
+                byInternship.computeIfAbsent(application.getInternship(), key -> new ArrayList<>())
+                        .add(application);
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException(String.join(" ", problems));
+        }
+
+        List<Application> offers = new ArrayList<>();
+        int changed = 0;
+        for (Map.Entry<Internship, List<Application>> group : byInternship.entrySet()) {
+            Internship internship = group.getKey();
+            Set<Student> releasing = new HashSet<>();
+            for (Application application : group.getValue()) {
+                ApplicationStatus status = decisions.get(application);
+                application.setStatus(status);
+                if (status == ApplicationStatus.SUCCESSFUL) {
+                    offers.add(application);
+                    if (offerExpiryManager != null) {
+                        offerExpiryManager.track(application);
+                    }
+                } else {
+                    releasing.add(application.getStudent());
+                    if (offerExpiryManager != null) {
+                        offerExpiryManager.cancel(application);
+                    }
+                }
+                changed++;
+            }
+            int released = internship.releaseSlots(releasing);
+            if (released > 0) {
+                FlightEvents.slotsReleased(internship, released, "bulk decision");
+                record(DomainEventType.SLOTS_RELEASED, internship, null, null, Integer.toString(released));
+                internship.setStatus(InternshipStatus.APPROVED);
+                for (int i = 0; i < released && waitlistManager != null; i++) {
+                    if (waitlistManager.promote(internship) == null) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (notificationManager != null) {
+            notificationManager.notifyStudentsOfferAwaitingAcceptance(offers);
+        }
+        return changed;
     }
 
     /**
@@ -133,6 +280,47 @@ public class ApplicationManager {
             Reason = "Student and internship are required.";
             return false;
         }
+        boolean listed = eligibilityView != null && eligibilityView.isEligible(internship, student);
+        if (!listed && !enforceInternshipRules(student, internship)) {
+            return false;
+        }
+        long activeCount = student.getApplications().stream()
+                .filter(app -> app.getStatus() == ApplicationStatus.PENDING
+                        || app.getStatus() == ApplicationStatus.SUCCESSFUL)
+                .count();
+        if (activeCount >= MAX_ACTIVE_APPLICATIONS) {
+            Reason = "Maximum of " + MAX_ACTIVE_APPLICATIONS + " active applications reached.";
+            return false;
+        }
+        for (Application application : student.getApplications()) {
+            if (application.getInternship() == internship
+                    && application.getStatus() != ApplicationStatus.UNSUCCESSFUL) {
+                Reason = "You have already applied for this internship.";
+                return false;
+            }
+        }
+        if (student.hasAcceptedPlacement()) {
+            Reason = "You have already accepted a placement.";
+            return false;
+        }
+        if (internship.isFull()) {
+            Reason = "Internship slots have been filled.";
+            return false;
+        }
+        Reason = "";
+        return true;
+    }
+
+    /**
+     * Applies the rules that depend only on the internship and the student's major and year.
+     * These are the rules materialised by {@link EligibilityView}; they are evaluated one by one
+     * only when the view does not list the internship, so that a failure reason can be reported.
+     *
+     * @param student    the student
+     * @param internship the internship
+     * @return true if all rules pass, false otherwise (reason stored in {@link #Reason})
+     */
+    private boolean enforceInternshipRules(Student student, Internship internship) {
         if (internship.getStatus() != InternshipStatus.APPROVED) {
             Reason = "Internship has not been approved yet.";
             return false;
@@ -141,8 +329,7 @@ public class ApplicationManager {
             Reason = "Internship is currently hidden.";
             return false;
         }
-        String studentMajor = student.getMajor();
-        if (!internship.acceptsMajor(studentMajor)) {
+        if (!internship.acceptsMajor(student.getMajorId())) {
             Reason = "Major does not match the preferred major for this internship.";
             return false;
         }
@@ -162,30 +349,6 @@ public class ApplicationManager {
             Reason = "Internship is already closed.";
             return false;
         }
-        long activeCount = student.getApplications().stream()
-                .filter(app -> app.getStatus() == ApplicationStatus.PENDING
-                        || app.getStatus() == ApplicationStatus.SUCCESSFUL)
-                .count();
-        if (activeCount >= MAX_ACTIVE_APPLICATIONS) {
-            Reason = "Maximum of " + MAX_ACTIVE_APPLICATIONS + " active applications reached.";
-            return false;
-        }
-        for (Application application : student.getApplications()) {
-            if (application.getInternship() == internship
-                    && application.getStatus() != ApplicationStatus.UNSUCCESSFUL) {
-                Reason = "You have already applied for this internship.";
-                return false;
-            }
-        }
-        if (student.hasAcceptedPlacement()) {
-            Reason = "You have already accepted a placement.";
-            return false;
-        }
-        if (internship.isFull()) {
-            Reason = "Internship slots have been filled.";
-            return false;
-        }
-        Reason = "";
         return true;
     }
 
@@ -207,6 +370,92 @@ public class ApplicationManager {
         this.notificationManager = notificationManager;
     }
 
+    /**
+     * Assigns the eligibility view consulted before evaluating internship rules.
+     *
+     * @param eligibilityView eligibility view instance
+     */
+    public void setEligibilityView(EligibilityView eligibilityView) {
+        this.eligibilityView = eligibilityView;
+    }
+
+    /**
+     * Assigns the waitlist that receives applicants of filled internships and refills released slots.
+     *
+     * @param waitlistManager waitlist manager instance
+     */
+    public void setWaitlistManager(WaitlistManager waitlistManager) {
+        this.waitlistManager = waitlistManager;
+    }
+
+    /**
+     * Assigns the manager that gives offers an acceptance deadline.
+     *
+     * @param offerExpiryManager offer expiry manager instance
+     */
+    public void setOfferExpiryManager(OfferExpiryManager offerExpiryManager) {
+        this.offerExpiryManager = offerExpiryManager;
+    }
+
+    /**
+     * Assigns the log that submissions, status changes and slot changes are recorded in.
+     *
+     * @param eventLog event log instance
+     */
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Assigns the registry that submission and status update metrics are recorded in.
+     *
+     * @param metricsRegistry metrics registry instance
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        if (metricsRegistry != null) {
+            bindMetrics(metricsRegistry);
+        }
+    }
+
+    /**
+     * Looks up the metrics this manager records in.
+     *
+     * @param metricsRegistry registry holding the metrics
+     */
+    private void bindMetrics(MetricsRegistry metricsRegistry) {
+        submitLatency = metricsRegistry.histogram("application.submit");
+        submissionsAccepted = metricsRegistry.counter("application.submit.accepted");
+        submissionsRejected = metricsRegistry.counter("application.submit.rejected");
+        updateStatusLatency = metricsRegistry.histogram("application.updateStatus");
+    }
+
+    /**
+     * Records an application's status change in the event log.
+     *
+     * @param application the application
+     * @param previous    its status before the change
+     */
+    private void onApplicationStatusChanged(Application application, ApplicationStatus previous) {
+        record(DomainEventType.APPLICATION_STATUS_CHANGED, application.getInternship(),
+                application.getStudent().getUserID(), previous == null ? null : previous.name(),
+                application.getStatus() == null ? null : application.getStatus().name());
+    }
+
+    /**
+     * Appends an event about an internship to the event log, if one is configured.
+     *
+     * @param type       kind of change
+     * @param internship internship concerned
+     * @param userId     user concerned, or null
+     * @param from       previous value, or null
+     * @param to         new value, or null
+     */
+    private void record(DomainEventType type, Internship internship, String userId, String from, String to) {
+        if (eventLog != null) {
+            eventLog.append(type, internship.getCompanyName(), internship.getTitle(), userId, from, to);
+        }
+    }
+
     /**
      * Assigns the student to the first available internship slot.
      * If the internship becomes full, remaining applications are marked unsuccessful.
@@ -215,11 +464,11 @@ public class ApplicationManager {
      */
     private void assignSlot(Application application) {
         Internship internship = application.getInternship();
-        for (InternshipSlot slot : internship.getSlots()) {
-            if (slot.getAssignedStudent() == null) {
-                slot.assignStudent(application.getStudent());
-                break;
-            }
+        InternshipSlot slot = internship.assignSlot(application.getStudent());
+        FlightEvents.slotAssigned(internship, application.getStudent(), slot);
+        if (slot != null) {
+            record(DomainEventType.SLOT_ASSIGNED, internship, application.getStudent().getUserID(), null,
+                    Integer.toString(slot.getSlotNumber()));
         }
         if (internship.isFull()) {
             internship.setStatus(InternshipStatus.FILLED);
@@ -228,24 +477,27 @@ public class ApplicationManager {
     }
 
     /**
-     * Releases the slot assigned to the application's student.
+     * Releases the slot assigned to the application's student and offers it to the
+     * next waitlisted applicant.
      *
      * @param application the application being released
      */
     private void releaseSlot(Application application) {
         Internship internship = application.getInternship();
-        for (InternshipSlot slot : internship.getSlots()) {
-            if (slot.getAssignedStudent() == application.getStudent()) {
-                slot.release();
-                internship.setStatus(InternshipStatus.APPROVED);
-                break;
+        if (internship.releaseSlot(application.getStudent())) {
+            FlightEvents.slotsReleased(internship, 1, "unsuccessful");
+            record(DomainEventType.SLOTS_RELEASED, internship, application.getStudent().getUserID(), null, "1");
+            internship.setStatus(InternshipStatus.APPROVED);
+            if (waitlistManager != null) {
+                waitlistManager.promote(internship);
             }
         }
     }
 
     /**
      * Marks all applications for the internship as unsuccessful if the applicant
-     * did not receive a slot.
+     * did not receive a slot, cancels the deadline of any offer among them, and
+     * waitlists those that were still in contention in the order they applied.
      *
      * @param internship the internship
      */
@@ -253,10 +505,20 @@ public class ApplicationManager {
         if (internship == null) {
             return;
         }
-        for (Application other : internship.getApplications()) {
+        List<Application> applications = internship.getApplications();
+        for (int i = 0; i < applications.size(); i++) {
+            Application other = applications.get(i);
             Student applicant = other.getStudent();
             if (!isStudentAssignedToInternship(internship, applicant)) {
+                ApplicationStatus previous = other.getStatus();
                 other.setStatus(ApplicationStatus.UNSUCCESSFUL);
+                if (offerExpiryManager != null && previous == ApplicationStatus.SUCCESSFUL) {
+                    offerExpiryManager.cancel(other);
+                }
+                if (waitlistManager != null && previous != ApplicationStatus.UNSUCCESSFUL
+                        && !other.isWithdrawalRequested()) {
+                    waitlistManager.enqueue(other, i);
+                }
             }
         }
     }
@@ -0,0 +1,219 @@
+// documented
+
+package control;
+
+import entity.AccountRequest;
+import entity.CareerCenterStaff;
+import entity.CompanyRep;
+import entity.Internship;
+import entity.InternshipStatus;
+import entity.WithdrawalRequest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects staff decisions on account requests, internship submissions and withdrawal
+ * requests, and applies them together.
+ *
+ * <p>Decisions are queued without side effects. {@link #commit(CareerCenterStaff)} first checks
+ * that every queued item is still awaiting a decision; if any is not, nothing is applied. The
+ * decisions are then applied to {@link UserManager}, {@link InternshipManager} and
+ * {@link WithdrawalManager}, each representative is told the outcome, and the staff
+ * notifications about the decided items are retracted in a single pass over each staff inbox.
+ * The representative approvals that changed are returned so the caller can persist them in
+ * one write.</p>
+ */
+
+public class ApprovalBatch {
+
+    /** Manager holding account requests. */
+    private final UserManager userManager;
+
+    /** Manager holding internship submissions. */
+    private final InternshipManager internshipManager;
+
+    /** Manager holding withdrawal requests. */
+    private final WithdrawalManager withdrawalManager;
+
+    /** Sends decision notifications and retracts staff notifications. */
+    private final NotificationManager notificationManager;
+
+    /** Queued account decisions: true to approve. */
+    private final Map<AccountRequest, Boolean> accountDecisions = new LinkedHashMap<>();
+
+    /** Rejection notes for rejected account requests. */
+    private final Map<AccountRequest, String> rejectionNotes = new LinkedHashMap<>();
+
+    /** Queued internship decisions: true to approve. */
+    private final Map<Internship, Boolean> internshipDecisions = new LinkedHashMap<>();
+
+    /** Queued withdrawal decisions: true to approve. */
+    private final Map<WithdrawalRequest, Boolean> withdrawalDecisions = new LinkedHashMap<>();
+
+    /**
+     * Creates an empty batch.
+     *
+     * @param userManager         manager holding account requests
+     * @param internshipManager   manager holding internship submissions
+     * @param withdrawalManager   manager holding withdrawal requests
+     * @param notificationManager manager used for notifications
+     */
+    public ApprovalBatch(UserManager userManager, InternshipManager internshipManager,
+                         WithdrawalManager withdrawalManager, NotificationManager notificationManager) {
+        this.userManager = userManager;
+        this.internshipManager = internshipManager;
+        this.withdrawalManager = withdrawalManager;
+        this.notificationManager = notificationManager;
+    }
+
+    /**
+     * Queues approval of a representative account.
+     *
+     * @param request the pending account request
+     */
+    public void approveAccount(AccountRequest request) {
+        if (request != null) {
+            accountDecisions.put(request, true);
+            rejectionNotes.remove(request);
+        }
+    }
+
+    /**
+     * Queues rejection of a representative account.
+     *
+     * @param request the pending account request
+     * @param notes   optional rejection notes
+     */
+    public void rejectAccount(AccountRequest request, String notes) {
+        if (request != null) {
+            accountDecisions.put(request, false);
+            rejectionNotes.put(request, notes);
+        }
+    }
+
+    /**
+     * Queues a decision on an internship submission.
+     *
+     * @param internship the pending internship
+     * @param approve    true to approve, false to reject
+     */
+    public void decideInternship(Internship internship, boolean approve) {
+        if (internship != null) {
+            internshipDecisions.put(internship, approve);
+        }
+    }
+
+    /**
+     * Queues a decision on a withdrawal request.
+     *
+     * @param request the pending withdrawal request
+     * @param approve true to approve, false to reject
+     */
+    public void decideWithdrawal(WithdrawalRequest request, boolean approve) {
+        if (request != null) {
+            withdrawalDecisions.put(request, approve);
+        }
+    }
+
+    /**
+     * Returns the number of queued decisions.
+     *
+     * @return decision count
+     */
+    public int size() {
+        return accountDecisions.size() + internshipDecisions.size() + withdrawalDecisions.size();
+    }
+
+    /**
+     * Checks whether no decisions are queued.
+     *
+     * @return true if the batch is empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Discards every queued decision.
+     */
+    public void clear() {
+        accountDecisions.clear();
+        rejectionNotes.clear();
+        internshipDecisions.clear();
+        withdrawalDecisions.clear();
+    }
+
+    /**
+     * Validates and applies every queued decision, then empties the batch.
+     *
+     * @param staff the staff member deciding
+     * @return new approval state of each decided representative, keyed by representative ID
+     *
+     * @throws IllegalArgumentException if staff is null
+     * @throws IllegalStateException    if any queued item is no longer awaiting a decision;
+     *                                  nothing is applied and the batch is kept
+     */
+    public Map<String, Boolean> commit(CareerCenterStaff staff) {
+        if (staff == null) {
+            throw new IllegalArgumentException("Staff member required.");
+        }
+        List<String> problems = new ArrayList<>();
+        for (AccountRequest request : accountDecisions.keySet()) {
+            if (!AccountRequest.STATUS_PENDING.equals(request.getStatus())) {
+                problems.add("Account request for " + request.getRep().getUserID() + " was already decided.");
+            }
+        }
+        for (Internship internship : internshipDecisions.keySet()) {
+            if (internship.getStatus() != InternshipStatus.PENDING) {
+                problems.add("Internship " + internship.getTitle() + " is no longer pending.");
+            }
+        }
+        Set<WithdrawalRequest> pendingWithdrawals = new HashSet<>(withdrawalManager.getPendingRequests());
+        for (WithdrawalRequest request : withdrawalDecisions.keySet()) {
+            if (!pendingWithdrawals.contains(request)) {
+                problems.add("Withdrawal request from " + request.getStudent().getName() + " was already processed.");
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException(String.join(" ", problems));
+        }
+
+        Set<String> retracted = new HashSet<>();
+        Map<String, Boolean> repApprovals = new LinkedHashMap<>();
+        for (Map.Entry<AccountRequest, Boolean> decision : accountDecisions.entrySet()) {
+            AccountRequest request = decision.getKey();
+            boolean approve = decision.getValue();
+            String notes = rejectionNotes.get(request);
+            userManager.decideRepresentative(request, staff, approve, notes);
+            CompanyRep rep = request.getRep();
+            repApprovals.put(rep.getUserID(), approve);
+            notificationManager.notifyRepAccountDecision(rep, approve, notes);
+            retracted.add(NotificationManager.repRegistrationMessage(rep.getName(), rep.getUserID(), rep.getCompanyName()));
+        }
+        for (Map.Entry<Internship, Boolean> decision : internshipDecisions.entrySet()) {
+            Internship internship = decision.getKey();
+            if (decision.getValue()) {
+                internshipManager.approveInternship(internship);
+            } else {
+                internshipManager.rejectInternship(internship);
+            }
+            retracted.add(NotificationManager.internshipSubmissionMessage(internship));
+        }
+        for (WithdrawalRequest request : withdrawalDecisions.keySet()) {
+            retracted.add(NotificationManager.withdrawalRequestMessage(
+                    request.getStudent(), request.getApplication().getInternship()));
+        }
+        withdrawalManager.processRequests(withdrawalDecisions, staff);
+        if (!retracted.isEmpty()) {
+            notificationManager.clearNotificationsForUsers(userManager.getCareerCenterStaffMembers(),
+                    notification -> retracted.contains(notification.getMessage()));
+        }
+        clear();
+        return repApprovals;
+    }
+}
@@ -0,0 +1,463 @@
+// documented
+
+package control;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous structured logger backed by a lock-free ring buffer.
+ *
+ * <p>Each record has a level, a logger name, a message and up to {@value #MAX_FIELDS}
+ * key-value fields. Logging threads claim a preallocated ring entry with a compare-and-set
+ * on the claim sequence, fill it in and publish it by writing the entry's sequence; they never
+ * take a lock and never wait for output. A single daemon consumer thread drains published
+ * entries in sequence order, formats each as one logfmt line, e.g.
+ * {@code 2026-10-19T08:00:00.123Z level=WARN logger=users msg="Skipping malformed row" row=7},
+ * and writes it to the output stream. When the ring is full a record is dropped and counted
+ * rather than blocking the caller.</p>
+ *
+ * <p>Records below the configured level are discarded before a ring entry is claimed. The
+ * shared instance returned by {@link #getDefault()} writes warnings and errors to standard
+ * error until reconfigured, and drains itself when the JVM exits.</p>
+ */
+
+public class AsyncLogger {
+
+    /** Ring entries of the shared logger. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** Key-value fields a record can carry. */
+    public static final int MAX_FIELDS = 3;
+
+    /** Longest the consumer sleeps when there is nothing to write. */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Shared logger used by the domain and control layers. */
+    private static final AsyncLogger DEFAULT = createDefault();
+
+    /** Preallocated entries; the entry for sequence s is at index s &amp; {@link #mask}. */
+    private final Entry[] ring;
+
+    /** Mask mapping a sequence to a ring index. */
+    private final int mask;
+
+    /** Next sequence to be claimed by a logging thread. */
+    private final AtomicLong claimed = new AtomicLong();
+
+    /** Next sequence to be written; advanced only by the consumer thread. */
+    private volatile long consumed;
+
+    /** Records discarded because the ring was full. */
+    private final LongAdder dropped = new LongAdder();
+
+    /** Minimum level that is recorded. */
+    private volatile LogLevel level;
+
+    /** Destination of formatted records. */
+    private volatile PrintStream output;
+
+    /** Whether the consumer should keep running. */
+    private volatile boolean running = true;
+
+    /** Thread draining the ring. */
+    private final Thread consumer;
+
+    /**
+     * Creates a logger and starts its consumer thread.
+     *
+     * @param capacity ring entries, rounded up to a power of two
+     * @param output   destination of formatted records
+     * @param level    minimum level that is recorded
+     *
+     * @throws IllegalArgumentException if capacity is not positive, or output or level is null
+     */
+    public AsyncLogger(int capacity, PrintStream output, LogLevel level) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        if (output == null || level == null) {
+            throw new IllegalArgumentException("Output and level required.");
+        }
+        int size = Integer.highestOneBit(Math.min(capacity, 1 << 30));
+        size = size < capacity ? size << 1 : size;
+        this.ring = new Entry[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Entry();
+        }
+        this.mask = size - 1;
+        this.output = output;
+        this.level = level;
+        this.consumer = new Thread(this::drainLoop, "async-logger");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Returns the shared logger.
+     *
+     * @return shared instance
+     */
+    public static AsyncLogger getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a named handle on the shared logger.
+     *
+     * @param name logger name written with each record
+     * @return the handle
+     */
+    public static Logger getLogger(String name) {
+        return DEFAULT.logger(name);
+    }
+
+    /**
+     * Returns a named handle on this logger.
+     *
+     * @param name logger name written with each record
+     * @return the handle
+     */
+    public Logger logger(String name) {
+        return new Logger(this, name);
+    }
+
+    /**
+     * Sets the minimum level that is recorded.
+     *
+     * @param level new minimum level; ignored if null
+     */
+    public void setLevel(LogLevel level) {
+        if (level != null) {
+            this.level = level;
+        }
+    }
+
+    /**
+     * Returns the minimum level that is recorded.
+     *
+     * @return current level
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Redirects formatted records. Records already queued go to the new destination.
+     *
+     * @param output new destination; ignored if null
+     */
+    public void setOutput(PrintStream output) {
+        if (output != null) {
+            this.output = output;
+        }
+    }
+
+    /**
+     * Checks whether records of a level are currently recorded.
+     *
+     * @param level the level
+     * @return true if at or above the configured level
+     */
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(this.level) >= 0;
+    }
+
+    /**
+     * Returns the number of records dropped because the ring was full.
+     *
+     * @return dropped record count
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Queues a record. Unused field keys are passed as null.
+     *
+     * @param level   record level
+     * @param name    logger name
+     * @param message message text
+     * @param k1      first field key, or null
+     * @param v1      first field value
+     * @param k2      second field key, or null
+     * @param v2      second field value
+     * @param k3      third field key, or null
+     * @param v3      third field value
+     * @return true if the record was queued, false if it was below the level or dropped
+     */
+    public boolean log(LogLevel level, String name, String message,
+                       String k1, Object v1, String k2, Object v2, String k3, Object v3) {
+        if (level == null || !isEnabled(level) || !running) {
+            return false;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= ring.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        Entry entry = ring[(int) sequence & mask];
+        entry.timestamp = System.currentTimeMillis();
+        entry.level = level;
+        entry.name = name;
+        entry.message = message;
+        entry.keys[0] = k1;
+        entry.values[0] = v1;
+        entry.keys[1] = k2;
+        entry.values[1] = v2;
+        entry.keys[2] = k3;
+        entry.values[2] = v3;
+        entry.published = sequence;
+        return true;
+    }
+
+    /**
+     * Waits until every record queued before the call has been written and flushed.
+     *
+     * @param timeoutMillis longest time to wait
+     * @return true if everything was written in time
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = claimed.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis));
+        while (consumed < target) {
+            if (System.nanoTime() >= deadline || !consumer.isAlive()) {
+                return false;
+            }
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+        }
+        output.flush();
+        return true;
+    }
+
+    /**
+     * Stops accepting records, writes those already queued and stops the consumer thread.
+     *
+     * @param timeoutMillis longest time to wait for queued records
+     */
+    public void shutdown(long timeoutMillis) {
+        flush(timeoutMillis);
+        running = false;
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * Consumer loop: writes published entries in sequence order, flushing the output
+     * whenever the ring is drained.
+     */
+    private void drainLoop() {
+        StringBuilder line = new StringBuilder(256);
+        while (running || consumed < claimed.get()) {
+            long sequence = consumed;
+            Entry entry = ring[(int) sequence & mask];
+            if (entry.published != sequence) {
+                output.flush();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            line.setLength(0);
+            format(entry, line);
+            output.println(line);
+            entry.clear();
+            consumed = sequence + 1;
+        }
+        output.flush();
+    }
+
+    /**
+     * Formats an entry as a logfmt line.
+     *
+     * @param entry the entry
+     * @param line  builder receiving the line
+     */
+    private static void format(Entry entry, StringBuilder line) {
+        line.append(Instant.ofEpochMilli(entry.timestamp))
+                .append(" level=").append(entry.level)
+                .append(" logger=");
+        appendValue(line, entry.name);
+        line.append(" msg=");
+        appendValue(line, entry.message);
+        for (int i = 0; i < MAX_FIELDS; i++) {
+            if (entry.keys[i] != null) {
+                line.append(' ').append(entry.keys[i]).append('=');
+                appendValue(line, entry.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Appends a value, quoting it if it is empty or contains spaces, quotes or equals signs.
+     *
+     * @param line  builder receiving the value
+     * @param value the value
+     */
+    private static void appendValue(StringBuilder line, Object value) {
+        String text = String.valueOf(value);
+        boolean quote = text.isEmpty();
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c <= ' ' || c == '"' || c == '=';
+        }
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c == '\n') {
+                line.append("\\n");
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Creates the shared logger and registers a hook draining it at exit.
+     *
+     * @return the shared logger
+     */
+    private static AsyncLogger createDefault() {
+        AsyncLogger logger = new AsyncLogger(DEFAULT_CAPACITY, System.err, LogLevel.WARN);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> logger.shutdown(1000), "async-logger-shutdown"));
+        return logger;
+    }
+
+    /**
+     * One preallocated ring entry.
+     */
+    private static final class Entry {
+
+        /** Sequence of the record held, or -1 before the first record. */
+        private volatile long published = -1;
+
+        /** Wall-clock time of the record. */
+        private long timestamp;
+
+        /** Record level. */
+        private LogLevel level;
+
+        /** Logger name. */
+        private String name;
+
+        /** Message text. */
+        private String message;
+
+        /** Field keys; null marks an unused field. */
+        private final String[] keys = new String[MAX_FIELDS];
+
+        /** Field values. */
+        private final Object[] values = new Object[MAX_FIELDS];
+
+        /**
+         * Drops references held by the entry so they can be collected.
+         */
+        private void clear() {
+            name = null;
+            message = null;
+            for (int i = 0; i < MAX_FIELDS; i++) {
+                keys[i] = null;
+                values[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Named handle for logging through an {@link AsyncLogger}.
+     */
+    public static final class Logger {
+
+        /** Logger records are queued on. */
+        private final AsyncLogger target;
+
+        /** Name written with each record. */
+        private final String name;
+
+        /**
+         * Creates a handle.
+         *
+         * @param target logger records are queued on
+         * @param name   name written with each record
+         */
+        private Logger(AsyncLogger target, String name) {
+            this.target = target;
+            this.name = name;
+        }
+
+        /**
+         * Checks whether records of a level are currently recorded, so callers can skip
+         * building expensive field values.
+         *
+         * @param level the level
+         * @return true if records of the level are recorded
+         */
+        public boolean isEnabled(LogLevel level) {
+            return target.isEnabled(level);
+        }
+
+        /**
+         * Logs a record with no fields.
+         *
+         * @param level   record level
+         * @param message message text
+         */
+        public void log(LogLevel level, String message) {
+            target.log(level, name, message, null, null, null, null, null, null);
+        }
+
+        /**
+         * Logs a record with one field.
+         *
+         * @param level   record level
+         * @param message message text
+         * @param k1      field key
+         * @param v1      field value
+         */
+        public void log(LogLevel level, String message, String k1, Object v1) {
+            target.log(level, name, message, k1, v1, null, null, null, null);
+        }
+
+        /**
+         * Logs a record with two fields.
+         *
+         * @param level   record level
+         * @param message message text
+         * @param k1      first field key
+         * @param v1      first field value
+         * @param k2      second field key
+         * @param v2      second field value
+         */
+        public void log(LogLevel level, String message, String k1, Object v1, String k2, Object v2) {
+            target.log(level, name, message, k1, v1, k2, v2, null, null);
+        }
+
+        /**
+         * Logs a record with three fields.
+         *
+         * @param level   record level
+         * @param message message text
+         * @param k1      first field key
+         * @param v1      first field value
+         * @param k2      second field key
+         * @param v2      second field value
+         * @param k3      third field key
+         * @param v3      third field value
+         */
+        public void log(LogLevel level, String message, String k1, Object v1, String k2, Object v2,
+                        String k3, Object v3) {
+            target.log(level, name, message, k1, v1, k2, v2, k3, v3);
+        }
+    }
+}
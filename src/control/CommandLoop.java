@@ -0,0 +1,321 @@
+// documented
+
+package control;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs every mutating command on one writer thread, taking commands from a lock-free queue
+ * that any number of threads may submit to.
+ *
+ * <p>The managers are not thread-safe, and rather than lock each of them, callers that share
+ * them hand their changes to this loop. Submitting is a single atomic swap on the queue's tail,
+ * so producers never block or contend on a lock. The writer takes up to {@value #MAX_BATCH}
+ * commands at a time, runs them in submission order, and then runs the batch listeners once,
+ * which is where work that can be shared by a whole batch belongs, such as flushing the event
+ * journal or applying expired offers. Because only the writer changes state, commands see a
+ * consistent system and slot assignment does not depend on thread timing. Readers on other
+ * threads should use immutable results such as {@link ReportCounters.Snapshot}, or wait on a
+ * command's future.</p>
+ *
+ * <p>When the queue is empty the writer parks until the next submission. Commands submitted
+ * from the writer thread itself are queued behind the current batch, so a command must not
+ * wait for one it submits.</p>
+ */
+
+public class CommandLoop {
+
+    /** Structured log for commands and listeners that fail without a caller to report to. */
+    private static final AsyncLogger.Logger LOG = AsyncLogger.getLogger("commands");
+
+    /** Most commands run before the batch listeners are called. */
+    public static final int MAX_BATCH = 256;
+
+    /** Longest the idle writer parks before checking the queue again, in nanoseconds. */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** Most recently submitted node; producers swap themselves in here. */
+    private final AtomicReference<Node> tail;
+
+    /** Node before the next command to run; read and advanced by the writer only. */
+    private Node head;
+
+    /** Called on the writer thread after each batch. */
+    private final List<Runnable> batchListeners = new CopyOnWriteArrayList<>();
+
+    /** Name of the writer thread. */
+    private final String threadName;
+
+    /** Commands run. */
+    private final LongAdder commands = new LongAdder();
+
+    /** Batches run. */
+    private final LongAdder batches = new LongAdder();
+
+    /** Writer thread, once started. */
+    private volatile Thread writer;
+
+    /** Whether the writer is about to park or parked, so producers must wake it. */
+    private volatile boolean idle;
+
+    /** Cleared by {@link #shutdown(long)}; the writer exits once the queue is drained. */
+    private volatile boolean running = true;
+
+    /**
+     * Creates a loop whose writer thread has the given name. The thread is started by
+     * {@link #start()}.
+     *
+     * @param threadName name of the writer thread
+     */
+    public CommandLoop(String threadName) {
+        this.threadName = threadName;
+        Node stub = new Node(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Starts the writer thread. Has no effect if already started.
+     */
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        Thread thread = new Thread(this::runWriter, threadName);
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * Queues a command whose outcome the caller does not wait for. Failures are logged.
+     *
+     * @param command the command
+     *
+     * @throws IllegalArgumentException if command is null
+     * @throws IllegalStateException    if the loop has been shut down
+     */
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new IllegalArgumentException("Command required.");
+        }
+        enqueue(command);
+    }
+
+    /**
+     * Queues a command and returns a future completed with its result, or exceptionally with
+     * whatever it throws.
+     *
+     * @param command the command
+     * @param <T>     result type
+     * @return future of the command's result
+     *
+     * @throws IllegalArgumentException if command is null
+     * @throws IllegalStateException    if the loop has been shut down
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> command) {
+        if (command == null) {
+            throw new IllegalArgumentException("Command required.");
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(() -> {
+            try {
+                result.complete(command.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Registers work to run on the writer thread after every batch of commands.
+     *
+     * @param listener the listener
+     */
+    public void addBatchListener(Runnable listener) {
+        if (listener != null) {
+            batchListeners.add(listener);
+        }
+    }
+
+    /**
+     * Returns whether the calling thread is the writer.
+     *
+     * @return true on the writer thread
+     */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == writer;
+    }
+
+    /**
+     * Returns the number of commands run so far.
+     *
+     * @return command count
+     */
+    public long getCommandCount() {
+        return commands.sum();
+    }
+
+    /**
+     * Returns the number of batches run so far.
+     *
+     * @return batch count
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Stops accepting commands and waits for the writer to run the ones already queued.
+     * A command submitted while this call is in progress may be rejected or left unrun.
+     *
+     * @param timeoutMillis longest time to wait
+     * @return true if the writer finished in time or was never started
+     */
+    public boolean shutdown(long timeoutMillis) {
+        running = false;
+        Thread thread = writer;
+        if (thread == null) {
+            return true;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !thread.isAlive();
+    }
+
+    /**
+     * Appends a command to the queue and wakes the writer if it is idle.
+     *
+     * @param command the command
+     */
+    private void enqueue(Runnable command) {
+        if (!running) {
+            throw new IllegalStateException("Command loop has been shut down.");
+        }
+        Node node = new Node(command);
+        tail.getAndSet(node).next = node;
+        if (idle) {
+            Thread thread = writer;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * Takes the next command, if any. Only called by the writer.
+     *
+     * @return the command, or null if the queue is empty or a submission is still being linked
+     */
+    private Runnable poll() {
+        Node next = head.next;
+        if (next == null) {
+            return null;
+        }
+        head = next;
+        Runnable command = next.command;
+        next.command = null;
+        return command;
+    }
+
+    /**
+     * Returns whether the queue has no commands, as seen by the writer.
+     *
+     * @return true if empty
+     */
+    private boolean isEmpty() {
+        return head.next == null && tail.get() == head;
+    }
+
+    /**
+     * Writer thread body: runs batches until shut down and drained. Should the writer stop for
+     * any other reason, the loop is marked shut down so later submissions fail fast instead of
+     * queuing work nothing will run.
+     */
+    private void runWriter() {
+        try {
+            drain();
+        } finally {
+            running = false;
+        }
+    }
+
+    /**
+     * Runs batches until shut down and drained.
+     */
+    private void drain() {
+        while (true) {
+            int ran = 0;
+            Runnable command;
+            while (ran < MAX_BATCH && (command = poll()) != null) {
+                run(command);
+                ran++;
+            }
+            if (ran > 0) {
+                commands.add(ran);
+                batches.increment();
+                for (Runnable listener : batchListeners) {
+                    run(listener);
+                }
+                continue;
+            }
+            if (!running && isEmpty()) {
+                return;
+            }
+            idle = true;
+            if (isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            } else if (!isEmpty()) {
+                Thread.onSpinWait();
+            }
+            idle = false;
+        }
+    }
+
+    /**
+     * Runs a command or listener, logging anything it throws, errors included, so the writer
+     * keeps going and commands already queued still complete.
+     *
+     * @param task the command or listener
+     */
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            LOG.log(LogLevel.ERROR, "Command failed", "error", e.toString());
+        }
+    }
+
+    /**
+     * Queue node holding one command.
+     */
+    private static final class Node {
+
+        /** The command, cleared once taken. */
+        private Runnable command;
+
+        /** Following node, linked by the producer that appended it. */
+        private volatile Node next;
+
+        /**
+         * Creates a node.
+         *
+         * @param command the command, or null for the initial stub
+         */
+        private Node(Runnable command) {
+            this.command = command;
+        }
+    }
+}
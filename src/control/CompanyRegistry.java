@@ -0,0 +1,216 @@
+// documented
+
+package control;
+
+import entity.CompanyRep;
+import entity.Internship;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a single canonical entry for every company known to the system.
+ *
+ * <p>Company names are free text typed during representative registration, so the same
+ * company may arrive as {@code "Acme Pte Ltd"}, {@code "ACME  pte ltd"} or
+ * {@code " acme pte ltd "}. The registry folds each name to a lookup key (trimmed, inner
+ * whitespace collapsed, lower-cased) and assigns every distinct key a dense integer ID.
+ * The first spelling seen becomes the interned display name for that ID.</p>
+ *
+ * <p>Internships and company representatives are indexed by company ID, so per-company
+ * lookups and company summary reports are direct index hits instead of scans.</p>
+ */
+
+public class CompanyRegistry {
+
+    /** ID returned when a company name is not known to the registry. */
+    public static final int UNKNOWN_COMPANY = -1;
+
+    /** Maps each normalised company key to its assigned ID. */
+    private final Map<String, Integer> idsByKey = new HashMap<>();
+
+    /** Canonical display name for each company, indexed by company ID. */
+    private final List<String> namesById = new ArrayList<>();
+
+    /** Internships offered by each company, indexed by company ID. */
+    private final List<Set<Internship>> internshipsById = new ArrayList<>();
+
+    /** Representatives belonging to each company, indexed by company ID. */
+    private final List<Set<CompanyRep>> repsById = new ArrayList<>();
+
+    /**
+     * Registers a company name, returning the ID of its canonical entry.
+     * Spelling variants that normalise to the same key share one ID.
+     *
+     * @param companyName the company name as entered
+     * @return the company ID, or {@link #UNKNOWN_COMPANY} if the name is blank
+     */
+    public int register(String companyName) {
+        String key = normalise(companyName);
+        if (key.isEmpty()) {
+            return UNKNOWN_COMPANY;
+        }
+        Integer existing = idsByKey.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int id = namesById.size();
+        idsByKey.put(key, id);
+        namesById.add(collapseWhitespace(companyName).intern());
+        internshipsById.add(new LinkedHashSet<>());
+        repsById.add(new LinkedHashSet<>());
+        return id;
+    }
+
+    /**
+     * Returns the canonical display name for a company, registering it if necessary.
+     *
+     * @param companyName the company name as entered
+     * @return the interned canonical name, or the input unchanged if it is blank
+     */
+    public String canonicalName(String companyName) {
+        int id = register(companyName);
+        return id == UNKNOWN_COMPANY ? companyName : namesById.get(id);
+    }
+
+    /**
+     * Looks up the ID of a company without registering it.
+     *
+     * @param companyName the company name to resolve
+     * @return the company ID, or {@link #UNKNOWN_COMPANY} if not registered
+     */
+    public int findId(String companyName) {
+        Integer id = idsByKey.get(normalise(companyName));
+        return id == null ? UNKNOWN_COMPANY : id;
+    }
+
+    /**
+     * Returns the canonical display name for a company ID.
+     *
+     * @param companyId the company ID
+     * @return the display name, or null if the ID is unknown
+     */
+    public String getName(int companyId) {
+        return isValid(companyId) ? namesById.get(companyId) : null;
+    }
+
+    /**
+     * Returns all registered company names in registration order.
+     *
+     * @return unmodifiable list of canonical company names
+     */
+    public List<String> getCompanyNames() {
+        return Collections.unmodifiableList(namesById);
+    }
+
+    /**
+     * Indexes a representative under their company.
+     *
+     * @param rep the representative to index
+     */
+    public void indexRepresentative(CompanyRep rep) {
+        if (rep == null) {
+            return;
+        }
+        int id = register(rep.getCompanyName());
+        if (id != UNKNOWN_COMPANY) {
+            repsById.get(id).add(rep);
+        }
+    }
+
+    /**
+     * Indexes an internship under its offering company.
+     *
+     * @param internship the internship to index
+     */
+    public void indexInternship(Internship internship) {
+        if (internship == null) {
+            return;
+        }
+        int id = register(internship.getCompanyName());
+        if (id != UNKNOWN_COMPANY) {
+            internshipsById.get(id).add(internship);
+        }
+    }
+
+    /**
+     * Removes an internship from the company index.
+     *
+     * @param internship the internship to remove
+     */
+    public void unindexInternship(Internship internship) {
+        if (internship == null) {
+            return;
+        }
+        int id = findId(internship.getCompanyName());
+        if (id != UNKNOWN_COMPANY) {
+            internshipsById.get(id).remove(internship);
+        }
+    }
+
+    /**
+     * Returns the internships offered by a company.
+     *
+     * @param companyId the company ID
+     * @return unmodifiable list of internships, or an empty list if the ID is unknown
+     */
+    public List<Internship> getInternships(int companyId) {
+        if (!isValid(companyId)) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(internshipsById.get(companyId)));
+    }
+
+    /**
+     * Returns the representatives belonging to a company.
+     *
+     * @param companyId the company ID
+     * @return unmodifiable list of representatives, or an empty list if the ID is unknown
+     */
+    public List<CompanyRep> getRepresentatives(int companyId) {
+        if (!isValid(companyId)) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(repsById.get(companyId)));
+    }
+
+    /**
+     * Folds a company name into its lookup key: trimmed, inner whitespace collapsed
+     * and lower-cased.
+     *
+     * @param companyName the raw company name
+     * @return the normalised key, or an empty string if the name is null or blank
+     */
+    public static String normalise(String companyName) {
+        return collapseWhitespace(companyName).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Trims a name and collapses runs of inner whitespace to single spaces.
+     *
+     * @param value the raw value
+     * @return the cleaned value, or an empty string if null
+     */
+    private static String collapseWhitespace(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Checks whether a company ID refers to a registered company.
+     *
+     * @param companyId the ID to check
+     * @return true if registered
+     */
+    private boolean isValid(int companyId) {
+        return companyId >= 0 && companyId < namesById.size();
+    }
+}
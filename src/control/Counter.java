@@ -0,0 +1,65 @@
+// documented
+
+package control;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event counter registered in a {@link MetricsRegistry}.
+ *
+ * <p>The count is held in a {@link LongAdder}, which stripes contended updates across cells,
+ * so the offer-expiry thread and the console thread can count without contending on one
+ * value. Incrementing allocates nothing once the adder's cells exist.</p>
+ */
+
+public class Counter {
+
+    /** Name the counter is registered under. */
+    private final String name;
+
+    /** Striped running total. */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Creates a counter.
+     *
+     * @param name registered name
+     */
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the registered name.
+     *
+     * @return counter name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Adds one to the count.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Adds an amount to the count.
+     *
+     * @param amount amount to add
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    /**
+     * Returns the current count.
+     *
+     * @return sum of every increment so far
+     */
+    public long getCount() {
+        return count.sum();
+    }
+}
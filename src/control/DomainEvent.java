@@ -0,0 +1,246 @@
+// documented
+
+package control;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One recorded state change, as appended to the {@link EventLog}.
+ *
+ * <p>Events are immutable and refer to domain objects by their natural keys (company name,
+ * internship title and user ID) rather than by reference, so they can be written to a journal
+ * and read back. Fields that do not apply to an event's type are null. For status changes,
+ * {@link #getFrom()} and {@link #getTo()} hold the old and new status names.</p>
+ */
+
+public final class DomainEvent {
+
+    /** Number of fields in a journal line. */
+    private static final int JOURNAL_FIELDS = 8;
+
+    /** Position of the event in its log, starting at 1. */
+    private final long sequence;
+
+    /** Time the event was appended, in milliseconds since the epoch. */
+    private final long timestamp;
+
+    /** Kind of change. */
+    private final DomainEventType type;
+
+    /** Company the change concerns, or null. */
+    private final String company;
+
+    /** Internship title the change concerns, or null. */
+    private final String title;
+
+    /** ID of the student, representative or staff member concerned, or null. */
+    private final String userId;
+
+    /** Previous value, or null. */
+    private final String from;
+
+    /** New value, or null. */
+    private final String to;
+
+    /**
+     * Creates an event.
+     *
+     * @param sequence  position in the log
+     * @param timestamp append time in milliseconds since the epoch
+     * @param type      kind of change
+     * @param company   company concerned, or null
+     * @param title     internship title concerned, or null
+     * @param userId    user concerned, or null
+     * @param from      previous value, or null
+     * @param to        new value, or null
+     */
+    public DomainEvent(long sequence, long timestamp, DomainEventType type, String company, String title,
+                       String userId, String from, String to) {
+        if (type == null) {
+            throw new IllegalArgumentException("Event type required.");
+        }
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.company = company;
+        this.title = title;
+        this.userId = userId;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns the position of this event in its log.
+     *
+     * @return sequence number, starting at 1
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns when this event was appended.
+     *
+     * @return milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return event type
+     */
+    public DomainEventType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the company the change concerns.
+     *
+     * @return company name, or null
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Returns the internship title the change concerns.
+     *
+     * @return internship title, or null
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns the user the change concerns.
+     *
+     * @return user ID, or null
+     */
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the previous value.
+     *
+     * @return previous status or value, or null
+     */
+    public String getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the new value.
+     *
+     * @return new status or value, or null
+     */
+    public String getTo() {
+        return to;
+    }
+
+    /**
+     * Formats this event as one tab-separated journal line, without a line separator.
+     * Nulls are written as empty fields; backslashes, tabs and line breaks are escaped.
+     *
+     * @return the journal line
+     */
+    public String toJournalLine() {
+        StringBuilder line = new StringBuilder(96);
+        line.append(sequence).append('\t').append(timestamp).append('\t').append(type.name());
+        for (String field : new String[] {company, title, userId, from, to}) {
+            line.append('\t');
+            escape(field, line);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Parses a line written by {@link #toJournalLine()}. Empty text fields are read as null.
+     *
+     * @param line the journal line
+     * @return the event
+     *
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static DomainEvent fromJournalLine(String line) {
+        List<String> fields = split(line);
+        if (fields.size() != JOURNAL_FIELDS) {
+            throw new IllegalArgumentException("Journal line has " + fields.size() + " fields, expected "
+                    + JOURNAL_FIELDS + ".");
+        }
+        return new DomainEvent(Long.parseLong(fields.get(0)), Long.parseLong(fields.get(1)),
+                DomainEventType.valueOf(fields.get(2)), nullIfEmpty(fields.get(3)), nullIfEmpty(fields.get(4)),
+                nullIfEmpty(fields.get(5)), nullIfEmpty(fields.get(6)), nullIfEmpty(fields.get(7)));
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " " + company + " / " + title + " / " + userId + " " + from + " -> " + to;
+    }
+
+    /**
+     * Appends a field with journal escaping.
+     *
+     * @param field the field, or null
+     * @param out   the line being built
+     */
+    private static void escape(String field, StringBuilder out) {
+        if (field == null) {
+            return;
+        }
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    /**
+     * Splits a journal line on unescaped tabs and undoes the escaping.
+     *
+     * @param line the journal line
+     * @return the fields
+     */
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(JOURNAL_FIELDS);
+        StringBuilder field = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\t') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\\' && i + 1 < line.length()) {
+                char next = line.charAt(++i);
+                field.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Maps an empty field back to null.
+     *
+     * @param field the field
+     * @return the field, or null if empty
+     */
+    private static String nullIfEmpty(String field) {
+        return field.isEmpty() ? null : field;
+    }
+}
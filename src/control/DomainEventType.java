@@ -0,0 +1,61 @@
+// documented
+
+package control;
+
+/**
+ * Kinds of state change recorded in the {@link EventLog}.
+ */
+
+public enum DomainEventType {
+
+    /** A company representative registered; to is PENDING or APPROVED. */
+    REP_REGISTERED,
+
+    /** Staff approved a representative account. */
+    REP_APPROVED,
+
+    /** Staff rejected a representative account. */
+    REP_REJECTED,
+
+    /** A representative submitted an internship for review. */
+    INTERNSHIP_SUBMITTED,
+
+    /** A pending internship was approved. */
+    INTERNSHIP_APPROVED,
+
+    /** An internship was rejected. */
+    INTERNSHIP_REJECTED,
+
+    /** An internship became filled or closed. */
+    INTERNSHIP_FILLED,
+
+    /** A filled internship reopened after a slot was released. */
+    INTERNSHIP_REOPENED,
+
+    /** Any other internship status change. */
+    INTERNSHIP_STATUS_CHANGED,
+
+    /** A representative deleted an internship. */
+    INTERNSHIP_REMOVED,
+
+    /** A student applied for an internship. */
+    APPLICATION_SUBMITTED,
+
+    /** An application's status changed. */
+    APPLICATION_STATUS_CHANGED,
+
+    /** A student was given a slot; to is the slot number. */
+    SLOT_ASSIGNED,
+
+    /** Slots were released; to is the number released. */
+    SLOTS_RELEASED,
+
+    /** A student asked to withdraw an application. */
+    WITHDRAWAL_REQUESTED,
+
+    /** Staff approved a withdrawal. */
+    WITHDRAWAL_APPROVED,
+
+    /** Staff rejected a withdrawal. */
+    WITHDRAWAL_REJECTED
+}
@@ -0,0 +1,195 @@
+// documented
+
+package control;
+
+import entity.Application;
+import entity.ApplicationStatus;
+import entity.Internship;
+import entity.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Materialised view of which internships are open to which students.
+ *
+ * <p>The view is keyed by (major, year band). An internship is listed for a key when it is:</p>
+ * <ul>
+ *     <li>Approved and visible</li>
+ *     <li>Not yet full</li>
+ *     <li>Open to the major (or open to every major)</li>
+ *     <li>At a level the year band may apply for (lower years: BASIC only)</li>
+ *     <li>Within its application period today</li>
+ * </ul>
+ *
+ * <p>Each entry is a bitmap over the dense IDs of {@link InternshipQueryEngine}, computed the
+ * first time a student with that major and year band browses. Whenever
+ * {@link InternshipManager} reports that an internship's status, visibility, fill state or
+ * dates changed, that internship's bit is re-evaluated in every entry, and all entries are
+ * dropped once when the date rolls over. Browsing becomes a lookup followed by a per-student
+ * subtraction of internships already applied for.</p>
+ */
+
+public class EligibilityView {
+
+    /** Highest year of study restricted to BASIC internships. */
+    private static final int LOWER_YEAR_LIMIT = 2;
+
+    /** Engine holding the per-attribute bitmaps the entries are computed from. */
+    private final InternshipQueryEngine engine;
+
+    /** Materialised entries keyed by year band and major ID. */
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    /** Date the entries were evaluated against. */
+    private LocalDate asOf = LocalDate.now();
+
+    /**
+     * Creates a view over the given query engine.
+     *
+     * @param engine the engine indexing the internship catalog
+     */
+    public EligibilityView(InternshipQueryEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Re-evaluates a single internship in every materialised entry. The engine must
+     * already reflect the internship's current state.
+     *
+     * @param internship the changed internship
+     */
+    public void update(Internship internship) {
+        int id = engine.idOf(internship);
+        if (id < 0) {
+            return;
+        }
+        for (Entry entry : entries.values()) {
+            entry.bits.set(id, engine.isEligible(id, entry.majorId, entry.yearOfStudy, asOf));
+        }
+    }
+
+    /**
+     * Removes an internship from every materialised entry. Must be called before the
+     * internship is removed from the engine.
+     *
+     * @param internship the internship being removed
+     */
+    public void remove(Internship internship) {
+        int id = engine.idOf(internship);
+        if (id < 0) {
+            return;
+        }
+        for (Entry entry : entries.values()) {
+            entry.bits.clear(id);
+        }
+    }
+
+    /**
+     * Returns the internships a student may currently apply for.
+     *
+     * <p>The result is the view entry for the student's (major, year band), minus
+     * internships the student already has a live application for. A student who has
+     * accepted a placement gets an empty result.</p>
+     *
+     * @param student the student browsing
+     * @return eligible internships in submission order
+     */
+    public List<Internship> getEligibleInternships(Student student) {
+        if (student == null) {
+            return new ArrayList<>();
+        }
+        return engine.toInternships(getEligibleIds(student));
+    }
+
+    /**
+     * Returns the IDs of the internships a student may currently apply for, as described
+     * in {@link #getEligibleInternships(Student)}.
+     *
+     * @param student the student browsing
+     * @return a new bitmap of eligible internship IDs
+     */
+    public BitSet getEligibleIds(Student student) {
+        if (student == null || student.hasAcceptedPlacement()) {
+            return new BitSet();
+        }
+        BitSet result = (BitSet) entryFor(student).bits.clone();
+        for (Application application : student.getApplications()) {
+            if (application.getStatus() != ApplicationStatus.UNSUCCESSFUL) {
+                int id = engine.idOf(application.getInternship());
+                if (id >= 0) {
+                    result.clear(id);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the view lists an internship for a student's major and year band.
+     * Per-student state (existing applications, accepted placement) is not considered.
+     *
+     * @param internship the internship
+     * @param student    the student
+     * @return true if the internship passes every internship-level eligibility rule
+     */
+    public boolean isEligible(Internship internship, Student student) {
+        if (internship == null || student == null) {
+            return false;
+        }
+        int id = engine.idOf(internship);
+        return id >= 0 && entryFor(student).bits.get(id);
+    }
+
+    /**
+     * Returns the entry for a student's major and year band, materialising it on first use.
+     * All entries are dropped first if the date has rolled over since they were computed.
+     *
+     * @param student the student
+     * @return the materialised entry
+     */
+    private Entry entryFor(Student student) {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(asOf)) {
+            asOf = today;
+            entries.clear();
+        }
+        short majorId = student.getMajorId();
+        int year = student.getYearOfStudy();
+        int key = (majorId << 1) | (year <= LOWER_YEAR_LIMIT ? 0 : 1);
+        return entries.computeIfAbsent(key,
+                ignored -> new Entry(majorId, year, engine.eligibleFor(majorId, year, asOf)));
+    }
+
+    /**
+     * One materialised (major, year band) entry.
+     */
+    private static final class Entry {
+
+        /** Major ID the entry was computed for. */
+        private final short majorId;
+
+        /** A year of study within the entry's band. */
+        private final int yearOfStudy;
+
+        /** IDs of eligible internships. */
+        private final BitSet bits;
+
+        /**
+         * Creates an entry.
+         *
+         * @param majorId     major ID
+         * @param yearOfStudy a year within the band
+         * @param bits        eligible IDs
+         */
+        private Entry(short majorId, int yearOfStudy, BitSet bits) {
+            this.majorId = majorId;
+            this.yearOfStudy = yearOfStudy;
+            this.bits = bits;
+        }
+    }
+}
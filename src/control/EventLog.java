@@ -0,0 +1,283 @@
+// documented
+
+package control;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only log of the domain's state changes, feeding registered projections and an
+ * optional journal file.
+ *
+ * <p>The managers append an event after each change they make (internship submissions and
+ * status changes, applications and their decisions, slot assignments, withdrawals and account
+ * decisions), in the order the changes happen. Every event is numbered, passed to each
+ * registered {@link Projection} and, once a journal is open, written to it as one line.
+ * Events are not kept in memory once passed on, so a long session costs no more than a short
+ * one. The only projection today is {@link ReportCounters}; the catalog, inbox and
+ * eligibility views are still maintained directly by the managers.</p>
+ *
+ * <p>The journal is an audit trail of every run: it is appended to across runs, numbering
+ * continuing from its last line, which is found by reading the file backwards from its end.
+ * It is not read back; the entities are still loaded from the CSV files at startup, and the
+ * projections cover the current session only. A single writer applying commands in batches
+ * can turn off per-event flushing and call {@link #flush()} once per batch, so the batch's
+ * events reach the file together. Appends are serialised, so events from the offer-expiry
+ * thread interleave safely with those from the console.</p>
+ */
+
+public class EventLog {
+
+    /** Structured log for journal failures. */
+    private static final AsyncLogger.Logger LOG = AsyncLogger.getLogger("events");
+
+    /** Bytes read at a time when looking for the last journal line. */
+    private static final int TAIL_CHUNK = 4096;
+
+    /** Projections fed each appended event. */
+    private final List<Projection> projections = new ArrayList<>();
+
+    /** Sequence number of the last event appended or found in the journal. */
+    private long lastSequence;
+
+    /** Open journal, or null. */
+    private Writer journal;
+
+    /** File of the open journal, for diagnostics. */
+    private File journalFile;
+
+    /** Whether each event is flushed to the journal as it is appended. */
+    private boolean autoFlush = true;
+
+    /**
+     * Appends an event and passes it to every projection and the journal.
+     *
+     * @param type    kind of change
+     * @param company company concerned, or null
+     * @param title   internship title concerned, or null
+     * @param userId  user concerned, or null
+     * @param from    previous value, or null
+     * @param to      new value, or null
+     * @return the appended event
+     *
+     * @throws IllegalArgumentException if type is null
+     */
+    public synchronized DomainEvent append(DomainEventType type, String company, String title,
+                                           String userId, String from, String to) {
+        DomainEvent event = new DomainEvent(lastSequence + 1, System.currentTimeMillis(), type,
+                company, title, userId, from, to);
+        lastSequence = event.getSequence();
+        for (Projection projection : projections) {
+            projection.apply(event);
+        }
+        writeToJournal(event);
+        return event;
+    }
+
+    /**
+     * Registers a projection to receive the events appended from now on. Events are not
+     * retained, so a projection registered after the first append starts from its current
+     * state rather than from the beginning of the session.
+     *
+     * @param projection the projection
+     */
+    public synchronized void register(Projection projection) {
+        if (projection == null || projections.contains(projection)) {
+            return;
+        }
+        projections.add(projection);
+    }
+
+    /**
+     * Returns the sequence number of the last event.
+     *
+     * @return last sequence number, or 0 if none
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Starts writing events to a journal file, appending to it if it exists. Numbering
+     * continues from the last event in the file, and a last line cut short by a crash is
+     * terminated so new events start on a line of their own. Any previously open journal is
+     * closed.
+     *
+     * @param file the journal file
+     *
+     * @throws IOException if the file cannot be read or opened
+     */
+    public synchronized void openJournal(File file) throws IOException {
+        closeJournal();
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create directory " + parent.getPath());
+        }
+        boolean unterminated = false;
+        if (file.exists()) {
+            lastSequence = Math.max(lastSequence, lastSequenceIn(file));
+            unterminated = !endsWithNewline(file);
+        }
+        journal = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        journalFile = file;
+        if (unterminated) {
+            journal.write('\n');
+            journal.flush();
+        }
+    }
+
+    /**
+     * Sets whether each event is flushed to the journal as it is appended. When off, events
+     * are buffered until {@link #flush()} is called. Turning it back on flushes.
+     *
+     * @param autoFlush true to flush every event
+     */
+    public synchronized void setAutoFlush(boolean autoFlush) {
+        this.autoFlush = autoFlush;
+        if (autoFlush) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes buffered events to the journal file, if one is open.
+     */
+    public synchronized void flush() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.flush();
+        } catch (IOException e) {
+            LOG.log(LogLevel.ERROR, "Failed to write event journal", "file", journalFile.getPath(), "error", e.getMessage());
+            closeJournal();
+        }
+    }
+
+    /**
+     * Flushes and closes the journal, if one is open.
+     */
+    public synchronized void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            LOG.log(LogLevel.ERROR, "Failed to close event journal", "file", journalFile.getPath(), "error", e.getMessage());
+        }
+        journal = null;
+        journalFile = null;
+    }
+
+    /**
+     * Finds the sequence number of the last event in a journal file by reading backwards from
+     * its end, so only the tail of the file is read however long the journal has grown. A
+     * last line left incomplete by a crash is skipped in favour of the one before it.
+     *
+     * @param file the journal file
+     * @return last sequence number, or 0 if the file holds no readable event
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private static long lastSequenceIn(File file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            byte[] chunk = new byte[TAIL_CHUNK];
+            ByteArrayOutputStream reversedLine = new ByteArrayOutputStream();
+            long position = in.length();
+            while (position > 0) {
+                int length = (int) Math.min(chunk.length, position);
+                position -= length;
+                in.seek(position);
+                in.readFully(chunk, 0, length);
+                for (int i = length - 1; i >= 0; i--) {
+                    if (chunk[i] != '\n') {
+                        reversedLine.write(chunk[i]);
+                        continue;
+                    }
+                    long sequence = sequenceOf(reversedLine, file);
+                    if (sequence > 0) {
+                        return sequence;
+                    }
+                    reversedLine.reset();
+                }
+            }
+            return sequenceOf(reversedLine, file);
+        }
+    }
+
+    /**
+     * Returns whether a file is empty or ends with a line separator.
+     *
+     * @param file the file
+     * @return true if new lines can be appended as they are
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private static boolean endsWithNewline(File file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            long length = in.length();
+            if (length == 0) {
+                return true;
+            }
+            in.seek(length - 1);
+            return in.read() == '\n';
+        }
+    }
+
+    /**
+     * Parses the sequence number of a journal line collected back to front.
+     *
+     * @param reversedLine bytes of the line in reverse order
+     * @param file         the journal file, for diagnostics
+     * @return sequence number, or 0 if the line is empty or malformed
+     */
+    private static long sequenceOf(ByteArrayOutputStream reversedLine, File file) {
+        if (reversedLine.size() == 0) {
+            return 0;
+        }
+        byte[] bytes = reversedLine.toByteArray();
+        for (int i = 0, j = bytes.length - 1; i < j; i++, j--) {
+            byte swap = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = swap;
+        }
+        try {
+            return DomainEvent.fromJournalLine(new String(bytes, StandardCharsets.UTF_8)).getSequence();
+        } catch (IllegalArgumentException e) {
+            LOG.log(LogLevel.WARN, "Skipping malformed journal line", "file", file.getPath());
+            return 0;
+        }
+    }
+
+    /**
+     * Writes an event to the journal, flushing it unless auto-flush is off. A write failure
+     * closes the journal so the projections keep working.
+     *
+     * @param event the event
+     */
+    private void writeToJournal(DomainEvent event) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.write(event.toJournalLine());
+            journal.write('\n');
+            if (autoFlush) {
+                journal.flush();
+            }
+        } catch (IOException e) {
+            LOG.log(LogLevel.ERROR, "Failed to write event journal", "file", journalFile.getPath(), "error", e.getMessage());
+            closeJournal();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+// documented
+
+package control;
+
+import entity.FilterCriteria;
+import entity.Internship;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of internship filter results.
+ *
+ * <p>Results are keyed by a normalised copy of the {@link FilterCriteria}, so students whose
+ * saved filters select the same internships share one entry. Each entry remembers the catalog
+ * version it was computed at; an entry whose version differs from the current catalog version
+ * is treated as a miss and replaced.</p>
+ *
+ * <p>Hit, miss and eviction counts are kept for monitoring.</p>
+ */
+
+public class FilterResultCache {
+
+    /** Default maximum number of cached filter results. */
+    public static final int DEFAULT_CAPACITY = 128;
+
+    /** Maximum number of cached filter results. */
+    private final int capacity;
+
+    /** Cached results in access order, eldest first. */
+    private final Map<FilterCriteria, CachedResult> entries;
+
+    /** Number of lookups answered from the cache. */
+    private long hits;
+
+    /** Number of lookups that had no current entry. */
+    private long misses;
+
+    /** Number of entries dropped to stay within capacity. */
+    private long evictions;
+
+    /**
+     * Creates a cache holding at most {@link #DEFAULT_CAPACITY} results.
+     */
+    public FilterResultCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache holding at most the given number of results.
+     *
+     * @param capacity maximum number of entries (at least 1)
+     */
+    public FilterResultCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FilterCriteria, CachedResult> eldest) {
+                if (size() > FilterResultCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for the criteria if it was computed at the given catalog version.
+     *
+     * @param criteria       the filter criteria ({@code null} means no filters)
+     * @param catalogVersion the current catalog version
+     * @return unmodifiable cached result, or null on a miss
+     */
+    public List<Internship> get(FilterCriteria criteria, long catalogVersion) {
+        CachedResult cached = entries.get(keyFor(criteria));
+        if (cached == null || cached.version != catalogVersion) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return cached.internships;
+    }
+
+    /**
+     * Stores a result computed at the given catalog version.
+     *
+     * @param criteria       the filter criteria ({@code null} means no filters)
+     * @param catalogVersion the catalog version the result reflects
+     * @param internships    the filtered internships
+     * @return unmodifiable view of the stored result
+     */
+    public List<Internship> put(FilterCriteria criteria, long catalogVersion, List<Internship> internships) {
+        List<Internship> stored = Collections.unmodifiableList(internships);
+        entries.put(keyFor(criteria), new CachedResult(catalogVersion, stored));
+        return stored;
+    }
+
+    /**
+     * Removes every cached result. Counters are kept.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of results currently cached.
+     *
+     * @return cache size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the maximum number of cached results.
+     *
+     * @return cache capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return hit count
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that required recomputing the result.
+     *
+     * @return miss count
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries evicted to stay within capacity.
+     *
+     * @return eviction count
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the fraction of lookups answered from the cache.
+     *
+     * @return hit ratio between 0 and 1, or 0 if there have been no lookups
+     */
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Builds the cache key for the criteria.
+     *
+     * @param criteria the filter criteria, possibly null
+     * @return normalised copy of the criteria
+     */
+    private FilterCriteria keyFor(FilterCriteria criteria) {
+        return criteria == null ? new FilterCriteria() : criteria.normalisedCopy();
+    }
+
+    /**
+     * A cached filter result together with the catalog version it was computed at.
+     */
+    private static final class CachedResult {
+
+        /** Catalog version the result reflects. */
+        private final long version;
+
+        /** Unmodifiable filtered internships. */
+        private final List<Internship> internships;
+
+        /**
+         * Creates a cached result.
+         *
+         * @param version     catalog version
+         * @param internships filtered internships
+         */
+        private CachedResult(long version, List<Internship> internships) {
+            this.version = version;
+            this.internships = internships;
+        }
+    }
+}
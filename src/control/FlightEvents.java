@@ -0,0 +1,400 @@
+// documented
+
+package control;
+
+import entity.Internship;
+import entity.InternshipSlot;
+import entity.InternshipStatus;
+import entity.Student;
+
+import java.io.File;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event types for the application's domain operations.
+ *
+ * <p>Events appear under the "Internship Hub" category of a recording, e.g. one started with
+ * {@code java -XX:StartFlightRecording=filename=hub.jfr ...}. Timed events are created and
+ * begun at the start of an operation and finished with their {@code complete} method;
+ * instant events are emitted through the static helpers below. Fields are only filled in after
+ * {@link Event#shouldCommit()} returns true, so while recording is off an event costs an
+ * allocation the JIT removes and a disabled check. Stack traces are not recorded, since the
+ * fields already identify the operation.</p>
+ */
+
+public final class FlightEvents {
+
+    /** Top-level category of every event. */
+    private static final String CATEGORY = "Internship Hub";
+
+    /**
+     * Prevents instantiation.
+     */
+    private FlightEvents() {
+    }
+
+    /**
+     * Emits a {@link SlotAssigned} event.
+     *
+     * @param internship the internship
+     * @param student    the student given the slot
+     * @param slot       the slot assigned, or null if none was free
+     */
+    static void slotAssigned(Internship internship, Student student, InternshipSlot slot) {
+        SlotAssigned event = new SlotAssigned();
+        if (event.shouldCommit()) {
+            event.internship = internship.getTitle();
+            event.company = internship.getCompanyName();
+            event.student = student.getUserID();
+            event.slotNumber = slot == null ? -1 : slot.getSlotNumber();
+            event.filledSlots = internship.getFilledSlotCount();
+            event.totalSlots = internship.getSlots().size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Emits a {@link SlotsReleased} event.
+     *
+     * @param internship the internship
+     * @param released   number of slots released
+     * @param cause      what released them
+     */
+    static void slotsReleased(Internship internship, int released, String cause) {
+        SlotsReleased event = new SlotsReleased();
+        if (event.shouldCommit()) {
+            event.internship = internship.getTitle();
+            event.company = internship.getCompanyName();
+            event.released = released;
+            event.cause = cause;
+            event.filledSlots = internship.getFilledSlotCount();
+            event.totalSlots = internship.getSlots().size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Emits a {@link StatusTransition} event.
+     *
+     * @param internship the internship, already in its new status
+     * @param from       previous status, or null for a new submission
+     */
+    static void statusTransition(Internship internship, InternshipStatus from) {
+        StatusTransition event = new StatusTransition();
+        if (event.shouldCommit()) {
+            event.internship = internship.getTitle();
+            event.company = internship.getCompanyName();
+            event.from = from == null ? "" : from.name();
+            event.to = internship.getStatus() == null ? "" : internship.getStatus().name();
+            event.commit();
+        }
+    }
+
+    /**
+     * An application submission, whether accepted or refused by a rule.
+     */
+    @Name("internshiphub.ApplicationSubmission")
+    @Label("Application Submission")
+    @Category({CATEGORY, "Applications"})
+    @Description("A student applying for an internship, with the rule that refused it, if any")
+    @StackTrace(false)
+    public static class ApplicationSubmission extends Event {
+
+        /** Internship title. */
+        @Label("Internship")
+        String internship;
+
+        /** Company offering the internship. */
+        @Label("Company")
+        String company;
+
+        /** Applicant's user ID. */
+        @Label("Student")
+        String student;
+
+        /** Whether the application was created. */
+        @Label("Accepted")
+        boolean accepted;
+
+        /** Reason given by the failing rule, empty when accepted. */
+        @Label("Rule")
+        String rule;
+
+        /**
+         * Ends the event and commits it if it is being recorded.
+         *
+         * @param internship the internship applied for
+         * @param student    the applicant
+         * @param accepted   whether the application was created
+         * @param rule       reason given by the failing rule, or null when accepted
+         */
+        public void complete(Internship internship, Student student, boolean accepted, String rule) {
+            if (shouldCommit()) {
+                this.internship = internship.getTitle();
+                this.company = internship.getCompanyName();
+                this.student = student.getUserID();
+                this.accepted = accepted;
+                this.rule = rule == null ? "" : rule;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * A student being given an internship slot when an offer is accepted.
+     */
+    @Name("internshiphub.SlotAssigned")
+    @Label("Slot Assigned")
+    @Category({CATEGORY, "Applications"})
+    @StackTrace(false)
+    public static class SlotAssigned extends Event {
+
+        /** Internship title. */
+        @Label("Internship")
+        String internship;
+
+        /** Company offering the internship. */
+        @Label("Company")
+        String company;
+
+        /** User ID of the student given the slot. */
+        @Label("Student")
+        String student;
+
+        /** Number of the assigned slot, or -1 if none was free. */
+        @Label("Slot Number")
+        int slotNumber;
+
+        /** Slots filled after the assignment. */
+        @Label("Filled Slots")
+        int filledSlots;
+
+        /** Slots of the internship. */
+        @Label("Total Slots")
+        int totalSlots;
+    }
+
+    /**
+     * Internship slots being given up by rejection or withdrawal.
+     */
+    @Name("internshiphub.SlotsReleased")
+    @Label("Slots Released")
+    @Category({CATEGORY, "Applications"})
+    @StackTrace(false)
+    public static class SlotsReleased extends Event {
+
+        /** Internship title. */
+        @Label("Internship")
+        String internship;
+
+        /** Company offering the internship. */
+        @Label("Company")
+        String company;
+
+        /** Number of slots released. */
+        @Label("Released")
+        int released;
+
+        /** What released the slots. */
+        @Label("Cause")
+        String cause;
+
+        /** Slots filled after the release. */
+        @Label("Filled Slots")
+        int filledSlots;
+
+        /** Slots of the internship. */
+        @Label("Total Slots")
+        int totalSlots;
+    }
+
+    /**
+     * An internship moving from one status to another.
+     */
+    @Name("internshiphub.StatusTransition")
+    @Label("Internship Status Transition")
+    @Category({CATEGORY, "Internships"})
+    @StackTrace(false)
+    public static class StatusTransition extends Event {
+
+        /** Internship title. */
+        @Label("Internship")
+        String internship;
+
+        /** Company offering the internship. */
+        @Label("Company")
+        String company;
+
+        /** Previous status, empty for a new submission. */
+        @Label("From")
+        String from;
+
+        /** New status. */
+        @Label("To")
+        String to;
+    }
+
+    /**
+     * One notification operation spanning several inboxes.
+     */
+    @Name("internshiphub.NotificationFanOut")
+    @Label("Notification Fan-out")
+    @Category({CATEGORY, "Notifications"})
+    @StackTrace(false)
+    public static class NotificationFanOut extends Event {
+
+        /** Operation performed, e.g. notifyUsers or clear. */
+        @Label("Operation")
+        String operation;
+
+        /** Number of recipients or inboxes touched. */
+        @Label("Recipients")
+        int recipients;
+
+        /**
+         * Ends the event and commits it if it is being recorded.
+         *
+         * @param operation  operation performed
+         * @param recipients number of recipients or inboxes touched
+         */
+        public void complete(String operation, int recipients) {
+            if (shouldCommit()) {
+                this.operation = operation;
+                this.recipients = recipients;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Loading one CSV file.
+     */
+    @Name("internshiphub.CsvLoad")
+    @Label("CSV Load")
+    @Category({CATEGORY, "Persistence"})
+    @StackTrace(false)
+    public static class CsvLoad extends Event {
+
+        /** File path. */
+        @Label("File")
+        String file;
+
+        /** Rows loaded. */
+        @Label("Rows Loaded")
+        int rowsLoaded;
+
+        /** Rows skipped as malformed or invalid. */
+        @Label("Rows Skipped")
+        int rowsSkipped;
+
+        /**
+         * Ends the event and commits it if it is being recorded.
+         *
+         * @param file        the file loaded
+         * @param rowsLoaded  rows loaded
+         * @param rowsSkipped rows skipped
+         */
+        public void complete(File file, int rowsLoaded, int rowsSkipped) {
+            if (shouldCommit()) {
+                this.file = file == null ? "" : file.getPath();
+                this.rowsLoaded = rowsLoaded;
+                this.rowsSkipped = rowsSkipped;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Writing rows to a CSV file.
+     */
+    @Name("internshiphub.CsvPersist")
+    @Label("CSV Persist")
+    @Category({CATEGORY, "Persistence"})
+    @StackTrace(false)
+    public static class CsvPersist extends Event {
+
+        /** File path. */
+        @Label("File")
+        String file;
+
+        /** Rows written. */
+        @Label("Rows Written")
+        int rows;
+
+        /** Whether the file was appended to rather than rewritten. */
+        @Label("Append")
+        boolean append;
+
+        /** Whether the write succeeded. */
+        @Label("Succeeded")
+        boolean succeeded;
+
+        /**
+         * Ends the event and commits it if it is being recorded.
+         *
+         * @param file      the file written
+         * @param rows      rows written
+         * @param append    whether the file was appended to
+         * @param succeeded whether the write succeeded
+         */
+        public void complete(File file, int rows, boolean append, boolean succeeded) {
+            if (shouldCommit()) {
+                this.file = file == null ? "" : file.getPath();
+                this.rows = rows;
+                this.append = append;
+                this.succeeded = succeeded;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Generating and printing one staff report.
+     */
+    @Name("internshiphub.ReportGeneration")
+    @Label("Report Generation")
+    @Category({CATEGORY, "Reports"})
+    @StackTrace(false)
+    public static class ReportGeneration extends Event {
+
+        /** Report type: status, major, level or company. */
+        @Label("Report")
+        String report;
+
+        /** Value the report was filtered by. */
+        @Label("Filter")
+        String filter;
+
+        /** Internships examined. */
+        @Label("Examined")
+        int examined;
+
+        /** Internships in the report. */
+        @Label("Matched")
+        int matched;
+
+        /**
+         * Ends the event and commits it if it is being recorded.
+         *
+         * @param report   report type
+         * @param filter   value the report was filtered by
+         * @param examined internships examined
+         * @param matched  internships in the report
+         */
+        public void complete(String report, Object filter, int examined, int matched) {
+            if (shouldCommit()) {
+                this.report = report;
+                this.filter = String.valueOf(filter);
+                this.examined = examined;
+                this.matched = matched;
+                commit();
+            }
+        }
+    }
+}
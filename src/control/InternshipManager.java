@@ -6,13 +6,16 @@ import entity.CompanyRep;
 import entity.FilterCriteria;
 import entity.Internship;
 import entity.InternshipStatus;
+import entity.Student;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -23,8 +26,12 @@ import java.util.stream.Collectors;
  *     <li>Submitting internship opportunities</li>
  *     <li>Approving or rejecting internships</li>
  *     <li>Auto-updating their status based on dates or slot availability</li>
- *     <li>Filtering internships by criteria</li>
+ *     <li>Filtering internships by criteria through {@link InternshipQueryEngine}</li>
+ *     <li>Keyword search over titles and descriptions through {@link InternshipSearchIndex}</li>
  *     <li>Managing internships belonging to a specific company representative</li>
+ *     <li>Maintaining the per-student {@link EligibilityView}</li>
+ *     <li>Recommending internships through {@link RecommendationEngine}</li>
+ *     <li>Recording submissions, status changes and removals in the {@link EventLog}</li>
  * </ul>
  */
 
@@ -36,6 +43,68 @@ public class InternshipManager {
     /** Internal list storing all internship opportunities in the system. */
     private final List<Internship> internships = new ArrayList<>();
 
+    /** Internships of each representative, in submission order. */
+    private final Map<CompanyRep, List<Internship>> internshipsByRep = new HashMap<>();
+
+    /** All internships in case-insensitive title order. */
+    private final TitleIndex titleIndex = new TitleIndex();
+
+    /** Cached filter results, invalidated by {@link #catalogVersion}. */
+    private final FilterResultCache filterCache = new FilterResultCache();
+
+    /** Incremented on every change to the catalog or to any internship in it. */
+    private long catalogVersion;
+
+    /** Date of the last status refresh. */
+    private LocalDate lastRefreshDate;
+
+    /** Catalog version observed after the last status refresh. */
+    private long lastRefreshVersion = -1;
+
+    /** Result sizes at or below catalog size divided by this are sorted rather than walked in title order. */
+    private static final int SMALL_RESULT_DIVISOR = 16;
+
+    /** Bitmap indexes over status, level, visibility, major and dates. */
+    private final InternshipQueryEngine queryEngine = new InternshipQueryEngine();
+
+    /** Materialised view of internships open to each (major, year band). */
+    private final EligibilityView eligibilityView = new EligibilityView(queryEngine);
+
+    /** Precomputed recommendation scores, refreshed as internships and their applications change. */
+    private final RecommendationEngine recommendationEngine = new RecommendationEngine(queryEngine);
+
+    /** Inverted index over internship titles and descriptions. */
+    private final InternshipSearchIndex searchIndex = new InternshipSearchIndex();
+
+    /** Catalog that preferred majors and filter majors are resolved against. */
+    private SchoolMajorCatalog schoolMajorCatalog = new SchoolMajorCatalog();
+
+    /** Registry indexing internships by canonical company ID. */
+    private CompanyRegistry companyRegistry;
+
+    /** Log that submissions, status changes and removals are appended to, if configured. */
+    private EventLog eventLog;
+
+    /** Latency of {@link #filter(FilterCriteria)}. */
+    private LatencyHistogram filterLatency;
+
+    /** Latency of {@link #filterForStudent(FilterCriteria, Student)}. */
+    private LatencyHistogram studentFilterLatency;
+
+    /** Latency of status refreshes that scanned the catalog. */
+    private LatencyHistogram refreshLatency;
+
+    /** Status refreshes skipped because nothing had changed. */
+    private Counter refreshSkips;
+
+    /**
+     * Creates an empty internship manager recording into a private metrics registry until
+     * {@link #setMetricsRegistry(MetricsRegistry)} is called.
+     */
+    public InternshipManager() {
+        bindMetrics(new MetricsRegistry());
+    }
+
     /**
      * Submits a new internship for approval.
      *
@@ -62,9 +131,9 @@ public class InternshipManager {
         if (rep == null || !rep.isApproved()) {
             throw new IllegalStateException("Only approved company representatives may submit internships.");
         }
-        long activeInternships = internships.stream()
-                .filter(existing -> existing.getRepInCharge() == rep
-                        && existing.getStatus() != InternshipStatus.REJECTED)
+        List<Internship> owned = internshipsByRep.computeIfAbsent(rep, key -> new ArrayList<>());
+        long activeInternships = owned.stream()
+                .filter(existing -> existing.getStatus() != InternshipStatus.REJECTED)
                 .count();
         if (activeInternships >= MAX_INTERNSHIPS_PER_REP) {
             throw new IllegalStateException("Maximum of " + MAX_INTERNSHIPS_PER_REP + " internships reached.");
@@ -72,6 +141,21 @@ public class InternshipManager {
         internship.setStatus(InternshipStatus.PENDING);
         internship.setVisibility(false);
         internships.add(internship);
+        owned.add(internship);
+        titleIndex.add(internship);
+        searchIndex.add(internship);
+        if (companyRegistry != null) {
+            companyRegistry.indexInternship(internship);
+        }
+        internship.setChangeListener(this::onInternshipChanged);
+        internship.setDemandListener(recommendationEngine::update);
+        resolveMajor(internship);
+        queryEngine.index(internship);
+        eligibilityView.update(internship);
+        recommendationEngine.update(internship);
+        catalogVersion++;
+        FlightEvents.statusTransition(internship, null);
+        record(DomainEventType.INTERNSHIP_SUBMITTED, internship, rep.getUserID(), null, internship.getStatus());
     }
 
     /**
@@ -107,38 +191,174 @@ public class InternshipManager {
      *     <li>If all slots are taken, the internship becomes FILLED</li>
      *     <li>Filled internships are hidden from students</li>
      * </ul>
+     *
+     * <p>The scan is skipped when neither the date nor the catalog has changed since the
+     * previous refresh, as its outcome would be the same. Internships already filled and
+     * hidden are left alone, so they do not fire change events or invalidate the filter
+     * cache again.</p>
      */
     public void refreshStatuses() {
         LocalDate today = LocalDate.now();
+        if (today.equals(lastRefreshDate) && catalogVersion == lastRefreshVersion) {
+            refreshSkips.increment();
+            return;
+        }
+        long start = System.nanoTime();
         for (Internship internship : internships) {
             LocalDate closeDate = internship.getCloseDate();
-            if (closeDate != null && today.isAfter(closeDate) && internship.getStatus() == InternshipStatus.APPROVED) {
-                internship.setStatus(InternshipStatus.FILLED);
-                internship.setVisibility(false);
+            boolean closed = closeDate != null && today.isAfter(closeDate)
+                    && internship.getStatus() == InternshipStatus.APPROVED;
+            if (!closed && !internship.isFull()) {
+                continue;
             }
-            if (internship.isFull()) {
+            if (internship.getStatus() != InternshipStatus.FILLED) {
                 internship.setStatus(InternshipStatus.FILLED);
+            }
+            if (internship.isVisible()) {
                 internship.setVisibility(false);
             }
         }
+        lastRefreshDate = today;
+        lastRefreshVersion = catalogVersion;
+        refreshLatency.recordSince(start);
     }
 
     /**
      * Applies a filter to the internship list.
      *
+     * <p>Results are served from {@link FilterResultCache} when the same criteria were
+     * evaluated at the current catalog version. Otherwise the {@link TitleIndex} is walked
+     * in title order, so matches come out already sorted.</p>
+     *
      * @param criteria a filtering object containing optional constraints
-     * @return sorted list of internships matching the criteria
+     * @return unmodifiable list of matching internships sorted by title (case-insensitive)
      */
     public List<Internship> filter(FilterCriteria criteria) {
-        refreshStatuses();
-        List<Internship> working = new ArrayList<>(internships);
-        if (criteria != null) {
-            working = working.stream()
-                    .filter(criteria::matches)
-                    .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            refreshStatuses();
+            List<Internship> cached = filterCache.get(criteria, catalogVersion);
+            if (cached != null) {
+                return cached;
+            }
+            List<Internship> working = inTitleOrder(queryEngine.evaluate(resolveMajor(criteria)));
+            return filterCache.put(criteria, catalogVersion, working);
+        } finally {
+            filterLatency.recordSince(start);
         }
-        working.sort(Comparator.comparing(Internship::getTitle, String.CASE_INSENSITIVE_ORDER));
-        return working;
+    }
+
+    /**
+     * Applies a filter and the student's eligibility rules together.
+     *
+     * <p>The criteria bitmap is intersected with the student's {@link EligibilityView} entry,
+     * which already excludes internships the student has a live application for.</p>
+     *
+     * @param criteria optional filter constraints (may be null)
+     * @param student  the browsing student
+     * @return internships matching the criteria that the student may apply for, sorted by title
+     */
+    public List<Internship> filterForStudent(FilterCriteria criteria, Student student) {
+        long start = System.nanoTime();
+        refreshStatuses();
+        BitSet matches = queryEngine.evaluate(resolveMajor(criteria));
+        matches.and(eligibilityView.getEligibleIds(student));
+        List<Internship> result = Collections.unmodifiableList(inTitleOrder(matches));
+        studentFilterLatency.recordSince(start);
+        return result;
+    }
+
+    /**
+     * Searches internship titles and descriptions for keywords, keeping only hits that
+     * match the criteria.
+     *
+     * @param keywords free-text keywords; each may be a word prefix
+     * @param criteria optional filter constraints (may be null)
+     * @return unmodifiable list of matching internships, most relevant first
+     */
+    public List<Internship> search(String keywords, FilterCriteria criteria) {
+        refreshStatuses();
+        return rankedWithin(keywords, queryEngine.evaluate(resolveMajor(criteria)));
+    }
+
+    /**
+     * Searches internship titles and descriptions for keywords, keeping only hits that
+     * match the criteria and that the student may apply for.
+     *
+     * @param keywords free-text keywords; each may be a word prefix
+     * @param criteria optional filter constraints (may be null)
+     * @param student  the browsing student
+     * @return unmodifiable list of matching internships, most relevant first
+     */
+    public List<Internship> searchForStudent(String keywords, FilterCriteria criteria, Student student) {
+        refreshStatuses();
+        BitSet matches = queryEngine.evaluate(resolveMajor(criteria));
+        matches.and(eligibilityView.getEligibleIds(student));
+        return rankedWithin(keywords, matches);
+    }
+
+    /**
+     * Returns the page of the filtered internship list that follows a cursor, in title order.
+     * The criteria are evaluated against the bitmap indexes as in {@link #filter(FilterCriteria)},
+     * and the matches are then paged from the cursor's title key, so internships submitted or
+     * removed between calls do not shift later pages.
+     *
+     * @param criteria a filtering object containing optional constraints
+     * @param cursor   cursor from the previous page, or null for the first page
+     * @param limit    maximum number of matches to return
+     * @return the page of matching internships
+     *
+     * @throws IllegalArgumentException if limit is not positive or the cursor is malformed
+     */
+    public Page<Internship> filterPage(FilterCriteria criteria, String cursor, int limit) {
+        long start = System.nanoTime();
+        refreshStatuses();
+        Page<Internship> page = pageOf(queryEngine.evaluate(resolveMajor(criteria)), cursor, limit);
+        filterLatency.recordSince(start);
+        return page;
+    }
+
+    /**
+     * Returns the page of internships matching the criteria that the student may apply for,
+     * following a cursor, in title order. The criteria and eligibility bitmaps are intersected
+     * as in {@link #filterForStudent(FilterCriteria, Student)}, and the title index is then
+     * walked from the cursor only until the page is filled.
+     *
+     * @param criteria optional filter constraints (may be null)
+     * @param student  the browsing student
+     * @param cursor   cursor from the previous page, or null for the first page
+     * @param limit    maximum number of matches to return
+     * @return the page of matching internships
+     *
+     * @throws IllegalArgumentException if limit is not positive or the cursor is malformed
+     */
+    public Page<Internship> filterForStudentPage(FilterCriteria criteria, Student student, String cursor, int limit) {
+        long start = System.nanoTime();
+        refreshStatuses();
+        BitSet matches = queryEngine.evaluate(resolveMajor(criteria));
+        matches.and(eligibilityView.getEligibleIds(student));
+        Page<Internship> page = pageOf(matches, cursor, limit);
+        studentFilterLatency.recordSince(start);
+        return page;
+    }
+
+    /**
+     * Returns the filter result cache, for inspecting hit and miss counts.
+     *
+     * @return the filter result cache
+     */
+    public FilterResultCache getFilterCache() {
+        return filterCache;
+    }
+
+    /**
+     * Returns the current catalog version. The version changes whenever an internship is
+     * submitted, removed, or has its status, visibility, dates or fill state changed.
+     *
+     * @return catalog version counter
+     */
+    public long getCatalogVersion() {
+        return catalogVersion;
     }
 
     /**
@@ -151,6 +371,18 @@ public class InternshipManager {
         return Collections.unmodifiableList(internships);
     }
 
+    /**
+     * Returns the internships awaiting staff review, answered from the status index
+     * rather than a scan of every internship.
+     *
+     * @return unmodifiable list of pending internships sorted by title
+     */
+    public List<Internship> getPendingInternships() {
+        FilterCriteria pending = new FilterCriteria();
+        pending.setStatus(InternshipStatus.PENDING);
+        return filter(pending);
+    }
+
     /**
      * Returns all internships belonging to a specific company representative.
      *
@@ -162,10 +394,26 @@ public class InternshipManager {
             return Collections.emptyList();
         }
         refreshStatuses();
-        List<Internship> result = internships.stream()
-                .filter(internship -> internship.getRepInCharge() == rep)
-                .collect(Collectors.toList());
-        return Collections.unmodifiableList(result);
+        return Collections.unmodifiableList(new ArrayList<>(internshipsByRep.getOrDefault(rep, Collections.emptyList())));
+    }
+
+    /**
+     * Returns one page of a representative's internships, in title order.
+     *
+     * @param rep    the representative
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit  maximum number of internships to return
+     * @return the page, empty if rep is null
+     *
+     * @throws IllegalArgumentException if limit is not positive or the cursor is malformed
+     */
+    public Page<Internship> getInternshipsForRep(CompanyRep rep, String cursor, int limit) {
+        if (rep == null) {
+            Page.requireLimit(limit);
+            return new Page<>(null, null);
+        }
+        refreshStatuses();
+        return titleIndex.pageOf(internshipsByRep.getOrDefault(rep, Collections.emptyList()), cursor, limit);
     }
 
     /**
@@ -189,8 +437,296 @@ public class InternshipManager {
             }
             return match;
         });
+        List<Internship> owned = internshipsByRep.get(rep);
+        if (owned != null) {
+            owned.removeAll(removed);
+        }
         for (Internship internship : removed) {
             rep.removeInternship(internship);
+            titleIndex.remove(internship);
+            searchIndex.remove(internship);
+            if (companyRegistry != null) {
+                companyRegistry.unindexInternship(internship);
+            }
+            internship.setChangeListener(null);
+            internship.setDemandListener(null);
+            eligibilityView.remove(internship);
+            queryEngine.remove(internship);
+            record(DomainEventType.INTERNSHIP_REMOVED, internship, rep.getUserID(), internship.getStatus(), null);
+        }
+        if (!removed.isEmpty()) {
+            catalogVersion++;
+        }
+    }
+
+    /**
+     * Returns the internships a student may currently apply for, excluding those the
+     * student already has a live application for.
+     *
+     * @param student the browsing student
+     * @return eligible internships, or an empty list if the student has accepted a placement
+     */
+    public List<Internship> getEligibleInternships(Student student) {
+        refreshStatuses();
+        return eligibilityView.getEligibleInternships(student);
+    }
+
+    /**
+     * Returns the page of internships the student may currently apply for that follows a
+     * cursor, in title order.
+     *
+     * @param student the browsing student
+     * @param cursor  cursor from the previous page, or null for the first page
+     * @param limit   maximum number of internships to return
+     * @return the page of eligible internships
+     *
+     * @throws IllegalArgumentException if limit is not positive or the cursor is malformed
+     */
+    public Page<Internship> getEligibleInternships(Student student, String cursor, int limit) {
+        refreshStatuses();
+        return pageOf(eligibilityView.getEligibleIds(student), cursor, limit);
+    }
+
+    /**
+     * Recommends the internships best suited to a student among those they may apply for.
+     *
+     * @param student the browsing student
+     * @param limit   maximum number of recommendations
+     * @return up to {@code limit} eligible internships, best first
+     */
+    public List<Internship> recommend(Student student, int limit) {
+        refreshStatuses();
+        if (student == null) {
+            return Collections.emptyList();
+        }
+        return recommendationEngine.recommend(eligibilityView.getEligibleIds(student),
+                student.getYearOfStudy(), LocalDate.now(), limit);
+    }
+
+    /**
+     * Returns the eligibility view maintained by this manager.
+     *
+     * @return the eligibility view
+     */
+    public EligibilityView getEligibilityView() {
+        return eligibilityView;
+    }
+
+    /**
+     * Returns all internships offered by a company, matching spelling variants of the
+     * company name to the same canonical entry.
+     *
+     * @param companyName the company name to look up
+     * @return unmodifiable list of the company's internships, or an empty list if unknown
+     */
+    public List<Internship> getInternshipsForCompany(String companyName) {
+        refreshStatuses();
+        if (companyRegistry == null) {
+            String key = CompanyRegistry.normalise(companyName);
+            List<Internship> result = internships.stream()
+                    .filter(internship -> CompanyRegistry.normalise(internship.getCompanyName()).equals(key))
+                    .collect(Collectors.toList());
+            return Collections.unmodifiableList(result);
+        }
+        return companyRegistry.getInternships(companyRegistry.findId(companyName));
+    }
+
+    /**
+     * Propagates a change in an internship's status, visibility, dates or fill state
+     * to the derived views, and records a status transition event when the status differs
+     * from the indexed one.
+     *
+     * @param internship the changed internship
+     */
+    private void onInternshipChanged(Internship internship) {
+        catalogVersion++;
+        if (!internship.isMajorsResolved()) {
+            resolveMajor(internship);
+        }
+        InternshipStatus previous = queryEngine.indexedStatusOf(internship);
+        queryEngine.index(internship);
+        if (previous != internship.getStatus()) {
+            FlightEvents.statusTransition(internship, previous);
+            record(transitionType(previous, internship.getStatus()), internship, null, previous, internship.getStatus());
+        }
+        eligibilityView.update(internship);
+        recommendationEngine.update(internship);
+    }
+
+    /**
+     * Names an internship status change for the event log.
+     *
+     * @param previous status before the change, or null
+     * @param current  status after the change
+     * @return the event type
+     */
+    private static DomainEventType transitionType(InternshipStatus previous, InternshipStatus current) {
+        if (current == InternshipStatus.APPROVED) {
+            return previous == InternshipStatus.FILLED ? DomainEventType.INTERNSHIP_REOPENED
+                    : DomainEventType.INTERNSHIP_APPROVED;
+        }
+        if (current == InternshipStatus.REJECTED) {
+            return DomainEventType.INTERNSHIP_REJECTED;
+        }
+        if (current == InternshipStatus.FILLED) {
+            return DomainEventType.INTERNSHIP_FILLED;
+        }
+        return DomainEventType.INTERNSHIP_STATUS_CHANGED;
+    }
+
+    /**
+     * Appends an event about an internship to the event log, if one is configured.
+     *
+     * @param type       kind of change
+     * @param internship internship concerned
+     * @param userId     user concerned, or null
+     * @param from       previous status, or null
+     * @param to         new status, or null
+     */
+    private void record(DomainEventType type, Internship internship, String userId,
+                        InternshipStatus from, InternshipStatus to) {
+        if (eventLog != null) {
+            eventLog.append(type, internship.getCompanyName(), internship.getTitle(), userId,
+                    from == null ? null : from.name(), to == null ? null : to.name());
+        }
+    }
+
+    /**
+     * Runs a keyword search and keeps the hits whose IDs are set in the bitmap.
+     *
+     * @param keywords free-text keywords
+     * @param ids      IDs of internships allowed in the result
+     * @return unmodifiable list of allowed hits in rank order
+     */
+    private List<Internship> rankedWithin(String keywords, BitSet ids) {
+        List<Internship> result = new ArrayList<>();
+        for (Internship internship : searchIndex.search(keywords)) {
+            int id = queryEngine.idOf(internship);
+            if (id >= 0 && ids.get(id)) {
+                result.add(internship);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Resolves an internship's preferred majors to a bitset of catalog IDs, adding majors
+     * to the catalog if they are new.
+     *
+     * @param internship the internship
+     */
+    private void resolveMajor(Internship internship) {
+        BitSet majorIds = new BitSet();
+        List<String> canonicalMajors = new ArrayList<>();
+        for (String major : internship.getPreferredMajors()) {
+            short majorId = schoolMajorCatalog.resolveMajorId(major);
+            majorIds.set(majorId);
+            canonicalMajors.add(schoolMajorCatalog.getMajorName(majorId));
+        }
+        internship.resolvePreferredMajors(majorIds, canonicalMajors);
+    }
+
+    /**
+     * Returns a normalised copy of filter criteria with the preferred major resolved to its
+     * catalog ID. The caller's criteria, which also key the filter cache, are left untouched.
+     * Majors that are not known are not added; they match only internships open to every major.
+     *
+     * @param criteria the criteria, possibly null
+     * @return the resolved copy, or null if criteria is null
+     */
+    private FilterCriteria resolveMajor(FilterCriteria criteria) {
+        if (criteria == null) {
+            return null;
+        }
+        FilterCriteria resolved = criteria.normalisedCopy();
+        resolved.resolvePreferredMajor(schoolMajorCatalog.findMajorId(resolved.getPreferredMajor()));
+        return resolved;
+    }
+
+    /**
+     * Resolves a bitmap of internship IDs to internships in title order.
+     *
+     * <p>Small results are resolved and sorted by their precomputed title keys; larger ones
+     * are read off the title index, which is already in order.</p>
+     *
+     * @param ids the matching internship IDs
+     * @return matching internships sorted by title
+     */
+    private List<Internship> inTitleOrder(BitSet ids) {
+        if (ids.cardinality() <= titleIndex.size() / SMALL_RESULT_DIVISOR) {
+            return titleIndex.sort(queryEngine.toInternships(ids));
+        }
+        return titleIndex.select(internship -> ids.get(queryEngine.idOf(internship)));
+    }
+
+    /**
+     * Resolves the page of a bitmap of internship IDs that follows a cursor, in title order.
+     *
+     * <p>As in {@link #inTitleOrder(BitSet)}, small results are sorted by their title keys;
+     * larger ones are read off the title index from the cursor until the page is full.</p>
+     *
+     * @param ids    the matching internship IDs
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit  maximum number of internships to return
+     * @return the page of matching internships
+     */
+    private Page<Internship> pageOf(BitSet ids, String cursor, int limit) {
+        if (ids.cardinality() <= titleIndex.size() / SMALL_RESULT_DIVISOR) {
+            return titleIndex.pageOf(queryEngine.toInternships(ids), cursor, limit);
+        }
+        return titleIndex.selectAfter(internship -> ids.get(queryEngine.idOf(internship)), cursor, limit);
+    }
+
+    /**
+     * Assigns the company registry used to index internships by company.
+     *
+     * @param companyRegistry company registry instance
+     */
+    public void setCompanyRegistry(CompanyRegistry companyRegistry) {
+        this.companyRegistry = companyRegistry;
+    }
+
+    /**
+     * Assigns the log that submissions, status changes and removals are recorded in.
+     *
+     * @param eventLog event log instance
+     */
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Assigns the registry that filter and status refresh metrics are recorded in.
+     *
+     * @param metricsRegistry metrics registry instance
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        if (metricsRegistry != null) {
+            bindMetrics(metricsRegistry);
+        }
+    }
+
+    /**
+     * Looks up the metrics this manager records in.
+     *
+     * @param metricsRegistry registry holding the metrics
+     */
+    private void bindMetrics(MetricsRegistry metricsRegistry) {
+        filterLatency = metricsRegistry.histogram("internship.filter");
+        studentFilterLatency = metricsRegistry.histogram("internship.filterForStudent");
+        refreshLatency = metricsRegistry.histogram("internship.refreshStatuses");
+        refreshSkips = metricsRegistry.counter("internship.refreshStatuses.skipped");
+    }
+
+    /**
+     * Assigns the catalog used to resolve majors to IDs. Should be set before any
+     * internship is submitted.
+     *
+     * @param schoolMajorCatalog school-major catalog instance
+     */
+    public void setSchoolMajorCatalog(SchoolMajorCatalog schoolMajorCatalog) {
+        if (schoolMajorCatalog != null) {
+            this.schoolMajorCatalog = schoolMajorCatalog;
         }
     }
 }
@@ -0,0 +1,438 @@
+// documented
+
+package control;
+
+import entity.FilterCriteria;
+import entity.Internship;
+import entity.InternshipLevel;
+import entity.InternshipStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Evaluates internship queries as bitmap operations.
+ *
+ * <p>Every indexed internship receives a dense integer ID. For each value of status, level,
+ * visibility, fill state and preferred major the engine keeps a {@link BitSet} of the IDs
+ * having that value, and open and close dates are kept as sorted maps from date to bitmap.
+ * A {@link FilterCriteria} or a student eligibility check then becomes a handful of
+ * word-level AND / OR / AND-NOT operations instead of a predicate call per internship.</p>
+ *
+ * <p>IDs are never reused. When an internship is removed its bits are cleared everywhere.</p>
+ */
+
+public class InternshipQueryEngine {
+
+    /** Highest year of study restricted to BASIC internships. */
+    private static final int LOWER_YEAR_LIMIT = 2;
+
+    /** Dense ID assigned to each indexed internship. */
+    private final Map<Internship, Integer> ids = new HashMap<>();
+
+    /** Internship for each ID; null once removed. */
+    private final List<Internship> byId = new ArrayList<>();
+
+    /** Values each ID is currently indexed under, for clearing its bits on re-index. */
+    private final List<IndexedState> states = new ArrayList<>();
+
+    /** IDs of internships currently indexed. */
+    private final BitSet live = new BitSet();
+
+    /** IDs by internship status. */
+    private final Map<InternshipStatus, BitSet> byStatus = new EnumMap<>(InternshipStatus.class);
+
+    /** IDs by internship level. */
+    private final Map<InternshipLevel, BitSet> byLevel = new EnumMap<>(InternshipLevel.class);
+
+    /** IDs of internships without a level. */
+    private final BitSet levelUnset = new BitSet();
+
+    /** IDs of visible internships. */
+    private final BitSet visible = new BitSet();
+
+    /** IDs of internships whose slots are all taken. */
+    private final BitSet full = new BitSet();
+
+    /** IDs by preferred major, indexed by catalog major ID. An internship targeting several
+     *  majors is set in each of their bitmaps. */
+    private final List<BitSet> byMajor = new ArrayList<>();
+
+    /** IDs of internships open to every major. */
+    private final BitSet anyMajor = new BitSet();
+
+    /** IDs by opening date. */
+    private final NavigableMap<LocalDate, BitSet> byOpenDate = new TreeMap<>();
+
+    /** IDs of internships without an opening date. */
+    private final BitSet openDateUnset = new BitSet();
+
+    /** IDs by closing date. */
+    private final NavigableMap<LocalDate, BitSet> byCloseDate = new TreeMap<>();
+
+    /** IDs of internships without a closing date. */
+    private final BitSet closeDateUnset = new BitSet();
+
+    /**
+     * Creates an empty engine.
+     */
+    public InternshipQueryEngine() {
+        for (InternshipStatus status : InternshipStatus.values()) {
+            byStatus.put(status, new BitSet());
+        }
+        for (InternshipLevel level : InternshipLevel.values()) {
+            byLevel.put(level, new BitSet());
+        }
+    }
+
+    /**
+     * Indexes an internship, or re-indexes it if it is already known.
+     *
+     * @param internship the internship to index
+     * @return the internship's ID, or -1 if the internship is null
+     */
+    public int index(Internship internship) {
+        if (internship == null) {
+            return -1;
+        }
+        Integer existing = ids.get(internship);
+        int id;
+        if (existing == null) {
+            id = byId.size();
+            ids.put(internship, id);
+            byId.add(internship);
+            states.add(null);
+        } else {
+            id = existing;
+            clear(id);
+        }
+        IndexedState state = new IndexedState(internship);
+        states.set(id, state);
+        live.set(id);
+        if (state.status != null) {
+            byStatus.get(state.status).set(id);
+        }
+        if (state.level == null) {
+            levelUnset.set(id);
+        } else {
+            byLevel.get(state.level).set(id);
+        }
+        visible.set(id, state.visible);
+        full.set(id, state.full);
+        if (state.anyMajor) {
+            anyMajor.set(id);
+        }
+        for (int major = state.majorIds.nextSetBit(0); major >= 0; major = state.majorIds.nextSetBit(major + 1)) {
+            majorBits(major).set(id);
+        }
+        setDate(byOpenDate, openDateUnset, state.openDate, id);
+        setDate(byCloseDate, closeDateUnset, state.closeDate, id);
+        return id;
+    }
+
+    /**
+     * Removes an internship from every bitmap.
+     *
+     * @param internship the internship to remove
+     */
+    public void remove(Internship internship) {
+        Integer id = ids.remove(internship);
+        if (id == null) {
+            return;
+        }
+        clear(id);
+        byId.set(id, null);
+        states.set(id, null);
+    }
+
+    /**
+     * Returns the ID of an indexed internship.
+     *
+     * @param internship the internship
+     * @return its ID, or -1 if not indexed
+     */
+    public int idOf(Internship internship) {
+        Integer id = ids.get(internship);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the status an internship was last indexed with.
+     *
+     * @param internship the internship
+     * @return its indexed status, or null if it is not indexed
+     */
+    public InternshipStatus indexedStatusOf(Internship internship) {
+        Integer id = ids.get(internship);
+        if (id == null) {
+            return null;
+        }
+        IndexedState state = states.get(id);
+        return state == null ? null : state.status;
+    }
+
+    /**
+     * Returns the internship with the given ID.
+     *
+     * @param id the internship ID
+     * @return the internship, or null if the ID is unknown or removed
+     */
+    public Internship get(int id) {
+        return id >= 0 && id < byId.size() ? byId.get(id) : null;
+    }
+
+    /**
+     * Evaluates filter criteria with the same semantics as {@link FilterCriteria#matches(Internship)}.
+     * The criteria's preferred major must already have been resolved to a catalog ID.
+     *
+     * @param criteria the criteria, or null to select every indexed internship
+     * @return a new bitmap of matching IDs
+     */
+    public BitSet evaluate(FilterCriteria criteria) {
+        BitSet result = (BitSet) live.clone();
+        if (criteria == null) {
+            return result;
+        }
+        if (criteria.getStatus() != null) {
+            result.and(byStatus.get(criteria.getStatus()));
+        }
+        short majorId = criteria.getPreferredMajorId();
+        if (majorId != SchoolMajorCatalog.ANY_MAJOR) {
+            result.and(acceptingMajor(majorId));
+        }
+        if (criteria.getLevel() != null) {
+            result.and(byLevel.get(criteria.getLevel()));
+        }
+        if (criteria.getClosingDate() != null) {
+            BitSet closingInRange = unionOf(byCloseDate.headMap(criteria.getClosingDate(), true));
+            closingInRange.or(closeDateUnset);
+            result.and(closingInRange);
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the internship-level eligibility rules for a student's major and year:
+     * approved, visible, not full, open to the major, level allowed for the year, and
+     * within the application period on the given date.
+     *
+     * @param majorId     the student's major ID
+     * @param yearOfStudy the student's year of study
+     * @param today       the date to evaluate the application period against
+     * @return a new bitmap of eligible IDs
+     */
+    public BitSet eligibleFor(short majorId, int yearOfStudy, LocalDate today) {
+        BitSet result = (BitSet) byStatus.get(InternshipStatus.APPROVED).clone();
+        result.and(visible);
+        result.andNot(full);
+        result.and(acceptingMajor(majorId));
+        if (yearOfStudy <= LOWER_YEAR_LIMIT) {
+            BitSet basic = (BitSet) byLevel.get(InternshipLevel.BASIC).clone();
+            basic.or(levelUnset);
+            result.and(basic);
+        }
+        BitSet opened = unionOf(byOpenDate.headMap(today, true));
+        opened.or(openDateUnset);
+        result.and(opened);
+        BitSet notClosed = unionOf(byCloseDate.tailMap(today, true));
+        notClosed.or(closeDateUnset);
+        result.and(notClosed);
+        return result;
+    }
+
+    /**
+     * Checks the rules of {@link #eligibleFor(short, int, LocalDate)} for a single ID.
+     *
+     * @param id          the internship ID
+     * @param majorId     the student's major ID
+     * @param yearOfStudy the student's year of study
+     * @param today       the date to evaluate the application period against
+     * @return true if the internship is eligible
+     */
+    public boolean isEligible(int id, short majorId, int yearOfStudy, LocalDate today) {
+        IndexedState state = id >= 0 && id < states.size() ? states.get(id) : null;
+        if (state == null || state.status != InternshipStatus.APPROVED || !state.visible || state.full) {
+            return false;
+        }
+        if (!state.anyMajor && (majorId < 0 || !state.majorIds.get(majorId))) {
+            return false;
+        }
+        if (yearOfStudy <= LOWER_YEAR_LIMIT && state.level != null && state.level != InternshipLevel.BASIC) {
+            return false;
+        }
+        if (state.openDate != null && today.isBefore(state.openDate)) {
+            return false;
+        }
+        return state.closeDate == null || !today.isAfter(state.closeDate);
+    }
+
+    /**
+     * Converts a bitmap of IDs to internships, in ID (submission) order.
+     *
+     * @param bits the IDs to resolve
+     * @return the corresponding internships
+     */
+    public List<Internship> toInternships(BitSet bits) {
+        List<Internship> result = new ArrayList<>(bits.cardinality());
+        for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+            Internship internship = byId.get(id);
+            if (internship != null) {
+                result.add(internship);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the IDs open to a major: internships preferring it plus those open to all.
+     *
+     * @param majorId the major ID
+     * @return a new bitmap
+     */
+    private BitSet acceptingMajor(short majorId) {
+        BitSet result = (BitSet) anyMajor.clone();
+        if (majorId >= 0 && majorId < byMajor.size()) {
+            result.or(byMajor.get(majorId));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the bitmap for a major ID, growing the index as needed.
+     *
+     * @param majorId a non-negative major ID
+     * @return the major's bitmap
+     */
+    private BitSet majorBits(int majorId) {
+        while (byMajor.size() <= majorId) {
+            byMajor.add(new BitSet());
+        }
+        return byMajor.get(majorId);
+    }
+
+    /**
+     * ORs together every bitmap in a date range.
+     *
+     * @param range the date-keyed bitmaps
+     * @return a new bitmap holding the union
+     */
+    private BitSet unionOf(Map<LocalDate, BitSet> range) {
+        BitSet result = new BitSet();
+        for (BitSet bits : range.values()) {
+            result.or(bits);
+        }
+        return result;
+    }
+
+    /**
+     * Records an ID under a date, or under the unset bitmap when the date is null.
+     */
+    private void setDate(NavigableMap<LocalDate, BitSet> byDate, BitSet unset, LocalDate date, int id) {
+        if (date == null) {
+            unset.set(id);
+        } else {
+            byDate.computeIfAbsent(date, key -> new BitSet()).set(id);
+        }
+    }
+
+    /**
+     * Clears an ID from a date bitmap, dropping the date entry once it is empty.
+     */
+    private void clearDate(NavigableMap<LocalDate, BitSet> byDate, BitSet unset, LocalDate date, int id) {
+        if (date == null) {
+            unset.clear(id);
+            return;
+        }
+        BitSet bits = byDate.get(date);
+        if (bits != null) {
+            bits.clear(id);
+            if (bits.isEmpty()) {
+                byDate.remove(date);
+            }
+        }
+    }
+
+    /**
+     * Clears an ID from every bitmap it was set in.
+     *
+     * @param id the internship ID
+     */
+    private void clear(int id) {
+        IndexedState state = states.get(id);
+        live.clear(id);
+        if (state == null) {
+            return;
+        }
+        if (state.status != null) {
+            byStatus.get(state.status).clear(id);
+        }
+        if (state.level == null) {
+            levelUnset.clear(id);
+        } else {
+            byLevel.get(state.level).clear(id);
+        }
+        visible.clear(id);
+        full.clear(id);
+        if (state.anyMajor) {
+            anyMajor.clear(id);
+        }
+        for (int major = state.majorIds.nextSetBit(0); major >= 0; major = state.majorIds.nextSetBit(major + 1)) {
+            majorBits(major).clear(id);
+        }
+        clearDate(byOpenDate, openDateUnset, state.openDate, id);
+        clearDate(byCloseDate, closeDateUnset, state.closeDate, id);
+    }
+
+    /**
+     * Snapshot of the indexed attribute values of one internship.
+     */
+    private static final class IndexedState {
+
+        /** Indexed status. */
+        private final InternshipStatus status;
+
+        /** Indexed level. */
+        private final InternshipLevel level;
+
+        /** Indexed visibility. */
+        private final boolean visible;
+
+        /** Indexed fill state. */
+        private final boolean full;
+
+        /** Whether the internship was indexed as open to every major. */
+        private final boolean anyMajor;
+
+        /** Indexed preferred major IDs. */
+        private final BitSet majorIds;
+
+        /** Indexed opening date. */
+        private final LocalDate openDate;
+
+        /** Indexed closing date. */
+        private final LocalDate closeDate;
+
+        /**
+         * Captures the current attribute values of an internship.
+         *
+         * @param internship the internship
+         */
+        private IndexedState(Internship internship) {
+            this.status = internship.getStatus();
+            this.level = internship.getLevel();
+            this.visible = internship.isVisible();
+            this.full = internship.isFull();
+            this.anyMajor = internship.isOpenToAllMajors();
+            this.majorIds = internship.getPreferredMajorIds();
+            this.openDate = internship.getOpenDate();
+            this.closeDate = internship.getCloseDate();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+// documented
+
+package control;
+
+import entity.Internship;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory inverted index over internship titles and descriptions.
+ *
+ * <p>Text is split into tokens on any character that is not a letter or digit and folded to
+ * lower case. Each term maps to the internships containing it together with how often it occurs
+ * in the title and in the description. Query terms match every indexed term they are a prefix
+ * of, so partial words work as the user types.</p>
+ *
+ * <p>Hits are ranked with BM25, treating a title occurrence as {@link #TITLE_WEIGHT}
+ * description occurrences. Repeated query terms count once, and a query term contributes the
+ * score of its best-scoring expansion in each internship rather than the sum over all of them,
+ * so a short prefix matching several related words does not outrank an exact match. The index
+ * is updated incrementally as internships are added and removed.</p>
+ */
+
+public class InternshipSearchIndex {
+
+    /** BM25 term-frequency saturation parameter. */
+    private static final double K1 = 1.2;
+
+    /** BM25 document-length normalisation parameter. */
+    private static final double B = 0.75;
+
+    /** Weight of a title occurrence relative to a description occurrence. */
+    private static final int TITLE_WEIGHT = 3;
+
+    /** Postings for each term, sorted by term for prefix lookups. */
+    private final NavigableMap<String, Map<Internship, Posting>> postings = new TreeMap<>();
+
+    /** Weighted token length of each indexed internship. */
+    private final Map<Internship, Integer> lengths = new HashMap<>();
+
+    /** Sum of all weighted lengths, for the average document length. */
+    private long totalLength;
+
+    /**
+     * Indexes an internship's title and description. Re-adding an internship replaces its entry.
+     *
+     * @param internship the internship to index
+     */
+    public void add(Internship internship) {
+        if (internship == null) {
+            return;
+        }
+        remove(internship);
+        Map<String, Posting> terms = new HashMap<>();
+        List<String> titleTokens = tokenize(internship.getTitle());
+        List<String> descriptionTokens = tokenize(internship.getDescription());
+        for (String token : titleTokens) {
+            terms.computeIfAbsent(token, key -> new Posting()).titleFrequency++;
+        }
+        for (String token : descriptionTokens) {
+            terms.computeIfAbsent(token, key -> new Posting()).descriptionFrequency++;
+        }
+        for (Map.Entry<String, Posting> entry : terms.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(internship, entry.getValue());
+        }
+        int length = TITLE_WEIGHT * titleTokens.size() + descriptionTokens.size();
+        lengths.put(internship, length);
+        totalLength += length;
+    }
+
+    /**
+     * Removes an internship from the index.
+     *
+     * @param internship the internship to remove
+     */
+    public void remove(Internship internship) {
+        Integer length = lengths.remove(internship);
+        if (length == null) {
+            return;
+        }
+        totalLength -= length;
+        List<String> terms = tokenize(internship.getTitle());
+        terms.addAll(tokenize(internship.getDescription()));
+        for (String term : terms) {
+            Map<Internship, Posting> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(internship);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches the index, ranking hits by BM25 score.
+     *
+     * @param query free-text keywords; each distinct keyword matches terms it is a prefix of
+     * @return matching internships, best match first; ties are broken by title
+     */
+    public List<Internship> search(String query) {
+        Map<Internship, Double> scores = new HashMap<>();
+        int documentCount = lengths.size();
+        if (documentCount == 0) {
+            return new ArrayList<>();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+        for (String prefix : new LinkedHashSet<>(tokenize(query))) {
+            Map<String, Map<Internship, Posting>> expansions =
+                    postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            Map<Internship, Double> best = new HashMap<>();
+            for (Map<Internship, Posting> docs : expansions.values()) {
+                double idf = Math.log(1.0 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Internship, Posting> hit : docs.entrySet()) {
+                    double frequency = hit.getValue().weightedFrequency();
+                    double norm = K1 * (1 - B + B * lengths.get(hit.getKey()) / averageLength);
+                    double score = idf * frequency * (K1 + 1) / (frequency + norm);
+                    best.merge(hit.getKey(), score, Math::max);
+                }
+            }
+            best.forEach((internship, score) -> scores.merge(internship, score, Double::sum));
+        }
+        List<Internship> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort((left, right) -> {
+            int byScore = Double.compare(scores.get(right), scores.get(left));
+            return byScore != 0 ? byScore : String.CASE_INSENSITIVE_ORDER.compare(
+                    nullToEmpty(left.getTitle()), nullToEmpty(right.getTitle()));
+        });
+        return ranked;
+    }
+
+    /**
+     * Splits text into lower-case letter/digit tokens.
+     *
+     * @param text the text to tokenize, possibly null
+     * @return tokens in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String folded = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the value, or an empty string if null.
+     */
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Occurrence counts of one term in one internship.
+     */
+    private static final class Posting {
+
+        /** Occurrences in the title. */
+        private int titleFrequency;
+
+        /** Occurrences in the description. */
+        private int descriptionFrequency;
+
+        /**
+         * Returns the field-weighted term frequency.
+         *
+         * @return weighted frequency
+         */
+        private double weightedFrequency() {
+            return TITLE_WEIGHT * titleFrequency + descriptionFrequency;
+        }
+    }
+}
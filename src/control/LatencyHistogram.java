@@ -0,0 +1,178 @@
+// documented
+
+package control;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-bucketed histogram of latencies in nanoseconds, registered in a {@link MetricsRegistry}.
+ *
+ * <p>Buckets follow the HdrHistogram layout: values are grouped by their highest set bit, and
+ * each power-of-two range is split into {@value #SUB_BUCKETS} equal sub-buckets. Every value
+ * from one nanosecond to {@link Long#MAX_VALUE} therefore falls into one of a fixed number of
+ * buckets with a relative error of at most 1/{@value #SUB_BUCKETS}. The bucket index is
+ * computed with shifts, and recording updates preallocated atomic cells only, so it allocates
+ * nothing and may be called from several threads.</p>
+ *
+ * <p>Percentiles are read from the bucket counts and report the upper bound of the bucket the
+ * percentile falls in. Reads are not atomic with respect to concurrent recording; a snapshot
+ * taken while values are recorded may be off by the values in flight.</p>
+ */
+
+public class LatencyHistogram {
+
+    /** Bits of precision within each power of two. */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** Sub-buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Mask extracting the sub-bucket of a value. */
+    private static final int SUB_BUCKET_MASK = SUB_BUCKETS - 1;
+
+    /** Total buckets, enough for every non-negative long. */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) << SUB_BUCKET_BITS;
+
+    /** Name the histogram is registered under. */
+    private final String name;
+
+    /** Count of values in each bucket. */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /** Number of recorded values. */
+    private final LongAdder count = new LongAdder();
+
+    /** Sum of recorded values, for the mean. */
+    private final LongAdder total = new LongAdder();
+
+    /** Largest recorded value. */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates an empty histogram.
+     *
+     * @param name registered name
+     */
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the registered name.
+     *
+     * @return histogram name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records one latency. Negative values are recorded as zero.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading.
+     *
+     * @param startNanos value of {@link System#nanoTime()} when the operation started
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return maximum in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the value at or below which the given share of recorded values fall.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return upper bound of the bucket holding the percentile, capped at the maximum, or 0
+     *         if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            n += counts[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        double clamped = Math.min(100, Math.max(0, percentile));
+        long rank = Math.max(1, (long) Math.ceil(clamped / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Returns the bucket holding a non-negative value.
+     *
+     * @param value the value
+     * @return bucket index
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+    }
+
+    /**
+     * Returns the largest value that falls into a bucket.
+     *
+     * @param index bucket index
+     * @return inclusive upper bound
+     */
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+        long lower = (long) ((index & SUB_BUCKET_MASK) | SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,22 @@
+// documented
+
+package control;
+
+/**
+ * Severity of an {@link AsyncLogger} record, in increasing order.
+ */
+
+public enum LogLevel {
+
+    /** Fine-grained detail of routine operations. */
+    DEBUG,
+
+    /** Notable domain events such as logins and profile changes. */
+    INFO,
+
+    /** Recoverable problems such as malformed input rows or failed logins. */
+    WARN,
+
+    /** Failures that lose data or functionality. */
+    ERROR
+}
@@ -0,0 +1,116 @@
+// documented
+
+package control;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named counters and latency histograms shared by the managers.
+ *
+ * <p>Managers look up their {@link Counter} and {@link LatencyHistogram} instances once, when
+ * the registry is assigned, and keep them in fields; recording on the hot path then touches
+ * only those instances and allocates nothing. Looking up a name that is already registered
+ * returns the existing instance, so several components may share a metric.</p>
+ *
+ * <p>Names are dot-separated, starting with the component, e.g. {@code user.login}. Latencies
+ * are recorded in nanoseconds and reported in microseconds.</p>
+ */
+
+public class MetricsRegistry {
+
+    /** Registered counters by name. */
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /** Registered histograms by name. */
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the counter with the given name, registering it if needed.
+     *
+     * @param name metric name
+     * @return the counter
+     *
+     * @throws IllegalArgumentException if name is blank
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(requireName(name), Counter::new);
+    }
+
+    /**
+     * Returns the histogram with the given name, registering it if needed.
+     *
+     * @param name metric name
+     * @return the histogram
+     *
+     * @throws IllegalArgumentException if name is blank
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(requireName(name), LatencyHistogram::new);
+    }
+
+    /**
+     * Formats every metric as a text report, counters first, each sorted by name.
+     *
+     * @return the report
+     */
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append("Metrics at ").append(LocalDateTime.now().withNano(0)).append(System.lineSeparator());
+        report.append(System.lineSeparator()).append("Counters").append(System.lineSeparator());
+        for (Counter counter : new TreeMap<>(counters).values()) {
+            report.append(String.format(Locale.ROOT, "  %-40s %12d%n", counter.getName(), counter.getCount()));
+        }
+        report.append(System.lineSeparator()).append("Latencies (us)").append(System.lineSeparator());
+        report.append(String.format(Locale.ROOT, "  %-40s %10s %10s %10s %10s %10s %10s%n",
+                "name", "count", "mean", "p50", "p90", "p99", "max"));
+        for (LatencyHistogram histogram : new TreeMap<>(histograms).values()) {
+            report.append(String.format(Locale.ROOT, "  %-40s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    histogram.getName(), histogram.getCount(), histogram.getMean() / 1e3,
+                    histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(90) / 1e3,
+                    histogram.getValueAtPercentile(99) / 1e3, histogram.getMax() / 1e3));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report produced by {@link #format()} to a file, replacing its contents.
+     *
+     * @param file destination file; missing parent directories are created
+     *
+     * @throws IllegalArgumentException if file is null
+     * @throws IOException              if the file cannot be written
+     */
+    public void dump(File file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File required.");
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory " + parent.getPath());
+        }
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, false))) {
+            writer.write(format());
+        }
+    }
+
+    /**
+     * Validates a metric name.
+     *
+     * @param name metric name
+     * @return the trimmed name
+     */
+    private static String requireName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Metric name required.");
+        }
+        return name.trim();
+    }
+}
@@ -0,0 +1,157 @@
+// documented
+
+package control;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Case-insensitive trie of catalog names such as majors and schools.
+ *
+ * <p>Each distinct name (ignoring case) receives a dense integer ID in the order it was first
+ * inserted, and the spelling it was first inserted with becomes its canonical form. Exact
+ * lookups and prefix lookups walk one node per character of the input, independent of how
+ * many names are stored. Completions are returned in case-insensitive alphabetical order.</p>
+ */
+
+public class NameTrie {
+
+    /** ID returned for names that are not in the trie. */
+    public static final int NOT_FOUND = -1;
+
+    /** Root node, representing the empty prefix. */
+    private final Node root = new Node();
+
+    /** Canonical names indexed by ID. */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Inserts a name, or finds it if an equivalent name is already present.
+     *
+     * @param name the name to insert; surrounding whitespace is ignored
+     * @return the name's ID, or {@link #NOT_FOUND} if the name is null or blank
+     */
+    public int insert(String name) {
+        if (name == null || name.isBlank()) {
+            return NOT_FOUND;
+        }
+        String trimmed = name.trim();
+        Node node = root;
+        for (int i = 0; i < trimmed.length(); i++) {
+            node = node.children.computeIfAbsent(fold(trimmed.charAt(i)), key -> new Node());
+        }
+        if (node.id == NOT_FOUND) {
+            node.id = names.size();
+            names.add(trimmed);
+        }
+        return node.id;
+    }
+
+    /**
+     * Looks up the ID of a name, ignoring case and surrounding whitespace.
+     *
+     * @param name the name to look up
+     * @return the name's ID, or {@link #NOT_FOUND} if absent
+     */
+    public int find(String name) {
+        if (name == null) {
+            return NOT_FOUND;
+        }
+        Node node = walk(name.trim());
+        return node == null ? NOT_FOUND : node.id;
+    }
+
+    /**
+     * Returns the canonical spelling for an ID.
+     *
+     * @param id the name ID
+     * @return canonical name, or null if the ID is unknown
+     */
+    public String getName(int id) {
+        return id < 0 || id >= names.size() ? null : names.get(id);
+    }
+
+    /**
+     * Returns the number of distinct names.
+     *
+     * @return trie size
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Returns the IDs of names beginning with a prefix, in alphabetical order.
+     * The walk stops once {@code limit} names have been found.
+     *
+     * @param prefix the prefix to complete (case-insensitive)
+     * @param limit  maximum number of IDs to return
+     * @return matching IDs in alphabetical order of their names
+     */
+    public List<Integer> complete(String prefix, int limit) {
+        List<Integer> found = new ArrayList<>();
+        Node start = walk(prefix == null ? "" : prefix.trim());
+        if (start == null || limit <= 0) {
+            return found;
+        }
+        Deque<Iterator<Node>> stack = new ArrayDeque<>();
+        if (start.id != NOT_FOUND) {
+            found.add(start.id);
+        }
+        stack.push(start.children.values().iterator());
+        while (!stack.isEmpty() && found.size() < limit) {
+            Iterator<Node> siblings = stack.peek();
+            if (!siblings.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Node node = siblings.next();
+            if (node.id != NOT_FOUND) {
+                found.add(node.id);
+            }
+            stack.push(node.children.values().iterator());
+        }
+        return found;
+    }
+
+    /**
+     * Follows the path for a string.
+     *
+     * @param text the string to follow
+     * @return the node reached, or null if the path does not exist
+     */
+    private Node walk(String text) {
+        Node node = root;
+        for (int i = 0; i < text.length() && node != null; i++) {
+            node = node.children.get(fold(text.charAt(i)));
+        }
+        return node;
+    }
+
+    /**
+     * Folds a character the same way as {@link String#CASE_INSENSITIVE_ORDER}.
+     *
+     * @param c the character
+     * @return the folded character
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * One trie node; {@link #id} is set when a name ends here.
+     */
+    private static final class Node {
+
+        /** Child nodes keyed by folded character, in alphabetical order. */
+        private final Map<Character, Node> children = new TreeMap<>();
+
+        /** ID of the name ending at this node, or {@link #NOT_FOUND}. */
+        private int id = NOT_FOUND;
+    }
+}
@@ -32,6 +32,10 @@ import java.util.function.Predicate;
  * </ul>
  *
  * <p>Notifications are stored in memory and grouped by user ID.</p>
+ *
+ * <p>Sending, consuming, peeking, checking and clearing are timed in the assigned
+ * {@link MetricsRegistry}. Every typed notification is delivered through
+ * {@link #notifyUser(User, String)}, so its latency and the sent counter cover all of them.</p>
  */
 
 public class NotificationManager {
@@ -39,6 +43,69 @@ public class NotificationManager {
     /** Maps each user's ID to their list of notifications. */
     private final Map<String, List<Notification>> inbox = new HashMap<>();
 
+    /** Latency of delivering one notification. */
+    private LatencyHistogram notifyLatency;
+
+    /** Latency of delivering one message to a group of users. */
+    private LatencyHistogram notifyGroupLatency;
+
+    /** Latency of consuming an inbox. */
+    private LatencyHistogram consumeLatency;
+
+    /** Latency of peeking at an inbox. */
+    private LatencyHistogram peekLatency;
+
+    /** Latency of checking whether an inbox has notifications. */
+    private LatencyHistogram checkLatency;
+
+    /** Latency of clearing matching notifications from several inboxes. */
+    private LatencyHistogram clearLatency;
+
+    /** Notifications delivered. */
+    private Counter sent;
+
+    /** Notifications removed by consuming an inbox. */
+    private Counter consumed;
+
+    /** Notifications removed by clearing. */
+    private Counter cleared;
+
+    /**
+     * Creates a notification manager recording into a private metrics registry until
+     * {@link #setMetricsRegistry(MetricsRegistry)} is called.
+     */
+    public NotificationManager() {
+        bindMetrics(new MetricsRegistry());
+    }
+
+    /**
+     * Assigns the registry that notification metrics are recorded in.
+     *
+     * @param metricsRegistry metrics registry instance
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        if (metricsRegistry != null) {
+            bindMetrics(metricsRegistry);
+        }
+    }
+
+    /**
+     * Looks up the metrics this manager records in.
+     *
+     * @param metricsRegistry registry holding the metrics
+     */
+    private void bindMetrics(MetricsRegistry metricsRegistry) {
+        notifyLatency = metricsRegistry.histogram("notification.notifyUser");
+        notifyGroupLatency = metricsRegistry.histogram("notification.notifyUsers");
+        consumeLatency = metricsRegistry.histogram("notification.consume");
+        peekLatency = metricsRegistry.histogram("notification.peek");
+        checkLatency = metricsRegistry.histogram("notification.hasNotifications");
+        clearLatency = metricsRegistry.histogram("notification.clear");
+        sent = metricsRegistry.counter("notification.sent");
+        consumed = metricsRegistry.counter("notification.consumed");
+        cleared = metricsRegistry.counter("notification.cleared");
+    }
+
     /**
      * Sends a notification with the given message to a single user.
      *
@@ -49,8 +116,11 @@ public class NotificationManager {
         if (user == null || message == null || message.isBlank()) {
             return;
         }
+        long start = System.nanoTime();
         inbox.computeIfAbsent(user.getUserID(), key -> new ArrayList<>())
                 .add(new Notification(message, LocalDateTime.now()));
+        notifyLatency.recordSince(start);
+        sent.increment();
     }
 
     /**
@@ -63,9 +133,14 @@ public class NotificationManager {
         if (users == null || users.isEmpty()) {
             return;
         }
+        FlightEvents.NotificationFanOut event = new FlightEvents.NotificationFanOut();
+        event.begin();
+        long start = System.nanoTime();
         for (User user : users) {
             notifyUser(user, message);
         }
+        notifyGroupLatency.recordSince(start);
+        event.complete("notifyUsers", users.size());
     }
 
     /**
@@ -82,9 +157,7 @@ public class NotificationManager {
         if (staff == null || staff.isEmpty()) {
             return;
         }
-        String message = "New company representative registration awaiting approval: "
-                + repName + " (" + repId + ") from " + companyName + ".";
-        notifyUsers(staff, message);
+        notifyUsers(staff, repRegistrationMessage(repName, repId, companyName));
     }
 
     /**
@@ -99,9 +172,7 @@ public class NotificationManager {
         if (staff == null || staff.isEmpty() || student == null || internship == null) {
             return;
         }
-        String message = "Withdrawal request submitted by " + student.getName()
-                + " for " + internship.getTitle() + ".";
-        notifyUsers(staff, message);
+        notifyUsers(staff, withdrawalRequestMessage(student, internship));
     }
 
     /**
@@ -116,9 +187,44 @@ public class NotificationManager {
         if (staff == null || staff.isEmpty() || internship == null) {
             return;
         }
-        String message = "New internship submission pending review: "
+        notifyUsers(staff, internshipSubmissionMessage(internship));
+    }
+
+    /**
+     * Builds the staff notification text for a pending representative registration, so that
+     * it can be matched when the registration is decided.
+     *
+     * @param repName     representative's name
+     * @param repId       representative's ID
+     * @param companyName the representative's company name
+     * @return notification message
+     */
+    public static String repRegistrationMessage(String repName, String repId, String companyName) {
+        return "New company representative registration awaiting approval: "
+                + repName + " (" + repId + ") from " + companyName + ".";
+    }
+
+    /**
+     * Builds the staff notification text for a withdrawal request.
+     *
+     * @param student    the student requesting withdrawal
+     * @param internship the internship concerned
+     * @return notification message
+     */
+    public static String withdrawalRequestMessage(Student student, Internship internship) {
+        return "Withdrawal request submitted by " + student.getName()
+                + " for " + internship.getTitle() + ".";
+    }
+
+    /**
+     * Builds the staff notification text for an internship awaiting review.
+     *
+     * @param internship the submitted internship
+     * @return notification message
+     */
+    public static String internshipSubmissionMessage(Internship internship) {
+        return "New internship submission pending review: "
                 + internship.getTitle() + " from " + internship.getCompanyName() + ".";
-        notifyUsers(staff, message);
     }
 
     /**
@@ -177,6 +283,9 @@ public class NotificationManager {
         if (users == null || users.isEmpty() || condition == null) {
             return;
         }
+        FlightEvents.NotificationFanOut event = new FlightEvents.NotificationFanOut();
+        event.begin();
+        long start = System.nanoTime();
         for (User user : users) {
             if (user == null) {
                 continue;
@@ -185,11 +294,15 @@ public class NotificationManager {
             if (notifications == null || notifications.isEmpty()) {
                 continue;
             }
+            int before = notifications.size();
             notifications.removeIf(condition);
+            cleared.add(before - notifications.size());
             if (notifications.isEmpty()) {
                 inbox.remove(user.getUserID());
             }
         }
+        clearLatency.recordSince(start);
+        event.complete("clear", users.size());
     }
 
     /**
@@ -212,6 +325,43 @@ public class NotificationManager {
         notifyUser(student, message);
     }
 
+    /**
+     * Notifies each student in a batch of successful applications that their offer is
+     * awaiting acceptance.
+     *
+     * @param applications the successful applications
+     */
+    public void notifyStudentsOfferAwaitingAcceptance(Collection<Application> applications) {
+        if (applications == null) {
+            return;
+        }
+        FlightEvents.NotificationFanOut event = new FlightEvents.NotificationFanOut();
+        event.begin();
+        for (Application application : applications) {
+            notifyStudentOfferAwaitingAcceptance(application);
+        }
+        event.complete("offersAwaitingAcceptance", applications.size());
+    }
+
+    /**
+     * Notifies a student that an offer lapsed because it was not accepted in time.
+     *
+     * @param application the expired application
+     */
+    public void notifyStudentOfferExpired(Application application) {
+        if (application == null) {
+            return;
+        }
+        Student student = application.getStudent();
+        Internship internship = application.getInternship();
+        if (student == null || internship == null) {
+            return;
+        }
+        String message = "Offer for " + internship.getTitle()
+                + " at " + internship.getCompanyName() + " has expired without acceptance.";
+        notifyUser(student, message);
+    }
+
     /**
      * Notifies a company representative when a new application is received
      * for one of their internships.
@@ -240,11 +390,15 @@ public class NotificationManager {
         if (user == null) {
             return Collections.emptyList();
         }
+        long start = System.nanoTime();
         List<Notification> notifications = inbox.remove(user.getUserID());
         if (notifications == null || notifications.isEmpty()) {
+            consumeLatency.recordSince(start);
             return Collections.emptyList();
         }
         notifications.sort(Comparator.comparing(Notification::getTimestamp));
+        consumeLatency.recordSince(start);
+        consumed.add(notifications.size());
         return Collections.unmodifiableList(notifications);
     }
 
@@ -260,12 +414,16 @@ public class NotificationManager {
         if (user == null) {
             return Collections.emptyList();
         }
+        long start = System.nanoTime();
         List<Notification> notifications = inbox.get(user.getUserID());
         if (notifications == null || notifications.isEmpty()) {
+            peekLatency.recordSince(start);
             return Collections.emptyList();
         }
         notifications.sort(Comparator.comparing(Notification::getTimestamp));
-        return Collections.unmodifiableList(new ArrayList<>(notifications));
+        List<Notification> snapshot = Collections.unmodifiableList(new ArrayList<>(notifications));
+        peekLatency.recordSince(start);
+        return snapshot;
     }
 
     /**
@@ -278,7 +436,10 @@ public class NotificationManager {
         if (user == null) {
             return false;
         }
+        long start = System.nanoTime();
         List<Notification> notifications = inbox.get(user.getUserID());
-        return notifications != null && !notifications.isEmpty();
+        boolean any = notifications != null && !notifications.isEmpty();
+        checkLatency.recordSince(start);
+        return any;
     }
 }
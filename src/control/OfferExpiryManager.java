@@ -0,0 +1,228 @@
+// documented
+
+package control;
+
+import entity.Application;
+import entity.ApplicationStatus;
+import entity.Internship;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Gives every offer an acceptance deadline and withdraws offers that lapse.
+ *
+ * <p>When an application becomes {@link ApplicationStatus#SUCCESSFUL}, a timer is scheduled on a
+ * {@link TimingWheel}; accepting or rejecting the offer cancels it. Scheduling and cancelling
+ * are O(1), so no application is ever polled. A daemon thread advances the wheel once per tick
+ * and queues the offers whose deadline has passed. The rest of the system is single-threaded,
+ * so the queued offers are not changed on that thread: {@link #applyExpired()} is called from
+ * the console loop and applies the whole batch there, marking each offer
+ * {@link ApplicationStatus#UNSUCCESSFUL}, notifying the student, and offering the freed place
+ * to the internship's waitlist.</p>
+ *
+ * <p>Deadlines are held in memory only. Applications, and so offers, are not persisted, so
+ * an offer does not outlive a restart and neither does its deadline.</p>
+ */
+
+public class OfferExpiryManager {
+
+    /** Default time a student has to accept an offer. */
+    public static final Duration DEFAULT_OFFER_VALIDITY = Duration.ofDays(3);
+
+    /** Wheel tick length in milliseconds. */
+    private static final long TICK_MILLIS = 1000;
+
+    /** Manager used to withdraw expired offers. */
+    private final ApplicationManager applicationManager;
+
+    /** Wheel holding the open offers; guarded by {@code this}. */
+    private final TimingWheel<Application> wheel;
+
+    /** Timer of each open offer; guarded by {@code this}. */
+    private final Map<Application, TimingWheel.Timer<Application>> timers = new HashMap<>();
+
+    /** Offers whose deadline has passed, awaiting {@link #applyExpired()}. */
+    private final Queue<Application> expired = new ConcurrentLinkedQueue<>();
+
+    /** Sends expiry notifications. */
+    private NotificationManager notificationManager;
+
+    /** Waitlist offered places freed by expired offers. */
+    private WaitlistManager waitlistManager;
+
+    /** Time a student has to accept an offer. */
+    private Duration offerValidity = DEFAULT_OFFER_VALIDITY;
+
+    /** Thread advancing the wheel, once started. */
+    private Thread ticker;
+
+    /**
+     * Creates the manager.
+     *
+     * @param applicationManager manager used to withdraw expired offers
+     */
+    public OfferExpiryManager(ApplicationManager applicationManager) {
+        this.applicationManager = applicationManager;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
+    }
+
+    /**
+     * Starts the daemon thread that advances the wheel. Has no effect if already started.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(TICK_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                tick(System.currentTimeMillis());
+            }
+        }, "offer-expiry");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /**
+     * Stops the daemon thread.
+     */
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Starts the acceptance deadline of an offer. An offer already tracked keeps its timer.
+     *
+     * @param application the application that received an offer
+     */
+    public synchronized void track(Application application) {
+        if (application == null || timers.containsKey(application)) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + offerValidity.toMillis();
+        timers.put(application, wheel.schedule(application, deadline));
+    }
+
+    /**
+     * Stops tracking an offer that was accepted or withdrawn.
+     *
+     * @param application the application
+     */
+    public synchronized void cancel(Application application) {
+        if (application == null) {
+            return;
+        }
+        TimingWheel.Timer<Application> timer = timers.remove(application);
+        if (timer != null) {
+            wheel.cancel(timer);
+        }
+    }
+
+    /**
+     * Returns the acceptance deadline of an open offer.
+     *
+     * @param application the application
+     * @return deadline in epoch milliseconds, or -1 if the offer is not tracked
+     */
+    public synchronized long getDeadline(Application application) {
+        TimingWheel.Timer<Application> timer = timers.get(application);
+        return timer == null ? -1 : timer.getDeadlineMillis();
+    }
+
+    /**
+     * Advances the wheel and queues the offers that have expired. Called by the daemon thread;
+     * exposed so the wheel can also be driven explicitly.
+     *
+     * @param nowMillis current time in epoch milliseconds
+     */
+    public synchronized void tick(long nowMillis) {
+        wheel.advance(nowMillis, application -> {
+            timers.remove(application);
+            expired.add(application);
+        });
+    }
+
+    /**
+     * Applies every queued expiry as one batch: each offer still open is marked unsuccessful
+     * and its student notified, and each affected internship's waitlist is offered the freed
+     * place.
+     *
+     * @return the applications whose offers expired
+     */
+    public List<Application> applyExpired() {
+        List<Application> lapsed = new ArrayList<>();
+        if (expired.isEmpty()) {
+            return lapsed;
+        }
+        Set<Internship> affected = new LinkedHashSet<>();
+        synchronized (this) {
+            Application application;
+            while ((application = expired.poll()) != null) {
+                if (application.getStatus() != ApplicationStatus.SUCCESSFUL
+                        || application.getStudent().getAcceptedPlacement() == application) {
+                    continue;
+                }
+                applicationManager.updateStatus(application, ApplicationStatus.UNSUCCESSFUL);
+                if (notificationManager != null) {
+                    notificationManager.notifyStudentOfferExpired(application);
+                }
+                lapsed.add(application);
+                affected.add(application.getInternship());
+            }
+        }
+        if (waitlistManager != null) {
+            for (Internship internship : affected) {
+                if (!internship.isFull()) {
+                    waitlistManager.promote(internship);
+                }
+            }
+        }
+        return lapsed;
+    }
+
+    /**
+     * Sets how long students have to accept new offers.
+     *
+     * @param offerValidity acceptance window
+     * @throws IllegalArgumentException if the window is null or not positive
+     */
+    public synchronized void setOfferValidity(Duration offerValidity) {
+        if (offerValidity == null || offerValidity.isNegative() || offerValidity.isZero()) {
+            throw new IllegalArgumentException("Offer validity must be positive.");
+        }
+        this.offerValidity = offerValidity;
+    }
+
+    /**
+     * Assigns the notification manager used for expiry notifications.
+     *
+     * @param notificationManager notification manager instance
+     */
+    public void setNotificationManager(NotificationManager notificationManager) {
+        this.notificationManager = notificationManager;
+    }
+
+    /**
+     * Assigns the waitlist offered places freed by expired offers.
+     *
+     * @param waitlistManager waitlist manager instance
+     */
+    public void setWaitlistManager(WaitlistManager waitlistManager) {
+        this.waitlistManager = waitlistManager;
+    }
+}
@@ -0,0 +1,183 @@
+// documented
+
+package control;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a listing together with the cursor that continues it.
+ *
+ * <p>Cursors are opaque tokens naming the position just after the last item of a page, in
+ * terms of the listing's own sort key (for example an internship's title key, or the sequence
+ * a request was submitted under) rather than an offset. Fetching the next page therefore
+ * resumes directly after that key, costs about the page size rather than the number of items
+ * skipped, and is not thrown off by items added or removed before the cursor in the meantime.
+ * A null cursor asks for the first page; a page whose {@link #getNextCursor()} is null is the
+ * last.</p>
+ *
+ * @param <T> item type
+ */
+
+public final class Page<T> {
+
+    /** Separator between the sequence and key parts of a decoded cursor. */
+    private static final char SEPARATOR = ':';
+
+    /** Items of this page, in listing order. */
+    private final List<T> items;
+
+    /** Cursor of the following page, or null if this is the last. */
+    private final String nextCursor;
+
+    /**
+     * Creates a page.
+     *
+     * @param items      items of the page, in listing order
+     * @param nextCursor cursor of the following page, or null if this is the last
+     */
+    public Page(List<T> items, String nextCursor) {
+        this.items = items == null ? Collections.emptyList() : Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Returns the items of this page.
+     *
+     * @return unmodifiable list of items, in listing order
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the cursor to pass back for the following page.
+     *
+     * @return next cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Returns whether another page follows this one.
+     *
+     * @return true if {@link #getNextCursor()} is not null
+     */
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Returns whether this page holds no items.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * Returns one page of a list whose items are only ever appended, keyed by position.
+     * Because earlier positions never change, a position is a stable key.
+     *
+     * @param list   the append-only list
+     * @param cursor cursor from a previous page of the same list, or null for the first page
+     * @param limit  maximum number of items
+     * @param <T>    item type
+     * @return the page
+     *
+     * @throws IllegalArgumentException if limit is not positive or the cursor is malformed
+     */
+    public static <T> Page<T> ofAppendOnly(List<T> list, String cursor, int limit) {
+        requireLimit(limit);
+        int from = (int) Math.min(list.size(), sequenceOf(cursor));
+        int to = (int) Math.min(list.size(), (long) from + limit);
+        List<T> items = new ArrayList<>(list.subList(from, to));
+        return new Page<>(items, to < list.size() ? cursor(to, null) : null);
+    }
+
+    /**
+     * Validates a page size.
+     *
+     * @param limit maximum number of items per page
+     *
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    static void requireLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+    }
+
+    /**
+     * Encodes a cursor naming the position after an item.
+     *
+     * @param sequence sequence number of the position
+     * @param key      sort key of the position, or null if the sequence alone orders the listing
+     * @return the opaque cursor
+     */
+    static String cursor(long sequence, String key) {
+        String raw = key == null ? Long.toString(sequence) : sequence + String.valueOf(SEPARATOR) + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the sequence part of a cursor.
+     *
+     * @param cursor cursor, or null for the start of the listing
+     * @return the sequence, or 0 for a null cursor
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static long sequenceOf(String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        String raw = decode(cursor);
+        int split = raw.indexOf(SEPARATOR);
+        try {
+            long sequence = Long.parseLong(split < 0 ? raw : raw.substring(0, split));
+            if (sequence < 0) {
+                throw new IllegalArgumentException("Invalid page cursor.");
+            }
+            return sequence;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor.", e);
+        }
+    }
+
+    /**
+     * Returns the key part of a cursor.
+     *
+     * @param cursor cursor, or null for the start of the listing
+     * @return the key, or an empty string if the cursor is null or has no key
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static String keyOf(String cursor) {
+        if (cursor == null) {
+            return "";
+        }
+        String raw = decode(cursor);
+        int split = raw.indexOf(SEPARATOR);
+        return split < 0 ? "" : raw.substring(split + 1);
+    }
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param cursor the token
+     * @return the decoded text
+     */
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor.", e);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+// documented
+
+package control;
+
+import entity.Application;
+import entity.ApplicationStatus;
+import entity.Internship;
+import entity.InternshipLevel;
+import entity.InternshipStatus;
+import entity.Student;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects rankings for a batch placement round and allocates offers in one pass.
+ *
+ * <p>Students rank the internships they have pending applications for, and representatives
+ * rank the applicants of their internships. When staff run the round, every pending
+ * application becomes a candidate pair and {@link StableMatcher} computes a stable
+ * assignment. Each matched application is then marked {@link ApplicationStatus#SUCCESSFUL}
+ * through {@link ApplicationManager#updateStatus(Application, ApplicationStatus)}, which sends
+ * the usual offer notification; the student still accepts the offer as before.
+ * Applications that are not matched stay pending.</p>
+ *
+ * <p>Rules applied when building the candidate pairs:</p>
+ * <ul>
+ *     <li>Only approved, unfilled internships take part; their capacity is the number of
+ *         unassigned slots less offers already awaiting acceptance</li>
+ *     <li>Students who have accepted a placement or hold an open offer are skipped, and so are
+ *         applications with a withdrawal request</li>
+ *     <li>Lower-year students are only paired with BASIC internships</li>
+ *     <li>Each student is considered for at most {@link ApplicationManager#MAX_ACTIVE_APPLICATIONS}
+ *         internships, their ranked choices first, then the rest in application order</li>
+ *     <li>Applicants a representative did not rank come after the ranked ones, in application order</li>
+ * </ul>
+ */
+
+public class PlacementRound {
+
+    /** Highest year of study restricted to BASIC internships. */
+    private static final int LOWER_YEAR_LIMIT = 2;
+
+    /** Applies offers and owns the application rules. */
+    private final ApplicationManager applicationManager;
+
+    /** Source of the internship catalog. */
+    private final InternshipManager internshipManager;
+
+    /** Engine computing the assignment. */
+    private final StableMatcher matcher = new StableMatcher();
+
+    /** Internships ranked by each student, best first. */
+    private final Map<Student, List<Internship>> studentRankings = new HashMap<>();
+
+    /** Applicants ranked by each internship's representative, best first. */
+    private final Map<Internship, List<Student>> applicantRankings = new HashMap<>();
+
+    /**
+     * Creates a placement round.
+     *
+     * @param applicationManager manager used to apply offers
+     * @param internshipManager  manager providing the internships taking part
+     */
+    public PlacementRound(ApplicationManager applicationManager, InternshipManager internshipManager) {
+        this.applicationManager = applicationManager;
+        this.internshipManager = internshipManager;
+    }
+
+    /**
+     * Records a student's ranking, replacing any earlier one.
+     *
+     * @param student  the student
+     * @param rankings internships in order of preference
+     */
+    public void submitStudentRanking(Student student, List<Internship> rankings) {
+        if (student != null && rankings != null) {
+            studentRankings.put(student, new ArrayList<>(rankings));
+        }
+    }
+
+    /**
+     * Records a representative's ranking of an internship's applicants, replacing any earlier one.
+     *
+     * @param internship the internship
+     * @param rankings   applicants in order of preference
+     */
+    public void submitApplicantRanking(Internship internship, List<Student> rankings) {
+        if (internship != null && rankings != null) {
+            applicantRankings.put(internship, new ArrayList<>(rankings));
+        }
+    }
+
+    /**
+     * Returns the ranking a student has submitted.
+     *
+     * @param student the student
+     * @return ranked internships, or an empty list if none submitted
+     */
+    public List<Internship> getStudentRanking(Student student) {
+        return Collections.unmodifiableList(studentRankings.getOrDefault(student, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the ranking submitted for an internship's applicants.
+     *
+     * @param internship the internship
+     * @return ranked applicants, or an empty list if none submitted
+     */
+    public List<Student> getApplicantRanking(Internship internship) {
+        return Collections.unmodifiableList(applicantRankings.getOrDefault(internship, Collections.emptyList()));
+    }
+
+    /**
+     * Runs the round: computes a stable assignment over all pending applications, makes an
+     * offer for every matched application, and clears the submitted rankings.
+     *
+     * @return the applications that received an offer
+     */
+    public List<Application> run() {
+        List<Internship> internships = new ArrayList<>();
+        Map<Internship, Integer> internshipIndex = new HashMap<>();
+        List<Integer> capacityList = new ArrayList<>();
+        Map<Student, List<Application>> pendingByStudent = new LinkedHashMap<>();
+        for (Internship internship : internshipManager.getInternships()) {
+            if (internship.getStatus() != InternshipStatus.APPROVED || internship.isFull()) {
+                continue;
+            }
+            int capacity = internship.getSlots().size() - internship.getFilledSlotCount();
+            for (Application application : internship.getApplications()) {
+                Student student = application.getStudent();
+                if (application.getStatus() == ApplicationStatus.SUCCESSFUL
+                        && student.getAcceptedPlacement() != application) {
+                    capacity--;
+                }
+            }
+            if (capacity <= 0) {
+                continue;
+            }
+            internshipIndex.put(internship, internships.size());
+            internships.add(internship);
+            capacityList.add(capacity);
+            for (Application application : internship.getApplications()) {
+                if (application.getStatus() == ApplicationStatus.PENDING
+                        && !application.isWithdrawalRequested()) {
+                    pendingByStudent.computeIfAbsent(application.getStudent(), key -> new ArrayList<>())
+                            .add(application);
+                }
+            }
+        }
+
+        List<Student> students = new ArrayList<>();
+        List<Application> entries = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        for (Map.Entry<Student, List<Application>> pending : pendingByStudent.entrySet()) {
+            Student student = pending.getKey();
+            if (student.hasAcceptedPlacement() || holdsOpenOffer(student)) {
+                continue;
+            }
+            List<Application> choices = orderedChoices(student, pending.getValue());
+            if (choices.isEmpty()) {
+                continue;
+            }
+            students.add(student);
+            starts.add(entries.size());
+            entries.addAll(choices);
+        }
+        starts.add(entries.size());
+
+        int[] capacities = new int[internships.size()];
+        for (int i = 0; i < capacities.length; i++) {
+            capacities[i] = capacityList.get(i);
+        }
+        int[] prefStart = new int[starts.size()];
+        for (int i = 0; i < prefStart.length; i++) {
+            prefStart[i] = starts.get(i);
+        }
+        int[] prefInternship = new int[entries.size()];
+        int[] prefRank = new int[entries.size()];
+        Map<Internship, Map<Student, Integer>> rankLookup = new HashMap<>();
+        for (int e = 0; e < entries.size(); e++) {
+            Application application = entries.get(e);
+            Internship internship = application.getInternship();
+            prefInternship[e] = internshipIndex.get(internship);
+            prefRank[e] = applicantRank(rankLookup, internship, application);
+        }
+
+        int[] assignment = matcher.match(students.size(), capacities, prefStart, prefInternship, prefRank);
+        List<Application> offers = new ArrayList<>();
+        for (int s = 0; s < assignment.length; s++) {
+            if (assignment[s] == StableMatcher.UNMATCHED) {
+                continue;
+            }
+            for (int e = prefStart[s]; e < prefStart[s + 1]; e++) {
+                if (prefInternship[e] == assignment[s]) {
+                    offers.add(entries.get(e));
+                    break;
+                }
+            }
+        }
+        for (Application offer : offers) {
+            applicationManager.updateStatus(offer, ApplicationStatus.SUCCESSFUL);
+        }
+        studentRankings.clear();
+        applicantRankings.clear();
+        return offers;
+    }
+
+    /**
+     * Orders a student's pending applications: ranked internships first, then the rest in
+     * application order, dropping pairs the level rule forbids and capping the list at the
+     * active-application limit.
+     *
+     * @param student the student
+     * @param pending the student's pending applications to internships in the round
+     * @return the student's choices in order of preference
+     */
+    private List<Application> orderedChoices(Student student, List<Application> pending) {
+        List<Application> ordered = new ArrayList<>(pending.size());
+        for (Internship ranked : studentRankings.getOrDefault(student, Collections.emptyList())) {
+            for (Application application : pending) {
+                if (application.getInternship() == ranked && !ordered.contains(application)) {
+                    ordered.add(application);
+                }
+            }
+        }
+        for (Application application : pending) {
+            if (!ordered.contains(application)) {
+                ordered.add(application);
+            }
+        }
+        ordered.removeIf(application -> !levelAllowed(student, application.getInternship()));
+        int limit = ApplicationManager.MAX_ACTIVE_APPLICATIONS;
+        return ordered.size() > limit ? new ArrayList<>(ordered.subList(0, limit)) : ordered;
+    }
+
+    /**
+     * Returns the rank an internship's representative gave an applicant. Ranked applicants
+     * come first; the rest follow in the order they applied.
+     *
+     * @param rankLookup  per-internship rank tables, built on first use
+     * @param internship  the internship
+     * @param application the applicant's application
+     * @return rank, lower is better
+     */
+    private int applicantRank(Map<Internship, Map<Student, Integer>> rankLookup,
+                              Internship internship, Application application) {
+        Map<Student, Integer> ranks = rankLookup.computeIfAbsent(internship, key -> {
+            Map<Student, Integer> table = new HashMap<>();
+            List<Student> ranked = applicantRankings.getOrDefault(key, Collections.emptyList());
+            for (Student student : ranked) {
+                table.putIfAbsent(student, table.size());
+            }
+            int next = ranked.size();
+            for (Application other : key.getApplications()) {
+                table.putIfAbsent(other.getStudent(), next++);
+            }
+            return table;
+        });
+        return ranks.get(application.getStudent());
+    }
+
+    /**
+     * Checks whether a student has an offer awaiting acceptance.
+     *
+     * @param student the student
+     * @return true if any application is successful but not yet accepted
+     */
+    private boolean holdsOpenOffer(Student student) {
+        for (Application application : student.getApplications()) {
+            if (application.getStatus() == ApplicationStatus.SUCCESSFUL) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the year-of-study level rule.
+     *
+     * @param student    the student
+     * @param internship the internship
+     * @return true if the student may be placed at the internship's level
+     */
+    private boolean levelAllowed(Student student, Internship internship) {
+        InternshipLevel level = internship.getLevel();
+        return student.getYearOfStudy() > LOWER_YEAR_LIMIT || level == null || level == InternshipLevel.BASIC;
+    }
+}
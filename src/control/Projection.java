@@ -0,0 +1,27 @@
+// documented
+
+package control;
+
+/**
+ * Read model maintained from the events of an {@link EventLog}.
+ *
+ * <p>A projection receives every event appended after it is registered, in sequence order,
+ * once, from whichever thread appended it; it must not call back into the log. A projection
+ * is a pure function of the events it has seen, so {@link #reset()} followed by the same
+ * events always rebuilds the same state.</p>
+ */
+
+public interface Projection {
+
+    /**
+     * Clears all state, as before the first event.
+     */
+    void reset();
+
+    /**
+     * Folds one event into the projection.
+     *
+     * @param event the next event
+     */
+    void apply(DomainEvent event);
+}
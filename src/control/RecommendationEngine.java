@@ -0,0 +1,254 @@
+// documented
+
+package control;
+
+import entity.Internship;
+import entity.InternshipLevel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Ranks eligible internships for a student and returns the best few.
+ *
+ * <p>An internship's score is a weighted sum of:</p>
+ * <ul>
+ *     <li>Major match strength: postings aimed at fewer majors score higher than broad ones,
+ *         and postings open to every major score lowest</li>
+ *     <li>Level fit: how close the level is to the one suited to the student's year</li>
+ *     <li>Closing-date urgency: postings closing soon score higher</li>
+ *     <li>Remaining slot ratio: the fraction of slots still open</li>
+ *     <li>Competition: fewer applications per slot scores higher</li>
+ * </ul>
+ *
+ * <p>Everything that depends only on the internship is precomputed into primitive arrays
+ * indexed by the {@link InternshipQueryEngine} ID, and refreshed for one internship whenever
+ * its details, slots or applications change. A request then adds the two student- and
+ * date-dependent terms for each eligible ID and keeps the best {@code k} in a bounded heap,
+ * so the full candidate list is never sorted.</p>
+ */
+
+public class RecommendationEngine {
+
+    /** Weight of major match strength. */
+    private static final double MAJOR_WEIGHT = 0.25;
+
+    /** Weight of level fit. */
+    private static final double LEVEL_WEIGHT = 0.20;
+
+    /** Weight of closing-date urgency. */
+    private static final double URGENCY_WEIGHT = 0.15;
+
+    /** Weight of the remaining slot ratio. */
+    private static final double SLOT_WEIGHT = 0.15;
+
+    /** Weight of low competition. */
+    private static final double COMPETITION_WEIGHT = 0.25;
+
+    /** Major strength of a posting open to every major. */
+    private static final double ANY_MAJOR_STRENGTH = 0.4;
+
+    /** Days until closing at which urgency has halved. */
+    private static final double URGENCY_HALF_LIFE_DAYS = 7.0;
+
+    /** Stored closing day for postings without a closing date. */
+    private static final long NO_CLOSE_DATE = Long.MAX_VALUE;
+
+    /** Stored level index for postings without a level. */
+    private static final byte NO_LEVEL = -1;
+
+    /**
+     * Level fit by year band (rows: years 1-2, year 3, year 4) and level
+     * (columns: unset, BASIC, INTERMEDIATE, ADVANCED).
+     */
+    private static final double[][] LEVEL_FIT = {
+            {0.5, 1.0, 0.0, 0.0},
+            {0.5, 0.6, 1.0, 0.6},
+            {0.5, 0.3, 0.7, 1.0}
+    };
+
+    /** Engine assigning the IDs the score arrays are indexed by. */
+    private final InternshipQueryEngine engine;
+
+    /** Precomputed internship-only score part, by ID. */
+    private double[] baseScores = new double[0];
+
+    /** Level index per ID ({@link #NO_LEVEL} if unset). */
+    private byte[] levels = new byte[0];
+
+    /** Closing date as epoch day per ID ({@link #NO_CLOSE_DATE} if unset). */
+    private long[] closeDays = new long[0];
+
+    /**
+     * Creates a recommendation engine over the given query engine.
+     *
+     * @param engine the engine indexing the internship catalog
+     */
+    public RecommendationEngine(InternshipQueryEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Recomputes the precomputed score parts of one internship. The query engine must
+     * already have indexed the internship.
+     *
+     * @param internship the new or changed internship
+     */
+    public void update(Internship internship) {
+        int id = engine.idOf(internship);
+        if (id < 0) {
+            return;
+        }
+        ensureCapacity(id + 1);
+        int slots = internship.getSlots().size();
+        int openSlots = slots - internship.getFilledSlotCount();
+        double slotRatio = slots == 0 ? 0.0 : (double) openSlots / slots;
+        double applicationsPerSlot = (double) internship.getApplications().size() / Math.max(1, slots);
+        double majorStrength = internship.isOpenToAllMajors()
+                ? ANY_MAJOR_STRENGTH
+                : 0.5 + 0.5 / internship.getPreferredMajors().size();
+        baseScores[id] = MAJOR_WEIGHT * majorStrength
+                + SLOT_WEIGHT * slotRatio
+                + COMPETITION_WEIGHT / (1.0 + applicationsPerSlot);
+        InternshipLevel level = internship.getLevel();
+        levels[id] = level == null ? NO_LEVEL : (byte) level.ordinal();
+        closeDays[id] = internship.getCloseDate() == null ? NO_CLOSE_DATE : internship.getCloseDate().toEpochDay();
+    }
+
+    /**
+     * Returns the highest-scoring internships among the candidates.
+     *
+     * @param candidates  IDs of the internships the student may apply for
+     * @param yearOfStudy the student's year of study
+     * @param today       the date urgency is measured from
+     * @param k           maximum number of recommendations
+     * @return up to {@code k} internships, best first; ties favour earlier submissions
+     */
+    public List<Internship> recommend(BitSet candidates, int yearOfStudy, LocalDate today, int k) {
+        List<Internship> result = new ArrayList<>();
+        if (k <= 0) {
+            return result;
+        }
+        double[] levelFit = LEVEL_FIT[yearOfStudy <= 2 ? 0 : yearOfStudy == 3 ? 1 : 2];
+        long todayDay = today.toEpochDay();
+        int capacity = Math.min(k, candidates.cardinality());
+        int[] heapIds = new int[capacity];
+        double[] heapScores = new double[capacity];
+        int size = 0;
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            if (id >= baseScores.length) {
+                break;
+            }
+            double score = baseScores[id]
+                    + LEVEL_WEIGHT * levelFit[levels[id] + 1]
+                    + URGENCY_WEIGHT * urgency(closeDays[id], todayDay);
+            if (size < capacity) {
+                heapIds[size] = id;
+                heapScores[size] = score;
+                siftUp(heapIds, heapScores, size++);
+            } else if (capacity > 0 && score > heapScores[0]) {
+                heapIds[0] = id;
+                heapScores[0] = score;
+                siftDown(heapIds, heapScores, size);
+            }
+        }
+        Internship[] ranked = new Internship[size];
+        while (size > 0) {
+            ranked[--size] = engine.get(heapIds[0]);
+            heapIds[0] = heapIds[size];
+            heapScores[0] = heapScores[size];
+            siftDown(heapIds, heapScores, size);
+        }
+        for (Internship internship : ranked) {
+            if (internship != null) {
+                result.add(internship);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scores how soon a posting closes.
+     *
+     * @param closeDay closing epoch day, or {@link #NO_CLOSE_DATE}
+     * @param today    today's epoch day
+     * @return 1 when closing today, falling towards 0 as the date recedes
+     */
+    private static double urgency(long closeDay, long today) {
+        if (closeDay == NO_CLOSE_DATE) {
+            return 0.0;
+        }
+        return 1.0 / (1.0 + Math.max(0, closeDay - today) / URGENCY_HALF_LIFE_DAYS);
+    }
+
+    /**
+     * Checks whether the entry at {@code a} ranks below the entry at {@code b}:
+     * a lower score, or an equal score with a later ID.
+     */
+    private static boolean worse(int[] ids, double[] scores, int a, int b) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && ids[a] > ids[b]);
+    }
+
+    /**
+     * Restores the min-heap order upwards from an index.
+     */
+    private static void siftUp(int[] ids, double[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!worse(ids, scores, index, parent)) {
+                return;
+            }
+            swap(ids, scores, index, parent);
+            index = parent;
+        }
+    }
+
+    /**
+     * Restores the min-heap order downwards from the root.
+     */
+    private static void siftDown(int[] ids, double[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left + 1 < size && worse(ids, scores, left + 1, left) ? left + 1 : left;
+            if (!worse(ids, scores, child, index)) {
+                return;
+            }
+            swap(ids, scores, index, child);
+            index = child;
+        }
+    }
+
+    /**
+     * Swaps two heap entries.
+     */
+    private static void swap(int[] ids, double[] scores, int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    /**
+     * Grows the score arrays to hold at least the given number of IDs.
+     *
+     * @param capacity required length
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= baseScores.length) {
+            return;
+        }
+        int length = Math.max(capacity, baseScores.length * 2);
+        baseScores = Arrays.copyOf(baseScores, length);
+        levels = Arrays.copyOf(levels, length);
+        closeDays = Arrays.copyOf(closeDays, length);
+    }
+}
@@ -0,0 +1,283 @@
+// documented
+
+package control;
+
+import entity.ApplicationStatus;
+import entity.InternshipStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Projection of the event log into running totals for the staff activity summary.
+ *
+ * <p>Counts are adjusted by each event as it is appended, using the old and new status the
+ * event carries, so reading them never scans the internships or applications. Readers get an
+ * immutable {@link Snapshot}; a new snapshot is only built after events have changed the
+ * totals.</p>
+ *
+ * <p>The totals cover the current session only. Internships and applications are not
+ * persisted, so counting the journal of earlier runs would include items that no longer
+ * exist; the counters are therefore not seeded from it.</p>
+ */
+
+public class ReportCounters implements Projection {
+
+    /** Internships currently in each status. */
+    private final Map<InternshipStatus, Integer> internshipsByStatus = new EnumMap<>(InternshipStatus.class);
+
+    /** Applications currently in each status. */
+    private final Map<ApplicationStatus, Integer> applicationsByStatus = new EnumMap<>(ApplicationStatus.class);
+
+    /** Slots currently assigned. */
+    private int filledSlots;
+
+    /** Withdrawal requests awaiting a decision. */
+    private int pendingWithdrawals;
+
+    /** Representative accounts approved this session. */
+    private int repsApproved;
+
+    /** Representative accounts rejected this session. */
+    private int repsRejected;
+
+    /** Events applied since the last reset. */
+    private long eventCount;
+
+    /** Last snapshot built, or null if events have been applied since. */
+    private Snapshot snapshot;
+
+    @Override
+    public synchronized void reset() {
+        internshipsByStatus.clear();
+        applicationsByStatus.clear();
+        filledSlots = 0;
+        pendingWithdrawals = 0;
+        repsApproved = 0;
+        repsRejected = 0;
+        eventCount = 0;
+        snapshot = null;
+    }
+
+    @Override
+    public synchronized void apply(DomainEvent event) {
+        switch (event.getType()) {
+            case INTERNSHIP_SUBMITTED -> adjust(internshipsByStatus, InternshipStatus.class, null, event.getTo());
+            case INTERNSHIP_APPROVED, INTERNSHIP_REJECTED, INTERNSHIP_FILLED, INTERNSHIP_REOPENED,
+                 INTERNSHIP_STATUS_CHANGED ->
+                    adjust(internshipsByStatus, InternshipStatus.class, event.getFrom(), event.getTo());
+            case INTERNSHIP_REMOVED -> adjust(internshipsByStatus, InternshipStatus.class, event.getFrom(), null);
+            case APPLICATION_SUBMITTED -> adjust(applicationsByStatus, ApplicationStatus.class, null, event.getTo());
+            case APPLICATION_STATUS_CHANGED ->
+                    adjust(applicationsByStatus, ApplicationStatus.class, event.getFrom(), event.getTo());
+            case SLOT_ASSIGNED -> filledSlots++;
+            case SLOTS_RELEASED -> filledSlots -= parseCount(event.getTo());
+            case WITHDRAWAL_REQUESTED -> pendingWithdrawals++;
+            case WITHDRAWAL_APPROVED, WITHDRAWAL_REJECTED -> pendingWithdrawals--;
+            case REP_APPROVED -> repsApproved++;
+            case REP_REJECTED -> repsRejected++;
+            default -> {
+            }
+        }
+        eventCount++;
+        snapshot = null;
+    }
+
+    /**
+     * Returns the current totals.
+     *
+     * @return immutable snapshot, shared until the next event
+     */
+    public synchronized Snapshot snapshot() {
+        if (snapshot == null) {
+            snapshot = new Snapshot(this);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Moves one item from an old status to a new status, ignoring unknown names.
+     *
+     * @param counts counts by status
+     * @param type   status enum class
+     * @param from   old status name, or null if the item is new
+     * @param to     new status name, or null if the item is gone
+     * @param <S>    status type
+     */
+    private static <S extends Enum<S>> void adjust(Map<S, Integer> counts, Class<S> type, String from, String to) {
+        S old = statusOf(type, from);
+        if (old != null) {
+            counts.merge(old, -1, Integer::sum);
+        }
+        S current = statusOf(type, to);
+        if (current != null) {
+            counts.merge(current, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Parses a status name.
+     *
+     * @param type status enum class
+     * @param name status name, or null
+     * @param <S>  status type
+     * @return the status, or null if name is null or unknown
+     */
+    private static <S extends Enum<S>> S statusOf(Class<S> type, String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a count carried by an event.
+     *
+     * @param value the count, or null
+     * @return the count, or 0 if missing or malformed
+     */
+    private static int parseCount(String value) {
+        try {
+            return value == null ? 0 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Immutable totals after a number of events.
+     */
+    public static final class Snapshot {
+
+        /** Events counted. */
+        private final long eventCount;
+
+        /** Internships in each status. */
+        private final Map<InternshipStatus, Integer> internshipsByStatus;
+
+        /** Applications in each status. */
+        private final Map<ApplicationStatus, Integer> applicationsByStatus;
+
+        /** Slots assigned. */
+        private final int filledSlots;
+
+        /** Withdrawal requests awaiting a decision. */
+        private final int pendingWithdrawals;
+
+        /** Representative accounts approved. */
+        private final int repsApproved;
+
+        /** Representative accounts rejected. */
+        private final int repsRejected;
+
+        /**
+         * Copies the totals of a projection; called with its lock held.
+         *
+         * @param counters the projection
+         */
+        private Snapshot(ReportCounters counters) {
+            this.eventCount = counters.eventCount;
+            this.internshipsByStatus = Collections.unmodifiableMap(new EnumMap<>(counters.internshipsByStatus));
+            this.applicationsByStatus = Collections.unmodifiableMap(new EnumMap<>(counters.applicationsByStatus));
+            this.filledSlots = counters.filledSlots;
+            this.pendingWithdrawals = counters.pendingWithdrawals;
+            this.repsApproved = counters.repsApproved;
+            this.repsRejected = counters.repsRejected;
+        }
+
+        /**
+         * Returns the number of events counted this session.
+         *
+         * @return event count
+         */
+        public long getEventCount() {
+            return eventCount;
+        }
+
+        /**
+         * Returns the number of internships in a status.
+         *
+         * @param status the status
+         * @return count
+         */
+        public int getInternshipCount(InternshipStatus status) {
+            return internshipsByStatus.getOrDefault(status, 0);
+        }
+
+        /**
+         * Returns the number of applications in a status.
+         *
+         * @param status the status
+         * @return count
+         */
+        public int getApplicationCount(ApplicationStatus status) {
+            return applicationsByStatus.getOrDefault(status, 0);
+        }
+
+        /**
+         * Returns the number of slots assigned.
+         *
+         * @return filled slots
+         */
+        public int getFilledSlots() {
+            return filledSlots;
+        }
+
+        /**
+         * Returns the number of withdrawal requests awaiting a decision.
+         *
+         * @return pending withdrawals
+         */
+        public int getPendingWithdrawals() {
+            return pendingWithdrawals;
+        }
+
+        /**
+         * Returns the number of representative accounts approved.
+         *
+         * @return approvals
+         */
+        public int getRepsApproved() {
+            return repsApproved;
+        }
+
+        /**
+         * Returns the number of representative accounts rejected.
+         *
+         * @return rejections
+         */
+        public int getRepsRejected() {
+            return repsRejected;
+        }
+
+        /**
+         * Formats the totals as a multi-line summary.
+         *
+         * @return the summary, ending with a line separator
+         */
+        public String format() {
+            String newline = System.lineSeparator();
+            StringBuilder out = new StringBuilder(256);
+            out.append("=== Activity summary (this session, ").append(eventCount).append(" events) ===")
+                    .append(newline);
+            out.append("Internships:");
+            for (InternshipStatus status : InternshipStatus.values()) {
+                out.append(' ').append(status).append('=').append(getInternshipCount(status));
+            }
+            out.append(newline).append("Applications:");
+            for (ApplicationStatus status : ApplicationStatus.values()) {
+                out.append(' ').append(status).append('=').append(getApplicationCount(status));
+            }
+            out.append(newline).append("Filled slots: ").append(filledSlots)
+                    .append(" | Pending withdrawals: ").append(pendingWithdrawals).append(newline)
+                    .append("Representatives approved: ").append(repsApproved)
+                    .append(" | rejected: ").append(repsRejected).append(newline);
+            return out.toString();
+        }
+    }
+}
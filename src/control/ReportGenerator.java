@@ -21,12 +21,25 @@ import java.util.List;
  *     <li>Company name</li>
  * </ul>
  *
+ * <p>It also prints an activity summary from the {@link ReportCounters} projection of the
+ * event log, which costs the same however many internships there are.</p>
+ *
  * <p>The reports summarize visibility, level, status, preferred major,
- * and slot occupancy for each internship.</p>
+ * and slot occupancy for each internship. Each report is rendered into a
+ * {@link ScreenBuffer} and written with one flush.</p>
  */
 
 public class ReportGenerator {
 
+    /** Catalog used to resolve report majors to IDs. */
+    private SchoolMajorCatalog schoolMajorCatalog;
+
+    /** Buffer reports are rendered into. */
+    private ScreenBuffer screen = new ScreenBuffer();
+
+    /** Running totals for the activity summary, if configured. */
+    private ReportCounters reportCounters;
+
     /**
      * Generates and prints a report of internships filtered by status.
      *
@@ -34,6 +47,8 @@ public class ReportGenerator {
      * @param status      the status to filter by
      */
     public void generateByStatus(List<Internship> internships, InternshipStatus status) {
+        FlightEvents.ReportGeneration event = new FlightEvents.ReportGeneration();
+        event.begin();
         List<Internship> matches = new ArrayList<>();
         for (Internship internship : internships) {
             if (internship.getStatus() == status) {
@@ -41,28 +56,44 @@ public class ReportGenerator {
             }
         }
         printReport("Internships with status " + status, matches);
+        event.complete("status", status, internships.size(), matches.size());
     }
 
     /**
      * Generates a report of internships filtered by preferred major.
      *
-     * <p>Note: {@link Internship#acceptsMajor(String)} returns true when:</p>
+     * <p>Note: {@link Internship#acceptsMajor(short)} returns true when:</p>
      * <ul>
      *     <li>The internship has no preferred major (i.e., open to all), or</li>
      *     <li>The provided major matches the internship's preferred major.</li>
      * </ul>
      *
+     * <p>The major is resolved to its catalog ID once, so each internship is checked with
+     * an integer comparison. Without a catalog, majors are compared as text.</p>
+     *
      * @param internships the list of internships to evaluate
      * @param major       the major to filter by
      */
     public void generateByMajor(List<Internship> internships, String major) {
+        FlightEvents.ReportGeneration event = new FlightEvents.ReportGeneration();
+        event.begin();
         List<Internship> matches = new ArrayList<>();
-        for (Internship internship : internships) {
-            if (internship.acceptsMajor(major)) {
-                matches.add(internship);
+        if (schoolMajorCatalog == null) {
+            for (Internship internship : internships) {
+                if (internship.acceptsMajor(major)) {
+                    matches.add(internship);
+                }
+            }
+        } else {
+            short majorId = schoolMajorCatalog.findMajorId(major);
+            for (Internship internship : internships) {
+                if (internship.acceptsMajor(majorId)) {
+                    matches.add(internship);
+                }
             }
         }
         printReport("Internships filtered by major: " + major, matches);
+        event.complete("major", major, internships.size(), matches.size());
     }
 
     /**
@@ -72,6 +103,8 @@ public class ReportGenerator {
      * @param level       the internship level to filter by
      */
     public void generateByLevel(List<Internship> internships, InternshipLevel level) {
+        FlightEvents.ReportGeneration event = new FlightEvents.ReportGeneration();
+        event.begin();
         List<Internship> matches = new ArrayList<>();
         for (Internship internship : internships) {
             if (internship.getLevel() == level) {
@@ -79,23 +112,45 @@ public class ReportGenerator {
             }
         }
         printReport("Internships for level " + level, matches);
+        event.complete("level", level, internships.size(), matches.size());
     }
 
     /**
      * Generates a report summarizing internships offered by a specific company.
      *
+     * <p>Company names are compared using {@link CompanyRegistry#normalise(String)}, so
+     * spelling variants that differ only in case or spacing are treated as one company.
+     * Callers with a company index should pass only that company's internships.</p>
+     *
      * @param internships the list of internships to evaluate
      * @param company      company name to filter by (case-insensitive)
      */
     public void generateCompanySummary(List<Internship> internships, String company) {
+        FlightEvents.ReportGeneration event = new FlightEvents.ReportGeneration();
+        event.begin();
+        String key = CompanyRegistry.normalise(company);
         List<Internship> matches = new ArrayList<>();
         for (Internship internship : internships) {
-            if (internship.getCompanyName() != null
-                    && internship.getCompanyName().equalsIgnoreCase(company)) {
+            if (CompanyRegistry.normalise(internship.getCompanyName()).equals(key)) {
                 matches.add(internship);
             }
         }
         printReport("Internships offered by " + company, matches);
+        event.complete("company", company, internships.size(), matches.size());
+    }
+
+    /**
+     * Prints the activity summary: internships and applications by status, filled slots,
+     * pending withdrawals and account decisions, as maintained from the event log.
+     */
+    public void generateActivitySummary() {
+        screen.println();
+        if (reportCounters == null) {
+            screen.println("Activity summary is not available.");
+        } else {
+            screen.print(reportCounters.snapshot().format());
+        }
+        screen.flush();
     }
 
     /**
@@ -114,28 +169,60 @@ public class ReportGenerator {
      * @param internships list of internships to include
      */
     private void printReport(String title, List<Internship> internships) {
-        System.out.println("\n=== " + title + " ===");
+        screen.println().print("=== ").print(title).println(" ===");
         if (internships.isEmpty()) {
-            System.out.println("No internships found for this report.");
+            screen.println("No internships found for this report.");
+            screen.flush();
             return;
         }
         int index = 1;
+        long visibleCount = 0;
+        StringBuilder line = screen.builder();
         for (Internship internship : internships) {
-            int totalSlots = internship.getSlots().size();
-            long filledSlots = internship.getSlots().stream()
-                    .filter(slot -> slot.getAssignedStudent() != null)
-                    .count();
-            System.out.println(index++ + ". " + internship.getTitle()
-                    + " (" + internship.getCompanyName() + ")"
-                    + " | Status: " + internship.getStatus()
-                    + " | Level: " + internship.getLevel()
-                    + " | Major: " + formatPreferredMajor(internship)
-                    + " | Visible: " + (internship.isVisible() ? "Yes" : "No")
-                    + " | Slots: " + filledSlots + "/" + totalSlots);
+            visibleCount += internship.isVisible() ? 1 : 0;
+            line.append(index++).append(". ").append(internship.getTitle())
+                    .append(" (").append(internship.getCompanyName()).append(")")
+                    .append(" | Status: ").append(internship.getStatus())
+                    .append(" | Level: ").append(internship.getLevel())
+                    .append(" | Major: ").append(formatPreferredMajor(internship))
+                    .append(" | Visible: ").append(internship.isVisible() ? "Yes" : "No")
+                    .append(" | Slots: ").append(internship.getFilledSlotCount()).append('/')
+                    .append(internship.getSlots().size());
+            screen.println();
+        }
+        line.append("Total internships: ").append(internships.size())
+                .append(" (visible: ").append(visibleCount).append(")");
+        screen.println();
+        screen.flush();
+    }
+
+    /**
+     * Assigns the catalog used to resolve majors in major reports.
+     *
+     * @param schoolMajorCatalog school-major catalog instance
+     */
+    public void setSchoolMajorCatalog(SchoolMajorCatalog schoolMajorCatalog) {
+        this.schoolMajorCatalog = schoolMajorCatalog;
+    }
+
+    /**
+     * Assigns the projection the activity summary is read from.
+     *
+     * @param reportCounters report counters registered with the event log
+     */
+    public void setReportCounters(ReportCounters reportCounters) {
+        this.reportCounters = reportCounters;
+    }
+
+    /**
+     * Assigns the buffer reports are rendered into, so they share a screen with other output.
+     *
+     * @param screen screen buffer instance; ignored if null
+     */
+    public void setScreen(ScreenBuffer screen) {
+        if (screen != null) {
+            this.screen = screen;
         }
-        long visibleCount = internships.stream().filter(Internship::isVisible).count();
-        System.out.println("Total internships: " + internships.size()
-                + " (visible: " + visibleCount + ")");
     }
 
     /**
@@ -7,10 +7,9 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Loads and provides access to a catalog of schools and their respective majors.
@@ -27,14 +26,51 @@ import java.util.Map;
  *
  * <p>The first header row (starting with "School") is automatically skipped.</p>
  *
- * <p>Majors are stored case-insensitively per school, and duplicates within the
- * same school are ignored.</p>
+ * <p>Schools and majors are each held in a case-insensitive {@link NameTrie}, which gives every
+ * distinct major a canonical ID and spelling and supports prefix lookups for autocomplete.
+ * Duplicate majors within the same school are ignored.</p>
+ *
+ * <p>Major IDs are compact {@code short} values. Students and internships are resolved to a
+ * major ID when they enter the system. Majors that are not in the CSV are given an ID at that
+ * point, after the catalog's own, so every major in use has an ID and a single shared
+ * spelling. They are kept apart from the catalog majors and are never offered by
+ * {@link #completeMajors(String, int)}, so typos and free-text majors do not become
+ * suggestions.</p>
  */
 
 public class SchoolMajorCatalog {
 
-    /** Internal map linking each school to its list of majors. */
-    private final Map<String, List<String>> majorsBySchool = new LinkedHashMap<>();
+    /** Structured log for loader diagnostics. */
+    private static final AsyncLogger.Logger LOG = AsyncLogger.getLogger("catalog");
+
+    /** Major ID meaning "no major": an internship open to every major, or no major filter. */
+    public static final short ANY_MAJOR = -1;
+
+    /** Major ID for a major that is not in the catalog or has not been resolved yet. */
+    public static final short UNKNOWN_MAJOR = -2;
+
+    /** Distinct schools, in order of first appearance. */
+    private final NameTrie schools = new NameTrie();
+
+    /** Distinct majors across all schools, in order of first appearance. */
+    private final NameTrie majors = new NameTrie();
+
+    /**
+     * Majors met in student or internship data that are not in the CSV. Their IDs are offset by
+     * the number of catalog majors, which is fixed once the CSV is loaded.
+     */
+    private final NameTrie runtimeMajors = new NameTrie();
+
+    /** Major IDs offered by each school, indexed by school ID. */
+    private final List<List<Integer>> majorIdsBySchool = new ArrayList<>();
+
+    /** Set of major IDs offered by each school, indexed by school ID, for de-duplication. */
+    private final List<BitSet> majorSetsBySchool = new ArrayList<>();
+
+    /**
+     * Creates an empty catalog. Majors are given IDs as students and internships are resolved.
+     */
+    public SchoolMajorCatalog() {}
 
     /**
      * Creates a catalog and immediately attempts to load data from the provided CSV file.
@@ -61,7 +97,7 @@ public class SchoolMajorCatalog {
      */
     private void load(File file) {
         if (file == null || !file.exists()) {
-            System.err.println("School-major CSV not found: " + (file == null ? "null" : file.getPath()));
+            LOG.log(LogLevel.WARN, "School-major CSV not found", "file", file == null ? null : file.getPath());
             return;
         }
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
@@ -85,14 +121,20 @@ public class SchoolMajorCatalog {
                 if (school.isEmpty() || major.isEmpty()) {
                     continue;
                 }
-                majorsBySchool.computeIfAbsent(school, key -> new ArrayList<>());
-                List<String> majors = majorsBySchool.get(school);
-                if (majors.stream().noneMatch(existing -> existing.equalsIgnoreCase(major))) {
-                    majors.add(major);
+                int schoolId = schools.insert(school);
+                if (schoolId == majorIdsBySchool.size()) {
+                    majorIdsBySchool.add(new ArrayList<>());
+                    majorSetsBySchool.add(new BitSet());
+                }
+                int majorId = majors.insert(major);
+                BitSet offered = majorSetsBySchool.get(schoolId);
+                if (!offered.get(majorId)) {
+                    offered.set(majorId);
+                    majorIdsBySchool.get(schoolId).add(majorId);
                 }
             }
         } catch (IOException e) {
-            System.err.println("Failed to load school-major catalog: " + e.getMessage());
+            LOG.log(LogLevel.ERROR, "Failed to load school-major catalog", "file", file.getPath(), "error", e.getMessage());
         }
     }
 
@@ -102,7 +144,7 @@ public class SchoolMajorCatalog {
      * @return true if empty, false otherwise
      */
     public boolean isEmpty() {
-        return majorsBySchool.isEmpty();
+        return schools.size() == 0;
     }
 
     /**
@@ -111,23 +153,122 @@ public class SchoolMajorCatalog {
      * @return list of school names
      */
     public List<String> getSchools() {
-        return new ArrayList<>(majorsBySchool.keySet());
+        List<String> names = new ArrayList<>(schools.size());
+        for (int id = 0; id < schools.size(); id++) {
+            names.add(schools.getName(id));
+        }
+        return names;
     }
 
     /**
      * Returns the list of majors offered by a given school.
      *
-     * @param school the school whose majors are requested
+     * @param school the school whose majors are requested (case-insensitive)
      * @return list of majors or an empty list if the school does not exist
      */
     public List<String> getMajorsForSchool(String school) {
-        if (school == null) {
+        int schoolId = schools.find(school);
+        if (schoolId == NameTrie.NOT_FOUND) {
             return Collections.emptyList();
         }
-        List<String> majors = majorsBySchool.get(school);
-        if (majors == null) {
-            return Collections.emptyList();
+        return majorNames(majorIdsBySchool.get(schoolId));
+    }
+
+    /**
+     * Returns the ID of a major without adding it to the catalog.
+     *
+     * @param major the major name (case-insensitive)
+     * @return major ID, {@link #ANY_MAJOR} if blank, or {@link #UNKNOWN_MAJOR} if the major has
+     *         neither been loaded nor resolved
+     */
+    public short findMajorId(String major) {
+        if (major == null || major.isBlank()) {
+            return ANY_MAJOR;
+        }
+        int id = majors.find(major);
+        if (id != NameTrie.NOT_FOUND) {
+            return (short) id;
+        }
+        id = runtimeMajors.find(major);
+        return id == NameTrie.NOT_FOUND ? UNKNOWN_MAJOR : (short) (majors.size() + id);
+    }
+
+    /**
+     * Returns the ID of a major, giving it one if it is neither in the catalog nor resolved yet.
+     *
+     * @param major the major name (case-insensitive)
+     * @return major ID, or {@link #ANY_MAJOR} if blank
+     *
+     * @throws IllegalStateException if the catalog has run out of major IDs
+     */
+    public short resolveMajorId(String major) {
+        short id = findMajorId(major);
+        if (id != UNKNOWN_MAJOR) {
+            return id;
+        }
+        if (majors.size() + runtimeMajors.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct majors in catalog.");
+        }
+        return (short) (majors.size() + runtimeMajors.insert(major));
+    }
+
+    /**
+     * Returns the canonical spelling of a major.
+     *
+     * @param majorId the major ID
+     * @return canonical major name, or null if the ID is unknown
+     */
+    public String getMajorName(int majorId) {
+        return majorId < majors.size() ? majors.getName(majorId) : runtimeMajors.getName(majorId - majors.size());
+    }
+
+    /**
+     * Returns the canonical spelling of a major name, if the catalog knows it.
+     *
+     * @param major the major name (case-insensitive)
+     * @return canonical major name, or null if not in the catalog
+     */
+    public String canonicalMajor(String major) {
+        return majors.getName(majors.find(major));
+    }
+
+    /**
+     * Returns catalog majors beginning with a prefix, in alphabetical order.
+     *
+     * @param prefix the typed prefix (case-insensitive)
+     * @param limit  maximum number of suggestions
+     * @return matching major names
+     */
+    public List<String> completeMajors(String prefix, int limit) {
+        return majorNames(majors.complete(prefix, limit));
+    }
+
+    /**
+     * Returns catalog schools beginning with a prefix, in alphabetical order.
+     *
+     * @param prefix the typed prefix (case-insensitive)
+     * @param limit  maximum number of suggestions
+     * @return matching school names
+     */
+    public List<String> completeSchools(String prefix, int limit) {
+        List<String> names = new ArrayList<>();
+        for (int id : schools.complete(prefix, limit)) {
+            names.add(schools.getName(id));
+        }
+        return names;
+    }
+
+    /**
+     * Maps major IDs to their canonical names.
+     *
+     * @param ids major IDs
+     * @return major names in the same order
+     */
+    private List<String> majorNames(List<Integer> ids) {
+        List<String> names = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            names.add(majors.getName(id));
         }
-        return new ArrayList<>(majors);
+        return names;
     }
 }
@@ -0,0 +1,179 @@
+// documented
+
+package control;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Collects console output for a whole screen and writes it in one go.
+ *
+ * <p>Printing a listing with one {@code System.out.println} per row costs a lock, an encoding
+ * pass and, because {@code System.out} flushes on every newline, a write system call for each
+ * row. A screen buffer instead appends rows to a reused {@link StringBuilder}, encodes them
+ * into a reused byte buffer and hands the bytes to the output stream with a single write and
+ * flush. The buffers keep their capacity between screens, so once warmed up a screen costs
+ * no buffer allocation however many rows it has.</p>
+ *
+ * <p>Output is written when {@link #flush()} is called, which interactive callers do before
+ * waiting for input, and whenever more than {@value #FLUSH_THRESHOLD} characters are pending,
+ * which bounds memory when very long listings are rendered. Callers that mix a screen buffer
+ * with direct writes to the same stream must flush it first to keep output in order. A
+ * buffer is meant to be used by one thread at a time.</p>
+ */
+
+public class ScreenBuffer {
+
+    /** Pending characters above which the buffer is written without waiting for a flush. */
+    public static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    /** Line separator appended by the line methods. */
+    private static final String NEWLINE = System.lineSeparator();
+
+    /** Pending characters. */
+    private final StringBuilder pending = new StringBuilder(1024);
+
+    /** Stream written to, or null to write to the current {@link System#out}. */
+    private final PrintStream target;
+
+    /** Encoder for the target's charset, created on first flush. */
+    private CharsetEncoder encoder;
+
+    /** Reused buffer the pending characters are encoded into. */
+    private ByteBuffer bytes = ByteBuffer.allocate(4096);
+
+    /**
+     * Creates a buffer writing to whatever {@link System#out} is at flush time.
+     */
+    public ScreenBuffer() {
+        this(null);
+    }
+
+    /**
+     * Creates a buffer writing to a given stream.
+     *
+     * @param target stream to write to, or null for the current {@link System#out}
+     */
+    public ScreenBuffer(PrintStream target) {
+        this.target = target;
+    }
+
+    /**
+     * Appends text without a line separator.
+     *
+     * @param text the text; null is written as "null"
+     * @return this buffer
+     */
+    public ScreenBuffer print(String text) {
+        pending.append(text);
+        return flushIfFull();
+    }
+
+    /**
+     * Appends a line of text.
+     *
+     * @param text the text; null is written as "null"
+     * @return this buffer
+     */
+    public ScreenBuffer println(String text) {
+        pending.append(text).append(NEWLINE);
+        return flushIfFull();
+    }
+
+    /**
+     * Appends an empty line.
+     *
+     * @return this buffer
+     */
+    public ScreenBuffer println() {
+        pending.append(NEWLINE);
+        return flushIfFull();
+    }
+
+    /**
+     * Returns the builder pending text is collected in, so callers can compose a line piece
+     * by piece without an intermediate string. Text appended directly is written at the next
+     * flush.
+     *
+     * @return the pending text builder
+     */
+    public StringBuilder builder() {
+        return pending;
+    }
+
+    /**
+     * Returns the number of characters waiting to be written.
+     *
+     * @return pending length
+     */
+    public int pendingLength() {
+        return pending.length();
+    }
+
+    /**
+     * Writes all pending text to the stream with a single write and flush.
+     */
+    public void flush() {
+        if (pending.length() == 0) {
+            return;
+        }
+        PrintStream out = target != null ? target : System.out;
+        CharsetEncoder charsetEncoder = encoderFor(out.charset());
+        CharBuffer chars = CharBuffer.wrap(pending);
+        bytes.clear();
+        charsetEncoder.reset();
+        while (charsetEncoder.encode(chars, bytes, true).isOverflow()) {
+            bytes = grow(bytes);
+        }
+        while (charsetEncoder.flush(bytes).isOverflow()) {
+            bytes = grow(bytes);
+        }
+        out.write(bytes.array(), 0, bytes.position());
+        out.flush();
+        pending.setLength(0);
+    }
+
+    /**
+     * Writes pending text once it exceeds {@link #FLUSH_THRESHOLD}.
+     *
+     * @return this buffer
+     */
+    private ScreenBuffer flushIfFull() {
+        if (pending.length() > FLUSH_THRESHOLD) {
+            flush();
+        }
+        return this;
+    }
+
+    /**
+     * Returns an encoder for a charset, reusing the previous one when the charset is unchanged.
+     *
+     * @param charset the stream's charset
+     * @return the encoder
+     */
+    private CharsetEncoder encoderFor(Charset charset) {
+        if (encoder == null || !encoder.charset().equals(charset)) {
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        return encoder;
+    }
+
+    /**
+     * Doubles a byte buffer, keeping its contents.
+     *
+     * @param buffer the full buffer
+     * @return the larger buffer, positioned after the copied contents
+     */
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+}
@@ -0,0 +1,131 @@
+// documented
+
+package control;
+
+import java.util.Arrays;
+
+/**
+ * Student-proposing deferred acceptance over primitive arrays.
+ *
+ * <p>Students and internships are dense indices. Each student's preference list is stored in
+ * one flat array, with {@code prefStart[s]} .. {@code prefStart[s + 1]} delimiting student
+ * {@code s}'s internships in order of preference. For each of those entries, a parallel array
+ * holds the rank the internship gave the student (lower is better). Every internship keeps the
+ * students it currently holds in a max-heap keyed by rank, stored in one shared pool sized by
+ * total capacity, so the worst held student is found and replaced in O(log capacity).</p>
+ *
+ * <p>The result is the student-optimal stable assignment: no student and internship both prefer
+ * each other to what they were given. Total work is O(P log C) for P preference entries and
+ * maximum capacity C.</p>
+ */
+
+public class StableMatcher {
+
+    /** Assignment value for a student left unmatched. */
+    public static final int UNMATCHED = -1;
+
+    /**
+     * Computes a stable assignment.
+     *
+     * @param studentCount    number of students
+     * @param capacities      open places per internship
+     * @param prefStart       offsets into the preference arrays, length {@code studentCount + 1}
+     * @param prefInternship  internship index of each preference entry
+     * @param prefRank        rank the internship gave the student for each preference entry;
+     *                        ties are broken by student index
+     * @return internship index assigned to each student, or {@link #UNMATCHED}
+     */
+    public int[] match(int studentCount, int[] capacities, int[] prefStart, int[] prefInternship, int[] prefRank) {
+        int internshipCount = capacities.length;
+        int[] heapStart = new int[internshipCount + 1];
+        for (int i = 0; i < internshipCount; i++) {
+            heapStart[i + 1] = heapStart[i] + Math.max(0, capacities[i]);
+        }
+        long[] heapKeys = new long[heapStart[internshipCount]];
+        int[] heapSizes = new int[internshipCount];
+
+        int[] assignment = new int[studentCount];
+        Arrays.fill(assignment, UNMATCHED);
+        int[] nextChoice = new int[studentCount];
+        int[] free = new int[studentCount];
+        int freeCount = 0;
+        for (int s = studentCount - 1; s >= 0; s--) {
+            nextChoice[s] = prefStart[s];
+            free[freeCount++] = s;
+        }
+
+        while (freeCount > 0) {
+            int student = free[--freeCount];
+            while (nextChoice[student] < prefStart[student + 1]) {
+                int entry = nextChoice[student]++;
+                int internship = prefInternship[entry];
+                int capacity = heapStart[internship + 1] - heapStart[internship];
+                if (capacity == 0) {
+                    continue;
+                }
+                long key = ((long) prefRank[entry] << 32) | student;
+                int base = heapStart[internship];
+                int size = heapSizes[internship];
+                if (size < capacity) {
+                    heapKeys[base + size] = key;
+                    siftUp(heapKeys, base, size);
+                    heapSizes[internship] = size + 1;
+                    assignment[student] = internship;
+                    break;
+                }
+                if (key < heapKeys[base]) {
+                    int displaced = (int) heapKeys[base];
+                    heapKeys[base] = key;
+                    siftDown(heapKeys, base, size);
+                    assignment[student] = internship;
+                    assignment[displaced] = UNMATCHED;
+                    free[freeCount++] = displaced;
+                    break;
+                }
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * Restores max-heap order upwards from a position within one internship's heap.
+     */
+    private static void siftUp(long[] keys, int base, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[base + parent] >= keys[base + index]) {
+                return;
+            }
+            swap(keys, base + parent, base + index);
+            index = parent;
+        }
+    }
+
+    /**
+     * Restores max-heap order downwards from the root of one internship's heap.
+     */
+    private static void siftDown(long[] keys, int base, int size) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left + 1 < size && keys[base + left + 1] > keys[base + left] ? left + 1 : left;
+            if (keys[base + index] >= keys[base + child]) {
+                return;
+            }
+            swap(keys, base + index, base + child);
+            index = child;
+        }
+    }
+
+    /**
+     * Swaps two pool entries.
+     */
+    private static void swap(long[] keys, int a, int b) {
+        long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+    }
+}
@@ -0,0 +1,259 @@
+// documented
+
+package control;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding items until a wall-clock deadline.
+ *
+ * <p>Time is divided into ticks of a fixed length. The wheel has {@value #LEVELS} levels of
+ * {@value #SLOTS} slots each: level 0 covers the next {@value #SLOTS} ticks one slot per tick,
+ * and each higher level covers {@value #SLOTS} times the span of the level below. A timer is
+ * placed in the lowest level whose span reaches its deadline, so scheduling and cancelling are
+ * O(1). Whenever a lower level wraps around, the matching slot of the level above is cascaded
+ * down, and each timer moves down at most {@value #LEVELS} times before it expires. Deadlines
+ * beyond the top level's span are parked in the top level's last slot and re-placed when it
+ * cascades.</p>
+ *
+ * <p>The wheel is not thread-safe; callers sharing it across threads must synchronise.</p>
+ *
+ * @param <T> type of item held by each timer
+ */
+
+public class TimingWheel<T> {
+
+    /** Number of bits addressing a slot within one level. */
+    private static final int SLOT_BITS = 6;
+
+    /** Slots per level. */
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    /** Mask extracting a slot index. */
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    /** Number of levels. */
+    private static final int LEVELS = 4;
+
+    /** Ticks covered by the whole wheel. */
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    /** Length of one tick in milliseconds. */
+    private final long tickMillis;
+
+    /** Sentinel heads of each slot's circular list, indexed by level then slot. */
+    private final Timer<T>[][] buckets;
+
+    /** Last tick that has been processed. */
+    private long currentTick;
+
+    /** Number of scheduled timers. */
+    private int size;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param tickMillis tick length in milliseconds
+     * @param nowMillis  current time in epoch milliseconds
+     * @throws IllegalArgumentException if the tick length is not positive
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive.");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        this.buckets = new Timer[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Timer<T> head = new Timer<>(null, 0);
+                head.prev = head;
+                head.next = head;
+                buckets[level][slot] = head;
+            }
+        }
+    }
+
+    /**
+     * Schedules an item. Deadlines already passed expire on the next advance.
+     *
+     * @param item           the item to hold
+     * @param deadlineMillis deadline in epoch milliseconds
+     * @return the timer, which can be passed to {@link #cancel(Timer)}
+     */
+    public Timer<T> schedule(T item, long deadlineMillis) {
+        long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Timer<T> timer = new Timer<>(item, deadlineMillis);
+        timer.tick = tick;
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a timer. Cancelling a timer that has expired or was already cancelled has no effect.
+     *
+     * @param timer the timer to cancel
+     * @return true if the timer was still scheduled
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (timer == null || timer.next == null) {
+            return false;
+        }
+        timer.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time and hands over every item whose deadline has passed,
+     * in deadline-tick order.
+     *
+     * @param nowMillis current time in epoch milliseconds
+     * @param expired   receives each expired item
+     */
+    public void advance(long nowMillis, Consumer<? super T> expired) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            if (size == 0) {
+                currentTick = target;
+                return;
+            }
+            long tick = ++currentTick;
+            for (int level = 1; level < LEVELS; level++) {
+                if ((tick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                    break;
+                }
+                cascade(level, (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+            }
+            Timer<T> head = buckets[0][(int) (tick & SLOT_MASK)];
+            while (head.next != head) {
+                Timer<T> timer = head.next;
+                timer.unlink();
+                size--;
+                expired.accept(timer.item);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of scheduled timers.
+     *
+     * @return timer count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves every timer in one slot down to the level matching its remaining time.
+     *
+     * @param level the level being cascaded
+     * @param slot  the slot being cascaded
+     */
+    private void cascade(int level, int slot) {
+        Timer<T> head = buckets[level][slot];
+        Timer<T> timer = head.next;
+        head.prev = head;
+        head.next = head;
+        while (timer != head) {
+            Timer<T> next = timer.next;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    /**
+     * Links a timer into the slot for its deadline tick.
+     *
+     * @param timer the timer
+     */
+    private void place(Timer<T> timer) {
+        long delta = timer.tick - currentTick;
+        Timer<T> head;
+        if (delta >= SPAN) {
+            long parked = currentTick + SPAN - 1;
+            head = buckets[LEVELS - 1][(int) ((parked >>> (SLOT_BITS * (LEVELS - 1))) & SLOT_MASK)];
+        } else {
+            int level = 0;
+            while (delta >= (1L << (SLOT_BITS * (level + 1)))) {
+                level++;
+            }
+            head = buckets[level][(int) ((timer.tick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        }
+        timer.prev = head.prev;
+        timer.next = head;
+        head.prev.next = timer;
+        head.prev = timer;
+    }
+
+    /**
+     * Divides rounding towards positive infinity.
+     */
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    /**
+     * One scheduled item, linked into a slot's circular list.
+     *
+     * @param <T> type of the item
+     */
+    public static final class Timer<T> {
+
+        /** The held item. */
+        private final T item;
+
+        /** Deadline in epoch milliseconds. */
+        private final long deadlineMillis;
+
+        /** Deadline rounded up to a tick. */
+        private long tick;
+
+        /** Previous timer in the slot, or null once unlinked. */
+        private Timer<T> prev;
+
+        /** Next timer in the slot, or null once unlinked. */
+        private Timer<T> next;
+
+        /**
+         * Creates a timer.
+         *
+         * @param item           the held item
+         * @param deadlineMillis deadline in epoch milliseconds
+         */
+        private Timer(T item, long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        /**
+         * Returns the held item.
+         *
+         * @return the item
+         */
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Returns the deadline.
+         *
+         * @return deadline in epoch milliseconds
+         */
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /**
+         * Removes this timer from its slot.
+         */
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
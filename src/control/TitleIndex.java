@@ -0,0 +1,234 @@
+// documented
+
+package control;
+
+import entity.Internship;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Keeps internships permanently ordered by title, case-insensitively.
+ *
+ * <p>Each internship's collation key is computed once when it is added, folding every
+ * character the same way as {@link String#CASE_INSENSITIVE_ORDER}. Internships with equal
+ * keys keep the order in which they were added. Because titles never change, the order is
+ * maintained by insertion alone and callers can read results in title order without sorting,
+ * stopping as soon as they have the page they need.</p>
+ */
+
+public class TitleIndex {
+
+    /** Internships ordered by collation key, then by insertion sequence. */
+    private final NavigableMap<TitleKey, Internship> entries = new TreeMap<>();
+
+    /** Key each internship was added under, for removal. */
+    private final Map<Internship, TitleKey> keys = new HashMap<>();
+
+    /** Sequence number assigned to the next added internship. */
+    private long nextSequence;
+
+    /**
+     * Adds an internship in title order. Adding an internship twice has no effect.
+     *
+     * @param internship the internship to add
+     */
+    public void add(Internship internship) {
+        if (internship == null || keys.containsKey(internship)) {
+            return;
+        }
+        TitleKey key = new TitleKey(collationKey(internship.getTitle()), nextSequence++, internship);
+        keys.put(internship, key);
+        entries.put(key, internship);
+    }
+
+    /**
+     * Removes an internship.
+     *
+     * @param internship the internship to remove
+     */
+    public void remove(Internship internship) {
+        TitleKey key = keys.remove(internship);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Returns the number of indexed internships.
+     *
+     * @return index size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns every internship accepted by the predicate, in title order.
+     *
+     * @param predicate selection condition, or null to select all
+     * @return matching internships in title order
+     */
+    public List<Internship> select(Predicate<Internship> predicate) {
+        List<Internship> matches = new ArrayList<>();
+        for (Internship internship : entries.values()) {
+            if (predicate == null || predicate.test(internship)) {
+                matches.add(internship);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the page of internships accepted by the predicate that follows a cursor, in
+     * title order. The walk starts directly after the cursor's title key and stops one match
+     * past the page, so it costs the page plus any rejected internships in between, however
+     * deep the page is.
+     *
+     * @param predicate selection condition, or null to select all
+     * @param cursor    cursor from the previous page, or null for the first page
+     * @param limit     maximum number of matches to return
+     * @return the page, continued by a cursor if more matches follow
+     *
+     * @throws IllegalArgumentException if limit is not positive or the cursor is malformed
+     */
+    public Page<Internship> selectAfter(Predicate<Internship> predicate, String cursor, int limit) {
+        Page.requireLimit(limit);
+        NavigableMap<TitleKey, Internship> tail = cursor == null ? entries
+                : entries.tailMap(new TitleKey(Page.keyOf(cursor), Page.sequenceOf(cursor), null), false);
+        List<Internship> page = new ArrayList<>();
+        TitleKey last = null;
+        for (Map.Entry<TitleKey, Internship> entry : tail.entrySet()) {
+            if (predicate != null && !predicate.test(entry.getValue())) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new Page<>(page, cursorAfter(last));
+            }
+            page.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page<>(page, null);
+    }
+
+    /**
+     * Returns the page of a small set of indexed internships that follows a cursor, in title
+     * order. The set is sorted by its stored keys, so this suits short per-owner lists rather
+     * than the whole catalog.
+     *
+     * @param internships the internships to page through
+     * @param cursor      cursor from the previous page, or null for the first page
+     * @param limit       maximum number of internships to return
+     * @return the page, continued by a cursor if more internships follow
+     *
+     * @throws IllegalArgumentException if limit is not positive or the cursor is malformed
+     */
+    public Page<Internship> pageOf(List<Internship> internships, String cursor, int limit) {
+        Page.requireLimit(limit);
+        TitleKey after = cursor == null ? null : new TitleKey(Page.keyOf(cursor), Page.sequenceOf(cursor), null);
+        List<TitleKey> found = new ArrayList<>();
+        for (Internship internship : internships) {
+            TitleKey key = keys.get(internship);
+            if (key != null && (after == null || key.compareTo(after) > 0)) {
+                found.add(key);
+            }
+        }
+        Collections.sort(found);
+        List<Internship> page = new ArrayList<>();
+        for (int i = 0; i < found.size() && i < limit; i++) {
+            page.add(found.get(i).internship);
+        }
+        return new Page<>(page, found.size() > limit ? cursorAfter(found.get(limit - 1)) : null);
+    }
+
+    /**
+     * Sorts indexed internships into title order using their stored collation keys.
+     * Internships not in the index are dropped.
+     *
+     * @param internships the internships to order
+     * @return a new list in title order
+     */
+    public List<Internship> sort(List<Internship> internships) {
+        List<TitleKey> found = new ArrayList<>(internships.size());
+        for (Internship internship : internships) {
+            TitleKey key = keys.get(internship);
+            if (key != null) {
+                found.add(key);
+            }
+        }
+        Collections.sort(found);
+        List<Internship> sorted = new ArrayList<>(found.size());
+        for (TitleKey key : found) {
+            sorted.add(key.internship);
+        }
+        return sorted;
+    }
+
+    /**
+     * Encodes the cursor naming the position just after a key.
+     *
+     * @param key the last key of a page
+     * @return the cursor
+     */
+    private static String cursorAfter(TitleKey key) {
+        return Page.cursor(key.sequence, key.collationKey);
+    }
+
+    /**
+     * Folds a title into a key whose natural order matches
+     * {@link String#CASE_INSENSITIVE_ORDER} on the original titles.
+     *
+     * @param title the title, possibly null
+     * @return the case-folded collation key
+     */
+    static String collationKey(String title) {
+        if (title == null) {
+            return "";
+        }
+        char[] folded = new char[title.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(title.charAt(i)));
+        }
+        return new String(folded);
+    }
+
+    /**
+     * Ordering key: collation key first, insertion sequence as the tie-breaker.
+     */
+    private static final class TitleKey implements Comparable<TitleKey> {
+
+        /** Case-folded title. */
+        private final String collationKey;
+
+        /** Insertion sequence number. */
+        private final long sequence;
+
+        /** The internship this key orders. */
+        private final Internship internship;
+
+        /**
+         * Creates an ordering key.
+         *
+         * @param collationKey case-folded title
+         * @param sequence     insertion sequence number
+         * @param internship   the internship being ordered
+         */
+        private TitleKey(String collationKey, long sequence, Internship internship) {
+            this.collationKey = collationKey;
+            this.sequence = sequence;
+            this.internship = internship;
+        }
+
+        @Override
+        public int compareTo(TitleKey other) {
+            int byTitle = collationKey.compareTo(other.collationKey);
+            return byTitle != 0 ? byTitle : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -13,7 +13,12 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 import java.util.regex.Pattern;
 
 /**
@@ -26,10 +31,14 @@ import java.util.regex.Pattern;
  *     <li>Login and password reset</li>
  *     <li>Tracking and processing company representative account requests</li>
  *     <li>Providing filtered views of account requests and staff members</li>
+ *     <li>Recording representative registrations and decisions in the {@link EventLog}</li>
  * </ul>
  */
 public class UserManager {
 
+    /** Structured log for loader diagnostics. */
+    private static final AsyncLogger.Logger LOG = AsyncLogger.getLogger("users");
+
     /** Validation pattern for student IDs (e.g., U1234567A). */
     private static final Pattern STUDENT_ID_PATTERN = Pattern.compile("^U\\d{7}[A-Z]$");
 
@@ -45,12 +54,65 @@ public class UserManager {
     /** All registered users in the system. */
     private final List<User> users = new ArrayList<>();
 
+    /** Registered users keyed by lower-case user ID. */
+    private final Map<String, User> usersById = new HashMap<>();
+
     /** All company representative account approval requests. */
     private final List<AccountRequest> accountRequests = new ArrayList<>();
 
+    /** Position of each request in {@link #accountRequests}; requests are never removed. */
+    private final Map<AccountRequest, Integer> requestPositions = new HashMap<>();
+
+    /** Positions of the requests still pending, for paging without a scan. */
+    private final NavigableSet<Integer> pendingPositions = new TreeSet<>();
+
+    /** Pending requests keyed by lower-case representative ID. */
+    private final Map<String, AccountRequest> pendingRequestsByRep = new HashMap<>();
+
     /** Last login-related message (e.g., success/failure reason) for display. */
     private String lastLoginMessage = "";
 
+    /** Registry used to canonicalise company names and index representatives by company. */
+    private CompanyRegistry companyRegistry;
+
+    /** Log that representative registrations and decisions are appended to, if configured. */
+    private EventLog eventLog;
+
+    /** Catalog that student majors are resolved against. */
+    private SchoolMajorCatalog schoolMajorCatalog = new SchoolMajorCatalog();
+
+    /** Latency of login attempts. */
+    private LatencyHistogram loginLatency;
+
+    /** Logins that returned a user. */
+    private Counter loginSuccesses;
+
+    /** Logins that were refused. */
+    private Counter loginFailures;
+
+    /** Time taken to load the student CSV file. */
+    private LatencyHistogram studentLoadLatency;
+
+    /** Time taken to load the staff CSV file. */
+    private LatencyHistogram staffLoadLatency;
+
+    /** Time taken to load the representative CSV file. */
+    private LatencyHistogram representativeLoadLatency;
+
+    /** CSV rows registered as users. */
+    private Counter csvRowsLoaded;
+
+    /** CSV rows skipped as malformed or invalid. */
+    private Counter csvRowsSkipped;
+
+    /**
+     * Creates a user manager recording into a private metrics registry until
+     * {@link #setMetricsRegistry(MetricsRegistry)} is called.
+     */
+    public UserManager() {
+        bindMetrics(new MetricsRegistry());
+    }
+
     /**
      * Loads all users (students, staff, company representatives) from their respective files.
      *
@@ -59,9 +121,15 @@ public class UserManager {
      * @param companyFile CSV file containing company representative records
      */
     public void loadAllUsers(File studentFile, File staffFile, File companyFile) {
+        long start = System.nanoTime();
         loadStudents(studentFile);
+        studentLoadLatency.recordSince(start);
+        start = System.nanoTime();
         loadStaff(staffFile);
+        staffLoadLatency.recordSince(start);
+        start = System.nanoTime();
         loadCompanyRepresentatives(companyFile);
+        representativeLoadLatency.recordSince(start);
     }
 
     /**
@@ -78,6 +146,21 @@ public class UserManager {
      * @return the logged-in {@link User}, or null if login fails
      */
     public User login(String id, String pass) {
+        long start = System.nanoTime();
+        User user = attemptLogin(id, pass);
+        loginLatency.recordSince(start);
+        (user != null ? loginSuccesses : loginFailures).increment();
+        return user;
+    }
+
+    /**
+     * Checks the credentials and account state of a login attempt.
+     *
+     * @param id   user ID
+     * @param pass password
+     * @return the logged-in {@link User}, or null if login fails
+     */
+    private User attemptLogin(String id, String pass) {
         if (id == null || id.isBlank()) {
             lastLoginMessage = "User ID is required. Enter your assigned ID or register first.";
             return null;
@@ -170,7 +253,11 @@ public class UserManager {
         if (year < 1 || year > 4) {
             return false;
         }
-        Student student = new Student(id.trim(), name.trim(), password, year, major == null ? "" : major.trim());
+        short majorId = schoolMajorCatalog.resolveMajorId(major);
+        String canonicalMajor = schoolMajorCatalog.getMajorName(majorId);
+        Student student = new Student(id.trim(), name.trim(), password, year,
+                canonicalMajor != null ? canonicalMajor : major == null ? "" : major.trim());
+        student.resolveMajor(majorId, canonicalMajor);
         return addUser(student);
     }
 
@@ -201,17 +288,27 @@ public class UserManager {
         if (companyName == null || companyName.isBlank()) {
             return false;
         }
-        CompanyRep representative = new CompanyRep(id.trim(), name.trim(), password, companyName.trim(),
+        String company = companyRegistry == null ? companyName.trim() : companyRegistry.canonicalName(companyName);
+        CompanyRep representative = new CompanyRep(id.trim(), name.trim(), password, company,
                 department == null ? "" : department.trim(), position == null ? "" : position.trim(), approved);
         if (!addUser(representative)) {
             return false;
         }
+        if (companyRegistry != null) {
+            companyRegistry.indexRepresentative(representative);
+        }
         AccountRequest request = new AccountRequest(representative);
         if (approved) {
             representative.setApproved(true);
             request.setStatus(AccountRequest.STATUS_APPROVED);
         }
+        requestPositions.put(request, accountRequests.size());
+        if (!approved) {
+            pendingPositions.add(accountRequests.size());
+            pendingRequestsByRep.put(idKey(representative.getUserID()), request);
+        }
         accountRequests.add(request);
+        record(DomainEventType.REP_REGISTERED, representative, null, request.getStatus());
         return true;
     }
 
@@ -250,17 +347,7 @@ public class UserManager {
         if (repId == null || approver == null) {
             return false;
         }
-        AccountRequest request = findRequest(repId.trim());
-        if (request == null) {
-            return false;
-        }
-        request.setApprover(approver);
-        request.setStatus(AccountRequest.STATUS_APPROVED);
-        CompanyRep rep = request.getRep();
-        if (rep != null) {
-            rep.setApproved(true);
-        }
-        return true;
+        return decideRepresentative(findRequest(repId.trim()), approver, true, null);
     }
 
     /**
@@ -275,20 +362,118 @@ public class UserManager {
         if (repId == null || approver == null) {
             return false;
         }
-        AccountRequest request = findRequest(repId.trim());
-        if (request == null) {
+        return decideRepresentative(findRequest(repId.trim()), approver, false, notes);
+    }
+
+    /**
+     * Records a decision on a pending account request already in hand, without looking it up.
+     *
+     * @param request  the pending request
+     * @param approver staff member deciding the request
+     * @param approve  true to approve, false to reject
+     * @param notes    optional rejection notes, ignored on approval
+     * @return true if the request was pending and is now decided; false otherwise
+     */
+    public boolean decideRepresentative(AccountRequest request, CareerCenterStaff approver,
+                                        boolean approve, String notes) {
+        if (request == null || approver == null
+                || !AccountRequest.STATUS_PENDING.equals(request.getStatus())) {
             return false;
         }
         request.setApprover(approver);
-        request.setDecisionNotes(notes);
-        request.setStatus(AccountRequest.STATUS_REJECTED);
+        Integer position = requestPositions.get(request);
+        if (position != null) {
+            pendingPositions.remove(position);
+        }
+        if (request.getRep() != null) {
+            pendingRequestsByRep.remove(idKey(request.getRep().getUserID()), request);
+        }
+        if (approve) {
+            request.setStatus(AccountRequest.STATUS_APPROVED);
+        } else {
+            request.setDecisionNotes(notes);
+            request.setStatus(AccountRequest.STATUS_REJECTED);
+        }
         CompanyRep rep = request.getRep();
         if (rep != null) {
-            rep.setApproved(false);
+            rep.setApproved(approve);
+            record(approve ? DomainEventType.REP_APPROVED : DomainEventType.REP_REJECTED, rep,
+                    AccountRequest.STATUS_PENDING, request.getStatus());
         }
         return true;
     }
 
+    /**
+     * Appends an event about a representative to the event log, if one is configured.
+     *
+     * @param type kind of change
+     * @param rep  representative concerned
+     * @param from previous request status, or null
+     * @param to   new request status
+     */
+    private void record(DomainEventType type, CompanyRep rep, String from, String to) {
+        if (eventLog != null) {
+            eventLog.append(type, rep.getCompanyName(), null, rep.getUserID(), from, to);
+        }
+    }
+
+    /**
+     * Assigns the log that representative registrations and decisions are recorded in.
+     *
+     * @param eventLog event log instance
+     */
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Assigns the company registry used to canonicalise company names.
+     *
+     * @param companyRegistry company registry instance
+     */
+    public void setCompanyRegistry(CompanyRegistry companyRegistry) {
+        this.companyRegistry = companyRegistry;
+    }
+
+    /**
+     * Assigns the registry that login and CSV loading metrics are recorded in.
+     *
+     * @param metricsRegistry metrics registry instance
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        if (metricsRegistry != null) {
+            bindMetrics(metricsRegistry);
+        }
+    }
+
+    /**
+     * Looks up the metrics this manager records in.
+     *
+     * @param metricsRegistry registry holding the metrics
+     */
+    private void bindMetrics(MetricsRegistry metricsRegistry) {
+        loginLatency = metricsRegistry.histogram("user.login");
+        loginSuccesses = metricsRegistry.counter("user.login.success");
+        loginFailures = metricsRegistry.counter("user.login.failure");
+        studentLoadLatency = metricsRegistry.histogram("csv.load.students");
+        staffLoadLatency = metricsRegistry.histogram("csv.load.staff");
+        representativeLoadLatency = metricsRegistry.histogram("csv.load.representatives");
+        csvRowsLoaded = metricsRegistry.counter("csv.rows.loaded");
+        csvRowsSkipped = metricsRegistry.counter("csv.rows.skipped");
+    }
+
+    /**
+     * Assigns the catalog used to resolve student majors to IDs. Should be set before
+     * any student is registered.
+     *
+     * @param schoolMajorCatalog school-major catalog instance
+     */
+    public void setSchoolMajorCatalog(SchoolMajorCatalog schoolMajorCatalog) {
+        if (schoolMajorCatalog != null) {
+            this.schoolMajorCatalog = schoolMajorCatalog;
+        }
+    }
+
     /**
      * Returns the first page of pending account requests using the default page size.
      *
@@ -314,15 +499,73 @@ public class UserManager {
             pageSize = DEFAULT_PENDING_PAGE_SIZE;
         }
         String filter = statusFilter == null ? AccountRequest.STATUS_PENDING : statusFilter.trim();
+        long skip = (long) (page - 1) * pageSize;
         List<AccountRequest> matches = new ArrayList<>();
-        for (AccountRequest request : accountRequests) {
-            if ("ALL".equalsIgnoreCase(filter) || request.getStatus().equalsIgnoreCase(filter)) {
-                matches.add(request);
+        for (int position = nextMatching(filter, 0); position >= 0; position = nextMatching(filter, position + 1)) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            matches.add(accountRequests.get(position));
+            if (matches.size() == pageSize) {
+                break;
+            }
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    /**
+     * Returns the page of account requests with a given status that follows a cursor, in
+     * submission order.
+     *
+     * <p>Pending requests are read from an index of pending positions and unfiltered listings
+     * straight from the request list, so either costs the page size however deep the page is.
+     * Other status filters walk the requests from the cursor until the page is filled.</p>
+     *
+     * @param statusFilter status string or "ALL" (case-insensitive); null means pending
+     * @param cursor       cursor from the previous page, or null for the first page
+     * @param limit        maximum number of requests to return
+     * @return the page of matching account requests
+     *
+     * @throws IllegalArgumentException if limit is not positive or the cursor is malformed
+     */
+    public Page<AccountRequest> getAccountRequests(String statusFilter, String cursor, int limit) {
+        Page.requireLimit(limit);
+        String filter = statusFilter == null ? AccountRequest.STATUS_PENDING : statusFilter.trim();
+        long from = Page.sequenceOf(cursor);
+        List<AccountRequest> matches = new ArrayList<>();
+        int last = -1;
+        int start = (int) Math.min(from, accountRequests.size());
+        for (int position = nextMatching(filter, start); position >= 0; position = nextMatching(filter, position + 1)) {
+            if (matches.size() == limit) {
+                return new Page<>(matches, Page.cursor(last + 1L, null));
+            }
+            matches.add(accountRequests.get(position));
+            last = position;
+        }
+        return new Page<>(matches, null);
+    }
+
+    /**
+     * Finds the first request at or after a position that matches a status filter. Pending
+     * requests are looked up in {@link #pendingPositions}; other filters scan forward.
+     *
+     * @param filter status string or "ALL" (case-insensitive)
+     * @param from   first position to consider
+     * @return position of the match, or -1 if none
+     */
+    private int nextMatching(String filter, int from) {
+        if (AccountRequest.STATUS_PENDING.equalsIgnoreCase(filter)) {
+            Integer position = pendingPositions.ceiling(from);
+            return position == null ? -1 : position;
+        }
+        boolean all = "ALL".equalsIgnoreCase(filter);
+        for (int position = from; position < accountRequests.size(); position++) {
+            if (all || accountRequests.get(position).getStatus().equalsIgnoreCase(filter)) {
+                return position;
             }
         }
-        int fromIndex = Math.min(matches.size(), (page - 1) * pageSize);
-        int toIndex = Math.min(matches.size(), fromIndex + pageSize);
-        return Collections.unmodifiableList(matches.subList(fromIndex, toIndex));
+        return -1;
     }
 
     /**
@@ -347,9 +590,13 @@ public class UserManager {
      */
     private void loadStudents(File file) {
         if (!isReadable(file)) {
-            System.err.println("Student file missing: " + (file == null ? "null" : file.getPath()));
+            LOG.log(LogLevel.WARN, "Student file missing", "file", file == null ? null : file.getPath());
             return;
         }
+        FlightEvents.CsvLoad event = new FlightEvents.CsvLoad();
+        event.begin();
+        int loaded = 0;
+        int skipped = 0;
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             reader.readLine();
             String line;
@@ -361,7 +608,8 @@ public class UserManager {
                 }
                 String[] tokens = line.split(",");
                 if (tokens.length < 4) {
-                    System.err.println("Skipping malformed student row " + lineNo);
+                    LOG.log(LogLevel.WARN, "Skipping malformed student row", "file", file.getPath(), "row", lineNo);
+                    skipped++;
                     continue;
                 }
                 String id = tokens[0].trim();
@@ -369,9 +617,15 @@ public class UserManager {
                 String major = tokens[2].trim();
                 int year = parseInt(tokens[3].trim(), 1);
                 if (!registerStudent(id, name, User.DEFAULT_PASSWORD, year, major)) {
-                    System.err.println("Failed to register student at row " + lineNo + " (" + id + ")");
+                    LOG.log(LogLevel.WARN, "Failed to register student", "file", file.getPath(), "row", lineNo, "id", id);
+                    skipped++;
+                } else {
+                    loaded++;
                 }
             }
+            csvRowsLoaded.add(loaded);
+            csvRowsSkipped.add(skipped);
+            event.complete(file, loaded, skipped);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to load students", e);
         }
@@ -384,9 +638,13 @@ public class UserManager {
      */
     private void loadStaff(File file) {
         if (!isReadable(file)) {
-            System.err.println("Staff file missing: " + (file == null ? "null" : file.getPath()));
+            LOG.log(LogLevel.WARN, "Staff file missing", "file", file == null ? null : file.getPath());
             return;
         }
+        FlightEvents.CsvLoad event = new FlightEvents.CsvLoad();
+        event.begin();
+        int loaded = 0;
+        int skipped = 0;
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             reader.readLine();
             String line;
@@ -398,16 +656,23 @@ public class UserManager {
                 }
                 String[] tokens = line.split(",");
                 if (tokens.length < 4) {
-                    System.err.println("Skipping malformed staff row " + lineNo);
+                    LOG.log(LogLevel.WARN, "Skipping malformed staff row", "file", file.getPath(), "row", lineNo);
+                    skipped++;
                     continue;
                 }
                 String id = tokens[0].trim();
                 String name = tokens[1].trim();
                 String department = tokens[3].trim();
                 if (!registerCareerCenterStaff(id, name, User.DEFAULT_PASSWORD, department)) {
-                    System.err.println("Failed to register staff at row " + lineNo + " (" + id + ")");
+                    LOG.log(LogLevel.WARN, "Failed to register staff", "file", file.getPath(), "row", lineNo, "id", id);
+                    skipped++;
+                } else {
+                    loaded++;
                 }
             }
+            csvRowsLoaded.add(loaded);
+            csvRowsSkipped.add(skipped);
+            event.complete(file, loaded, skipped);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to load staff", e);
         }
@@ -420,9 +685,13 @@ public class UserManager {
      */
     private void loadCompanyRepresentatives(File file) {
         if (!isReadable(file)) {
-            System.err.println("Company representative file missing: " + (file == null ? "null" : file.getPath()));
+            LOG.log(LogLevel.WARN, "Company representative file missing", "file", file == null ? null : file.getPath());
             return;
         }
+        FlightEvents.CsvLoad event = new FlightEvents.CsvLoad();
+        event.begin();
+        int loaded = 0;
+        int skipped = 0;
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             reader.readLine();
             String line;
@@ -434,7 +703,8 @@ public class UserManager {
                 }
                 String[] tokens = line.split(",");
                 if (tokens.length < 6) {
-                    System.err.println("Skipping malformed representative row " + lineNo);
+                    LOG.log(LogLevel.WARN, "Skipping malformed representative row", "file", file.getPath(), "row", lineNo);
+                    skipped++;
                     continue;
                 }
                 String id = tokens[0].trim();
@@ -444,9 +714,15 @@ public class UserManager {
                 String position = tokens[4].trim();
                 boolean approved = tokens.length > 6 && Boolean.parseBoolean(tokens[6].trim());
                 if (!registerCompanyRep(id, name, User.DEFAULT_PASSWORD, company, department, position, approved)) {
-                    System.err.println("Failed to register representative at row " + lineNo + " (" + id + ")");
+                    LOG.log(LogLevel.WARN, "Failed to register representative", "file", file.getPath(), "row", lineNo, "id", id);
+                    skipped++;
+                } else {
+                    loaded++;
                 }
             }
+            csvRowsLoaded.add(loaded);
+            csvRowsSkipped.add(skipped);
+            event.complete(file, loaded, skipped);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to load company representatives", e);
         }
@@ -463,6 +739,7 @@ public class UserManager {
             return false;
         }
         users.add(user);
+        usersById.put(idKey(user.getUserID()), user);
         return true;
     }
 
@@ -473,15 +750,7 @@ public class UserManager {
      * @return true if the user exists, false otherwise
      */
     private boolean userExists(String id) {
-        if (id == null) {
-            return false;
-        }
-        for (User user : users) {
-            if (user.getUserID().equalsIgnoreCase(id)) {
-                return true;
-            }
-        }
-        return false;
+        return id != null && usersById.containsKey(idKey(id));
     }
 
     /**
@@ -505,11 +774,21 @@ public class UserManager {
         try {
             return Integer.parseInt(value);
         } catch (NumberFormatException e) {
-            System.err.println("Failed to parse number '" + value + "'. Using fallback " + fallback + ".");
+            LOG.log(LogLevel.WARN, "Failed to parse number, using fallback", "value", value, "fallback", fallback);
             return fallback;
         }
     }
 
+    /**
+     * Returns the pending account request of a representative.
+     *
+     * @param repId representative ID (case-insensitive)
+     * @return the pending request, or null if the representative has none
+     */
+    public AccountRequest findPendingRequest(String repId) {
+        return repId == null ? null : findRequest(repId.trim());
+    }
+
     /**
      * Finds a user by ID (case-insensitive).
      *
@@ -517,15 +796,7 @@ public class UserManager {
      * @return the matching user or null if not found
      */
     public User findUserById(String id) {
-        if (id == null) {
-            return null;
-        }
-        for (User user : users) {
-            if (user.getUserID().equalsIgnoreCase(id.trim())) {
-                return user;
-            }
-        }
-        return null;
+        return id == null ? null : usersById.get(idKey(id.trim()));
     }
 
     /**
@@ -535,16 +806,17 @@ public class UserManager {
      * @return matching {@link AccountRequest} or null if none found
      */
     private AccountRequest findRequest(String repId) {
-        if (repId == null) {
-            return null;
-        }
-        for (AccountRequest request : accountRequests) {
-            if (request.getRep() != null && request.getRep().getUserID().equalsIgnoreCase(repId)
-                    && AccountRequest.STATUS_PENDING.equals(request.getStatus())) {
-                return request;
-            }
-        }
-        return null;
+        return repId == null ? null : pendingRequestsByRep.get(idKey(repId));
+    }
+
+    /**
+     * Normalises a user ID into the key of {@link #usersById} and {@link #pendingRequestsByRep}.
+     *
+     * @param id user ID
+     * @return lower-case ID
+     */
+    private static String idKey(String id) {
+        return id.toLowerCase(Locale.ROOT);
     }
 
     /**
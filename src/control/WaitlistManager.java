@@ -0,0 +1,249 @@
+// documented
+
+package control;
+
+import entity.Application;
+import entity.ApplicationStatus;
+import entity.Internship;
+import entity.Student;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Keeps a ranked waitlist per internship and refills freed slots automatically.
+ *
+ * <p>When an internship fills up, the applications marked unsuccessful because no slot was
+ * left are placed on that internship's waitlist, ranked by the order in which they applied.
+ * Whenever a slot is released, the best-ranked applicant who can still take it is promoted:
+ * the application becomes {@link ApplicationStatus#SUCCESSFUL} and the student receives the
+ * usual offer notification. Each waitlist is a priority queue, so enqueueing and promoting are
+ * O(log n). Applicants who have since accepted another placement or reached the active
+ * application limit are dropped when they reach the head of the queue.</p>
+ *
+ * <p>For monitoring, the manager records how long promotion took after each release and how
+ * long promoted students took to accept their offers.</p>
+ */
+
+public class WaitlistManager {
+
+    /** Waitlisted applications per internship, best first. */
+    private final Map<Internship, PriorityQueue<Entry>> waitlists = new HashMap<>();
+
+    /** Applications currently on a waitlist, to avoid queueing one twice. */
+    private final Set<Application> queued = new HashSet<>();
+
+    /** Time each promoted offer was made, for acceptance latency. */
+    private final Map<Application, Long> offeredAt = new HashMap<>();
+
+    /** Sends offer notifications. */
+    private NotificationManager notificationManager;
+
+    /** Starts the acceptance deadline of promoted offers, if configured. */
+    private OfferExpiryManager offerExpiryManager;
+
+    /** Sequence number assigned to the next queued entry, for stable ordering. */
+    private long nextSequence;
+
+    /** Number of offers made from waitlists. */
+    private long promotions;
+
+    /** Total nanoseconds from slot release to offer. */
+    private long totalPromotionNanos;
+
+    /** Number of promoted offers accepted. */
+    private long acceptances;
+
+    /** Total nanoseconds from promoted offer to acceptance. */
+    private long totalAcceptanceNanos;
+
+    /**
+     * Places an application on its internship's waitlist.
+     *
+     * @param application the application that missed out on a slot
+     * @param rank        applicant rank, lower is better; equal ranks keep queueing order
+     */
+    public void enqueue(Application application, int rank) {
+        if (application == null || !queued.add(application)) {
+            return;
+        }
+        waitlists.computeIfAbsent(application.getInternship(), key -> new PriorityQueue<>())
+                .add(new Entry(application, rank, nextSequence++));
+    }
+
+    /**
+     * Offers a just-released slot to the best-ranked applicant still able to take it.
+     *
+     * @param internship the internship whose slot was released
+     * @return the promoted application, or null if the waitlist had no eligible applicant
+     */
+    public Application promote(Internship internship) {
+        long releasedAt = System.nanoTime();
+        PriorityQueue<Entry> waitlist = waitlists.get(internship);
+        if (waitlist == null) {
+            return null;
+        }
+        Application promoted = null;
+        while (promoted == null && !waitlist.isEmpty()) {
+            Application candidate = waitlist.poll().application;
+            queued.remove(candidate);
+            if (canTakeOffer(candidate)) {
+                promoted = candidate;
+            }
+        }
+        if (waitlist.isEmpty()) {
+            waitlists.remove(internship);
+        }
+        if (promoted == null) {
+            return null;
+        }
+        promoted.setStatus(ApplicationStatus.SUCCESSFUL);
+        if (notificationManager != null) {
+            notificationManager.notifyStudentOfferAwaitingAcceptance(promoted);
+        }
+        if (offerExpiryManager != null) {
+            offerExpiryManager.track(promoted);
+        }
+        long now = System.nanoTime();
+        offeredAt.put(promoted, now);
+        promotions++;
+        totalPromotionNanos += now - releasedAt;
+        return promoted;
+    }
+
+    /**
+     * Records that a student accepted an offer. Only offers made from a waitlist are timed.
+     *
+     * @param application the accepted application
+     */
+    public void recordAcceptance(Application application) {
+        Long offered = offeredAt.remove(application);
+        if (offered != null) {
+            acceptances++;
+            totalAcceptanceNanos += System.nanoTime() - offered;
+        }
+    }
+
+    /**
+     * Returns the number of applicants waiting for an internship.
+     *
+     * @param internship the internship
+     * @return waitlist length, including applicants who may be skipped on promotion
+     */
+    public int getWaitlistSize(Internship internship) {
+        PriorityQueue<Entry> waitlist = waitlists.get(internship);
+        return waitlist == null ? 0 : waitlist.size();
+    }
+
+    /**
+     * Returns the number of offers made from waitlists.
+     *
+     * @return promotion count
+     */
+    public long getPromotionCount() {
+        return promotions;
+    }
+
+    /**
+     * Returns the mean time from a slot being released to the replacement offer.
+     *
+     * @return mean promotion latency in milliseconds, or 0 if none yet
+     */
+    public double getAveragePromotionMillis() {
+        return promotions == 0 ? 0.0 : totalPromotionNanos / 1_000_000.0 / promotions;
+    }
+
+    /**
+     * Returns the number of waitlist offers that have been accepted.
+     *
+     * @return acceptance count
+     */
+    public long getAcceptanceCount() {
+        return acceptances;
+    }
+
+    /**
+     * Returns the mean time students took to accept waitlist offers.
+     *
+     * @return mean acceptance latency in milliseconds, or 0 if none yet
+     */
+    public double getAverageAcceptanceMillis() {
+        return acceptances == 0 ? 0.0 : totalAcceptanceNanos / 1_000_000.0 / acceptances;
+    }
+
+    /**
+     * Assigns the notification manager used for offer notifications.
+     *
+     * @param notificationManager notification manager instance
+     */
+    public void setNotificationManager(NotificationManager notificationManager) {
+        this.notificationManager = notificationManager;
+    }
+
+    /**
+     * Assigns the manager that gives promoted offers an acceptance deadline.
+     *
+     * @param offerExpiryManager offer expiry manager instance
+     */
+    public void setOfferExpiryManager(OfferExpiryManager offerExpiryManager) {
+        this.offerExpiryManager = offerExpiryManager;
+    }
+
+    /**
+     * Checks whether a waitlisted application may still be offered a slot.
+     *
+     * @param application the application
+     * @return true if it is still unsuccessful and its student is free to take an offer
+     */
+    private boolean canTakeOffer(Application application) {
+        if (application.getStatus() != ApplicationStatus.UNSUCCESSFUL || application.isWithdrawalRequested()) {
+            return false;
+        }
+        Student student = application.getStudent();
+        if (student.hasAcceptedPlacement()) {
+            return false;
+        }
+        long active = student.getApplications().stream()
+                .filter(app -> app.getStatus() == ApplicationStatus.PENDING
+                        || app.getStatus() == ApplicationStatus.SUCCESSFUL)
+                .count();
+        return active < ApplicationManager.MAX_ACTIVE_APPLICATIONS;
+    }
+
+    /**
+     * One waitlisted application, ordered by rank then queueing sequence.
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        /** The waitlisted application. */
+        private final Application application;
+
+        /** Applicant rank, lower is better. */
+        private final int rank;
+
+        /** Queueing sequence number. */
+        private final long sequence;
+
+        /**
+         * Creates an entry.
+         *
+         * @param application the application
+         * @param rank        applicant rank
+         * @param sequence    queueing sequence number
+         */
+        private Entry(Application application, int rank, long sequence) {
+            this.application = application;
+            this.rank = rank;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byRank = Integer.compare(rank, other.rank);
+            return byRank != 0 ? byRank : Long.compare(sequence, other.sequence);
+        }
+    }
+}
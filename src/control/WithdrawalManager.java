@@ -5,13 +5,16 @@ package control;
 import entity.Application;
 import entity.CareerCenterStaff;
 import entity.Internship;
-import entity.InternshipSlot;
 import entity.InternshipStatus;
 import entity.WithdrawalRequest;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 /**
  * Manages withdrawal requests for internship applications.
@@ -20,15 +23,32 @@ import java.util.List;
  * <ul>
  *     <li>Submitting new withdrawal requests</li>
  *     <li>Processing requests (approve or reject)</li>
- *     <li>Releasing internship slots when withdrawals are approved</li>
+ *     <li>Releasing internship slots when withdrawals are approved and offering
+ *         them to the internship's waitlist</li>
  *     <li>Providing access to all pending withdrawal requests</li>
+ *     <li>Recording requests and decisions in the {@link EventLog}</li>
  * </ul>
  */
 
 public class WithdrawalManager {
 
-    /** List of currently pending withdrawal requests. */
-    private final List<WithdrawalRequest> requests = new ArrayList<>();
+    /** Currently pending withdrawal requests, keyed by submission sequence. */
+    private final NavigableMap<Long, WithdrawalRequest> requests = new TreeMap<>();
+
+    /** Submission sequence of each pending request. */
+    private final Map<WithdrawalRequest, Long> sequences = new HashMap<>();
+
+    /** Sequence assigned to the next submitted request. */
+    private long nextSequence;
+
+    /** Waitlist refilling released slots, if configured. */
+    private WaitlistManager waitlistManager;
+
+    /** Log that requests, decisions and released slots are appended to, if configured. */
+    private EventLog eventLog;
+
+    /** Cancels the deadline of offers that are withdrawn, if configured. */
+    private OfferExpiryManager offerExpiryManager;
 
     /**
      * Submits a withdrawal request for the given application.
@@ -52,14 +72,17 @@ public class WithdrawalManager {
         }
         String trimmedReason = reason == null ? "" : reason.trim();
         WithdrawalRequest request = app.requestWithdrawal(trimmedReason);
-        requests.add(request);
+        requests.put(nextSequence, request);
+        sequences.put(request, nextSequence++);
+        record(DomainEventType.WITHDRAWAL_REQUESTED, app, null);
         return request;
     }
 
     /**
      * Processes a withdrawal request by either approving or rejecting it.
      *
-     * <p>If approved, the corresponding internship slot is released and the
+     * <p>If approved, the deadline of an offer still awaiting acceptance is
+     * cancelled, the corresponding internship slot is released and the
      * internship status is set back to {@link InternshipStatus#APPROVED} and
      * made visible again.</p>
      *
@@ -74,40 +97,180 @@ public class WithdrawalManager {
         }
         request.setProcessedBy(staff);
         if (approve) {
-            request.approve();
-            releaseSlot(request.getApplication());
+            approve(request);
         } else {
             request.reject();
         }
-        requests.remove(request);
+        if (removePending(request)) {
+            recordDecision(request, approve);
+        }
         return true;
     }
 
     /**
-     * Returns an unmodifiable view of all currently pending withdrawal requests.
+     * Processes many withdrawal requests at once and removes them from the pending list in a
+     * single pass. Requests that are not pending are skipped.
+     *
+     * @param decisions true to approve or false to reject, for each request
+     * @param staff     the staff member processing the requests
+     * @return number of requests processed
+     */
+    public int processRequests(Map<WithdrawalRequest, Boolean> decisions, CareerCenterStaff staff) {
+        if (decisions == null || staff == null) {
+            return 0;
+        }
+        int processed = 0;
+        for (Map.Entry<WithdrawalRequest, Boolean> decision : decisions.entrySet()) {
+            WithdrawalRequest request = decision.getKey();
+            if (!removePending(request)) {
+                continue;
+            }
+            request.setProcessedBy(staff);
+            boolean approve = Boolean.TRUE.equals(decision.getValue());
+            if (approve) {
+                approve(request);
+            } else {
+                request.reject();
+            }
+            recordDecision(request, approve);
+            processed++;
+        }
+        return processed;
+    }
+
+    /**
+     * Returns a snapshot of all currently pending withdrawal requests, oldest first.
      *
-     * @return list of pending {@link WithdrawalRequest} objects
+     * @return unmodifiable list of pending {@link WithdrawalRequest} objects
      */
     public List<WithdrawalRequest> getPendingRequests() {
-        return Collections.unmodifiableList(requests);
+        return Collections.unmodifiableList(new ArrayList<>(requests.values()));
+    }
+
+    /**
+     * Returns the page of pending withdrawal requests that follows a cursor, oldest first.
+     * The page resumes after the last request's submission sequence, so requests processed
+     * in the meantime do not shift it.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit  maximum number of requests to return
+     * @return the page of pending requests
+     *
+     * @throws IllegalArgumentException if limit is not positive or the cursor is malformed
+     */
+    public Page<WithdrawalRequest> getPendingRequests(String cursor, int limit) {
+        Page.requireLimit(limit);
+        List<WithdrawalRequest> page = new ArrayList<>();
+        long last = -1;
+        for (Map.Entry<Long, WithdrawalRequest> entry : requests.tailMap(Page.sequenceOf(cursor), true).entrySet()) {
+            if (page.size() == limit) {
+                return new Page<>(page, Page.cursor(last + 1, null));
+            }
+            page.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page<>(page, null);
+    }
+
+    /**
+     * Assigns the waitlist that is offered slots released by approved withdrawals.
+     *
+     * @param waitlistManager waitlist manager instance
+     */
+    public void setWaitlistManager(WaitlistManager waitlistManager) {
+        this.waitlistManager = waitlistManager;
     }
 
     /**
-     * Releases the internship slot associated with the application's student
-     * and restores the internship's status to {@link InternshipStatus#APPROVED}
-     * and visibility to true.
+     * Assigns the log that requests, decisions and released slots are recorded in.
+     *
+     * @param eventLog event log instance
+     */
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Assigns the manager whose deadline is cancelled when an offer is withdrawn.
+     *
+     * @param offerExpiryManager offer expiry manager instance
+     */
+    public void setOfferExpiryManager(OfferExpiryManager offerExpiryManager) {
+        this.offerExpiryManager = offerExpiryManager;
+    }
+
+    /**
+     * Approves a request, cancelling the deadline of its offer and releasing its slot.
+     *
+     * @param request the request
+     */
+    private void approve(WithdrawalRequest request) {
+        request.approve();
+        if (offerExpiryManager != null) {
+            offerExpiryManager.cancel(request.getApplication());
+        }
+        releaseSlot(request.getApplication());
+    }
+
+    /**
+     * Removes a request from the pending requests.
+     *
+     * @param request the request
+     * @return true if the request was pending
+     */
+    private boolean removePending(WithdrawalRequest request) {
+        Long sequence = sequences.remove(request);
+        if (sequence == null) {
+            return false;
+        }
+        requests.remove(sequence);
+        return true;
+    }
+
+    /**
+     * Releases the internship slot associated with the application's student,
+     * restores the internship's status to {@link InternshipStatus#APPROVED}
+     * and visibility to true, and offers the slot to the next waitlisted applicant.
      *
      * @param application the application whose slot should be released
      */
     private void releaseSlot(Application application) {
         Internship internship = application.getInternship();
-        for (InternshipSlot slot : internship.getSlots()) {
-            if (slot.getAssignedStudent() == application.getStudent()) {
-                slot.release();
-                internship.setStatus(InternshipStatus.APPROVED);
-                internship.toggleVisibility(true);
-                break;
+        if (internship.releaseSlot(application.getStudent())) {
+            FlightEvents.slotsReleased(internship, 1, "withdrawal");
+            record(DomainEventType.SLOTS_RELEASED, application, "1");
+            internship.setStatus(InternshipStatus.APPROVED);
+            internship.toggleVisibility(true);
+            if (waitlistManager != null) {
+                waitlistManager.promote(internship);
             }
         }
     }
+
+    /**
+     * Records a decision on a withdrawal request in the event log.
+     *
+     * @param request the decided request
+     * @param approve true if approved
+     */
+    private void recordDecision(WithdrawalRequest request, boolean approve) {
+        record(approve ? DomainEventType.WITHDRAWAL_APPROVED : DomainEventType.WITHDRAWAL_REJECTED,
+                request.getApplication(), request.getStatus().name());
+    }
+
+    /**
+     * Appends an event about an application to the event log, if one is configured. The
+     * event names the application's student.
+     *
+     * @param type        kind of change
+     * @param application application concerned
+     * @param to          new value, or null
+     */
+    private void record(DomainEventType type, Application application, String to) {
+        if (eventLog != null) {
+            Internship internship = application.getInternship();
+            eventLog.append(type, internship.getCompanyName(), internship.getTitle(),
+                    application.getStudent().getUserID(), null, to);
+        }
+    }
 }
@@ -3,6 +3,7 @@
 package entity;
 
 import java.util.Date;
+import java.util.function.BiConsumer;
 
 /**
  * Represents a student's application for a specific internship.
@@ -30,6 +31,9 @@ public class Application {
     /** Optional withdrawal request associated with this application. */
     private WithdrawalRequest withdrawalRequest;
 
+    /** Callback notified of status changes with the previous status. */
+    private BiConsumer<Application, ApplicationStatus> statusListener;
+
     /**
      * Creates a new application for the given student and internship.
      *
@@ -74,7 +78,21 @@ public class Application {
      * @param status the new application status
      */
     public void setStatus(ApplicationStatus status) {
+        ApplicationStatus previous = this.status;
         this.status = status;
+        if (statusListener != null && previous != status) {
+            statusListener.accept(this, previous);
+        }
+    }
+
+    /**
+     * Registers the callback notified whenever this application's status changes, with the
+     * status it changed from. Only one listener is kept.
+     *
+     * @param statusListener the callback, or null to stop notifications
+     */
+    public void setStatusListener(BiConsumer<Application, ApplicationStatus> statusListener) {
+        this.statusListener = statusListener;
     }
 
     /**
@@ -99,14 +117,14 @@ public class Application {
      * Marks this application as successful.
      */
     public void markSuccessful() {
-        this.status = ApplicationStatus.SUCCESSFUL;
+        setStatus(ApplicationStatus.SUCCESSFUL);
     }
 
     /**
      * Marks this application as unsuccessful.
      */
     public void markUnsuccessful() {
-        this.status = ApplicationStatus.UNSUCCESSFUL;
+        setStatus(ApplicationStatus.UNSUCCESSFUL);
     }
 
     /**
@@ -135,6 +135,35 @@ public class CompanyRep extends User {
                                        InternshipLevel level, String preferredMajor,
                                        LocalDate openDate, LocalDate closeDate,
                                        int slotCount) {
+        List<String> preferredMajors = preferredMajor == null ? List.of() : List.of(preferredMajor);
+        return createInternship(manager, title, description, level, preferredMajors,
+                openDate, closeDate, slotCount);
+    }
+
+    /**
+     * Creates and submits a new internship open to several majors.
+     *
+     * <p>Enforces the same rules as
+     * {@link #createInternship(InternshipManager, String, String, InternshipLevel, String, LocalDate, LocalDate, int)}.</p>
+     *
+     * @param manager         the internship manager to handle submission
+     * @param title           internship title
+     * @param description     internship description
+     * @param level           internship level (Basic, Intermediate, Advanced)
+     * @param preferredMajors majors the internship is open to (empty for any major)
+     * @param openDate        application opening date
+     * @param closeDate       application closing date
+     * @param slotCount       number of available slots
+     *
+     * @return the created {@link Internship} instance
+     *
+     * @throws IllegalStateException    if representative is not approved or max internships reached
+     * @throws IllegalArgumentException if manager is null, slot count invalid, or dates invalid
+     */
+    public Internship createInternship(InternshipManager manager, String title, String description,
+                                       InternshipLevel level, List<String> preferredMajors,
+                                       LocalDate openDate, LocalDate closeDate,
+                                       int slotCount) {
         ensureApproved();
         if (manager == null) {
             throw new IllegalArgumentException("Internship manager required.");
@@ -153,7 +182,7 @@ public class CompanyRep extends User {
         }
         Internship internship = new Internship(title, description, companyName, this);
         internship.setLevel(level);
-        internship.setPreferredMajor(preferredMajor);
+        internship.setPreferredMajors(preferredMajors);
         internship.setOpenDate(openDate);
         internship.setCloseDate(closeDate);
         for (int i = 1; i <= slotCount; i++) {
@@ -2,7 +2,11 @@
 
 package entity;
 
+import control.SchoolMajorCatalog;
+
 import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Objects;
 
 /**
  * Represents a set of optional filtering criteria used to determine whether
@@ -16,6 +20,10 @@ import java.time.LocalDate;
  *
  * <p>All fields are optional. If a field is {@code null}, that criterion is ignored
  * during filtering.</p>
+ *
+ * <p>Two criteria are equal when they select the same internships: the preferred major
+ * is compared case-insensitively, ignoring surrounding whitespace, and a blank major is
+ * the same as no major filter.</p>
  */
 
 public class FilterCriteria {
@@ -26,6 +34,12 @@ public class FilterCriteria {
     /** Preferred major filter. */
     private String preferredMajor;
 
+    /** Catalog ID of the preferred major filter, once resolved. */
+    private short preferredMajorId = SchoolMajorCatalog.UNKNOWN_MAJOR;
+
+    /** Whether {@link #preferredMajorId} reflects the current preferred major. */
+    private boolean majorResolved;
+
     /** Internship level filter. */
     private InternshipLevel level;
 
@@ -88,6 +102,37 @@ public class FilterCriteria {
      */
     public void setPreferredMajor(String preferredMajor) {
         this.preferredMajor = preferredMajor;
+        this.majorResolved = false;
+    }
+
+    /**
+     * Returns whether the preferred major has been resolved to a catalog ID.
+     *
+     * @return true if {@link #getPreferredMajorId()} is current
+     */
+    public boolean isMajorResolved() {
+        return majorResolved;
+    }
+
+    /**
+     * Returns the catalog ID of the preferred major filter.
+     *
+     * @return major ID, {@link SchoolMajorCatalog#ANY_MAJOR} for no major filter, or
+     *         {@link SchoolMajorCatalog#UNKNOWN_MAJOR} if the major is unknown or unresolved
+     */
+    public short getPreferredMajorId() {
+        return preferredMajorId;
+    }
+
+    /**
+     * Records the catalog ID of the preferred major filter. Called by
+     * {@link control.InternshipManager} before the criteria are evaluated.
+     *
+     * @param majorId catalog major ID
+     */
+    public void resolvePreferredMajor(short majorId) {
+        this.preferredMajorId = majorId;
+        this.majorResolved = true;
     }
 
     /**
@@ -130,6 +175,8 @@ public class FilterCriteria {
     /**
      * Determines whether the given internship matches all non-null filter criteria.
      *
+     * <p>Once the preferred major has been resolved, it is matched by catalog ID.</p>
+     *
      * @param internship the internship to test
      * @return {@code true} if it matches the criteria, otherwise {@code false}
      */
@@ -140,7 +187,11 @@ public class FilterCriteria {
         if (status != null && internship.getStatus() != status) {
             return false;
         }
-        if (preferredMajor != null && !preferredMajor.isBlank()
+        if (majorResolved) {
+            if (preferredMajorId != SchoolMajorCatalog.ANY_MAJOR && !internship.acceptsMajor(preferredMajorId)) {
+                return false;
+            }
+        } else if (preferredMajor != null && !preferredMajor.isBlank()
                 && !internship.acceptsMajor(preferredMajor)) {
             return false;
         }
@@ -153,4 +204,57 @@ public class FilterCriteria {
         }
         return true;
     }
+
+    /**
+     * Returns an independent copy of these criteria with the preferred major normalised
+     * (trimmed, lower-cased, blank treated as {@code null}). The copy selects exactly the
+     * same internships and is safe to use as a cache key.
+     *
+     * @return normalised copy of these criteria
+     */
+    public FilterCriteria normalisedCopy() {
+        return new FilterCriteria(status, normalisedMajor(), level, closingDate);
+    }
+
+    /**
+     * Compares criteria by the internships they select.
+     *
+     * @param other the object to compare with
+     * @return {@code true} if both criteria have equal values
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof FilterCriteria that)) {
+            return false;
+        }
+        return status == that.status
+                && level == that.level
+                && Objects.equals(normalisedMajor(), that.normalisedMajor())
+                && Objects.equals(closingDate, that.closingDate);
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return hash code of the criteria values
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(status, normalisedMajor(), level, closingDate);
+    }
+
+    /**
+     * Returns the preferred major trimmed and lower-cased.
+     *
+     * @return normalised major, or {@code null} if no major filter is set
+     */
+    private String normalisedMajor() {
+        if (preferredMajor == null || preferredMajor.isBlank()) {
+            return null;
+        }
+        return preferredMajor.trim().toLowerCase(Locale.ROOT);
+    }
 }
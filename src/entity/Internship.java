@@ -4,8 +4,11 @@ package entity;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents an internship opportunity created by a {@link CompanyRep}.
@@ -38,8 +41,14 @@ public class Internship {
     /** Internship difficulty level (Basic, Intermediate, Advanced). */
     private InternshipLevel level;
 
-    /** Preferred major required for application. */
-    private String preferredMajor;
+    /** Majors the internship is open to; empty if open to every major. */
+    private final List<String> preferredMajors = new ArrayList<>();
+
+    /** Catalog IDs of {@link #preferredMajors}, once resolved. */
+    private BitSet preferredMajorIds = new BitSet();
+
+    /** Whether {@link #preferredMajorIds} reflects {@link #preferredMajors}. */
+    private boolean majorsResolved = true;
 
     /** Opening date for applications. */
     private LocalDate openDate;
@@ -65,6 +74,12 @@ public class Internship {
     /** Applications submitted for this internship. */
     private final List<Application> applications = new ArrayList<>();
 
+    /** Callback notified when status, visibility, eligibility details or fill state change. */
+    private Consumer<Internship> changeListener;
+
+    /** Callback notified when an application is added. */
+    private Consumer<Internship> demandListener;
+
     /**
      * Constructs a new internship with basic details.
      *
@@ -114,25 +129,112 @@ public class Internship {
      */
     public void setLevel(InternshipLevel level) {
         this.level = level;
+        fireChanged();
     }
     /**
-     * Returns the preferred major filter.
+     * Returns the preferred majors as a display string.
      *
-     * @return required major, or null if not restricted
+     * @return comma-separated preferred majors, or null if not restricted
      */
     public String getPreferredMajor() {
-        return preferredMajor;
+        return preferredMajors.isEmpty() ? null : String.join(", ", preferredMajors);
+    }
+
+    /**
+     * Returns the majors this internship is open to.
+     *
+     * @return unmodifiable list of preferred majors; empty if open to every major
+     */
+    public List<String> getPreferredMajors() {
+        return Collections.unmodifiableList(preferredMajors);
     }
 
     /**
-     * Sets the preferred major. Blank or null values remove the restriction.
+     * Restricts the internship to a single major. Blank or null values remove the restriction.
      *
      * @param preferredMajor required major name
      */
     public void setPreferredMajor(String preferredMajor) {
-        this.preferredMajor = preferredMajor == null || preferredMajor.isBlank()
-                ? null
-                : preferredMajor.trim();
+        setPreferredMajors(preferredMajor == null ? Collections.emptyList() : List.of(preferredMajor));
+    }
+
+    /**
+     * Restricts the internship to the given majors. Blank entries and case-insensitive
+     * duplicates are dropped; an empty or null collection removes the restriction.
+     *
+     * @param majors the majors the internship is open to
+     */
+    public void setPreferredMajors(Collection<String> majors) {
+        preferredMajors.clear();
+        if (majors != null) {
+            for (String major : majors) {
+                if (major == null || major.isBlank()) {
+                    continue;
+                }
+                String trimmed = major.trim();
+                if (preferredMajors.stream().noneMatch(existing -> existing.equalsIgnoreCase(trimmed))) {
+                    preferredMajors.add(trimmed);
+                }
+            }
+        }
+        preferredMajorIds = new BitSet();
+        majorsResolved = preferredMajors.isEmpty();
+        fireChanged();
+    }
+
+    /**
+     * Returns whether the internship is open to every major.
+     *
+     * @return true if no preferred major is set
+     */
+    public boolean isOpenToAllMajors() {
+        return preferredMajors.isEmpty();
+    }
+
+    /**
+     * Returns whether the preferred majors have been resolved to catalog IDs.
+     *
+     * @return true if {@link #getPreferredMajorIds()} reflects the preferred majors
+     */
+    public boolean isMajorsResolved() {
+        return majorsResolved;
+    }
+
+    /**
+     * Returns the catalog IDs of the preferred majors.
+     *
+     * @return a copy of the preferred major ID bitset; empty if open to every major
+     */
+    public BitSet getPreferredMajorIds() {
+        return (BitSet) preferredMajorIds.clone();
+    }
+
+    /**
+     * Records the catalog IDs of the preferred majors and replaces the majors with their
+     * shared catalog spellings. Called by {@link control.InternshipManager}; does not notify
+     * the change listener.
+     *
+     * @param majorIds        bitset of catalog major IDs
+     * @param canonicalMajors catalog spellings, in the same order as {@link #getPreferredMajors()}
+     */
+    public void resolvePreferredMajors(BitSet majorIds, List<String> canonicalMajors) {
+        this.preferredMajorIds = (BitSet) majorIds.clone();
+        if (canonicalMajors != null && canonicalMajors.size() == preferredMajors.size()) {
+            preferredMajors.clear();
+            preferredMajors.addAll(canonicalMajors);
+        }
+        this.majorsResolved = true;
+    }
+
+    /**
+     * Checks whether a major, given by catalog ID, is acceptable for this internship.
+     * The preferred majors must already have been resolved.
+     *
+     * @param majorId the student's major ID
+     * @return true if the internship is open to all majors or targets this one
+     */
+    public boolean acceptsMajor(short majorId) {
+        return preferredMajors.isEmpty() || (majorId >= 0 && preferredMajorIds.get(majorId));
     }
 
     /**
@@ -142,13 +244,19 @@ public class Internship {
      * @return true if the internship accepts the major
      */
     public boolean acceptsMajor(String major) {
-        if (preferredMajor == null || preferredMajor.isBlank()) {
+        if (preferredMajors.isEmpty()) {
             return true;
         }
         if (major == null || major.isBlank()) {
             return false;
         }
-        return preferredMajor.equalsIgnoreCase(major.trim());
+        String trimmed = major.trim();
+        for (String preferred : preferredMajors) {
+            if (preferred.equalsIgnoreCase(trimmed)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -167,6 +275,7 @@ public class Internship {
      */
     public void setOpenDate(LocalDate openDate) {
         this.openDate = openDate;
+        fireChanged();
     }
 
     /**
@@ -185,6 +294,7 @@ public class Internship {
      */
     public void setCloseDate(LocalDate closeDate) {
         this.closeDate = closeDate;
+        fireChanged();
     }
 
     /**
@@ -203,6 +313,7 @@ public class Internship {
      */
     public void setVisibility(boolean visibility) {
         this.visibility = visibility;
+        fireChanged();
     }
 
     /**
@@ -221,6 +332,7 @@ public class Internship {
      */
     public void setStatus(InternshipStatus status) {
         this.status = status;
+        fireChanged();
     }
 
     /**
@@ -284,6 +396,9 @@ public class Internship {
     public void addApplication(Application application) {
         if (application != null) {
             applications.add(application);
+            if (demandListener != null) {
+                demandListener.accept(this);
+            }
         }
     }
 
@@ -294,6 +409,100 @@ public class Internship {
      */
     public void toggleVisibility(boolean on) {
         this.visibility = on;
+        fireChanged();
+    }
+
+    /**
+     * Assigns the student to the first unassigned slot.
+     *
+     * @param student the student taking the slot
+     * @return the assigned slot, or null if every slot is already taken
+     */
+    public InternshipSlot assignSlot(Student student) {
+        for (InternshipSlot slot : slots) {
+            if (slot.getAssignedStudent() == null) {
+                slot.assignStudent(student);
+                fireChanged();
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Releases the slot held by the given student, if any.
+     *
+     * @param student the student giving up the slot
+     * @return true if a slot was released
+     */
+    public boolean releaseSlot(Student student) {
+        for (InternshipSlot slot : slots) {
+            if (slot.getAssignedStudent() == student) {
+                slot.release();
+                fireChanged();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases the slots held by any of the given students in one pass over the slots.
+     *
+     * @param students the students giving up their slots
+     * @return number of slots released
+     */
+    public int releaseSlots(Collection<Student> students) {
+        if (students == null || students.isEmpty()) {
+            return 0;
+        }
+        int released = 0;
+        for (InternshipSlot slot : slots) {
+            Student assigned = slot.getAssignedStudent();
+            if (assigned != null && students.contains(assigned)) {
+                slot.release();
+                released++;
+            }
+        }
+        if (released > 0) {
+            fireChanged();
+        }
+        return released;
+    }
+
+    /**
+     * Registers the callback notified whenever this internship's status, visibility,
+     * level, preferred major, dates or fill state change. Only one listener is kept.
+     *
+     * @param changeListener the callback, or null to stop notifications
+     */
+    public void setChangeListener(Consumer<Internship> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Registers the callback notified whenever an application is added to this internship.
+     * Only one listener is kept.
+     *
+     * @param demandListener the callback, or null to stop notifications
+     */
+    public void setDemandListener(Consumer<Internship> demandListener) {
+        this.demandListener = demandListener;
+    }
+
+    /**
+     * Returns the number of slots that have a student assigned.
+     *
+     * @return filled slot count
+     */
+    public int getFilledSlotCount() {
+        int filled = 0;
+        for (InternshipSlot slot : slots) {
+            if (slot.getAssignedStudent() != null) {
+                filled++;
+            }
+        }
+        return filled;
     }
 
     /**
@@ -312,4 +521,13 @@ public class Internship {
         }
         return true;
     }
+
+    /**
+     * Notifies the registered change listener, if any.
+     */
+    private void fireChanged() {
+        if (changeListener != null) {
+            changeListener.accept(this);
+        }
+    }
 }
@@ -3,6 +3,8 @@
 package entity;
 
 import control.ApplicationManager;
+import control.Page;
+import control.SchoolMajorCatalog;
 import control.WithdrawalManager;
 
 import java.util.ArrayList;
@@ -27,7 +29,10 @@ public class Student extends User {
     private final int yearOfStudy;
 
     /** The student's declared major. */
-    private final String major;
+    private String major;
+
+    /** Catalog ID of the student's major. */
+    private short majorId = SchoolMajorCatalog.UNKNOWN_MAJOR;
 
     /** All internship applications submitted by the student. */
     private final List<Application> applications = new ArrayList<>();
@@ -68,6 +73,29 @@ public class Student extends User {
         return major;
     }
 
+    /**
+     * Returns the catalog ID of the student's major.
+     *
+     * @return major ID, or {@link SchoolMajorCatalog#UNKNOWN_MAJOR} if not yet resolved
+     */
+    public short getMajorId() {
+        return majorId;
+    }
+
+    /**
+     * Records the catalog ID of the student's major and replaces the major with its
+     * shared catalog spelling. Called by {@link control.UserManager} on registration.
+     *
+     * @param majorId        catalog major ID
+     * @param canonicalMajor catalog spelling of the major
+     */
+    public void resolveMajor(short majorId, String canonicalMajor) {
+        this.majorId = majorId;
+        if (canonicalMajor != null) {
+            this.major = canonicalMajor;
+        }
+    }
+
     /**
      * Returns the list of applications submitted by this student.
      *
@@ -77,6 +105,20 @@ public class Student extends User {
         return applications;
     }
 
+    /**
+     * Returns one page of the student's applications, in submission order. Applications are
+     * only ever appended, so a page resumes at a fixed position.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit  maximum number of applications to return
+     * @return the page of applications
+     *
+     * @throws IllegalArgumentException if limit is not positive or the cursor is malformed
+     */
+    public Page<Application> getApplications(String cursor, int limit) {
+        return Page.ofAppendOnly(applications, cursor, limit);
+    }
+
     /**
      * Attempts to apply for the given internship using the provided {@link ApplicationManager}.
      *
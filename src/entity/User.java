@@ -2,6 +2,9 @@
 
 package entity;
 
+import control.AsyncLogger;
+import control.LogLevel;
+
 /**
  * Represents a base abstract user in the internship management system.
  *
@@ -16,6 +19,9 @@ public abstract class User {
     /** Default password assigned to users if none is provided. */
     public static final String DEFAULT_PASSWORD = "password";
 
+    /** Structured log for account activity; writes happen off the calling thread. */
+    private static final AsyncLogger.Logger LOG = AsyncLogger.getLogger("user");
+
     /** Unique identifier of the user (e.g., NTU student ID, staff ID, or company email). */
     private final String userID;
 
@@ -67,7 +73,7 @@ public abstract class User {
      */
     public void setName(String name) {
         this.name = name;
-        System.out.println("Name updated to " + name);
+        LOG.log(LogLevel.INFO, "Name updated", "user", userID);
     }
 
     /**
@@ -86,7 +92,7 @@ public abstract class User {
      */
     public void setFilterPreferences(FilterCriteria filterPreferences) {
         this.filterPreferences = filterPreferences;
-        System.out.println("Filter preferences updated for user " + userID);
+        LOG.log(LogLevel.DEBUG, "Filter preferences updated", "user", userID);
     }
 
     /**
@@ -97,7 +103,11 @@ public abstract class User {
      */
     public boolean login(String password) {
         boolean success = this.password != null && this.password.equals(password);
-        System.out.println(success ? "Login successful" : "Login failed");
+        if (success) {
+            LOG.log(LogLevel.INFO, "Login successful", "user", userID);
+        } else {
+            LOG.log(LogLevel.WARN, "Login failed", "user", userID);
+        }
         return success;
     }
 
@@ -105,7 +115,7 @@ public abstract class User {
      * Logs the user out of the system.
      */
     public void logout() {
-        System.out.println("Logout for user " + userID);
+        LOG.log(LogLevel.INFO, "Logout", "user", userID);
     }
 
     /**
@@ -133,7 +143,7 @@ public abstract class User {
             throw new IllegalArgumentException("New password must differ from the old password.");
         }
         this.password = newPass;
-        System.out.println("Password changed for user " + userID);
+        LOG.log(LogLevel.INFO, "Password changed", "user", userID);
     }
 
     /**
@@ -5,6 +5,7 @@ import boundary.InternshipBrowser;
 import control.ApplicationManager;
 import control.InternshipManager;
 import control.NotificationManager;
+import control.PlacementRound;
 import control.UserManager;
 import entity.Application;
 import entity.ApplicationStatus;
@@ -12,11 +13,14 @@ import entity.CompanyRep;
 import entity.Internship;
 import entity.InternshipLevel;
 import entity.InternshipStatus;
+import entity.Student;
 import entity.User;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -27,6 +31,7 @@ public class CompanyRepMenu {
     private final ApplicationManager applicationManager;
     private final NotificationManager notificationManager;
     private final UserManager userManager;
+    private final PlacementRound placementRound;
     private final Consumer<User> notificationDisplay;
     private final Consumer<User> passwordChanger;
 
@@ -36,6 +41,7 @@ public class CompanyRepMenu {
                           ApplicationManager applicationManager,
                           NotificationManager notificationManager,
                           UserManager userManager,
+                          PlacementRound placementRound,
                           Consumer<User> notificationDisplay,
                           Consumer<User> passwordChanger) {
         this.console = console;
@@ -44,34 +50,37 @@ public class CompanyRepMenu {
         this.applicationManager = applicationManager;
         this.notificationManager = notificationManager;
         this.userManager = userManager;
+        this.placementRound = placementRound;
         this.notificationDisplay = notificationDisplay;
         this.passwordChanger = passwordChanger;
     }
 
     public void show(CompanyRep rep) {
         if (!rep.isApproved()) {
-            System.out.println("Account awaiting approval. Please check back later.");
+            console.println("Account awaiting approval. Please check back later.");
             return;
         }
         boolean exit = false;
         while (!exit) {
             notificationDisplay.accept(rep);
-            System.out.println("\n=== Company Rep Dashboard: " + rep.getName() + " ===");
-            System.out.println("1. Manage my internships");
-            System.out.println("2. Create a new internship");
-            System.out.println("3. Toggle internship visibility");
-            System.out.println("4. Review applications");
-            System.out.println("5. Change password");
-            System.out.println("6. Back to main menu");
+            console.println("\n=== Company Rep Dashboard: " + rep.getName() + " ===");
+            console.println("1. Manage my internships");
+            console.println("2. Create a new internship");
+            console.println("3. Toggle internship visibility");
+            console.println("4. Review applications");
+            console.println("5. Rank applicants for the placement round");
+            console.println("6. Change password");
+            console.println("7. Back to main menu");
             String choice = console.readLine("Choice: ");
             switch (choice) {
                 case "1" -> manageRepInternships(rep);
                 case "2" -> handleRepCreateInternship(rep);
                 case "3" -> handleToggleVisibility(rep);
                 case "4" -> handleRepReviewApplications(rep);
-                case "5" -> passwordChanger.accept(rep);
-                case "6" -> exit = true;
-                default -> System.out.println("Unknown option.");
+                case "5" -> handleRankApplicants(rep);
+                case "6" -> passwordChanger.accept(rep);
+                case "7" -> exit = true;
+                default -> console.println("Unknown option.");
             }
         }
     }
@@ -80,10 +89,10 @@ public class CompanyRepMenu {
         List<Internship> mine = internshipBrowser.fetchFilteredInternships(
                 rep, internship -> internship.getRepInCharge() == rep);
         if (mine.isEmpty()) {
-            System.out.println("No internships submitted yet.");
+            console.println("No internships submitted yet.");
             return;
         }
-        System.out.println("\nYour internships:");
+        console.println("\nYour internships:");
         for (int i = 0; i < mine.size(); i++) {
             console.printInternshipRow(i + 1, mine.get(i));
         }
@@ -92,7 +101,7 @@ public class CompanyRepMenu {
         }
         String selection = console.readLine("Enter numbers to delete (comma separated, 0 to cancel): ");
         if (selection.isBlank() || "0".equals(selection.trim())) {
-            System.out.println("Deletion cancelled.");
+            console.println("Deletion cancelled.");
             return;
         }
         String[] tokens = selection.split(",");
@@ -101,16 +110,16 @@ public class CompanyRepMenu {
             try {
                 int value = Integer.parseInt(token.trim());
                 if (value < 1 || value > mine.size()) {
-                    System.out.println("Ignoring invalid selection: " + token.trim());
+                    console.println("Ignoring invalid selection: " + token.trim());
                     continue;
                 }
                 indexes.add(value - 1);
             } catch (NumberFormatException e) {
-                System.out.println("Ignoring invalid selection: " + token.trim());
+                console.println("Ignoring invalid selection: " + token.trim());
             }
         }
         if (indexes.isEmpty()) {
-            System.out.println("No valid selections to delete.");
+            console.println("No valid selections to delete.");
             return;
         }
         List<Internship> toRemove = new ArrayList<>();
@@ -118,58 +127,58 @@ public class CompanyRepMenu {
             toRemove.add(mine.get(idx));
         }
         if (!console.promptYesNo("Confirm deletion of " + toRemove.size() + " internship(s)? (y/n): ", false)) {
-            System.out.println("Deletion cancelled.");
+            console.println("Deletion cancelled.");
             return;
         }
         internshipManager.removeInternships(rep, toRemove);
-        System.out.println(toRemove.size() + " internship(s) removed.");
+        console.println(toRemove.size() + " internship(s) removed.");
     }
 
     private void handleRepCreateInternship(CompanyRep rep) {
         String title = console.readLine("Title: ");
         if (title.isEmpty()) {
-            System.out.println("Title is required.");
+            console.println("Title is required.");
             return;
         }
         String description = console.readLine("Description: ");
         InternshipLevel level = console.promptInternshipLevel();
-        String preferredMajor = console.promptPreferredMajorSelection();
+        List<String> preferredMajors = console.promptPreferredMajorsSelection();
         LocalDate openDate = console.readOptionalDate("Open date (yyyy-MM-dd, blank for immediate): ");
         LocalDate closeDate = promptValidCloseDate(openDate);
         int slots = console.readInt("Number of slots (1-10): ", 1, 10);
         try {
             Internship internship = rep.createInternship(internshipManager, title, description,
-                    level, preferredMajor, openDate, closeDate, slots);
-            System.out.println("Internship submitted for review: " + internship.getTitle());
+                    level, preferredMajors, openDate, closeDate, slots);
+            console.println("Internship submitted for review: " + internship.getTitle());
             notificationManager.notifyStaffInternshipSubmission(
                     userManager.getCareerCenterStaffMembers(), internship);
         } catch (Exception e) {
-            System.out.println("Unable to create internship: " + e.getMessage());
+            console.println("Unable to create internship: " + e.getMessage());
         }
     }
 
     private void handleToggleVisibility(CompanyRep rep) {
-        List<Internship> mine = internshipManager.getInternshipsForRep(rep);
-        Internship selection = console.selectInternshipFromList(mine);
+        Internship selection = console.selectInternshipFromPages(
+                cursor -> internshipManager.getInternshipsForRep(rep, cursor, ConsoleHelper.PAGE_SIZE));
         if (selection == null) {
             return;
         }
         if (selection.getStatus() == InternshipStatus.PENDING) {
-            System.out.println("Visibility cannot be changed while the internship is pending approval.");
+            console.println("Visibility cannot be changed while the internship is pending approval.");
             return;
         }
         boolean turnOn = console.promptYesNo("Turn visibility ON? (y/n): ", selection.isVisible());
         try {
             rep.toggleVisibility(internshipManager, selection, turnOn);
-            System.out.println("Visibility updated for " + selection.getTitle());
+            console.println("Visibility updated for " + selection.getTitle());
         } catch (Exception e) {
-            System.out.println("Unable to change visibility: " + e.getMessage());
+            console.println("Unable to change visibility: " + e.getMessage());
         }
     }
 
     private void handleRepReviewApplications(CompanyRep rep) {
-        List<Internship> mine = internshipManager.getInternshipsForRep(rep);
-        Internship selection = console.selectInternshipFromList(mine);
+        Internship selection = console.selectInternshipFromPages(
+                cursor -> internshipManager.getInternshipsForRep(rep, cursor, ConsoleHelper.PAGE_SIZE));
         if (selection == null) {
             return;
         }
@@ -180,28 +189,77 @@ public class CompanyRepMenu {
             }
         }
         if (actionable.isEmpty()) {
-            System.out.println("No applications available to manage.");
+            console.println("No applications available to manage.");
             return;
         }
-        System.out.println("\nApplications for " + selection.getTitle() + ":");
+        console.println("\nApplications for " + selection.getTitle() + ":");
         int index = 1;
         for (Application application : actionable) {
-            System.out.println(index++ + ". " + application.getStudent().getName()
+            console.println(index++ + ". " + application.getStudent().getName()
                     + " - " + application.getStatus());
         }
-        int selectionIndex = console.readInt("Select application to update (0 to cancel): ", 0, actionable.size());
-        if (selectionIndex == 0) {
+        List<Integer> successful = console.readSelection(
+                "Numbers to mark Successful (separated by spaces or commas, blank for none): ", actionable.size());
+        List<Integer> unsuccessful = console.readSelection(
+                "Numbers to mark Unsuccessful (separated by spaces or commas, blank for none): ", actionable.size());
+        Map<Application, ApplicationStatus> decisions = new LinkedHashMap<>();
+        for (Integer idx : successful) {
+            decisions.put(actionable.get(idx), ApplicationStatus.SUCCESSFUL);
+        }
+        for (Integer idx : unsuccessful) {
+            if (decisions.put(actionable.get(idx), ApplicationStatus.UNSUCCESSFUL) != null) {
+                console.println("Application " + (idx + 1) + " cannot be both successful and unsuccessful.");
+                return;
+            }
+        }
+        if (decisions.isEmpty()) {
+            console.println("No applications selected.");
             return;
         }
-        Application target = actionable.get(selectionIndex - 1);
-        System.out.println("1. Successful");
-        System.out.println("2. Unsuccessful");
-        int choice = console.readInt("Select new status: ", 1, 2);
-        ApplicationStatus status = choice == 1
-                ? ApplicationStatus.SUCCESSFUL
-                : ApplicationStatus.UNSUCCESSFUL;
-        applicationManager.updateStatus(target, status);
-        System.out.println("Application status updated to " + status);
+        if (!console.promptYesNo("Apply " + decisions.size() + " decision(s)? (y/n): ", true)) {
+            console.println("No changes made.");
+            return;
+        }
+        try {
+            int changed = applicationManager.applyDecisions(rep, decisions);
+            console.println(changed + " application(s) updated.");
+        } catch (IllegalArgumentException e) {
+            console.println("Unable to apply decisions: " + e.getMessage());
+        }
+    }
+
+    private void handleRankApplicants(CompanyRep rep) {
+        Internship selection = console.selectInternshipFromPages(
+                cursor -> internshipManager.getInternshipsForRep(rep, cursor, ConsoleHelper.PAGE_SIZE));
+        if (selection == null) {
+            return;
+        }
+        List<Student> pending = new ArrayList<>();
+        for (Application application : selection.getApplications()) {
+            if (application.getStatus() == ApplicationStatus.PENDING) {
+                pending.add(application.getStudent());
+            }
+        }
+        if (pending.isEmpty()) {
+            console.println("No pending applicants to rank.");
+            return;
+        }
+        console.println("\nPending applicants for " + selection.getTitle() + ":");
+        for (int i = 0; i < pending.size(); i++) {
+            Student student = pending.get(i);
+            console.println((i + 1) + ". " + student.getName() + " (Year " + student.getYearOfStudy()
+                    + ", " + student.getMajor() + ")");
+        }
+        List<Integer> order = console.readRanking("Enter numbers in order of preference (blank to cancel): ", pending.size());
+        if (order.isEmpty()) {
+            return;
+        }
+        List<Student> ranking = new ArrayList<>();
+        for (int index : order) {
+            ranking.add(pending.get(index));
+        }
+        placementRound.submitApplicantRanking(selection, ranking);
+        console.println("Ranking saved for the next placement round.");
     }
 
     private LocalDate promptValidCloseDate(LocalDate openDate) {
@@ -211,11 +269,11 @@ public class CompanyRepMenu {
                 return null;
             }
             if (closeDate.isBefore(LocalDate.now())) {
-                System.out.println("Closing date cannot be in the past.");
+                console.println("Closing date cannot be in the past.");
                 continue;
             }
             if (openDate != null && closeDate.isBefore(openDate)) {
-                System.out.println("Closing date cannot be earlier than the opening date.");
+                console.println("Closing date cannot be earlier than the opening date.");
                 continue;
             }
             return closeDate;
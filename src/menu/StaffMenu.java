@@ -1,12 +1,17 @@
 package menu;
 
 import boundary.ConsoleHelper;
+import control.ApprovalBatch;
 import control.InternshipManager;
+import control.MetricsRegistry;
 import control.NotificationManager;
+import control.Page;
+import control.PlacementRound;
 import control.ReportGenerator;
 import control.UserManager;
 import control.WithdrawalManager;
 import entity.AccountRequest;
+import entity.Application;
 import entity.CareerCenterStaff;
 import entity.CompanyRep;
 import entity.Internship;
@@ -15,9 +20,10 @@ import entity.InternshipStatus;
 import entity.User;
 import entity.WithdrawalRequest;
 
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
-import java.util.function.BiConsumer;
+import java.util.Map;
 import java.util.function.Consumer;
 
 public class StaffMenu {
@@ -27,9 +33,11 @@ public class StaffMenu {
     private final WithdrawalManager withdrawalManager;
     private final NotificationManager notificationManager;
     private final ReportGenerator reportGenerator;
+    private final PlacementRound placementRound;
+    private final MetricsRegistry metricsRegistry;
     private final Consumer<User> notificationDisplay;
     private final Consumer<User> passwordChanger;
-    private final BiConsumer<String, Boolean> approvalUpdater;
+    private final Consumer<Map<String, Boolean>> approvalsUpdater;
 
     public StaffMenu(ConsoleHelper console,
                      InternshipManager internshipManager,
@@ -37,18 +45,22 @@ public class StaffMenu {
                      WithdrawalManager withdrawalManager,
                      NotificationManager notificationManager,
                      ReportGenerator reportGenerator,
+                     PlacementRound placementRound,
+                     MetricsRegistry metricsRegistry,
                      Consumer<User> notificationDisplay,
                      Consumer<User> passwordChanger,
-                     BiConsumer<String, Boolean> approvalUpdater) {
+                     Consumer<Map<String, Boolean>> approvalsUpdater) {
         this.console = console;
         this.internshipManager = internshipManager;
         this.userManager = userManager;
         this.withdrawalManager = withdrawalManager;
         this.notificationManager = notificationManager;
         this.reportGenerator = reportGenerator;
+        this.placementRound = placementRound;
+        this.metricsRegistry = metricsRegistry;
         this.notificationDisplay = notificationDisplay;
         this.passwordChanger = passwordChanger;
-        this.approvalUpdater = approvalUpdater;
+        this.approvalsUpdater = approvalsUpdater;
     }
 
     public void show(CareerCenterStaff staff) {
@@ -56,169 +68,254 @@ public class StaffMenu {
         while (!exit) {
             queueStaffWorkloadAlerts(staff);
             notificationDisplay.accept(staff);
-            System.out.println("\n=== Career Center Console: " + staff.getName() + " ===");
-            System.out.println("1. Review company representative accounts");
-            System.out.println("2. Review internship submissions");
-            System.out.println("3. Process withdrawal requests");
-            System.out.println("4. Generate reports");
-            System.out.println("5. Change password");
-            System.out.println("6. Back to main menu");
+            console.println("\n=== Career Center Console: " + staff.getName() + " ===");
+            console.println("1. Review company representative accounts");
+            console.println("2. Review internship submissions");
+            console.println("3. Process withdrawal requests");
+            console.println("4. Review all pending items together");
+            console.println("5. Generate reports");
+            console.println("6. Run placement round");
+            console.println("7. View system metrics");
+            console.println("8. Change password");
+            console.println("9. Back to main menu");
             String choice = console.readLine("Choice: ");
             switch (choice) {
                 case "1" -> reviewAccountRequests(staff);
                 case "2" -> reviewInternshipSubmissions(staff);
                 case "3" -> processWithdrawalRequests(staff);
-                case "4" -> showReportsMenu();
-                case "5" -> passwordChanger.accept(staff);
-                case "6" -> exit = true;
-                default -> System.out.println("Unknown option.");
+                case "4" -> reviewAllPending(staff);
+                case "5" -> showReportsMenu();
+                case "6" -> runPlacementRound();
+                case "7" -> showMetrics();
+                case "8" -> passwordChanger.accept(staff);
+                case "9" -> exit = true;
+                default -> console.println("Unknown option.");
             }
         }
     }
 
-    private void reviewAccountRequests(CareerCenterStaff staff) {
-        List<AccountRequest> pending = userManager.getPendingAccounts(1, 100, AccountRequest.STATUS_PENDING);
-        if (pending.isEmpty()) {
-            System.out.println("No pending company representative requests.");
+    private void showMetrics() {
+        console.println();
+        console.print(metricsRegistry.format());
+        if (!console.promptYesNo("Save these metrics to a file? (y/n): ", false)) {
             return;
         }
-        System.out.println("\nPending representative accounts:");
-        for (int i = 0; i < pending.size(); i++) {
-            AccountRequest request = pending.get(i);
-            CompanyRep rep = request.getRep();
-            System.out.println((i + 1) + ". " + rep.getName() + " (" + rep.getUserID() + ") - "
-                    + rep.getCompanyName());
+        String path = console.readLine("File path (blank for data/metrics.txt): ").trim();
+        File file = new File(path.isEmpty() ? "data/metrics.txt" : path);
+        try {
+            metricsRegistry.dump(file);
+            console.println("Metrics written to " + file.getPath() + ".");
+        } catch (IOException e) {
+            console.println("Unable to write metrics: " + e.getMessage());
         }
-        int choice = console.readInt("Select a request to process (0 to cancel): ", 0, pending.size());
-        if (choice == 0) {
-            return;
-        }
-        AccountRequest request = pending.get(choice - 1);
-        if (console.promptYesNo("Approve this account? (y/n): ", true)) {
-            staff.approveRepAccount(userManager, request);
-            approvalUpdater.accept(request.getRep().getUserID(), true);
-            System.out.println("Account approved for " + request.getRep().getUserID());
-            notificationManager.notifyRepAccountDecision(request.getRep(), true, null);
-            notificationManager.clearNotificationsForUsers(
-                    userManager.getCareerCenterStaffMembers(),
-                    notification -> notification.getMessage() != null
-                            && notification.getMessage().equals(repRegistrationMessage(request.getRep())));
-        } else {
-            String notes = console.readLine("Reason for rejection: ");
-            staff.rejectRepAccount(userManager, request, notes);
-            approvalUpdater.accept(request.getRep().getUserID(), false);
-            System.out.println("Account rejected.");
-            notificationManager.notifyRepAccountDecision(request.getRep(), false, notes);
-            notificationManager.clearNotificationsForUsers(
-                    userManager.getCareerCenterStaffMembers(),
-                    notification -> notification.getMessage() != null
-                            && notification.getMessage().equals(repRegistrationMessage(request.getRep())));
+    }
+
+    private void reviewAccountRequests(CareerCenterStaff staff) {
+        ApprovalBatch batch = newBatch();
+        if (queueAccountDecisions(batch)) {
+            commitBatch(staff, batch);
         }
     }
 
     private void reviewInternshipSubmissions(CareerCenterStaff staff) {
-        List<Internship> pending = new ArrayList<>();
-        for (Internship internship : internshipManager.getInternships()) {
-            if (internship.getStatus() == InternshipStatus.PENDING) {
-                pending.add(internship);
+        ApprovalBatch batch = newBatch();
+        if (queueInternshipDecisions(batch)) {
+            commitBatch(staff, batch);
+        }
+    }
+
+    private void processWithdrawalRequests(CareerCenterStaff staff) {
+        ApprovalBatch batch = newBatch();
+        if (queueWithdrawalDecisions(batch)) {
+            commitBatch(staff, batch);
+        }
+    }
+
+    private void reviewAllPending(CareerCenterStaff staff) {
+        ApprovalBatch batch = newBatch();
+        queueAccountDecisions(batch);
+        queueInternshipDecisions(batch);
+        queueWithdrawalDecisions(batch);
+        commitBatch(staff, batch);
+    }
+
+    private ApprovalBatch newBatch() {
+        return new ApprovalBatch(userManager, internshipManager, withdrawalManager, notificationManager);
+    }
+
+    private boolean queueAccountDecisions(ApprovalBatch batch) {
+        Page<AccountRequest> page = userManager.getAccountRequests(
+                AccountRequest.STATUS_PENDING, null, ConsoleHelper.PAGE_SIZE);
+        if (page.isEmpty()) {
+            console.println("No pending company representative requests.");
+            return false;
+        }
+        boolean reviewed = false;
+        console.println("\nPending representative accounts:");
+        while (true) {
+            List<AccountRequest> pending = page.getItems();
+            for (int i = 0; i < pending.size(); i++) {
+                CompanyRep rep = pending.get(i).getRep();
+                console.println((i + 1) + ". " + rep.getName() + " (" + rep.getUserID() + ") - "
+                        + rep.getCompanyName());
+            }
+            Boolean[] decisions = readDecisions(pending.size());
+            if (decisions == null) {
+                return reviewed;
+            }
+            reviewed = true;
+            for (int i = 0; i < decisions.length; i++) {
+                if (decisions[i] == null) {
+                    continue;
+                }
+                if (decisions[i]) {
+                    batch.approveAccount(pending.get(i));
+                } else {
+                    CompanyRep rep = pending.get(i).getRep();
+                    String notes = console.readLine("Reason for rejecting " + rep.getName()
+                            + " (" + rep.getUserID() + "): ");
+                    batch.rejectAccount(pending.get(i), notes);
+                }
             }
+            if (!page.hasMore() || !console.promptYesNo("Show more pending accounts? (y/n): ", true)) {
+                return reviewed;
+            }
+            page = userManager.getAccountRequests(AccountRequest.STATUS_PENDING, page.getNextCursor(),
+                    ConsoleHelper.PAGE_SIZE);
         }
+    }
+
+    private boolean queueInternshipDecisions(ApprovalBatch batch) {
+        List<Internship> pending = internshipManager.getPendingInternships();
         if (pending.isEmpty()) {
-            System.out.println("No pending internships to review.");
-            return;
+            console.println("No pending internships to review.");
+            return false;
         }
-        System.out.println("\nPending internships:");
+        console.println("\nPending internships:");
         for (int i = 0; i < pending.size(); i++) {
             console.printInternshipRow(i + 1, pending.get(i));
         }
-        int choice = console.readInt("Select an internship to review (0 to cancel): ", 0, pending.size());
-        if (choice == 0) {
-            return;
+        Boolean[] decisions = readDecisions(pending.size());
+        if (decisions == null) {
+            return false;
         }
-        Internship target = pending.get(choice - 1);
-        if (console.promptYesNo("Approve this internship? (y/n): ", true)) {
-            staff.approveInternship(internshipManager, target);
-            System.out.println("Internship approved.");
-        } else {
-            staff.rejectInternship(internshipManager, target);
-            System.out.println("Internship rejected.");
+        for (int i = 0; i < decisions.length; i++) {
+            if (decisions[i] != null) {
+                batch.decideInternship(pending.get(i), decisions[i]);
+            }
         }
-        notificationManager.clearNotificationsForUsers(
-                userManager.getCareerCenterStaffMembers(),
-                notification -> notification.getMessage() != null
-                        && notification.getMessage().equals(internshipSubmissionMessage(target)));
+        return true;
     }
 
-    private void processWithdrawalRequests(CareerCenterStaff staff) {
-        List<WithdrawalRequest> requests = withdrawalManager.getPendingRequests();
-        if (requests.isEmpty()) {
-            System.out.println("No withdrawal requests pending.");
-            return;
-        }
-        System.out.println("\nWithdrawal requests:");
-        for (int i = 0; i < requests.size(); i++) {
-            WithdrawalRequest request = requests.get(i);
-            System.out.println((i + 1) + ". " + request.getStudent().getName()
-                    + " - " + request.getApplication().getInternship().getTitle()
-                    + " | Reason: " + request.getReason());
+    private boolean queueWithdrawalDecisions(ApprovalBatch batch) {
+        Page<WithdrawalRequest> page = withdrawalManager.getPendingRequests(null, ConsoleHelper.PAGE_SIZE);
+        if (page.isEmpty()) {
+            console.println("No withdrawal requests pending.");
+            return false;
         }
-        int choice = console.readInt("Select a request to process (0 to cancel): ", 0, requests.size());
-        if (choice == 0) {
-            return;
+        boolean reviewed = false;
+        console.println("\nWithdrawal requests:");
+        while (true) {
+            List<WithdrawalRequest> requests = page.getItems();
+            for (int i = 0; i < requests.size(); i++) {
+                WithdrawalRequest request = requests.get(i);
+                console.println((i + 1) + ". " + request.getStudent().getName()
+                        + " - " + request.getApplication().getInternship().getTitle()
+                        + " | Reason: " + request.getReason());
+            }
+            Boolean[] decisions = readDecisions(requests.size());
+            if (decisions == null) {
+                return reviewed;
+            }
+            reviewed = true;
+            for (int i = 0; i < decisions.length; i++) {
+                if (decisions[i] != null) {
+                    batch.decideWithdrawal(requests.get(i), decisions[i]);
+                }
+            }
+            if (!page.hasMore() || !console.promptYesNo("Show more withdrawal requests? (y/n): ", true)) {
+                return reviewed;
+            }
+            page = withdrawalManager.getPendingRequests(page.getNextCursor(), ConsoleHelper.PAGE_SIZE);
         }
-        WithdrawalRequest target = requests.get(choice - 1);
-        boolean approve = console.promptYesNo("Approve this withdrawal? (y/n): ", true);
-        staff.processWithdrawal(withdrawalManager, target, approve);
-        System.out.println("Withdrawal request processed.");
-        notificationManager.clearNotificationsForUsers(
-                userManager.getCareerCenterStaffMembers(),
-                notification -> notification.getMessage() != null
-                        && notification.getMessage().equals(withdrawalRequestMessage(target)));
     }
 
-    private String repRegistrationMessage(CompanyRep rep) {
-        if (rep == null) {
-            return "";
+    private Boolean[] readDecisions(int count) {
+        List<Integer> approve = console.readSelection(
+                "Numbers to approve (separated by spaces or commas, blank for none): ", count);
+        List<Integer> reject = console.readSelection(
+                "Numbers to reject (separated by spaces or commas, blank for none): ", count);
+        Boolean[] decisions = new Boolean[count];
+        for (Integer idx : approve) {
+            decisions[idx] = true;
+        }
+        for (Integer idx : reject) {
+            if (decisions[idx] != null) {
+                console.println("Item " + (idx + 1) + " cannot be both approved and rejected.");
+                return null;
+            }
+            decisions[idx] = false;
         }
-        return "New company representative registration awaiting approval: "
-                + rep.getName() + " (" + rep.getUserID() + ") from "
-                + rep.getCompanyName() + ".";
+        return decisions;
     }
 
-    private String internshipSubmissionMessage(Internship internship) {
-        if (internship == null) {
-            return "";
+    private void commitBatch(CareerCenterStaff staff, ApprovalBatch batch) {
+        if (batch.isEmpty()) {
+            console.println("No decisions selected.");
+            return;
+        }
+        if (!console.promptYesNo("Apply " + batch.size() + " decision(s)? (y/n): ", true)) {
+            console.println("No changes made.");
+            return;
+        }
+        int decided = batch.size();
+        try {
+            Map<String, Boolean> repApprovals = batch.commit(staff);
+            if (!repApprovals.isEmpty()) {
+                approvalsUpdater.accept(repApprovals);
+            }
+            console.println(decided + " decision(s) applied.");
+        } catch (IllegalStateException e) {
+            console.println("Unable to apply decisions: " + e.getMessage());
         }
-        return "New internship submission pending review: "
-                + internship.getTitle() + " from " + internship.getCompanyName() + ".";
     }
 
-    private String withdrawalRequestMessage(WithdrawalRequest request) {
-        if (request == null || request.getStudent() == null || request.getApplication() == null
-                || request.getApplication().getInternship() == null) {
-            return "";
+    private void runPlacementRound() {
+        if (!console.promptYesNo("Allocate offers for all pending applications now? (y/n): ", false)) {
+            return;
         }
-        return "Withdrawal request submitted by " + request.getStudent().getName()
-                + " for " + request.getApplication().getInternship().getTitle() + ".";
+        List<Application> offers = placementRound.run();
+        if (offers.isEmpty()) {
+            console.println("No offers were allocated.");
+            return;
+        }
+        console.println("\nOffers allocated:");
+        for (Application offer : offers) {
+            console.println("- " + offer.getStudent().getName() + " -> " + offer.getInternship().getTitle()
+                    + " (" + offer.getInternship().getCompanyName() + ")");
+        }
+        console.println(offers.size() + " offer(s) sent.");
     }
 
     private void showReportsMenu() {
         boolean exit = false;
         while (!exit) {
-            System.out.println("\n=== Reports ===");
-            System.out.println("1. By status");
-            System.out.println("2. By preferred major");
-            System.out.println("3. By internship level");
-            System.out.println("4. Company summary");
-            System.out.println("5. Back");
+            console.println("\n=== Reports ===");
+            console.println("1. By status");
+            console.println("2. By preferred major");
+            console.println("3. By internship level");
+            console.println("4. Company summary");
+            console.println("5. Activity summary");
+            console.println("6. Back");
             String choice = console.readLine("Choice: ");
             switch (choice) {
                 case "1" -> runStatusReport();
                 case "2" -> runMajorReport();
                 case "3" -> runLevelReport();
                 case "4" -> runCompanyReport();
-                case "5" -> exit = true;
-                default -> System.out.println("Unknown option.");
+                case "5" -> reportGenerator.generateActivitySummary();
+                case "6" -> exit = true;
+                default -> console.println("Unknown option.");
             }
         }
     }
@@ -231,7 +328,7 @@ public class StaffMenu {
     private void runMajorReport() {
         String major = console.readLine("Preferred major: ");
         if (major.isEmpty()) {
-            System.out.println("Major cannot be empty.");
+            console.println("Major cannot be empty.");
             return;
         }
         reportGenerator.generateByMajor(internshipManager.getInternships(), major);
@@ -245,10 +342,10 @@ public class StaffMenu {
     private void runCompanyReport() {
         String company = console.readLine("Company name: ");
         if (company.isEmpty()) {
-            System.out.println("Company cannot be empty.");
+            console.println("Company cannot be empty.");
             return;
         }
-        reportGenerator.generateCompanySummary(internshipManager.getInternships(), company);
+        reportGenerator.generateCompanySummary(internshipManager.getInternshipsForCompany(company), company);
     }
 
     private void queueStaffWorkloadAlerts(CareerCenterStaff staff) {
@@ -261,12 +358,6 @@ public class StaffMenu {
     }
 
     private int countPendingInternshipSubmissions() {
-        int count = 0;
-        for (Internship internship : internshipManager.getInternships()) {
-            if (internship.getStatus() == InternshipStatus.PENDING) {
-                count++;
-            }
-        }
-        return count;
+        return internshipManager.getPendingInternships().size();
     }
 }
@@ -5,13 +5,12 @@ import boundary.InternshipBrowser;
 import control.ApplicationManager;
 import control.InternshipManager;
 import control.NotificationManager;
+import control.PlacementRound;
 import control.UserManager;
 import control.WithdrawalManager;
 import entity.Application;
 import entity.ApplicationStatus;
 import entity.Internship;
-import entity.InternshipLevel;
-import entity.InternshipStatus;
 import entity.Student;
 import entity.User;
 import entity.WithdrawalRequest;
@@ -20,6 +19,7 @@ import java.util.List;
 import java.util.function.Consumer;
 
 public class StudentMenu {
+    private static final int MAX_RECOMMENDATIONS = 5;
     private final ConsoleHelper console;
     private final InternshipBrowser internshipBrowser;
     private final ApplicationManager applicationManager;
@@ -27,6 +27,7 @@ public class StudentMenu {
     private final NotificationManager notificationManager;
     private final WithdrawalManager withdrawalManager;
     private final UserManager userManager;
+    private final PlacementRound placementRound;
     private final Consumer<User> notificationDisplay;
     private final Consumer<User> passwordChanger;
 
@@ -37,6 +38,7 @@ public class StudentMenu {
                        NotificationManager notificationManager,
                        WithdrawalManager withdrawalManager,
                        UserManager userManager,
+                       PlacementRound placementRound,
                        Consumer<User> notificationDisplay,
                        Consumer<User> passwordChanger) {
         this.console = console;
@@ -46,6 +48,7 @@ public class StudentMenu {
         this.notificationManager = notificationManager;
         this.withdrawalManager = withdrawalManager;
         this.userManager = userManager;
+        this.placementRound = placementRound;
         this.notificationDisplay = notificationDisplay;
         this.passwordChanger = passwordChanger;
     }
@@ -54,82 +57,115 @@ public class StudentMenu {
         boolean exit = false;
         while (!exit) {
             notificationDisplay.accept(student);
-            System.out.println("\n=== Student Portal: " + student.getName() + " ===");
-            System.out.println("1. Browse internships");
-            System.out.println("2. Apply to an internship");
-            System.out.println("3. View my applications");
-            System.out.println("4. Request withdrawal");
-            System.out.println("5. Accept an offer");
-            System.out.println("6. Change password");
-            System.out.println("7. Back to main menu");
+            console.println("\n=== Student Portal: " + student.getName() + " ===");
+            console.println("1. Browse internships");
+            console.println("2. View recommended internships");
+            console.println("3. Apply to an internship");
+            console.println("4. View my applications");
+            console.println("5. Rank my applications for the placement round");
+            console.println("6. Request withdrawal");
+            console.println("7. Accept an offer");
+            console.println("8. Change password");
+            console.println("9. Back to main menu");
             String choice = console.readLine("Choice: ");
             switch (choice) {
                 case "1" -> displayInternships(student);
-                case "2" -> handleStudentApplication(student);
-                case "3" -> showStudentApplications(student);
-                case "4" -> handleStudentWithdrawal(student);
-                case "5" -> handleAcceptOffer(student);
-                case "6" -> passwordChanger.accept(student);
-                case "7" -> exit = true;
-                default -> System.out.println("Unknown option.");
+                case "2" -> displayRecommendations(student);
+                case "3" -> handleStudentApplication(student);
+                case "4" -> showStudentApplications(student);
+                case "5" -> handleRankApplications(student);
+                case "6" -> handleStudentWithdrawal(student);
+                case "7" -> handleAcceptOffer(student);
+                case "8" -> passwordChanger.accept(student);
+                case "9" -> exit = true;
+                default -> console.println("Unknown option.");
             }
         }
     }
 
     private void displayInternships(Student student) {
-        List<Internship> internships = internshipBrowser.fetchFilteredInternships(
-                student, internship -> isInternshipAvailableToStudent(student, internship));
-        if (internships.isEmpty()) {
-            System.out.println("No internships available yet.");
+        console.showPages("\nAvailable internships:", "No internships available yet.",
+                internshipBrowser.eligibleInternshipPages(student), console::printInternshipRow);
+    }
+
+    private void displayRecommendations(Student student) {
+        List<Internship> recommended = internshipManager.recommend(student, MAX_RECOMMENDATIONS);
+        if (recommended.isEmpty()) {
+            console.println("No internships to recommend right now.");
             return;
         }
-        System.out.println("\nAvailable internships:");
-        for (int i = 0; i < internships.size(); i++) {
-            console.printInternshipRow(i + 1, internships.get(i));
+        console.println("\nRecommended for you:");
+        for (int i = 0; i < recommended.size(); i++) {
+            console.printInternshipRow(i + 1, recommended.get(i));
         }
     }
 
     private void handleStudentApplication(Student student) {
         if (student.hasAcceptedPlacement()) {
-            System.out.println("You have already accepted a placement and cannot apply for new internships.");
+            console.println("You have already accepted a placement and cannot apply for new internships.");
             return;
         }
-        List<Internship> available = getInternshipsOpenToStudents(student);
-        if (available.isEmpty()) {
-            System.out.println("No internships currently open for applications.");
+        if (internshipManager.getEligibleInternships(student, null, 1).isEmpty()) {
+            console.println("No internships currently open for applications.");
             return;
         }
-        Internship selection = console.selectInternshipFromList(available);
+        Internship selection = console.selectInternshipFromPages(
+                cursor -> internshipManager.getEligibleInternships(student, cursor, ConsoleHelper.PAGE_SIZE));
         if (selection == null) {
             return;
         }
         if (!console.promptYesNo("Submit application for " + selection.getTitle() + "? (y/n): ", true)) {
-            System.out.println("Application cancelled.");
+            console.println("Application cancelled.");
             return;
         }
         if (student.apply(selection, applicationManager)) {
-            System.out.println("Application submitted for " + selection.getTitle());
+            console.println("Application submitted for " + selection.getTitle());
         } else {
             String failure = applicationManager.getLastFailureReason();
             if (failure != null && !failure.isBlank()) {
-                System.out.println("Unable to apply: " + failure);
+                console.println("Unable to apply: " + failure);
             }
         }
     }
 
     private void showStudentApplications(Student student) {
-        List<Application> applications = student.getApplications();
-        if (applications.isEmpty()) {
-            System.out.println("No applications submitted yet.");
+        console.showPages("\nYour applications:", "No applications submitted yet.",
+                cursor -> student.getApplications(cursor, ConsoleHelper.PAGE_SIZE),
+                (index, application) -> console.println(index + ". " + application.getInternship().getTitle()
+                        + " (" + application.getInternship().getCompanyName() + ") - "
+                        + application.getStatus()));
+    }
+
+    private void handleRankApplications(Student student) {
+        List<Internship> pending = new ArrayList<>();
+        for (Application application : student.getApplications()) {
+            if (application.getStatus() == ApplicationStatus.PENDING) {
+                pending.add(application.getInternship());
+            }
+        }
+        if (pending.isEmpty()) {
+            console.println("No pending applications to rank.");
+            return;
+        }
+        List<Internship> current = placementRound.getStudentRanking(student);
+        if (!current.isEmpty()) {
+            console.println("Current ranking: " + current.stream().map(Internship::getTitle).toList());
+        }
+        console.println("\nYour pending applications:");
+        for (int i = 0; i < pending.size(); i++) {
+            console.println((i + 1) + ". " + pending.get(i).getTitle()
+                    + " (" + pending.get(i).getCompanyName() + ")");
+        }
+        List<Integer> order = console.readRanking("Enter numbers in order of preference (blank to cancel): ", pending.size());
+        if (order.isEmpty()) {
             return;
         }
-        System.out.println("\nYour applications:");
-        int index = 1;
-        for (Application application : applications) {
-            System.out.println(index++ + ". " + application.getInternship().getTitle()
-                    + " (" + application.getInternship().getCompanyName() + ") - "
-                    + application.getStatus());
+        List<Internship> ranking = new ArrayList<>();
+        for (int index : order) {
+            ranking.add(pending.get(index));
         }
+        placementRound.submitStudentRanking(student, ranking);
+        console.println("Ranking saved for the next placement round.");
     }
 
     private void handleStudentWithdrawal(Student student) {
@@ -141,7 +177,7 @@ public class StudentMenu {
             }
         }
         if (withdrawable.isEmpty()) {
-            System.out.println("No eligible applications available for withdrawal.");
+            console.println("No eligible applications available for withdrawal.");
             return;
         }
         Application target = console.selectApplicationFromList(withdrawable, "Select an application to withdraw (0 to cancel): ");
@@ -151,17 +187,17 @@ public class StudentMenu {
         String reason = console.readLine("Reason for withdrawal: ");
         try {
             WithdrawalRequest request = student.withdraw(target, withdrawalManager, reason);
-            System.out.println("Withdrawal requested. Reference: " + request.getRequestedOn());
+            console.println("Withdrawal requested. Reference: " + request.getRequestedOn());
             notificationManager.notifyStaffWithdrawalRequest(
                     userManager.getCareerCenterStaffMembers(), student, target.getInternship());
         } catch (Exception e) {
-            System.out.println("Unable to request withdrawal: " + e.getMessage());
+            console.println("Unable to request withdrawal: " + e.getMessage());
         }
     }
 
     private void handleAcceptOffer(Student student) {
         if (student.hasAcceptedPlacement()) {
-            System.out.println("You have already accepted a placement.");
+            console.println("You have already accepted a placement.");
             return;
         }
         List<Application> offers = new ArrayList<>();
@@ -171,7 +207,7 @@ public class StudentMenu {
             }
         }
         if (offers.isEmpty()) {
-            System.out.println("No offers available to accept at the moment.");
+            console.println("No offers available to accept at the moment.");
             return;
         }
         Application target = console.selectApplicationFromList(offers, "Select an application to accept (0 to cancel): ");
@@ -180,36 +216,9 @@ public class StudentMenu {
         }
         try {
             student.acceptPlacement(target, applicationManager);
-            System.out.println("Placement accepted for " + target.getInternship().getTitle());
+            console.println("Placement accepted for " + target.getInternship().getTitle());
         } catch (Exception e) {
-            System.out.println("Unable to accept placement: " + e.getMessage());
-        }
-    }
-
-    private List<Internship> getInternshipsOpenToStudents(Student student) {
-        List<Internship> available = new ArrayList<>();
-        for (Internship internship : internshipManager.getInternships()) {
-            if (isInternshipAvailableToStudent(student, internship)) {
-                available.add(internship);
-            }
-        }
-        return available;
-    }
-
-    private boolean isInternshipAvailableToStudent(Student student, Internship internship) {
-        if (student == null || internship == null) {
-            return false;
-        }
-        if (internship.getStatus() != InternshipStatus.APPROVED
-                || !internship.isVisible()
-                || internship.isFull()) {
-            return false;
-        }
-        if (!internship.acceptsMajor(student.getMajor())) {
-            return false;
+            console.println("Unable to accept placement: " + e.getMessage());
         }
-        InternshipLevel level = internship.getLevel();
-        int studentYear = student.getYearOfStudy();
-        return !(studentYear <= 2 && level != null && level != InternshipLevel.BASIC);
     }
 }